@@ -8,6 +8,7 @@ import com.google.firebase.FirebaseOptions;
 import com.google.firebase.cloud.FirestoreClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
 import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
@@ -17,7 +18,9 @@ import java.nio.charset.StandardCharsets;
 @Configuration
 public class FirestoreConfig {
 
+    // Not created under the "inmemory" profile, where the repositories keep data in memory
     @Bean
+    @Profile("!inmemory")
     public Firestore firestore() throws Exception {
         // If an emulator is configured, create a Firestore client that talks to it without credentials.
         String emulatorHost = System.getenv("FIRESTORE_EMULATOR_HOST");
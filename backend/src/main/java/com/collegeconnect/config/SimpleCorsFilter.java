@@ -46,6 +46,7 @@ public class SimpleCorsFilter extends OncePerRequestFilter {
             response.setHeader("Access-Control-Allow-Methods", "GET,POST,PUT,DELETE,OPTIONS,PATCH");
             response.setHeader("Access-Control-Allow-Headers", "Content-Type,Authorization,X-Requested-With");
             response.setHeader("Access-Control-Max-Age", "3600");
+            response.setHeader("Access-Control-Expose-Headers", "ETag, X-Next-Cursor");
         } else {
             System.out.println("SimpleCorsFilter: Origin NOT ALLOWED or null");
         }
@@ -1,24 +1,23 @@
 package com.collegeconnect.controllers;
 
 import com.collegeconnect.dto.EventDto;
+import com.collegeconnect.model.Event;
 import com.collegeconnect.security.FirebaseTokenVerifier;
+import com.collegeconnect.service.EventService;
+import com.collegeconnect.service.EventStreamHub;
 import jakarta.validation.Valid;
-import com.google.api.core.ApiFuture;
-import com.google.cloud.firestore.DocumentReference;
-import com.google.cloud.firestore.Firestore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import com.collegeconnect.security.CurrentUser;
-import com.google.cloud.firestore.QueryDocumentSnapshot;
-import com.google.cloud.firestore.QuerySnapshot;
-import java.util.ArrayList;
-import java.util.List;
 
-import java.time.Instant;
-import java.util.Date;
-import java.util.HashMap;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 
@@ -26,8 +25,13 @@ import java.util.concurrent.ExecutionException;
 @RequestMapping("/api/events")
 public class EventController {
 
+    private static final int MAX_BULK_EVENTS = 2000;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int DEFAULT_SEARCH_RESULTS = 20;
+    private static final int MAX_QUERY_LENGTH = 200;
+
     @Autowired
-    private Firestore firestore;
+    private EventService eventService;
 
     @Autowired
     private FirebaseTokenVerifier tokenVerifier;
@@ -35,119 +39,175 @@ public class EventController {
     @Autowired
     private CurrentUser currentUser;
 
+    @Autowired
+    private EventStreamHub streamHub;
+
     @PostMapping
     public ResponseEntity<?> createEvent(@Valid @RequestBody EventDto dto) throws ExecutionException, InterruptedException {
+        Map<String, String> created = eventService.createEvent(dto);
+        return ResponseEntity.ok(created);
+    }
 
-        Map<String, Object> data = new HashMap<>();
-        data.put("name", dto.name);
-        data.put("description", dto.description);
-
-        // parse ISO datetime to Date for Firestore
-        if (dto.dateTime != null) {
-            try {
-                Instant inst = Instant.parse(dto.dateTime);
-                data.put("dateTime", Date.from(inst));
-            } catch (Exception ex) {
-                // ignore parse error; backend could also return 400
-            }
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createEvents(@RequestBody List<EventDto> dtos) throws ExecutionException, InterruptedException {
+        if (dtos == null || dtos.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "no events to create"));
         }
-
-        data.put("location", dto.location != null ? dto.location : Map.of());
-        data.put("locationName", dto.locationName);
-        data.put("createdBy", dto.createdBy);
-        data.put("creatorName", dto.creatorName);
-        if (dto.createdAt != null) {
-            try {
-                Instant inst = Instant.parse(dto.createdAt);
-                data.put("createdAt", Date.from(inst));
-            } catch (Exception ex) {
-                data.put("createdAt", new Date());
-            }
-        } else {
-            data.put("createdAt", new Date());
+        if (dtos.size() > MAX_BULK_EVENTS) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "error", "too many events in one request",
+                    "max", MAX_BULK_EVENTS));
+        }
+        String uid = currentUser.getUid();
+        if (uid == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "authentication required"));
+        }
+        // Imported events always belong to the caller, whatever createdBy the items carry
+        for (EventDto dto : dtos) {
+            if (dto != null) dto.createdBy = uid;
         }
 
-        ApiFuture<DocumentReference> added = firestore.collection("events").add(data);
-        DocumentReference docRef = added.get();
-        return ResponseEntity.ok(Map.of("id", docRef.getId()));
+        // Items are validated and written independently; check each result
+        List<EventService.BulkCreateResult> results = eventService.createEvents(dtos);
+        long created = results.stream().filter(r -> r.id() != null).count();
+        return ResponseEntity.ok(Map.of(
+                "created", created,
+                "failed", results.size() - created,
+                "results", results));
     }
 
+    // Event reads are revalidated on every use; unchanged data costs a 304 and no Firestore reads.
+    // checkNotModified answers 304 when If-None-Match matches and sets the ETag header otherwise.
+    // Without a version tag (change feed not seeded) there is no ETag and every read sends the body.
     @GetMapping
-    public ResponseEntity<?> listEvents(@RequestParam(name = "owner", required = false) Boolean owner) throws ExecutionException, InterruptedException {
+    public ResponseEntity<?> listEvents(@RequestParam(name = "owner", required = false) Boolean owner,
+                                        @RequestParam(name = "upcoming", required = false) Boolean upcoming,
+                                        @RequestParam(name = "within", required = false) String within,
+                                        @RequestParam(name = "limit", required = false) Integer limit,
+                                        @RequestParam(name = "cursor", required = false) String cursor,
+                                        WebRequest request) throws ExecutionException, InterruptedException {
         // If owner=true, return events created by the authenticated user.
         if (owner != null && owner) {
             String uid = currentUser.getUid();
             if (uid == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "authentication required"));
             }
+            if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+                return ResponseEntity.badRequest().body(Map.of("error", "limit must be between 1 and " + MAX_PAGE_SIZE, "limit", limit));
+            }
+            // Per-user body, so the tag includes the user; it only moves when this user's events change
+            if (notModified(request, eventService.getOwnerVersionTag(uid), "-" + Integer.toHexString(uid.hashCode()))) {
+                return null;
+            }
+            // Paged when limit is given: the body stays a plain array, the next page's cursor goes in X-Next-Cursor
+            EventService.EventPage page;
+            try {
+                page = eventService.getEventsByOwner(uid, cursor, limit != null ? limit : 0);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePrivate());
+            if (page.nextCursor() != null) {
+                response.header("X-Next-Cursor", page.nextCursor());
+            }
+            return response.body(page.events());
+        }
 
-            ApiFuture<QuerySnapshot> future = firestore.collection("events")
-                    .whereEqualTo("createdBy", uid)
-                    .orderBy("dateTime")
-                    .get();
-
-            List<Map<String, Object>> results = new ArrayList<>();
-            for (QueryDocumentSnapshot doc : future.get().getDocuments()) {
-                Map<String, Object> data = doc.getData();
-                Object dt = data.get("dateTime");
-                String dtIso = null;
-                if (dt instanceof java.util.Date) {
-                    dtIso = java.time.Instant.ofEpochMilli(((java.util.Date) dt).getTime()).toString();
-                } else if (dt != null) {
-                    dtIso = dt.toString();
+        // upcoming=true: events starting from now, optionally only within an ISO-8601 duration (e.g. PT24H)
+        if (upcoming != null && upcoming) {
+            Duration window = null;
+            if (within != null && !within.isBlank()) {
+                try {
+                    window = Duration.parse(within);
+                    window.toMillis(); // rejects windows too long to add to a timestamp
+                } catch (DateTimeParseException | ArithmeticException e) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "within must be an ISO-8601 duration such as PT24H", "within", within));
                 }
-                Map<String, Object> out = new HashMap<>(data);
-                out.put("id", doc.getId());
-                out.put("dateTime", dtIso);
-                results.add(out);
+                if (window.isNegative()) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "within must not be negative", "within", within));
+                }
+            }
+            // The window moves with the clock, so tag the result itself rather than just the version
+            List<Event> events = eventService.getUpcomingEvents(window);
+            if (notModified(request, eventService.getVersionTag(), "-" + Integer.toHexString(idsHash(events)))) {
+                return null;
             }
-            return ResponseEntity.ok(results);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(events);
         }
 
         // Default: return all events (unfiltered)
-        ApiFuture<QuerySnapshot> future = firestore.collection("events").orderBy("dateTime").get();
-        List<Map<String, Object>> results = new ArrayList<>();
-        for (QueryDocumentSnapshot doc : future.get().getDocuments()) {
-            Map<String, Object> data = doc.getData();
-            Object dt = data.get("dateTime");
-            String dtIso = null;
-            if (dt instanceof java.util.Date) {
-                dtIso = java.time.Instant.ofEpochMilli(((java.util.Date) dt).getTime()).toString();
-            } else if (dt != null) {
-                dtIso = dt.toString();
-            }
-            Map<String, Object> out = new HashMap<>(data);
-            out.put("id", doc.getId());
-            out.put("dateTime", dtIso);
-            results.add(out);
+        if (notModified(request, eventService.getVersionTag(), "")) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(eventService.getAllEvents());
+    }
+
+    // Live create/update/delete deltas instead of polling the list; see EventStreamHub for the event types
+    @GetMapping(value = "/stream", produces = "text/event-stream")
+    public ResponseEntity<?> streamEvents(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter = streamHub.connect(lastEventId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "30")
+                    .body(Map.of("error", "too many open event streams, try again later"));
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .header("X-Accel-Buffering", "no") // stop nginx-style proxies from buffering the stream
+                .body(emitter);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchEvents(@RequestParam(name = "q", required = false) String q,
+                                          @RequestParam(name = "limit", required = false) Integer limit,
+                                          WebRequest request) throws ExecutionException, InterruptedException {
+        if (q == null || q.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "q is required"));
+        }
+        if (q.length() > MAX_QUERY_LENGTH) {
+            return ResponseEntity.badRequest().body(Map.of("error", "q must be at most " + MAX_QUERY_LENGTH + " characters"));
         }
-        return ResponseEntity.ok(results);
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "limit must be between 1 and " + MAX_PAGE_SIZE, "limit", limit));
+        }
+        // Results depend only on the collection (the query is part of the URL)
+        if (notModified(request, eventService.getVersionTag(), "")) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(eventService.searchEvents(q, limit != null ? limit : DEFAULT_SEARCH_RESULTS));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getEventById(@PathVariable String id) throws ExecutionException, InterruptedException {
-        DocumentReference docRef = firestore.collection("events").document(id);
-        ApiFuture<com.google.cloud.firestore.DocumentSnapshot> future = docRef.get();
-        com.google.cloud.firestore.DocumentSnapshot document = future.get();
+    public ResponseEntity<?> getEventById(@PathVariable String id, WebRequest request) throws ExecutionException, InterruptedException {
+        if (notModified(request, eventService.getVersionTag(), "")) {
+            return null;
+        }
+        Event event = eventService.getEventById(id);
         
-        if (!document.exists()) {
+        if (event == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(Map.of("error", "Event not found", "id", id));
         }
         
-        Map<String, Object> data = document.getData();
-        Object dt = data.get("dateTime");
-        String dtIso = null;
-        if (dt instanceof java.util.Date) {
-            dtIso = java.time.Instant.ofEpochMilli(((java.util.Date) dt).getTime()).toString();
-        } else if (dt != null) {
-            dtIso = dt.toString();
-        }
-        
-        Map<String, Object> out = new HashMap<>(data);
-        out.put("id", document.getId());
-        out.put("dateTime", dtIso);
-        
-        return ResponseEntity.ok(out);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(event);
+    }
+
+    private static boolean notModified(WebRequest request, String versionTag, String suffix) {
+        return versionTag != null && request.checkNotModified(versionTag + suffix);
+    }
+
+    private static int idsHash(List<Event> events) {
+        int h = 1;
+        for (Event e : events) h = 31 * h + e.getId().hashCode();
+        return h;
     }
 }
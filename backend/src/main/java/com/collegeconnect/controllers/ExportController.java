@@ -0,0 +1,77 @@
+package com.collegeconnect.controllers;
+
+import com.collegeconnect.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Admin exports of whole collections. Under /api/admin, so the auth filter
+ * requires a valid token carrying the admin claim. The body is streamed page
+ * by page (see ExportService) on an async thread with its own timeout
+ * (export.timeout-ms), not the much shorter default for async requests.
+ */
+@RestController
+@RequestMapping("/api/admin/export")
+public class ExportController {
+
+    // Signature of a function that writes a collection to the response
+    private interface Exporter {
+        long export(ExportService.Format format, OutputStream out) throws IOException, ExecutionException, InterruptedException;
+    }
+
+    @Autowired
+    private ExportService exportService;
+
+    @Value("${export.timeout-ms:3600000}")
+    private long timeoutMs = 3_600_000;
+
+    @GetMapping("/events")
+    public WebAsyncTask<ResponseEntity<?>> exportEvents(@RequestParam(name = "format", defaultValue = "ndjson") String format,
+                                                        HttpServletResponse response) {
+        return stream("events", format, response, exportService::exportEvents);
+    }
+
+    @GetMapping("/users")
+    public WebAsyncTask<ResponseEntity<?>> exportUsers(@RequestParam(name = "format", defaultValue = "ndjson") String format,
+                                                       HttpServletResponse response) {
+        return stream("users", format, response, exportService::exportUsers);
+    }
+
+    private WebAsyncTask<ResponseEntity<?>> stream(String collection, String formatName, HttpServletResponse response,
+                                                   Exporter exporter) {
+        ExportService.Format format;
+        try {
+            format = ExportService.Format.parse(formatName);
+        } catch (IllegalArgumentException e) {
+            ResponseEntity<?> error = ResponseEntity.badRequest()
+                    .body(Map.of("error", "format must be ndjson or csv", "format", formatName));
+            return new WebAsyncTask<>(() -> error);
+        }
+
+        String filename = collection + "-" + LocalDate.now() + "." + format.extension;
+        response.setHeader("Content-Type", format.contentType + "; charset=utf-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + filename + "\"");
+        response.setHeader("Cache-Control", "no-store");
+
+        // Runs on an async thread and writes the response itself (null: nothing left to render).
+        // A failure ends the response early, without the trailer line.
+        return new WebAsyncTask<>(timeoutMs, () -> {
+            try {
+                exporter.export(format, response.getOutputStream());
+            } catch (ExecutionException e) {
+                throw new IOException("Export of " + collection + " failed", e);
+            }
+            return null;
+        });
+    }
+}
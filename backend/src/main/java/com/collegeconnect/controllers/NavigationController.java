@@ -1,30 +1,162 @@
 package com.collegeconnect.controllers;
+import com.collegeconnect.navigation.algorithm.PlateauAlternatives;
+import com.collegeconnect.navigation.algorithm.RouteGuidance;
+import com.collegeconnect.navigation.model.GraphSnapshot;
+import com.collegeconnect.navigation.model.Node;
+import com.collegeconnect.navigation.model.PlaceIndex;
 import com.collegeconnect.navigation.model.Route;
+import com.collegeconnect.navigation.model.RoutingProfile;
+import com.collegeconnect.navigation.service.EdgeClosureService;
 import com.collegeconnect.navigation.service.NavigationService;
+import com.collegeconnect.navigation.util.GeoMath;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/navigation")
 public class NavigationController {
 
     private final NavigationService navigationService;
+    private final EdgeClosureService closureService;
 
-    public NavigationController(NavigationService navigationService) {
+    public NavigationController(NavigationService navigationService, EdgeClosureService closureService) {
         this.navigationService = navigationService;
+        this.closureService = closureService;
     }
 
     @GetMapping("/bounds")
-    public NavigationService.Bounds getBounds() {
-        return navigationService.getBounds();
+    public ResponseEntity<NavigationService.Bounds> getBounds(WebRequest request) {
+        NavigationService.Bounds bounds = navigationService.getBounds();
+        // Tagged by content, so the tag survives restarts and only moves when a new map changes the bounds
+        if (request.checkNotModified("bounds-" + Integer.toHexString(bounds.hashCode()))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES))
+                .body(bounds);
+    }
+
+    public record GraphInfo(long version, int nodes, int edges, String source, String loadedAt) {}
+
+    @GetMapping("/admin/graph")
+    public GraphInfo getGraphInfo() {
+        GraphSnapshot snapshot = navigationService.getSnapshot();
+        return new GraphInfo(
+            snapshot.getVersion(),
+            snapshot.getGraph().getNodeCount(),
+            snapshot.getGraph().getEdgeCount(),
+            snapshot.getSource(),
+            snapshot.getLoadedAt().toString()
+        );
+    }
+
+    /**
+     * Rebuild the graph from the configured map in the background. Routing keeps
+     * serving the current graph until the new one is warm and swapped in.
+     * Admins only (see FirebaseAuthFilter).
+     */
+    @PostMapping("/admin/reload")
+    public ResponseEntity<?> reloadGraph() {
+        long currentVersion = navigationService.getSnapshot().getVersion();
+        navigationService.reload("admin endpoint");
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(Map.of(
+                        "status", "reloading",
+                        "currentVersion", currentVersion
+                ));
+    }
+
+    public record ClosureRequest(List<Long> wayIds, Boolean blocked, Double penalty,
+                                 String from, String until, String reason) {}
+    public record ClosureResponse(EdgeClosureService.Closure closure, int matchedEdges) {}
+
+    @GetMapping("/admin/closures")
+    public List<ClosureResponse> listClosures() {
+        var graph = navigationService.getSnapshot().getGraph();
+        return closureService.getClosures().stream()
+                .map(c -> new ClosureResponse(c, closureService.matchedEdges(c, graph)))
+                .toList();
+    }
+
+    /**
+     * Close (blocked=true) or slow down (penalty factor > 1) the given OSM ways,
+     * optionally only between from/until (ISO instants). Takes effect on the next query.
+     * Closure endpoints are admins only (see FirebaseAuthFilter).
+     */
+    @PostMapping("/admin/closures")
+    public ResponseEntity<?> addClosure(@RequestBody ClosureRequest request) {
+        if (request == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid request body"));
+        }
+        try {
+            EdgeClosureService.Closure closure = closureService.addClosure(
+                    request.wayIds(),
+                    request.blocked() == null || request.blocked(),
+                    request.penalty() != null ? request.penalty() : 1.0,
+                    request.from() != null ? Instant.parse(request.from()) : null,
+                    request.until() != null ? Instant.parse(request.until()) : null,
+                    request.reason()
+            );
+            int matched = closureService.matchedEdges(closure, navigationService.getSnapshot().getGraph());
+            return ResponseEntity.ok(new ClosureResponse(closure, matched));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/admin/closures/{id}")
+    public ResponseEntity<?> removeClosure(@PathVariable String id) {
+        if (!closureService.removeClosure(id)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Closure not found", "id", id));
+        }
+        return ResponseEntity.ok(Map.of("ok", true));
+    }
+
+    public record PlaceResponse(String id, String name, String kind, double lat, double lng,
+                                List<RoutePoint> entrances) {}
+
+    private static final int DEFAULT_PLACE_RESULTS = 10;
+    private static final int MAX_PLACE_RESULTS = 50;
+    private static final int MAX_PLACE_QUERY_LENGTH = 100;
+
+    /**
+     * Named campus places for autocomplete: every word of q must start a word of
+     * the name. Without q, places are listed by name. Use a result's id as
+     * startPlaceId/endPlaceId in /route.
+     */
+    @GetMapping("/places")
+    public ResponseEntity<?> places(@RequestParam(required = false) String q,
+                                    @RequestParam(required = false) Integer limit) {
+        if (q != null && q.length() > MAX_PLACE_QUERY_LENGTH) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "error", "Query must be at most " + MAX_PLACE_QUERY_LENGTH + " characters"));
+        }
+        int max = limit != null ? Math.max(1, Math.min(limit, MAX_PLACE_RESULTS)) : DEFAULT_PLACE_RESULTS;
+        List<PlaceResponse> places = navigationService.searchPlaces(q, max).stream()
+                .map(p -> new PlaceResponse(p.id(), p.name(), p.kind(), p.lat(), p.lng(),
+                        p.entrances().stream()
+                                .map(n -> new RoutePoint(n.getLatitude(), n.getLongitude()))
+                                .toList()))
+                .toList();
+        // Only change with the map
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES))
+                .body(places);
     }
 
     public record LatLng(double lat, double lng) {}
-    public record RouteRequest(LatLng start, LatLng end, String algorithm) {}
+    // Either end may be given as a place id (from /places) instead of coordinates
+    public record RouteRequest(LatLng start, LatLng end, String algorithm, String profile,
+                               String startPlaceId, String endPlaceId) {}
     public record RoutePoint(double lat, double lng) {}
     public record SnapSegment(RoutePoint original, RoutePoint snapped) {}
     public record RouteResponse(
@@ -34,29 +166,72 @@ public class NavigationController {
         List<RoutePoint> path,
         String metrics,  // Algorithm performance info
         SnapSegment startSnap,  // null if not snapped
-        SnapSegment endSnap     // null if not snapped
+        SnapSegment endSnap,    // null if not snapped
+        List<RouteGuidance.Instruction> instructions  // null where not computed (comparison)
     ) {}
 
     @PostMapping("/route")
     public ResponseEntity<?> route(@RequestBody RouteRequest request) {
-        if (request == null || request.start() == null || request.end() == null) {
+        if (request == null || (request.start() == null && request.startPlaceId() == null)
+                || (request.end() == null && request.endPlaceId() == null)) {
             return ResponseEntity.badRequest().body(Map.of("error", "Invalid request body"));
         }
 
-        // Outside-campus guard
-        if (!navigationService.isInsideCampus(request.start().lat(), request.start().lng())) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(Map.of(
-                            "error", "Navigation is only available within campus bounds",
-                            "code", "OUTSIDE_CAMPUS"
-                    ));
+        PlaceIndex.Place startPlace = null;
+        PlaceIndex.Place endPlace = null;
+        if (request.startPlaceId() != null) {
+            startPlace = navigationService.getPlace(request.startPlaceId());
+            if (startPlace == null) return unknownPlace(request.startPlaceId());
+        }
+        if (request.endPlaceId() != null) {
+            endPlace = navigationService.getPlace(request.endPlaceId());
+            if (endPlace == null) return unknownPlace(request.endPlaceId());
         }
 
-        // Prefer BiA* and include smart snapping (both start and end)
-        NavigationService.RouteWithSnaps result = navigationService.routeWithSmartSnapping(
-                request.start().lat(), request.start().lng(),
-                request.end().lat(), request.end().lng()
-        );
+        RoutingProfile profile;
+        try {
+            profile = RoutingProfile.fromName(request.profile());
+        } catch (IllegalArgumentException e) {
+            return unknownProfile(e);
+        }
+
+        NavigationService.RouteWithSnaps result;
+        if (startPlace != null && endPlace != null) {
+            // Answered from the precomputed place table when possible
+            result = navigationService.routeBetweenPlaces(startPlace.id(), endPlace.id(), profile);
+            if (result == null) return unknownPlace(request.startPlaceId() + ", " + request.endPlaceId()); // map reloaded
+        } else {
+            // A place is entered or left by its entrance facing the other end; entrances
+            // lie on the walkable network, so these ends need no snapping
+            LatLng start = request.start();
+            LatLng end = request.end();
+            if (startPlace != null) {
+                Node entrance = navigationService.entranceToward(startPlace, end.lat(), end.lng());
+                start = new LatLng(entrance.getLatitude(), entrance.getLongitude());
+            }
+            if (endPlace != null) {
+                Node entrance = navigationService.entranceToward(endPlace, start.lat(), start.lng());
+                end = new LatLng(entrance.getLatitude(), entrance.getLongitude());
+            }
+
+            // Outside-campus guard
+            if (!navigationService.isInsideCampus(start.lat(), start.lng())
+                    || !navigationService.isInsideCampus(end.lat(), end.lng())) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(Map.of(
+                                "error", "Navigation is only available within campus bounds",
+                                "code", "OUTSIDE_CAMPUS"
+                        ));
+            }
+
+            // BiA* unless another algorithm is asked for ("ASTAR", "HL"), with smart snapping at both ends
+            result = navigationService.routeWithSmartSnapping(
+                    start.lat(), start.lng(),
+                    end.lat(), end.lng(),
+                    profile,
+                    request.algorithm()
+            );
+        }
 
         Route route = result.route();
         
@@ -69,7 +244,9 @@ public class NavigationController {
                     ));
         }
 
-        List<RoutePoint> pts = route.getPath().stream()
+        // Simplified geometry; instructions index into it
+        RouteGuidance.Guidance guidance = result.guidance();
+        List<RoutePoint> pts = (guidance != null ? guidance.path() : route.getPath()).stream()
                 .map(n -> new RoutePoint(n.getLatitude(), n.getLongitude()))
                 .toList();
         
@@ -105,18 +282,225 @@ public class NavigationController {
             pts,
             metrics,
             startSnap,
-            endSnap
+            endSnap,
+            guidance != null ? guidance.instructions() : List.of()
+        ));
+    }
+
+    public record MatrixRequest(List<String> placeIds, String profile) {}
+    // Rows are origins, columns destinations, in request order; null where unreachable
+    public record MatrixResponse(List<String> placeIds, List<List<Double>> distances,
+                                 List<List<Double>> durations, String source) {}
+
+    private static final int MAX_MATRIX_PLACES = 100;
+
+    /**
+     * Walking distance and time between every pair of the given places
+     */
+    @PostMapping("/matrix")
+    public ResponseEntity<?> matrix(@RequestBody MatrixRequest request) {
+        if (request == null || request.placeIds() == null || request.placeIds().isEmpty()
+                || request.placeIds().contains(null)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "At least one place id is required"));
+        }
+        if (request.placeIds().size() > MAX_MATRIX_PLACES) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "error", "At most " + MAX_MATRIX_PLACES + " places are supported",
+                    "code", "TOO_MANY_PLACES"
+            ));
+        }
+        for (String id : request.placeIds()) {
+            if (navigationService.getPlace(id) == null) return unknownPlace(id);
+        }
+
+        RoutingProfile profile;
+        try {
+            profile = RoutingProfile.fromName(request.profile());
+        } catch (IllegalArgumentException e) {
+            return unknownProfile(e);
+        }
+
+        NavigationService.PlaceMatrix matrix = navigationService.placeMatrix(request.placeIds(), profile);
+        if (matrix == null) {
+            return unknownPlace(String.join(", ", request.placeIds())); // map reloaded in between
+        }
+        return ResponseEntity.ok(new MatrixResponse(request.placeIds(), rows(matrix.distances()),
+                rows(matrix.durations()), matrix.fromTable() ? "table" : "search"));
+    }
+
+    private static List<List<Double>> rows(double[][] values) {
+        return java.util.Arrays.stream(values)
+                .map(row -> java.util.Arrays.stream(row)
+                        .mapToObj(v -> v == Double.POSITIVE_INFINITY ? null : v)
+                        .toList())
+                .toList();
+    }
+
+    public record AlternativesRequest(LatLng start, LatLng end, String profile, Integer k) {}
+    public record AlternativeRouteResponse(
+        double distance,
+        double duration,
+        double overlap,  // share of length in common with the first (best) route
+        double stretch,  // cost relative to the best route
+        List<RoutePoint> path
+    ) {}
+    public record AlternativesResponse(List<AlternativeRouteResponse> routes, String metrics) {}
+
+    private static final int MAX_ALTERNATIVES = 5;
+
+    /**
+     * Up to k sufficiently different routes (default 3), best first.
+     */
+    @PostMapping("/alternatives")
+    public ResponseEntity<?> alternatives(@RequestBody AlternativesRequest request) {
+        if (request == null || request.start() == null || request.end() == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid request body"));
+        }
+
+        // Outside-campus guard
+        if (!navigationService.isInsideCampus(request.start().lat(), request.start().lng())
+                || !navigationService.isInsideCampus(request.end().lat(), request.end().lng())) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of(
+                            "error", "Navigation is only available within campus bounds",
+                            "code", "OUTSIDE_CAMPUS"
+                    ));
+        }
+
+        RoutingProfile profile;
+        try {
+            profile = RoutingProfile.fromName(request.profile());
+        } catch (IllegalArgumentException e) {
+            return unknownProfile(e);
+        }
+        int k = request.k() != null ? Math.max(1, Math.min(request.k(), MAX_ALTERNATIVES)) : 3;
+
+        List<PlateauAlternatives.Alternative> alternatives = navigationService.alternatives(
+                request.start().lat(), request.start().lng(),
+                request.end().lat(), request.end().lng(),
+                profile, k
+        );
+        if (alternatives.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of(
+                            "error", "No route found from your location. Try moving a little and recalculate.",
+                            "code", "ROUTE_UNAVAILABLE_TRY_AGAIN"
+                    ));
+        }
+
+        List<AlternativeRouteResponse> routes = alternatives.stream()
+                .map(alt -> new AlternativeRouteResponse(
+                        alt.route().getTotalDistance(),
+                        alt.route().getEstimatedDuration(),
+                        alt.overlap(),
+                        alt.stretch(),
+                        alt.route().getPath().stream()
+                                .map(n -> new RoutePoint(n.getLatitude(), n.getLongitude()))
+                                .toList()))
+                .toList();
+        String algorithm = alternatives.get(0).route().getAlgorithm();
+        String metrics = algorithm.contains("(") ? algorithm.substring(algorithm.indexOf("(")) : "";
+        return ResponseEntity.ok(new AlternativesResponse(routes, metrics));
+    }
+
+    public record TourRequest(List<LatLng> stops, String profile, Boolean roundTrip, Integer timeBudgetMs) {}
+    public record TourLegResponse(int from, int to, double distance, double duration) {}
+    public record TourResponse(
+        List<Integer> order,  // visiting order as indices into the request's stops
+        double distance,
+        double duration,
+        List<TourLegResponse> legs,
+        List<RoutePoint> path,
+        String metrics
+    ) {}
+
+    private static final int MAX_TOUR_STOPS = 20;
+    private static final int DEFAULT_TOUR_BUDGET_MS = 200;
+    private static final int MAX_TOUR_BUDGET_MS = 2000;
+
+    /**
+     * Fastest order to visit several stops, starting at the first one, as one stitched route.
+     */
+    @PostMapping("/tour")
+    public ResponseEntity<?> tour(@RequestBody TourRequest request) {
+        if (request == null || request.stops() == null || request.stops().size() < 2
+                || request.stops().contains(null)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "At least two stops are required"));
+        }
+        if (request.stops().size() > MAX_TOUR_STOPS) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "error", "At most " + MAX_TOUR_STOPS + " stops are supported",
+                    "code", "TOO_MANY_STOPS"
+            ));
+        }
+        for (LatLng stop : request.stops()) {
+            if (!navigationService.isInsideCampus(stop.lat(), stop.lng())) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(Map.of(
+                                "error", "Navigation is only available within campus bounds",
+                                "code", "OUTSIDE_CAMPUS"
+                        ));
+            }
+        }
+
+        RoutingProfile profile;
+        try {
+            profile = RoutingProfile.fromName(request.profile());
+        } catch (IllegalArgumentException e) {
+            return unknownProfile(e);
+        }
+        boolean roundTrip = Boolean.TRUE.equals(request.roundTrip());
+        int budgetMs = request.timeBudgetMs() != null
+                ? Math.max(1, Math.min(request.timeBudgetMs(), MAX_TOUR_BUDGET_MS))
+                : DEFAULT_TOUR_BUDGET_MS;
+
+        List<double[]> stops = request.stops().stream()
+                .map(s -> new double[]{s.lat(), s.lng()})
+                .toList();
+        NavigationService.TourResult result = navigationService.tour(stops, profile, roundTrip, budgetMs);
+        if (result.route() == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of(
+                            "error", "Some stops can't be reached from the first stop",
+                            "code", "TOUR_UNREACHABLE",
+                            "unreachableStops", result.unreachableStops()
+                    ));
+        }
+
+        Route route = result.route();
+        String metrics = route.getAlgorithm().contains("(")
+            ? route.getAlgorithm().substring(route.getAlgorithm().indexOf("("))
+            : "";
+        return ResponseEntity.ok(new TourResponse(
+                java.util.Arrays.stream(result.order()).boxed().toList(),
+                route.getTotalDistance(),
+                route.getEstimatedDuration(),
+                result.legs().stream()
+                        .map(l -> new TourLegResponse(l.from(), l.to(), l.distance(), l.duration()))
+                        .toList(),
+                route.getPath().stream()
+                        .map(n -> new RoutePoint(n.getLatitude(), n.getLongitude()))
+                        .toList(),
+                metrics
         ));
     }
 
+    public record CompareRequest(LatLng start, LatLng end, String profile, Integer runs, Integer warmup) {}
+
+    private static final int DEFAULT_COMPARE_RUNS = 5;
+    private static final int MAX_COMPARE_RUNS = 50;
+    private static final int DEFAULT_COMPARE_WARMUP = 2;
+    private static final int MAX_COMPARE_WARMUP = 20;
+
     @PostMapping("/compare")
-    public ResponseEntity<?> compareAlgorithms(@RequestBody RouteRequest request) {
+    public ResponseEntity<?> compareAlgorithms(@RequestBody CompareRequest request) {
         if (request == null || request.start() == null || request.end() == null) {
             return ResponseEntity.badRequest().body(Map.of("error", "Invalid request body"));
         }
 
         // Outside-campus guard
-        if (!navigationService.isInsideCampus(request.start().lat(), request.start().lng())) {
+        if (!navigationService.isInsideCampus(request.start().lat(), request.start().lng())
+                || !navigationService.isInsideCampus(request.end().lat(), request.end().lng())) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of(
                             "error", "Navigation is only available within campus bounds",
@@ -124,15 +508,28 @@ public class NavigationController {
                     ));
         }
 
+        RoutingProfile profile;
+        try {
+            profile = RoutingProfile.fromName(request.profile());
+        } catch (IllegalArgumentException e) {
+            return unknownProfile(e);
+        }
+
+        int runs = request.runs() != null
+                ? Math.max(1, Math.min(request.runs(), MAX_COMPARE_RUNS)) : DEFAULT_COMPARE_RUNS;
+        int warmup = request.warmup() != null
+                ? Math.max(0, Math.min(request.warmup(), MAX_COMPARE_WARMUP)) : DEFAULT_COMPARE_WARMUP;
+
         NavigationService.RouteComparison comparison = navigationService.routeComparison(
                 request.start().lat(), request.start().lng(),
-                request.end().lat(), request.end().lng()
+                request.end().lat(), request.end().lng(),
+                profile, runs, warmup
         );
 
         // If both routes failed, return fallback
         if (comparison.astar().getPath().isEmpty() && comparison.bidirectional().getPath().isEmpty()) {
-            double distance = haversine(request.start().lat(), request.start().lng(), 
-                                       request.end().lat(), request.end().lng());
+            double distance = GeoMath.haversine(request.start().lat(), request.start().lng(),
+                                                request.end().lat(), request.end().lng());
             double walkingSpeed = 1.4; // m/s
             double duration = distance / walkingSpeed;
             RouteResponse fallback = new RouteResponse(
@@ -145,9 +542,11 @@ public class NavigationController {
                 ),
                 " (fallback)",
                 null,
+                null,
                 null
             );
-            return ResponseEntity.ok(new AlgorithmComparison(fallback, fallback, "Both algorithms failed"));
+            return ResponseEntity.ok(new AlgorithmComparison(fallback, fallback, "Both algorithms failed",
+                    comparison.astarStats(), comparison.bidirectionalStats()));
         }
 
         // Build response for A*
@@ -157,14 +556,31 @@ public class NavigationController {
         RouteResponse biaResponse = buildRouteResponse(comparison.bidirectional());
 
         // Determine which is faster
-        String winner = determineWinner(comparison.astar(), comparison.bidirectional());
+        String winner = determineWinner(comparison.astarStats(), comparison.bidirectionalStats());
+
+        return ResponseEntity.ok(new AlgorithmComparison(astarResponse, biaResponse, winner,
+                comparison.astarStats(), comparison.bidirectionalStats()));
+    }
+
+    private ResponseEntity<?> unknownPlace(String id) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of(
+                        "error", "Unknown place: " + id,
+                        "code", "UNKNOWN_PLACE"
+                ));
+    }
 
-        return ResponseEntity.ok(new AlgorithmComparison(astarResponse, biaResponse, winner));
+    private ResponseEntity<?> unknownProfile(IllegalArgumentException e) {
+        return ResponseEntity.badRequest()
+                .body(Map.of(
+                        "error", e.getMessage(),
+                        "code", "UNKNOWN_PROFILE"
+                ));
     }
 
     private RouteResponse buildRouteResponse(Route route) {
         if (route.getPath().isEmpty()) {
-            return new RouteResponse(0, 0, "None", List.of(), "(no path found)", null, null);
+            return new RouteResponse(0, 0, "None", List.of(), "(no path found)", null, null, null);
         }
 
         List<RoutePoint> pts = route.getPath().stream()
@@ -185,56 +601,37 @@ public class NavigationController {
             pts,
             metrics,
             null,  // comparison endpoint doesn't use snapping
+            null,
             null
         );
     }
 
-    private String determineWinner(Route astar, Route bia) {
-        // Parse computation time from algorithm string (format: "A* (123 nodes, 45ms)")
-        long astarTime = extractTimeMs(astar.getAlgorithm());
-        long biaTime = extractTimeMs(bia.getAlgorithm());
+    private String determineWinner(NavigationService.SearchStats astar, NavigationService.SearchStats bia) {
+        // Compare median search times (nanoseconds) over the measured runs
+        long astarTime = astar.medianNanos();
+        long biaTime = bia.medianNanos();
+        String basis = " (median of " + astar.runs() + " runs)";
         
-        if (astarTime == 0 && biaTime == 0) {
+        if (astarTime <= 0 || biaTime <= 0) {
             return "Unable to determine (missing metrics)";
         }
         
         if (astarTime < biaTime) {
             double speedup = (double) biaTime / astarTime;
-            return String.format("A* was faster by %.1fx", speedup);
+            return String.format("A* was faster by %.1fx", speedup) + basis;
         } else if (biaTime < astarTime) {
             double speedup = (double) astarTime / biaTime;
-            return String.format("BiA* was faster by %.1fx", speedup);
+            return String.format("BiA* was faster by %.1fx", speedup) + basis;
         } else {
-            return "Tie (same computation time)";
-        }
-    }
-
-    private long extractTimeMs(String algorithmString) {
-        // Extract milliseconds from format: "A* (123 nodes, 45ms)"
-        if (!algorithmString.contains("ms)")) return 0;
-        
-        try {
-            int msIndex = algorithmString.indexOf("ms)");
-            int commaIndex = algorithmString.lastIndexOf(",", msIndex);
-            if (commaIndex == -1) return 0;
-            
-            String timeStr = algorithmString.substring(commaIndex + 1, msIndex).trim();
-            return Long.parseLong(timeStr);
-        } catch (Exception e) {
-            return 0;
+            return "Tie (same computation time)" + basis;
         }
     }
 
-    public record AlgorithmComparison(RouteResponse astar, RouteResponse bidirectional, String winner) {}
-
-    private static double haversine(double lat1, double lon1, double lat2, double lon2) {
-        final int R = 6371000; // meters
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c;
-    }
+    public record AlgorithmComparison(
+        RouteResponse astar,
+        RouteResponse bidirectional,
+        String winner,
+        NavigationService.SearchStats astarStats,  // timings and settled nodes over the measured runs
+        NavigationService.SearchStats bidirectionalStats
+    ) {}
 }
@@ -1,57 +1,75 @@
 package com.collegeconnect.controllers;
 
 import com.collegeconnect.dto.UserDto;
+import com.collegeconnect.security.CurrentUser;
 import com.collegeconnect.security.FirebaseTokenVerifier;
-import com.google.api.core.ApiFuture;
-import com.google.cloud.firestore.DocumentReference;
-import com.google.cloud.firestore.Firestore;
-import com.google.cloud.firestore.SetOptions;
+import com.collegeconnect.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
 
+    private static final int MAX_BATCH_UIDS = 100;
+    // Roles users pick for themselves at sign-up. Admin rights come from a custom
+    // claim on the token instead (see FirebaseAuthFilter), never from the profile.
+    private static final Set<String> SELF_SERVICE_ROLES = Set.of("student", "president");
+
     @Autowired
-    private Firestore firestore;
+    private UserService userService;
 
     @Autowired
     private FirebaseTokenVerifier tokenVerifier;
 
+    @Autowired
+    private CurrentUser currentUser;
+
+    // Token required (see FirebaseAuthFilter); users can only write their own profile
     @PutMapping("/{uid}")
     public ResponseEntity<?> upsertUser(@PathVariable String uid, @Valid @RequestBody UserDto dto) throws ExecutionException, InterruptedException {
+        if (!uid.equals(currentUser.getUid())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "can only update your own profile"));
+        }
+        if (!SELF_SERVICE_ROLES.contains(dto.role)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "role must be student or president", "role", dto.role));
+        }
+        userService.upsertUser(uid, dto);
+        return ResponseEntity.ok(Map.of("ok", true));
+    }
 
-        Map<String, Object> data = new HashMap<>();
-        data.put("uid", dto.uid);
-        data.put("email", dto.email);
-        data.put("displayName", dto.displayName);
-        data.put("role", dto.role);
-        data.put("createdAt", dto.createdAt != null ? dto.createdAt : null);
-
-        DocumentReference docRef = firestore.collection("users").document(uid);
-        ApiFuture<com.google.cloud.firestore.WriteResult> write = docRef.set(data, SetOptions.merge());
-        write.get();
+    // Profiles for many uids (e.g. every creator on an events page) in one request and one Firestore read
+    @PostMapping("/batch")
+    public ResponseEntity<?> getUsers(@RequestBody List<String> uids) throws ExecutionException, InterruptedException {
+        if (uids == null || uids.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "no uids given"));
+        }
+        if (uids.size() > MAX_BATCH_UIDS) {
+            return ResponseEntity.badRequest().body(Map.of("error", "too many uids in one request", "max", MAX_BATCH_UIDS));
+        }
+        if (uids.stream().anyMatch(uid -> uid == null || uid.isBlank() || uid.contains("/"))) {
+            return ResponseEntity.badRequest().body(Map.of("error", "uids must be non-empty document ids"));
+        }
 
-        return ResponseEntity.ok(Map.of("ok", true));
+        Map<String, Map<String, Object>> users = userService.getUsersByUids(uids);
+        List<String> missing = uids.stream().distinct().filter(uid -> !users.containsKey(uid)).toList();
+        return ResponseEntity.ok(Map.of("users", users, "missing", missing));
     }
 
     @GetMapping("/{uid}")
     public ResponseEntity<?> getUser(@PathVariable String uid) throws ExecutionException, InterruptedException {
-        DocumentReference docRef = firestore.collection("users").document(uid);
-        var snap = docRef.get().get();
-        if (!snap.exists()) {
+        Map<String, Object> user = userService.getUserByUid(uid);
+        if (user == null) {
             return ResponseEntity.notFound().build();
         }
-        Map<String, Object> data = new HashMap<>(snap.getData());
-        // ensure uid field is present
-        data.putIfAbsent("uid", uid);
-        return ResponseEntity.ok(data);
+        return ResponseEntity.ok(user);
     }
 }
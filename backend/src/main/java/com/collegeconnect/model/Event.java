@@ -1,5 +1,7 @@
 package com.collegeconnect.model;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
 import java.util.Date;
 import java.util.Map;
 
@@ -11,7 +13,9 @@ import java.util.Map;
  * - Access specifiers (private fields, public methods)
  * - Encapsulation (getters and setters)
  * - Method overloading
+ * - Custom JSON serialization (EventJsonSerializer)
  */
+@JsonSerialize(using = EventJsonSerializer.class)
 public class Event {
     
     // Private fields - demonstrating encapsulation
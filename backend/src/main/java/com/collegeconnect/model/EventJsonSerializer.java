@@ -0,0 +1,62 @@
+package com.collegeconnect.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Writes an Event straight to the JSON output, field by field, instead of going
+ * through bean introspection or an intermediate map. Dates are written as ISO-8601
+ * strings, the format the frontend parses.
+ */
+public class EventJsonSerializer extends StdSerializer<Event> {
+
+    public EventJsonSerializer() {
+        super(Event.class);
+    }
+
+    @Override
+    public void serialize(Event event, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("id", event.getId());
+        gen.writeStringField("name", event.getName());
+        gen.writeStringField("description", event.getDescription());
+        writeDate(gen, "dateTime", event.getDateTime());
+        writeLocation(gen, event.getLocation());
+        gen.writeStringField("locationName", event.getLocationName());
+        gen.writeStringField("createdBy", event.getCreatedBy());
+        gen.writeStringField("creatorName", event.getCreatorName());
+        writeDate(gen, "createdAt", event.getCreatedAt());
+        gen.writeEndObject();
+    }
+
+    private static void writeDate(JsonGenerator gen, String field, Date date) throws IOException {
+        if (date == null) {
+            gen.writeNullField(field);
+        } else {
+            gen.writeStringField(field, Instant.ofEpochMilli(date.getTime()).toString());
+        }
+    }
+
+    private static void writeLocation(JsonGenerator gen, Map<String, Object> location) throws IOException {
+        if (location == null) {
+            gen.writeNullField("location");
+            return;
+        }
+        gen.writeObjectFieldStart("location");
+        for (Map.Entry<String, Object> entry : location.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof Double) { // lat/lng, the common case
+                gen.writeNumberField(entry.getKey(), (Double) value);
+            } else {
+                gen.writeObjectField(entry.getKey(), value);
+            }
+        }
+        gen.writeEndObject();
+    }
+}
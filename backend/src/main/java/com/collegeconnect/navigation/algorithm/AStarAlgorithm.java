@@ -1,116 +1,107 @@
 package com.collegeconnect.navigation.algorithm;
 
+import com.collegeconnect.navigation.model.EdgeWeights;
 import com.collegeconnect.navigation.model.Graph;
 import com.collegeconnect.navigation.model.Node;
 import com.collegeconnect.navigation.model.Route;
+import com.collegeconnect.navigation.util.GeoMath;
 
 import java.util.*;
 
 /**
- * A* pathfinding using straight-line distance as heuristic (Haversine).
+ * A* pathfinding using straight-line distance as heuristic (GeoMath.lowerBoundMeters).
  * Generally faster than Dijkstra on geographic graphs.
  */
 public class AStarAlgorithm implements PathfindingAlgorithm {
 
-    private int nodesExplored = 0;
-    private long computeTimeMs = 0;
-
     @Override
-    public Route findRoute(Graph graph, double startLat, double startLng, double endLat, double endLng) {
-        long startTime = System.currentTimeMillis();
-        nodesExplored = 0;
-        graph.resetNodes();
+    public Route findRoute(Graph graph, double startLat, double startLng, double endLat, double endLng, EdgeWeights weights) {
+        long startTime = System.nanoTime();
 
         Node start = graph.findClosestNode(startLat, startLng);
         Node goal = graph.findClosestNode(endLat, endLng);
         if (start == null || goal == null) {
-            computeTimeMs = System.currentTimeMillis() - startTime;
-            return new Route(Collections.emptyList(), 0, 0, getName() + " (no path, " + computeTimeMs + "ms)");
+            return emptyRoute("no path", 0, startTime);
+        }
+        if (!graph.mayConnect(start, goal)) {
+            // Different components: nothing to search
+            return emptyRoute("no path, disconnected", 0, startTime);
         }
 
-        Map<Node, Double> gScore = new HashMap<>();
-        Map<Node, Node> cameFrom = new HashMap<>();
+        // Search state lives in a per-thread context, not on the shared nodes
+        SearchContext ctx = SearchContext.acquire(graph.getNodeCount());
+        IndexMinHeap open = ctx.queue(true);
+        double hScale = weights.minCostPerMeter(); // keeps the meter heuristic admissible for time-based costs
+        int goalIndex = goal.getIndex();
+        int settled = 0;
 
-        Comparator<Node> byF = Comparator.comparingDouble(n -> n.getFScore());
-        PriorityQueue<Node> open = new PriorityQueue<>(byF);
-
-        for (Node n : graph.getAllNodes()) {
-            n.setGScore(Double.MAX_VALUE);
-            n.setFScore(Double.MAX_VALUE);
-        }
-        start.setGScore(0);
-        start.setFScore(heuristic(start, goal));
-        gScore.put(start, 0.0);
-        open.add(start);
+        ctx.update(true, start.getIndex(), 0, -1);
+        open.insertOrDecrease(start.getIndex(), heuristic(start, goal) * hScale);
 
         while (!open.isEmpty()) {
-            Node current = open.poll();
-            nodesExplored++;
-            if (current.equals(goal)) {
-                computeTimeMs = System.currentTimeMillis() - startTime;
-                return buildRoute(cameFrom, current, start, goal);
+            int u = open.poll();
+            ctx.close(true, u);
+            settled++;
+            if (u == goalIndex) {
+                double cost = ctx.cost(true, u);
+                return buildRoute(graph, ctx, start, goal, weights.toSeconds(cost), settled, startTime);
             }
-            current.setVisited(true);
 
+            Node current = graph.getNodeByIndex(u);
+            double g = ctx.cost(true, u);
             for (var edge : graph.getNeighbors(current)) {
+                double cost = weights.weight(edge);
+                if (cost == Double.POSITIVE_INFINITY) continue; // closed
+
                 Node neighbor = edge.getTo();
-                if (neighbor.isVisited()) continue;
-
-                double tentative = current.getGScore() + edge.getWeight();
-                if (tentative < neighbor.getGScore()) {
-                    cameFrom.put(neighbor, current);
-                    neighbor.setGScore(tentative);
-                    neighbor.setFScore(tentative + heuristic(neighbor, goal));
-                    // reinsert to update priority
-                    open.remove(neighbor);
-                    open.add(neighbor);
+                int v = neighbor.getIndex();
+                double tentative = g + cost;
+                if (tentative < ctx.cost(true, v)) {
+                    // Also reopens a closed node, so a slightly inconsistent heuristic can't cost optimality
+                    ctx.update(true, v, tentative, edge.getId());
+                    open.insertOrDecrease(v, tentative + heuristic(neighbor, goal) * hScale);
                 }
             }
         }
 
-        computeTimeMs = System.currentTimeMillis() - startTime;
-        return new Route(Collections.emptyList(), 0, 0, getName() + " (no path, " + computeTimeMs + "ms)");
+        return emptyRoute("no path", settled, startTime);
+    }
+
+    private Route emptyRoute(String reason, int settled, long startTime) {
+        long nanos = System.nanoTime() - startTime;
+        return new Route(Collections.emptyList(), 0, 0,
+                getName() + " (" + reason + ", " + nanos / 1_000_000 + "ms)", settled, nanos);
     }
 
     private double heuristic(Node a, Node b) {
-        return haversine(a.getLatitude(), a.getLongitude(), b.getLatitude(), b.getLongitude());
+        return GeoMath.lowerBoundMeters(a, b);
     }
 
-    private Route buildRoute(Map<Node, Node> cameFrom, Node current, Node start, Node goal) {
+    private Route buildRoute(Graph graph, SearchContext ctx, Node start, Node goal, double duration,
+                             int settled, long startTime) {
         List<Node> path = new ArrayList<>();
+        Node current = goal;
         path.add(current);
-        while (cameFrom.containsKey(current)) {
-            current = cameFrom.get(current);
+        int edgeId;
+        while ((edgeId = ctx.parent(true, current.getIndex())) >= 0) {
+            current = graph.getEdge(edgeId).getFrom();
             path.add(current);
         }
         Collections.reverse(path);
         double distance = pathDistance(path);
-        double walkingSpeed = 1.4; // m/s
-        double duration = distance / walkingSpeed;
-        return new Route(path, distance, duration, getName() + " (" + nodesExplored + " nodes, " + computeTimeMs + "ms)");
+        long nanos = System.nanoTime() - startTime;
+        return new Route(path, distance, duration,
+                getName() + " (" + settled + " nodes, " + nanos / 1_000_000 + "ms)", settled, nanos);
     }
 
     private double pathDistance(List<Node> path) {
         double sum = 0;
         for (int i = 0; i < path.size() - 1; i++) {
-            sum += haversine(path.get(i).getLatitude(), path.get(i).getLongitude(),
-                    path.get(i + 1).getLatitude(), path.get(i + 1).getLongitude());
+            sum += GeoMath.haversine(path.get(i), path.get(i + 1));
         }
         return sum;
     }
 
-    // Haversine in meters
-    private static double haversine(double lat1, double lon1, double lat2, double lon2) {
-        final int R = 6371000; // meters
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c;
-    }
-
     @Override
     public String getName() { return "ASTAR"; }
 }
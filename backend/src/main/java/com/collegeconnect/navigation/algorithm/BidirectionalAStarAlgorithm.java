@@ -1,8 +1,10 @@
 package com.collegeconnect.navigation.algorithm;
 
+import com.collegeconnect.navigation.model.EdgeWeights;
 import com.collegeconnect.navigation.model.Graph;
 import com.collegeconnect.navigation.model.Node;
 import com.collegeconnect.navigation.model.Route;
+import com.collegeconnect.navigation.util.GeoMath;
 
 import java.util.*;
 
@@ -13,209 +15,132 @@ import java.util.*;
  */
 public class BidirectionalAStarAlgorithm implements PathfindingAlgorithm {
 
-    private int nodesExplored = 0;
-    private long computeTimeMs = 0;
-
     @Override
-    public Route findRoute(Graph graph, double startLat, double startLng, double endLat, double endLng) {
-        long startTime = System.currentTimeMillis();
-        nodesExplored = 0;
-        graph.resetNodes();
+    public Route findRoute(Graph graph, double startLat, double startLng, double endLat, double endLng, EdgeWeights weights) {
+        long startTime = System.nanoTime();
 
         Node start = graph.findClosestNode(startLat, startLng);
         Node goal = graph.findClosestNode(endLat, endLng);
-        
-            System.out.println("[BiA*] Start: (" + startLat + "," + startLng + ") → closest node: " + 
-                (start != null ? start.getId() + " at (" + start.getLatitude() + "," + start.getLongitude() + ")" : "NULL"));
-            System.out.println("[BiA*] Goal: (" + endLat + "," + endLng + ") → closest node: " + 
-                (goal != null ? goal.getId() + " at (" + goal.getLatitude() + "," + goal.getLongitude() + ")" : "NULL"));
-            if (start != null) {
-                System.out.println("[BiA*] Start node has " + graph.getNeighbors(start).size() + " neighbors");
-            }
-            if (goal != null) {
-                System.out.println("[BiA*] Goal node has " + graph.getNeighbors(goal).size() + " neighbors");
-            }
-        
+
         if (start == null || goal == null) {
-            computeTimeMs = System.currentTimeMillis() - startTime;
-            return createEmptyRoute();
+            return emptyRoute("no path", 0, startTime);
+        }
+        if (!graph.mayConnect(start, goal)) {
+            // Different components: nothing to search
+            return emptyRoute("no path, disconnected", 0, startTime);
         }
 
         if (start.equals(goal)) {
-            computeTimeMs = System.currentTimeMillis() - startTime;
-            return new Route(Collections.singletonList(start), 0, 0, getName());
+            long nanos = System.nanoTime() - startTime;
+            return new Route(Collections.singletonList(start), 0, 0, getName(), 0, nanos);
         }
 
-        // Forward search (from start)
-        Map<Node, Double> gScoreForward = new HashMap<>();
-        Map<Node, Node> cameFromForward = new HashMap<>();
-        PriorityQueue<NodeEntry> openForward = new PriorityQueue<>(Comparator.comparingDouble(e -> e.fScore));
-        Set<Node> closedForward = new HashSet<>();
+        // Search state for both directions lives in a per-thread context, not on the shared nodes
+        SearchContext ctx = SearchContext.acquire(graph.getNodeCount());
+        IndexMinHeap openForward = ctx.queue(true);
+        IndexMinHeap openBackward = ctx.queue(false);
+        double hScale = weights.minCostPerMeter(); // keeps the meter heuristic admissible for time-based costs
 
-        // Backward search (from goal)
-        Map<Node, Double> gScoreBackward = new HashMap<>();
-        Map<Node, Node> cameFromBackward = new HashMap<>();
-        PriorityQueue<NodeEntry> openBackward = new PriorityQueue<>(Comparator.comparingDouble(e -> e.fScore));
-        Set<Node> closedBackward = new HashSet<>();
+        ctx.update(true, start.getIndex(), 0, -1);
+        openForward.insertOrDecrease(start.getIndex(), heuristic(start, goal) * hScale);
+        ctx.update(false, goal.getIndex(), 0, -1);
+        openBackward.insertOrDecrease(goal.getIndex(), heuristic(goal, start) * hScale);
 
-        // Initialize
-        gScoreForward.put(start, 0.0);
-        openForward.add(new NodeEntry(start, 0.0, heuristic(start, goal)));
+        double bestPathCost = Double.POSITIVE_INFINITY;
+        int meetingPoint = -1;
+        int settled = 0;
+        boolean forward = true;
 
-        gScoreBackward.put(goal, 0.0);
-        openBackward.add(new NodeEntry(goal, 0.0, heuristic(goal, start)));
-
-        double bestPathCost = Double.MAX_VALUE;
-        Node meetingPoint = null;
-
-        // Alternate between forward and backward searches
         while (!openForward.isEmpty() && !openBackward.isEmpty()) {
-            
-            // Forward step
-            if (!openForward.isEmpty()) {
-                NodeEntry current = openForward.poll();
-                nodesExplored++;
-                
-                if (current.fScore >= bestPathCost) {
-                    // Prune: this path can't be better
-                    continue;
-                }
-
-                if (closedForward.contains(current.node)) continue;
-                closedForward.add(current.node);
-
-                // Check if backward search has reached this node
-                if (closedBackward.contains(current.node)) {
-                    double pathCost = gScoreForward.get(current.node) + gScoreBackward.get(current.node);
-                    if (pathCost < bestPathCost) {
-                        bestPathCost = pathCost;
-                        meetingPoint = current.node;
-                    }
-                }
-
-                // Expand neighbors
-                for (var edge : graph.getNeighbors(current.node)) {
-                    Node neighbor = edge.getTo();
-                    if (closedForward.contains(neighbor)) continue;
-
-                    double tentativeG = gScoreForward.get(current.node) + edge.getWeight();
-                    if (tentativeG < gScoreForward.getOrDefault(neighbor, Double.MAX_VALUE)) {
-                        gScoreForward.put(neighbor, tentativeG);
-                        cameFromForward.put(neighbor, current.node);
-                        double f = tentativeG + heuristic(neighbor, goal);
-                        openForward.add(new NodeEntry(neighbor, tentativeG, f));
-                    }
-                }
-            }
-
-            // Backward step
-            if (!openBackward.isEmpty()) {
-                NodeEntry current = openBackward.poll();
-                nodesExplored++;
-
-                if (current.fScore >= bestPathCost) {
-                    continue;
-                }
-
-                if (closedBackward.contains(current.node)) continue;
-                closedBackward.add(current.node);
-
-                // Check if forward search has reached this node
-                if (closedForward.contains(current.node)) {
-                    double pathCost = gScoreForward.get(current.node) + gScoreBackward.get(current.node);
+            // Both heuristics are admissible, so once either frontier's smallest f
+            // reaches the best meeting cost, no cheaper path can remain
+            if (Math.max(openForward.peekKey(), openBackward.peekKey()) >= bestPathCost) break;
+
+            // Alternate between forward and backward searches
+            IndexMinHeap open = forward ? openForward : openBackward;
+            Node target = forward ? goal : start;
+            int u = open.poll();
+            ctx.close(forward, u);
+            settled++;
+
+            Node current = graph.getNodeByIndex(u);
+            double g = ctx.cost(forward, u);
+            // Backward = arriving edges walked against their direction, costed in the direction of travel
+            for (var edge : forward ? graph.getNeighbors(current) : graph.getIncoming(current)) {
+                double cost = weights.weight(edge);
+                if (cost == Double.POSITIVE_INFINITY) continue; // closed
+
+                Node neighbor = forward ? edge.getTo() : edge.getFrom();
+                int v = neighbor.getIndex();
+                double tentativeG = g + cost;
+                if (tentativeG < ctx.cost(forward, v)) {
+                    ctx.update(forward, v, tentativeG, edge.getId());
+                    open.insertOrDecrease(v, tentativeG + heuristic(neighbor, target) * hScale);
+
+                    // Meeting check on every label change, not only when both sides have closed a node
+                    double pathCost = tentativeG + ctx.cost(!forward, v);
                     if (pathCost < bestPathCost) {
                         bestPathCost = pathCost;
-                        meetingPoint = current.node;
+                        meetingPoint = v;
                     }
                 }
-
-                // Expand neighbors (backward = reverse edges)
-                for (var edge : graph.getNeighbors(current.node)) {
-                    Node neighbor = edge.getTo();
-                    if (closedBackward.contains(neighbor)) continue;
-
-                    double tentativeG = gScoreBackward.get(current.node) + edge.getWeight();
-                    if (tentativeG < gScoreBackward.getOrDefault(neighbor, Double.MAX_VALUE)) {
-                        gScoreBackward.put(neighbor, tentativeG);
-                        cameFromBackward.put(neighbor, current.node);
-                        double f = tentativeG + heuristic(neighbor, start);
-                        openBackward.add(new NodeEntry(neighbor, tentativeG, f));
-                    }
-                }
-            }
-
-            // Early termination: if both searches meet
-            if (meetingPoint != null && 
-                (openForward.isEmpty() || openBackward.isEmpty() ||
-                 (openForward.peek().fScore + openBackward.peek().fScore >= bestPathCost))) {
-                break;
             }
+            forward = !forward;
         }
 
-        computeTimeMs = System.currentTimeMillis() - startTime;
-
-        if (meetingPoint == null) {
-            return createEmptyRoute();
+        if (meetingPoint < 0) {
+            return emptyRoute("no path", settled, startTime);
         }
 
         // Reconstruct path through meeting point
-        return buildRoute(cameFromForward, cameFromBackward, meetingPoint, start, goal, bestPathCost);
+        return buildRoute(graph, ctx, graph.getNodeByIndex(meetingPoint), weights.toSeconds(bestPathCost), settled, startTime);
     }
 
-    private Route buildRoute(Map<Node, Node> cameFromForward, Map<Node, Node> cameFromBackward,
-                            Node meetingPoint, Node start, Node goal, double distance) {
+    private Route buildRoute(Graph graph, SearchContext ctx, Node meetingPoint, double duration,
+                             int settled, long startTime) {
         // Build forward path (start -> meeting point)
         List<Node> forwardPath = new ArrayList<>();
         Node current = meetingPoint;
-        while (current != null) {
+        forwardPath.add(current);
+        int edgeId;
+        while ((edgeId = ctx.parent(true, current.getIndex())) >= 0) {
+            current = graph.getEdge(edgeId).getFrom();
             forwardPath.add(current);
-            current = cameFromForward.get(current);
         }
         Collections.reverse(forwardPath);
 
         // Build backward path (meeting point -> goal)
-        current = cameFromBackward.get(meetingPoint);
-        while (current != null) {
+        current = meetingPoint;
+        while ((edgeId = ctx.parent(false, current.getIndex())) >= 0) {
+            current = graph.getEdge(edgeId).getTo();
             forwardPath.add(current);
-            current = cameFromBackward.get(current);
         }
 
-        double walkingSpeed = 1.4; // m/s
-        double duration = distance / walkingSpeed;
-        return new Route(forwardPath, distance, duration, getName() + " (" + nodesExplored + " nodes, " + computeTimeMs + "ms)");
+        // Path cost may be time-based or penalised, so report the geometric length
+        double distance = pathDistance(forwardPath);
+        long nanos = System.nanoTime() - startTime;
+        return new Route(forwardPath, distance, duration,
+                getName() + " (" + settled + " nodes, " + nanos / 1_000_000 + "ms)", settled, nanos);
     }
 
-    private Route createEmptyRoute() {
-        return new Route(Collections.emptyList(), 0, 0, getName() + " (no path, " + computeTimeMs + "ms)");
+    private double pathDistance(List<Node> path) {
+        double sum = 0;
+        for (int i = 0; i < path.size() - 1; i++) {
+            sum += GeoMath.haversine(path.get(i), path.get(i + 1));
+        }
+        return sum;
     }
 
-    private double heuristic(Node a, Node b) {
-        return haversine(a.getLatitude(), a.getLongitude(), b.getLatitude(), b.getLongitude());
+    private Route emptyRoute(String reason, int settled, long startTime) {
+        long nanos = System.nanoTime() - startTime;
+        return new Route(Collections.emptyList(), 0, 0,
+                getName() + " (" + reason + ", " + nanos / 1_000_000 + "ms)", settled, nanos);
     }
 
-    private static double haversine(double lat1, double lon1, double lat2, double lon2) {
-        final int R = 6371000; // meters
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c;
+    private double heuristic(Node a, Node b) {
+        return GeoMath.lowerBoundMeters(a, b);
     }
 
     @Override
     public String getName() { return "BiA*"; }
-
-    private static class NodeEntry {
-        final Node node;
-        final double gScore;
-        final double fScore;
-
-        NodeEntry(Node node, double gScore, double fScore) {
-            this.node = node;
-            this.gScore = gScore;
-            this.fScore = fScore;
-        }
-    }
 }
@@ -0,0 +1,520 @@
+package com.collegeconnect.navigation.algorithm;
+
+import com.collegeconnect.navigation.model.Edge;
+import com.collegeconnect.navigation.model.EdgeWeights;
+import com.collegeconnect.navigation.model.Graph;
+import com.collegeconnect.navigation.model.Node;
+import com.collegeconnect.navigation.model.QueryGraph;
+import com.collegeconnect.navigation.model.Route;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.IntStream;
+
+/**
+ * Hub labeling distance oracle for one graph and cost function. Every node
+ * keeps a forward label (hubs it reaches, with costs) and a backward label
+ * (hubs that reach it); the cost from s to t is the cheapest hub shared by
+ * s's forward and t's backward label, found by merging two short sorted
+ * arrays. No search runs at query time.
+ *
+ * Labels are built by pruned Dijkstra (pruned landmark labeling): nodes are
+ * taken in importance order and each one labels the nodes its searches reach,
+ * except where the labels so far already give the right cost. Importance is
+ * how many sampled shortest paths run through a node, which is what a
+ * contraction order approximates. Each label entry also keeps the first edge
+ * of its path, so a route is unpacked by following entries for the same hub.
+ *
+ * Only valid for the weights it was built with (no closures). As an algorithm
+ * it also accepts query graphs over its graph: virtual ends reach the labelled
+ * nodes through their few virtual edges.
+ */
+public final class HubLabels implements PathfindingAlgorithm {
+
+    private static final int MAGIC = 0x48554231; // "HUB1"
+    private static final int ORDER_SAMPLES = 64;
+
+    private final Graph graph;
+    private final long fingerprint;
+    private final Labels forward;  // node -> hubs it reaches; edge is the first step toward the hub
+    private final Labels backward; // node -> hubs reaching it; edge is the last step into the node
+    private final long buildNanos;
+
+    private HubLabels(Graph graph, long fingerprint, Labels forward, Labels backward, long buildNanos) {
+        this.graph = graph;
+        this.fingerprint = fingerprint;
+        this.forward = forward;
+        this.backward = backward;
+        this.buildNanos = buildNanos;
+    }
+
+    // Flat label arrays: entries of node v are start[v] .. start[v + 1] - 1, sorted by hub rank
+    private record Labels(int[] start, int[] hub, double[] cost, double[] length, int[] edge) {
+
+        int find(int node, int hubRank) {
+            int i = Arrays.binarySearch(hub, start[node], start[node + 1], hubRank);
+            if (i < 0) throw new IllegalStateException("Hub label missing for node " + node + ", hub " + hubRank);
+            return i;
+        }
+    }
+
+    public static HubLabels build(Graph graph, EdgeWeights weights) {
+        long start = System.nanoTime();
+        int n = graph.getNodeCount();
+        int[] order = importanceOrder(graph, weights);
+
+        LabelBuilder forward = new LabelBuilder(n);
+        LabelBuilder backward = new LabelBuilder(n);
+        double[] hubCost = new double[n]; // by rank: the current hub's own label, for the prune test
+        Arrays.fill(hubCost, Double.POSITIVE_INFINITY);
+        double[] cost = new double[n];
+        double[] length = new double[n];
+        int[] parentEdge = new int[n];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        IndexMinHeap heap = new IndexMinHeap(n);
+        List<Integer> touched = new ArrayList<>();
+
+        for (int rank = 0; rank < n; rank++) {
+            int hub = order[rank];
+            // From the hub: it becomes a backward-label hub of the nodes it reaches
+            prunedSearch(graph, weights, hub, rank, false, forward, backward, hubCost, cost, length, parentEdge, heap, touched);
+            // Into the hub: it becomes a forward-label hub of the nodes reaching it
+            prunedSearch(graph, weights, hub, rank, true, backward, forward, hubCost, cost, length, parentEdge, heap, touched);
+        }
+        return new HubLabels(graph, fingerprint(graph, weights), forward.flatten(), backward.flatten(),
+                System.nanoTime() - start);
+    }
+
+    /**
+     * One pruned Dijkstra from (or, reversed, into) the hub. own is the hub's label
+     * on its side, target the label being filled in for the nodes reached.
+     */
+    private static void prunedSearch(Graph graph, EdgeWeights weights, int hub, int rank, boolean reversed,
+                                     LabelBuilder own, LabelBuilder target, double[] hubCost,
+                                     double[] cost, double[] length, int[] parentEdge,
+                                     IndexMinHeap heap, List<Integer> touched) {
+        for (int i = 0; i < own.count[hub]; i++) hubCost[own.hub[hub][i]] = own.cost[hub][i];
+
+        cost[hub] = 0;
+        length[hub] = 0;
+        parentEdge[hub] = -1;
+        touched.add(hub);
+        heap.insertOrDecrease(hub, 0);
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            double d = cost[u];
+            if (target.covers(u, hubCost, d)) continue;
+            target.add(u, rank, d, length[u], parentEdge[u]);
+
+            Node node = graph.getNodeByIndex(u);
+            for (Edge edge : reversed ? graph.getIncoming(node) : graph.getNeighbors(node)) {
+                double w = weights.weight(edge);
+                if (w == Double.POSITIVE_INFINITY) continue;
+                int v = (reversed ? edge.getFrom() : edge.getTo()).getIndex();
+                double tentative = d + w;
+                if (tentative < cost[v]) {
+                    if (cost[v] == Double.POSITIVE_INFINITY) touched.add(v);
+                    cost[v] = tentative;
+                    length[v] = length[u] + edge.getWeight();
+                    parentEdge[v] = edge.getId();
+                    heap.insertOrDecrease(v, tentative);
+                }
+            }
+        }
+
+        for (int v : touched) cost[v] = Double.POSITIVE_INFINITY;
+        touched.clear();
+        for (int i = 0; i < own.count[hub]; i++) hubCost[own.hub[hub][i]] = Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Nodes by how many shortest paths of a sample of trees pass through them
+     * (subtree sizes summed), ties broken by degree
+     */
+    private static int[] importanceOrder(Graph graph, EdgeWeights weights) {
+        int n = graph.getNodeCount();
+        int samples = Math.min(n, ORDER_SAMPLES);
+        long[] score = IntStream.range(0, samples).parallel().mapToObj(s -> {
+            Node root = graph.getNodeByIndex((int) ((long) s * n / samples));
+            ShortestPathTree tree = ShortestPathTree.forward(graph, root, weights);
+            tree.growAll();
+            // Children before parents: farthest first
+            Integer[] byCost = new Integer[n];
+            for (int i = 0; i < n; i++) byCost[i] = i;
+            Arrays.sort(byCost, (a, b) -> Double.compare(tree.getCost(graph.getNodeByIndex(b)),
+                    tree.getCost(graph.getNodeByIndex(a))));
+            long[] subtree = new long[n];
+            for (int v : byCost) {
+                Node node = graph.getNodeByIndex(v);
+                if (!tree.isSettled(node)) continue;
+                subtree[v]++;
+                Edge parent = tree.getParentEdge(node);
+                if (parent != null) subtree[parent.getFrom().getIndex()] += subtree[v];
+            }
+            return subtree;
+        }).reduce(new long[n], (a, b) -> {
+            long[] sum = new long[n];
+            for (int i = 0; i < n; i++) sum[i] = a[i] + b[i];
+            return sum;
+        });
+
+        Integer[] nodes = new Integer[n];
+        for (int i = 0; i < n; i++) nodes[i] = i;
+        Arrays.sort(nodes, (a, b) -> {
+            if (score[a] != score[b]) return Long.compare(score[b], score[a]);
+            return Integer.compare(degree(graph, b), degree(graph, a));
+        });
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = nodes[i];
+        return order;
+    }
+
+    private static int degree(Graph graph, int index) {
+        Node node = graph.getNodeByIndex(index);
+        return graph.getNeighbors(node).size() + graph.getIncoming(node).size();
+    }
+
+    /**
+     * Cost from one node of the graph to another, infinity if unreachable
+     */
+    public double cost(Node from, Node to) {
+        long meet = meet(from.getIndex(), to.getIndex());
+        return meet < 0 ? Double.POSITIVE_INFINITY : forward.cost()[(int) (meet >>> 32)] + backward.cost()[(int) meet];
+    }
+
+    /**
+     * Length in meters of the cheapest path between two nodes, infinity if unreachable
+     */
+    public double distance(Node from, Node to) {
+        long meet = meet(from.getIndex(), to.getIndex());
+        return meet < 0 ? Double.POSITIVE_INFINITY : forward.length()[(int) (meet >>> 32)] + backward.length()[(int) meet];
+    }
+
+    /**
+     * Edges of the cheapest path between two nodes, in travel order (empty if
+     * unreachable or from == to)
+     */
+    public List<Edge> path(Node from, Node to) {
+        List<Edge> edges = new ArrayList<>();
+        long meet = meet(from.getIndex(), to.getIndex());
+        if (meet >= 0) unpack((int) (meet >>> 32), (int) meet, from.getIndex(), to.getIndex(), edges);
+        return edges;
+    }
+
+    // Forward entry index << 32 | backward entry index of the best shared hub, or -1
+    private long meet(int s, int t) {
+        int[] fHub = forward.hub(), bHub = backward.hub();
+        double[] fCost = forward.cost(), bCost = backward.cost();
+        int i = forward.start()[s], iEnd = forward.start()[s + 1];
+        int j = backward.start()[t], jEnd = backward.start()[t + 1];
+        double best = Double.POSITIVE_INFINITY;
+        long meet = -1;
+        while (i < iEnd && j < jEnd) {
+            int a = fHub[i], b = bHub[j];
+            if (a < b) {
+                i++;
+            } else if (a > b) {
+                j++;
+            } else {
+                double c = fCost[i] + bCost[j];
+                if (c < best) {
+                    best = c;
+                    meet = ((long) i << 32) | j;
+                }
+                i++;
+                j++;
+            }
+        }
+        return meet;
+    }
+
+    private void unpack(int fEntry, int bEntry, int s, int t, List<Edge> edges) {
+        int hubRank = forward.hub()[fEntry];
+        // s -> hub: each entry's edge leads to a node whose label holds the same hub
+        int k = fEntry;
+        while (forward.edge()[k] >= 0) {
+            Edge e = graph.getEdge(forward.edge()[k]);
+            edges.add(e);
+            k = forward.find(e.getTo().getIndex(), hubRank);
+        }
+        // hub -> t, collected backwards from t
+        int mark = edges.size();
+        k = bEntry;
+        while (backward.edge()[k] >= 0) {
+            Edge e = graph.getEdge(backward.edge()[k]);
+            edges.add(e);
+            k = backward.find(e.getFrom().getIndex(), hubRank);
+        }
+        Collections.reverse(edges.subList(mark, edges.size()));
+    }
+
+    @Override
+    public Route findRoute(Graph queryGraph, double startLat, double startLng, double endLat, double endLng,
+                           EdgeWeights weights) {
+        long startTime = System.nanoTime();
+        if (queryGraph != graph && !(queryGraph instanceof QueryGraph q && q.getBase() == graph)) {
+            throw new IllegalArgumentException("Hub labels were built for a different graph");
+        }
+        Node start = queryGraph.findClosestNode(startLat, startLng);
+        Node goal = queryGraph.findClosestNode(endLat, endLng);
+        if (start == null || goal == null) return emptyRoute("no path", startTime);
+        if (!queryGraph.mayConnect(start, goal)) return emptyRoute("no path, disconnected", startTime);
+
+        // Labelled nodes next to each end (the end itself unless it is virtual), with the virtual pieces to them
+        List<Access> exits = access(queryGraph, start, goal, weights, false);
+        List<Access> entries = access(queryGraph, goal, start, weights, true);
+
+        double best = Double.POSITIVE_INFINITY;
+        Access bestExit = null, bestEntry = null;
+        long bestMeet = -1;
+        for (Access exit : exits) {
+            if (exit.node() == goal) {
+                // Both ends on one street segment
+                if (exit.cost() < best) {
+                    best = exit.cost();
+                    bestExit = exit;
+                    bestEntry = null;
+                }
+                continue;
+            }
+            for (Access entry : entries) {
+                if (!isLabelled(entry.node())) continue; // a virtual start, already covered as an exit
+                long meet = meet(exit.node().getIndex(), entry.node().getIndex());
+                if (meet < 0) continue;
+                double c = exit.cost() + forward.cost()[(int) (meet >>> 32)] + backward.cost()[(int) meet] + entry.cost();
+                if (c < best) {
+                    best = c;
+                    bestExit = exit;
+                    bestEntry = entry;
+                    bestMeet = meet;
+                }
+            }
+        }
+        if (bestExit == null) return emptyRoute("no path", startTime);
+
+        List<Edge> edges = new ArrayList<>(bestExit.edges());
+        if (bestEntry != null) {
+            unpack((int) (bestMeet >>> 32), (int) bestMeet, bestExit.node().getIndex(), bestEntry.node().getIndex(), edges);
+            edges.addAll(bestEntry.edges());
+        }
+        List<Node> path = new ArrayList<>(edges.size() + 1);
+        path.add(start);
+        double distance = 0;
+        for (Edge e : edges) {
+            path.add(e.getTo());
+            distance += e.getWeight();
+        }
+        long nanos = System.nanoTime() - startTime;
+        return new Route(path, distance, weights.toSeconds(best),
+                getName() + " (" + path.size() + " nodes, " + nanos / 1000 + "us)", 0, nanos);
+    }
+
+    /** A labelled node reached from (or reaching) a query end, and the edges in between in travel order */
+    private record Access(Node node, double cost, List<Edge> edges) {}
+
+    /**
+     * Cheapest ways from end (or, reversed, into it) across virtual nodes to the
+     * first labelled nodes, or to other (the opposite end) directly
+     */
+    private List<Access> access(Graph queryGraph, Node end, Node other, EdgeWeights weights, boolean reversed) {
+        if (isLabelled(end)) return List.of(new Access(end, 0, List.of()));
+        Map<Node, Double> cost = new HashMap<>();
+        Map<Node, Edge> parent = new HashMap<>();
+        PriorityQueue<Node> open = new PriorityQueue<>((a, b) -> Double.compare(cost.get(a), cost.get(b)));
+        List<Access> found = new ArrayList<>();
+        cost.put(end, 0.0);
+        open.add(end);
+        while (!open.isEmpty()) {
+            Node u = open.poll();
+            if (u != end && (isLabelled(u) || u == other)) {
+                List<Edge> edges = new ArrayList<>();
+                for (Node v = u; v != end; ) {
+                    Edge e = parent.get(v);
+                    edges.add(e);
+                    v = reversed ? e.getTo() : e.getFrom();
+                }
+                if (!reversed) Collections.reverse(edges);
+                found.add(new Access(u, cost.get(u), edges));
+                continue;
+            }
+            for (Edge edge : reversed ? queryGraph.getIncoming(u) : queryGraph.getNeighbors(u)) {
+                double w = weights.weight(edge);
+                if (w == Double.POSITIVE_INFINITY) continue;
+                Node v = reversed ? edge.getFrom() : edge.getTo();
+                double tentative = cost.get(u) + w;
+                Double known = cost.get(v);
+                if (known == null || tentative < known) {
+                    open.remove(v);
+                    cost.put(v, tentative);
+                    parent.put(v, edge);
+                    open.add(v);
+                }
+            }
+        }
+        return found;
+    }
+
+    private boolean isLabelled(Node node) {
+        int index = node.getIndex();
+        return index >= 0 && index < graph.getNodeCount() && graph.getNodeByIndex(index) == node;
+    }
+
+    private Route emptyRoute(String reason, long startTime) {
+        long nanos = System.nanoTime() - startTime;
+        return new Route(Collections.emptyList(), 0, 0, getName() + " (" + reason + ", " + nanos / 1000 + "us)", 0, nanos);
+    }
+
+    @Override
+    public String getName() { return "HL"; }
+
+    public Graph getGraph() { return graph; }
+    public long getBuildNanos() { return buildNanos; }
+
+    /** Label entries over both directions (memory is about 24 bytes each) */
+    public int getEntryCount() { return forward.hub().length + backward.hub().length; }
+
+    /**
+     * Identifies a graph together with a cost function: node and edge counts,
+     * every edge's endpoints and cost. Stored labels are only reused for a match.
+     */
+    public static long fingerprint(Graph graph, EdgeWeights weights) {
+        long h = mix(graph.getNodeCount(), graph.getEdgeCount());
+        for (int id = 0; id < graph.getEdgeCount(); id++) {
+            Edge e = graph.getEdge(id);
+            h = mix(h, e.getFrom().getIndex());
+            h = mix(h, e.getTo().getIndex());
+            h = mix(h, Double.doubleToLongBits(weights.weight(e)));
+        }
+        return h;
+    }
+
+    private static long mix(long h, long value) {
+        h = (h ^ value) * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 31);
+    }
+
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeLong(fingerprint);
+        write(data, forward);
+        write(data, backward);
+        data.flush();
+    }
+
+    private static void write(DataOutputStream data, Labels labels) throws IOException {
+        data.writeInt(labels.start().length);
+        for (int v : labels.start()) data.writeInt(v);
+        data.writeInt(labels.hub().length);
+        for (int i = 0; i < labels.hub().length; i++) {
+            data.writeInt(labels.hub()[i]);
+            data.writeDouble(labels.cost()[i]);
+            data.writeDouble(labels.length()[i]);
+            data.writeInt(labels.edge()[i]);
+        }
+    }
+
+    /**
+     * Labels written by write(), or null if they were built for a different graph
+     * or cost function
+     */
+    public static HubLabels read(InputStream in, Graph graph, EdgeWeights weights) throws IOException {
+        long start = System.nanoTime();
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) throw new IOException("Not a hub label file");
+        long fingerprint = data.readLong();
+        if (fingerprint != fingerprint(graph, weights)) return null;
+        Labels forward = read(data, graph.getNodeCount());
+        Labels backward = read(data, graph.getNodeCount());
+        return new HubLabels(graph, fingerprint, forward, backward, System.nanoTime() - start);
+    }
+
+    private static Labels read(DataInputStream data, int nodeCount) throws IOException {
+        int starts = data.readInt();
+        if (starts != nodeCount + 1) throw new IOException("Hub label file does not match the graph");
+        int[] start = new int[starts];
+        for (int i = 0; i < starts; i++) start[i] = data.readInt();
+        int size = data.readInt();
+        int[] hub = new int[size];
+        double[] cost = new double[size];
+        double[] length = new double[size];
+        int[] edge = new int[size];
+        for (int i = 0; i < size; i++) {
+            hub[i] = data.readInt();
+            cost[i] = data.readDouble();
+            length[i] = data.readDouble();
+            edge[i] = data.readInt();
+        }
+        return new Labels(start, hub, cost, length, edge);
+    }
+
+    // Growable per-node labels during the build; hubs arrive in rank order, so each stays sorted
+    private static final class LabelBuilder {
+        final int[] count;
+        final int[][] hub;
+        final double[][] cost;
+        final double[][] length;
+        final int[][] edge;
+
+        LabelBuilder(int n) {
+            count = new int[n];
+            hub = new int[n][4];
+            cost = new double[n][4];
+            length = new double[n][4];
+            edge = new int[n][4];
+        }
+
+        // Whether hubs already in v's label give a cost of at most d (hubCost holds the other side)
+        boolean covers(int v, double[] hubCost, double d) {
+            int[] hubs = hub[v];
+            double[] costs = cost[v];
+            for (int i = 0; i < count[v]; i++) {
+                if (hubCost[hubs[i]] + costs[i] <= d) return true;
+            }
+            return false;
+        }
+
+        void add(int v, int rank, double c, double len, int e) {
+            int i = count[v]++;
+            if (i == hub[v].length) {
+                int size = i * 2;
+                hub[v] = Arrays.copyOf(hub[v], size);
+                cost[v] = Arrays.copyOf(cost[v], size);
+                length[v] = Arrays.copyOf(length[v], size);
+                edge[v] = Arrays.copyOf(edge[v], size);
+            }
+            hub[v][i] = rank;
+            cost[v][i] = c;
+            length[v][i] = len;
+            edge[v][i] = e;
+        }
+
+        Labels flatten() {
+            int n = count.length;
+            int[] start = new int[n + 1];
+            for (int v = 0; v < n; v++) start[v + 1] = start[v] + count[v];
+            int size = start[n];
+            int[] flatHub = new int[size];
+            double[] flatCost = new double[size];
+            double[] flatLength = new double[size];
+            int[] flatEdge = new int[size];
+            for (int v = 0; v < n; v++) {
+                System.arraycopy(hub[v], 0, flatHub, start[v], count[v]);
+                System.arraycopy(cost[v], 0, flatCost, start[v], count[v]);
+                System.arraycopy(length[v], 0, flatLength, start[v], count[v]);
+                System.arraycopy(edge[v], 0, flatEdge, start[v], count[v]);
+            }
+            return new Labels(start, flatHub, flatCost, flatLength, flatEdge);
+        }
+    }
+}
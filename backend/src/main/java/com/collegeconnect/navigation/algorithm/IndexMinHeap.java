@@ -0,0 +1,94 @@
+package com.collegeconnect.navigation.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap over dense node indices with decrease-key.
+ * Backed by primitive arrays, so a search allocates nothing per relaxed edge.
+ */
+public final class IndexMinHeap {
+    private final int[] heap;     // heap position -> node index
+    private final int[] position; // node index -> heap position, -1 if absent
+    private final double[] keys;  // node index -> key
+    private int size;
+
+    public IndexMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public boolean isEmpty() { return size == 0; }
+    public int size() { return size; }
+    public boolean contains(int index) { return position[index] >= 0; }
+    public int peek() { return heap[0]; }
+    public double peekKey() { return keys[heap[0]]; }
+
+    /**
+     * Insert the index, or lower its key if it is already queued with a higher one
+     */
+    public void insertOrDecrease(int index, double key) {
+        int pos = position[index];
+        if (pos < 0) {
+            pos = size++;
+            heap[pos] = index;
+            position[index] = pos;
+            keys[index] = key;
+            siftUp(pos);
+        } else if (key < keys[index]) {
+            keys[index] = key;
+            siftUp(pos);
+        }
+    }
+
+    public int poll() {
+        int top = heap[0];
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        position[top] = -1;
+        return top;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) position[heap[i]] = -1;
+        size = 0;
+    }
+
+    private void siftUp(int pos) {
+        int index = heap[pos];
+        double key = keys[index];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            int parentIndex = heap[parent];
+            if (keys[parentIndex] <= key) break;
+            heap[pos] = parentIndex;
+            position[parentIndex] = pos;
+            pos = parent;
+        }
+        heap[pos] = index;
+        position[index] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int index = heap[pos];
+        double key = keys[index];
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]]) child = right;
+            int childIndex = heap[child];
+            if (key <= keys[childIndex]) break;
+            heap[pos] = childIndex;
+            position[childIndex] = pos;
+            pos = child;
+        }
+        heap[pos] = index;
+        position[index] = pos;
+    }
+}
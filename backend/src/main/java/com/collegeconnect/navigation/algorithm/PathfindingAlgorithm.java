@@ -1,9 +1,15 @@
 package com.collegeconnect.navigation.algorithm;
 
+import com.collegeconnect.navigation.model.EdgeWeights;
 import com.collegeconnect.navigation.model.Graph;
 import com.collegeconnect.navigation.model.Route;
 
 public interface PathfindingAlgorithm {
-    Route findRoute(Graph graph, double startLat, double startLng, double endLat, double endLng);
+    default Route findRoute(Graph graph, double startLat, double startLng, double endLat, double endLng) {
+        return findRoute(graph, startLat, startLng, endLat, endLng, EdgeWeights.DISTANCE);
+    }
+
+    Route findRoute(Graph graph, double startLat, double startLng, double endLat, double endLng, EdgeWeights weights);
+
     String getName();
 }
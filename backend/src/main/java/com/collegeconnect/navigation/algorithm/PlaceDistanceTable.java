@@ -0,0 +1,142 @@
+package com.collegeconnect.navigation.algorithm;
+
+import com.collegeconnect.navigation.model.Edge;
+import com.collegeconnect.navigation.model.EdgeWeights;
+import com.collegeconnect.navigation.model.Graph;
+import com.collegeconnect.navigation.model.Node;
+import com.collegeconnect.navigation.model.PlaceIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * All-pairs costs between place entrances for one graph and cost function,
+ * computed up front with one one-to-all Dijkstra per entrance (run in parallel).
+ * Keeps the entrance-to-entrance cost and length matrices plus each entrance's
+ * shortest-path tree as a parent-edge array, so a place-to-place route is a
+ * matrix lookup followed by walking parent edges back to the source.
+ *
+ * Memory is one int per graph node per entrance plus two floats per entrance
+ * pair. Only valid for the weights it was built with (no closures).
+ */
+public final class PlaceDistanceTable {
+
+    private final Graph graph;
+    private final Node[] entrances;
+    private final int[] slotByNode;   // node index -> entrance slot, -1 if not an entrance
+    private final float[] cost;       // [from * size + to], infinity if unreachable
+    private final float[] distance;   // meters, same layout
+    private final int[][] parentEdge; // per source slot: node index -> tree edge id, -1 at root/unreached
+    private final long buildNanos;
+
+    private PlaceDistanceTable(Graph graph, Node[] entrances, int[] slotByNode, float[] cost, float[] distance,
+                               int[][] parentEdge, long buildNanos) {
+        this.graph = graph;
+        this.entrances = entrances;
+        this.slotByNode = slotByNode;
+        this.cost = cost;
+        this.distance = distance;
+        this.parentEdge = parentEdge;
+        this.buildNanos = buildNanos;
+    }
+
+    /**
+     * Table over every entrance of the given places
+     */
+    public static PlaceDistanceTable build(Graph graph, PlaceIndex places, EdgeWeights weights) {
+        long start = System.nanoTime();
+        int[] slotByNode = new int[graph.getNodeCount()];
+        Arrays.fill(slotByNode, -1);
+        List<Node> distinct = new ArrayList<>();
+        for (PlaceIndex.Place place : places.getAll()) {
+            for (Node entrance : place.entrances()) {
+                if (slotByNode[entrance.getIndex()] < 0) {
+                    slotByNode[entrance.getIndex()] = distinct.size();
+                    distinct.add(entrance);
+                }
+            }
+        }
+        Node[] entrances = distinct.toArray(new Node[0]);
+        int size = entrances.length;
+        float[] cost = new float[size * size];
+        float[] distance = new float[size * size];
+        int[][] parentEdge = new int[size][];
+
+        // Trees are independent: each fills its own row and parent array
+        IntStream.range(0, size).parallel().forEach(from -> {
+            ShortestPathTree tree = ShortestPathTree.forward(graph, entrances[from], weights);
+            tree.growAll();
+            int[] parents = new int[graph.getNodeCount()];
+            for (int i = 0; i < parents.length; i++) {
+                Edge e = tree.getParentEdge(graph.getNodeByIndex(i));
+                parents[i] = e != null ? e.getId() : -1;
+            }
+            parentEdge[from] = parents;
+            for (int to = 0; to < size; to++) {
+                cost[from * size + to] = (float) tree.getCost(entrances[to]);
+                distance[from * size + to] = (float) tree.pathDistance(entrances[to]);
+            }
+        });
+        return new PlaceDistanceTable(graph, entrances, slotByNode, cost, distance, parentEdge,
+                System.nanoTime() - start);
+    }
+
+    /**
+     * Cheapest entrance pair between two places, or null if the table doesn't
+     * cover them or no entrance of one reaches an entrance of the other
+     */
+    public Leg best(PlaceIndex.Place from, PlaceIndex.Place to) {
+        Leg best = null;
+        for (Node a : from.entrances()) {
+            int i = slot(a);
+            if (i < 0) return null;
+            for (Node b : to.entrances()) {
+                int j = slot(b);
+                if (j < 0) return null;
+                float c = cost[i * entrances.length + j];
+                if (c != Float.POSITIVE_INFINITY && (best == null || c < best.cost())) {
+                    best = new Leg(a, b, c, distance[i * entrances.length + j]);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Cost and length between two entrances of the table
+     */
+    public record Leg(Node from, Node to, double cost, double distance) {}
+
+    /**
+     * Nodes of the shortest path from one entrance to another, in travel order
+     * (empty if unreachable)
+     */
+    public List<Node> path(Node from, Node to) {
+        int i = slot(from);
+        int j = slot(to);
+        if (i < 0 || j < 0 || cost[i * entrances.length + j] == Float.POSITIVE_INFINITY) return List.of();
+        int[] parents = parentEdge[i];
+        List<Node> path = new ArrayList<>();
+        Node current = to;
+        path.add(current);
+        int e;
+        while ((e = parents[current.getIndex()]) >= 0) {
+            current = graph.getEdge(e).getFrom();
+            path.add(current);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private int slot(Node node) {
+        int index = node.getIndex();
+        return index >= 0 && index < slotByNode.length && graph.getNodeByIndex(index) == node ? slotByNode[index] : -1;
+    }
+
+    public Graph getGraph() { return graph; }
+    public int getSize() { return entrances.length; }
+    public long getBuildNanos() { return buildNanos; }
+}
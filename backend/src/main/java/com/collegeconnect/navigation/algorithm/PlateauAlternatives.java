@@ -0,0 +1,166 @@
+package com.collegeconnect.navigation.algorithm;
+
+import com.collegeconnect.navigation.model.Edge;
+import com.collegeconnect.navigation.model.EdgeWeights;
+import com.collegeconnect.navigation.model.Graph;
+import com.collegeconnect.navigation.model.Node;
+import com.collegeconnect.navigation.model.Route;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Alternative routes with the plateau method: grow one forward tree from the
+ * start and one backward tree from the goal (bounded by the allowed stretch),
+ * then look for "plateaus" - chains of edges that are on both trees. Every
+ * plateau yields a locally optimal route start -> plateau -> goal, so k
+ * alternatives cost two bounded Dijkstra searches instead of k full searches.
+ */
+public class PlateauAlternatives {
+
+    public record Alternative(Route route, double overlap, double stretch) {}
+
+    private record Candidate(Node from, Node to, double cost, double plateauCost) {}
+
+    private final double maxStretch;  // 0.4 = alternatives may cost up to 40% more than the best route
+    private final double minPlateau;  // plateau must cover this fraction of the best cost
+    private final double maxOverlap;  // max share of length already used by a chosen route
+
+    public PlateauAlternatives() {
+        this(0.4, 0.2, 0.75);
+    }
+
+    public PlateauAlternatives(double maxStretch, double minPlateau, double maxOverlap) {
+        this.maxStretch = maxStretch;
+        this.minPlateau = minPlateau;
+        this.maxOverlap = maxOverlap;
+    }
+
+    /**
+     * Up to k routes from start to goal, best first. The first entry is the
+     * shortest path; overlap is the share of each route's length it has in
+     * common with that shortest path.
+     */
+    public List<Alternative> find(Graph graph, Node start, Node goal, EdgeWeights weights, int k) {
+        long startTime = System.currentTimeMillis();
+        if (k <= 0 || start.equals(goal)) return Collections.emptyList();
+
+        ShortestPathTree forward = ShortestPathTree.forward(graph, start, weights);
+        double best = forward.settle(goal);
+        if (best == Double.POSITIVE_INFINITY) return Collections.emptyList();
+
+        double limit = best * (1 + maxStretch);
+        forward.growTo(limit);
+        ShortestPathTree backward = ShortestPathTree.backward(graph, goal, weights);
+        backward.growTo(limit);
+
+        // A tree edge u -> v is on a plateau if the backward tree also leaves u through it
+        int n = graph.getNodeCount();
+        int[] plateauNext = new int[n];
+        boolean[] hasPlateauIn = new boolean[n];
+        Arrays.fill(plateauNext, -1);
+        for (int v = 0; v < n; v++) {
+            Node node = graph.getNodeByIndex(v);
+            if (!forward.isSettled(node) || !backward.isSettled(node)) continue;
+            Edge in = forward.getParentEdge(node);
+            if (in == null || !backward.isSettled(in.getFrom())) continue;
+            Edge out = backward.getParentEdge(in.getFrom());
+            if (out != null && out.getId() == in.getId()) {
+                plateauNext[in.getFrom().getIndex()] = v;
+                hasPlateauIn[v] = true;
+            }
+        }
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (int a = 0; a < n; a++) {
+            if (plateauNext[a] < 0 || hasPlateauIn[a]) continue; // not the start of a chain
+            int b = a;
+            while (plateauNext[b] >= 0) b = plateauNext[b];
+            Node from = graph.getNodeByIndex(a);
+            Node to = graph.getNodeByIndex(b);
+            double cost = forward.getCost(from) + backward.getCost(from);
+            double plateauCost = forward.getCost(to) - forward.getCost(from);
+            if (cost > limit || plateauCost < minPlateau * best) continue;
+            candidates.add(new Candidate(from, to, cost, plateauCost));
+        }
+        // Prefer routes whose detour outside the plateau is small
+        candidates.sort(Comparator.comparingDouble((Candidate c) -> c.cost() - c.plateauCost())
+                .thenComparingDouble(Candidate::cost));
+
+        long computeTimeMs = System.currentTimeMillis() - startTime;
+        String label = "PLATEAU (" + (forward.getSettledCount() + backward.getSettledCount())
+                + " nodes, " + computeTimeMs + "ms)";
+
+        List<Alternative> result = new ArrayList<>();
+        List<Map<Integer, Double>> chosen = new ArrayList<>();
+        for (Candidate c : candidates) {
+            if (result.size() >= k) break;
+            List<Edge> edges = new ArrayList<>();
+            collectEdges(forward, backward, c.to(), edges);
+
+            List<Node> path = new ArrayList<>(edges.size() + 1);
+            path.add(start);
+            Set<Node> seen = new HashSet<>();
+            seen.add(start);
+            boolean simple = true;
+            Map<Integer, Double> lengths = new HashMap<>();
+            double distance = 0;
+            for (Edge e : edges) {
+                if (!seen.add(e.getTo())) { simple = false; break; }
+                path.add(e.getTo());
+                distance += e.getWeight();
+                lengths.merge(undirectedKey(e), e.getWeight(), Double::sum);
+            }
+            if (!simple || distance == 0) continue;
+
+            double maxShared = 0;
+            for (Map<Integer, Double> other : chosen) {
+                maxShared = Math.max(maxShared, shared(lengths, other) / distance);
+            }
+            if (!chosen.isEmpty() && maxShared > maxOverlap) continue;
+
+            double overlap = chosen.isEmpty() ? 1.0 : shared(lengths, chosen.get(0)) / distance;
+            Route route = new Route(path, distance, weights.toSeconds(c.cost()), label);
+            result.add(new Alternative(route, overlap, c.cost() / best));
+            chosen.add(lengths);
+        }
+        return result;
+    }
+
+    private static void collectEdges(ShortestPathTree forward, ShortestPathTree backward, Node via, List<Edge> out) {
+        // start .. via through the forward tree (plateau edges are forward tree edges)
+        Node current = via;
+        Edge e;
+        while ((e = forward.getParentEdge(current)) != null) {
+            out.add(e);
+            current = e.getFrom();
+        }
+        Collections.reverse(out);
+        // via .. goal through the backward tree
+        current = via;
+        while ((e = backward.getParentEdge(current)) != null) {
+            out.add(e);
+            current = e.getTo();
+        }
+    }
+
+    private static double shared(Map<Integer, Double> a, Map<Integer, Double> b) {
+        double sum = 0;
+        for (Map.Entry<Integer, Double> entry : a.entrySet()) {
+            if (b.containsKey(entry.getKey())) sum += entry.getValue();
+        }
+        return sum;
+    }
+
+    // Both directions of a street count as the same stretch of path
+    private static int undirectedKey(Edge e) {
+        return e.getReverse() == null ? e.getId() : Math.min(e.getId(), e.getReverse().getId());
+    }
+}
@@ -0,0 +1,237 @@
+package com.collegeconnect.navigation.algorithm;
+
+import com.collegeconnect.navigation.model.Edge;
+import com.collegeconnect.navigation.model.Graph;
+import com.collegeconnect.navigation.model.Node;
+import com.collegeconnect.navigation.util.GeoMath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Post-processing of a found path: turn-by-turn instructions from bearing
+ * changes at junctions and street-name changes, and a Douglas-Peucker
+ * simplified geometry for the client to draw. Maneuver points are always kept
+ * in the simplified geometry, and instructions point into it.
+ *
+ * Works on primitive arrays (projected coordinates, a keep mask, an explicit
+ * stack) so it stays cheap next to the search itself.
+ */
+public final class RouteGuidance {
+
+    // Bearings are measured over at least this much path, so short kinks don't read as turns
+    private static final double BEARING_SPAN_METERS = 10.0;
+    private static final double SLIGHT_TURN_DEGREES = 30.0;
+    private static final double TURN_DEGREES = 60.0;
+    private static final double SHARP_TURN_DEGREES = 135.0;
+
+    /**
+     * One maneuver. modifier is "left", "slight right", ... (null for depart/arrive);
+     * street is the name of the way followed afterwards (null if unnamed); distance
+     * and duration cover the stretch up to the next instruction; pointIndex is the
+     * maneuver's position in the simplified path.
+     */
+    public record Instruction(String type, String modifier, String street, double distance, double duration,
+                              int pointIndex, String text) {}
+
+    public record Guidance(List<Node> path, List<Instruction> instructions) {}
+
+    private RouteGuidance() {}
+
+    /**
+     * @param graph the graph the path was found on (resolves the edges between consecutive nodes)
+     * @param duration the route's total duration, shared out by distance
+     * @param toleranceMeters Douglas-Peucker tolerance; 0 keeps every vertex
+     */
+    public static Guidance describe(Graph graph, List<Node> path, double duration, double toleranceMeters) {
+        int n = path.size();
+        if (n < 2) return new Guidance(path, List.of());
+
+        // Local equirectangular projection in meters
+        double metersPerDegLng = GeoMath.METERS_PER_DEGREE * path.get(0).getCosLatitude();
+        double[] x = new double[n];
+        double[] y = new double[n];
+        double[] along = new double[n]; // meters from the start
+        for (int i = 0; i < n; i++) {
+            Node node = path.get(i);
+            x[i] = node.getLongitude() * metersPerDegLng;
+            y[i] = node.getLatitude() * GeoMath.METERS_PER_DEGREE;
+            if (i > 0) along[i] = along[i - 1] + Math.hypot(x[i] - x[i - 1], y[i] - y[i - 1]);
+        }
+        double total = along[n - 1];
+
+        // Street followed by each segment (i -> i + 1)
+        String[] street = new String[n - 1];
+        for (int i = 0; i < n - 1; i++) {
+            Edge edge = edgeBetween(graph, path.get(i), path.get(i + 1));
+            street[i] = edge != null ? graph.getWayName(edge.getWayId()) : null;
+        }
+        // Unnamed stretches between two segments of the same street (stitching bridges, snapped pieces) keep its name
+        for (int i = 1; i < n - 1; i++) {
+            if (street[i] == null && street[i - 1] != null) {
+                int j = i;
+                while (j < n - 1 && street[j] == null) j++;
+                if (j < n - 1 && street[j].equals(street[i - 1])) {
+                    for (int k = i; k < j; k++) street[k] = street[i - 1];
+                }
+            }
+        }
+
+        boolean[] keep = new boolean[n];
+        keep[0] = true;
+        keep[n - 1] = true;
+        int[] maneuverAt = new int[n];
+        String[] modifiers = new String[n];
+        int maneuvers = 0;
+        maneuverAt[maneuvers++] = 0;
+        for (int i = 1; i < n - 1; i++) {
+            boolean renamed = !Objects.equals(street[i - 1], street[i]);
+            boolean junction = graph.getNeighbors(path.get(i)).size() > 2;
+            double turn = turnAngle(x, y, along, i);
+            if (renamed || (junction && Math.abs(turn) >= SLIGHT_TURN_DEGREES)) {
+                keep[i] = true;
+                modifiers[i] = modifier(turn);
+                maneuverAt[maneuvers++] = i;
+            }
+        }
+        maneuverAt[maneuvers++] = n - 1;
+
+        simplify(x, y, keep, toleranceMeters);
+        List<Node> simplified = new ArrayList<>();
+        int[] simplifiedIndex = new int[n];
+        for (int i = 0; i < n; i++) {
+            if (keep[i]) {
+                simplifiedIndex[i] = simplified.size();
+                simplified.add(path.get(i));
+            }
+        }
+
+        List<Instruction> instructions = new ArrayList<>(maneuvers);
+        for (int m = 0; m < maneuvers; m++) {
+            int i = maneuverAt[m];
+            boolean last = m == maneuvers - 1;
+            double distance = last ? 0 : along[maneuverAt[m + 1]] - along[i];
+            double legDuration = total > 0 ? duration * distance / total : 0;
+            String name = last ? null : street[i];
+            String type;
+            String modifier = null;
+            String text;
+            if (m == 0) {
+                type = "depart";
+                text = "Head " + compass(x, y, along, 0) + (name != null ? " on " + name : "");
+            } else if (last) {
+                type = "arrive";
+                text = "Arrive at your destination";
+            } else if ("straight".equals(modifiers[i])) {
+                type = "continue";
+                modifier = "straight";
+                text = "Continue" + (name != null ? " onto " + name : " straight");
+            } else {
+                type = "turn";
+                modifier = modifiers[i];
+                text = "Turn " + modifier + (name != null ? " onto " + name : "");
+            }
+            instructions.add(new Instruction(type, modifier, name, distance, legDuration, simplifiedIndex[i], text));
+        }
+        return new Guidance(simplified, instructions);
+    }
+
+    /**
+     * Douglas-Peucker: additionally marks in keep the vertices needed so that no
+     * dropped vertex lies farther than tolerance from the kept polyline. Vertices
+     * already marked (the ends, maneuvers) split the work into independent runs.
+     */
+    static void simplify(double[] x, double[] y, boolean[] keep, double toleranceMeters) {
+        int n = x.length;
+        if (toleranceMeters <= 0) {
+            Arrays.fill(keep, true);
+            return;
+        }
+        double toleranceSq = toleranceMeters * toleranceMeters;
+        int[] stack = new int[2 * n];
+        int from = 0;
+        for (int to = 1; to < n; to++) {
+            if (!keep[to]) continue;
+            int top = 0;
+            stack[top++] = from;
+            stack[top++] = to;
+            while (top > 0) {
+                int b = stack[--top];
+                int a = stack[--top];
+                int farthest = -1;
+                double farthestSq = toleranceSq;
+                for (int i = a + 1; i < b; i++) {
+                    double d = segmentDistanceSq(x[i], y[i], x[a], y[a], x[b], y[b]);
+                    if (d > farthestSq) {
+                        farthestSq = d;
+                        farthest = i;
+                    }
+                }
+                if (farthest >= 0) {
+                    keep[farthest] = true;
+                    stack[top++] = a;
+                    stack[top++] = farthest;
+                    stack[top++] = farthest;
+                    stack[top++] = b;
+                }
+            }
+            from = to;
+        }
+    }
+
+    private static double segmentDistanceSq(double px, double py, double ax, double ay, double bx, double by) {
+        double dx = bx - ax, dy = by - ay;
+        double lengthSq = dx * dx + dy * dy;
+        double t = lengthSq > 0 ? ((px - ax) * dx + (py - ay) * dy) / lengthSq : 0;
+        t = Math.max(0, Math.min(1, t));
+        double ex = ax + t * dx - px, ey = ay + t * dy - py;
+        return ex * ex + ey * ey;
+    }
+
+    // Cheapest edge from a to b on the graph (parallel stitching bridges can exist)
+    private static Edge edgeBetween(Graph graph, Node a, Node b) {
+        Edge best = null;
+        for (Edge edge : graph.getNeighbors(a)) {
+            if (edge.getTo().equals(b) && (best == null || edge.getWeight() < best.getWeight())) best = edge;
+        }
+        return best;
+    }
+
+    // Signed change of direction at vertex i in degrees, positive to the right
+    private static double turnAngle(double[] x, double[] y, double[] along, int i) {
+        int before = i - 1;
+        while (before > 0 && along[i] - along[before] < BEARING_SPAN_METERS) before--;
+        int after = i + 1;
+        while (after < x.length - 1 && along[after] - along[i] < BEARING_SPAN_METERS) after++;
+        double in = bearing(x[before], y[before], x[i], y[i]);
+        double out = bearing(x[i], y[i], x[after], y[after]);
+        double turn = out - in;
+        if (turn > 180) turn -= 360;
+        if (turn <= -180) turn += 360;
+        return turn;
+    }
+
+    // Compass bearing (0 = north, clockwise) in degrees
+    private static double bearing(double ax, double ay, double bx, double by) {
+        return Math.toDegrees(Math.atan2(bx - ax, by - ay));
+    }
+
+    private static String modifier(double turn) {
+        double magnitude = Math.abs(turn);
+        String side = turn > 0 ? "right" : "left";
+        if (magnitude < SLIGHT_TURN_DEGREES) return "straight";
+        if (magnitude < TURN_DEGREES) return "slight " + side;
+        if (magnitude < SHARP_TURN_DEGREES) return side;
+        return "sharp " + side;
+    }
+
+    private static String compass(double[] x, double[] y, double[] along, int i) {
+        int after = i + 1;
+        while (after < x.length - 1 && along[after] - along[i] < BEARING_SPAN_METERS) after++;
+        double b = bearing(x[i], y[i], x[after], y[after]);
+        String[] names = {"north", "northeast", "east", "southeast", "south", "southwest", "west", "northwest"};
+        return names[(int) Math.floorMod(Math.round(b / 45.0), 8)];
+    }
+}
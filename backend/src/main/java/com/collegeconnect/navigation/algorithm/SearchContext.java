@@ -0,0 +1,114 @@
+package com.collegeconnect.navigation.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Per-search state for the A* family: costs, parent edges, closed flags and a
+ * queue for each search direction, in primitive arrays indexed by node index.
+ * Keeping this out of Node means searches on the same (shared) graph can run
+ * concurrently. A context is reused across searches on one thread; entries are
+ * invalidated by bumping a generation stamp instead of clearing the arrays.
+ */
+final class SearchContext {
+
+    private static final ThreadLocal<SearchContext> PER_THREAD = ThreadLocal.withInitial(SearchContext::new);
+
+    private int capacity;
+    private int[] stamp;           // node index -> generation its entries belong to
+    private int generation;
+    private double[] costForward, costBackward;
+    private int[] parentForward, parentBackward; // edge ids, -1 at the roots
+    private boolean[] closedForward, closedBackward;
+    private IndexMinHeap queueForward, queueBackward;
+
+    private SearchContext() {
+        allocate(0);
+    }
+
+    /**
+     * This thread's context, prepared for a search over nodeCount nodes
+     */
+    static SearchContext acquire(int nodeCount) {
+        SearchContext ctx = PER_THREAD.get();
+        ctx.prepare(nodeCount);
+        return ctx;
+    }
+
+    private void prepare(int nodeCount) {
+        if (nodeCount > capacity) {
+            // Leave headroom for query graphs (base graph + a few virtual nodes)
+            allocate(nodeCount + 16);
+        } else {
+            queueForward.clear();
+            queueBackward.clear();
+        }
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+    }
+
+    private void allocate(int size) {
+        capacity = size;
+        stamp = new int[size];
+        generation = 0;
+        costForward = new double[size];
+        costBackward = new double[size];
+        parentForward = new int[size];
+        parentBackward = new int[size];
+        closedForward = new boolean[size];
+        closedBackward = new boolean[size];
+        queueForward = new IndexMinHeap(size);
+        queueBackward = new IndexMinHeap(size);
+    }
+
+    // First touch of a node in this search: reset its entries for both directions
+    private void touch(int i) {
+        if (stamp[i] != generation) {
+            stamp[i] = generation;
+            costForward[i] = Double.POSITIVE_INFINITY;
+            costBackward[i] = Double.POSITIVE_INFINITY;
+            parentForward[i] = -1;
+            parentBackward[i] = -1;
+            closedForward[i] = false;
+            closedBackward[i] = false;
+        }
+    }
+
+    double cost(boolean forward, int i) {
+        if (stamp[i] != generation) return Double.POSITIVE_INFINITY;
+        return forward ? costForward[i] : costBackward[i];
+    }
+
+    int parent(boolean forward, int i) {
+        if (stamp[i] != generation) return -1;
+        return forward ? parentForward[i] : parentBackward[i];
+    }
+
+    boolean isClosed(boolean forward, int i) {
+        return stamp[i] == generation && (forward ? closedForward[i] : closedBackward[i]);
+    }
+
+    void update(boolean forward, int i, double cost, int parentEdge) {
+        touch(i);
+        if (forward) {
+            costForward[i] = cost;
+            parentForward[i] = parentEdge;
+            closedForward[i] = false; // reopened if it was closed
+        } else {
+            costBackward[i] = cost;
+            parentBackward[i] = parentEdge;
+            closedBackward[i] = false;
+        }
+    }
+
+    void close(boolean forward, int i) {
+        touch(i);
+        if (forward) closedForward[i] = true;
+        else closedBackward[i] = true;
+    }
+
+    IndexMinHeap queue(boolean forward) {
+        return forward ? queueForward : queueBackward;
+    }
+}
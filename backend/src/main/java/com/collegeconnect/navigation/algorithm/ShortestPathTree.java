@@ -0,0 +1,162 @@
+package com.collegeconnect.navigation.algorithm;
+
+import com.collegeconnect.navigation.model.Edge;
+import com.collegeconnect.navigation.model.EdgeWeights;
+import com.collegeconnect.navigation.model.Graph;
+import com.collegeconnect.navigation.model.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resumable Dijkstra tree rooted at one node, stored in primitive arrays indexed
+ * by node index. A forward tree holds costs from the root; a backward tree holds
+ * costs to the root (edges are costed in the direction of travel).
+ * The search can be extended step by step (settle / growTo), so callers only pay
+ * for the radius they actually need.
+ */
+public final class ShortestPathTree {
+
+    private final Graph graph;
+    private final EdgeWeights weights;
+    private final boolean backward;
+    private final Node root;
+
+    private final double[] cost;
+    private final int[] parentEdge; // edge id, -1 for root/unreached
+    private final boolean[] settled;
+    private final IndexMinHeap heap;
+    private int settledCount;
+
+    private ShortestPathTree(Graph graph, Node root, EdgeWeights weights, boolean backward) {
+        int n = graph.getNodeCount();
+        this.graph = graph;
+        this.weights = weights;
+        this.backward = backward;
+        this.root = root;
+        this.cost = new double[n];
+        this.parentEdge = new int[n];
+        this.settled = new boolean[n];
+        this.heap = new IndexMinHeap(n);
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        Arrays.fill(parentEdge, -1);
+
+        cost[root.getIndex()] = 0;
+        heap.insertOrDecrease(root.getIndex(), 0);
+    }
+
+    /** Tree of shortest paths from root to every other node */
+    public static ShortestPathTree forward(Graph graph, Node root, EdgeWeights weights) {
+        return new ShortestPathTree(graph, root, weights, false);
+    }
+
+    /** Tree of shortest paths from every other node to root */
+    public static ShortestPathTree backward(Graph graph, Node root, EdgeWeights weights) {
+        return new ShortestPathTree(graph, root, weights, true);
+    }
+
+    /**
+     * Extend the search until target is settled.
+     * @return cost between root and target, or infinity if unreachable
+     */
+    public double settle(Node target) {
+        if (!graph.mayConnect(root, target)) return Double.POSITIVE_INFINITY;
+        int t = target.getIndex();
+        while (!settled[t] && !heap.isEmpty()) {
+            settleNext();
+        }
+        return cost[t];
+    }
+
+    /**
+     * Extend the search until every node with cost <= radius is settled
+     */
+    public void growTo(double radius) {
+        while (!heap.isEmpty() && heap.peekKey() <= radius) {
+            settleNext();
+        }
+    }
+
+    /**
+     * Run to completion (one-to-all)
+     */
+    public void growAll() {
+        while (!heap.isEmpty()) {
+            settleNext();
+        }
+    }
+
+    private void settleNext() {
+        int u = heap.poll();
+        settled[u] = true;
+        settledCount++;
+
+        Node node = graph.getNodeByIndex(u);
+        // Backward trees walk arriving edges against their direction, costed as travelled
+        for (Edge edge : backward ? graph.getIncoming(node) : graph.getNeighbors(node)) {
+            int v = (backward ? edge.getFrom() : edge.getTo()).getIndex();
+            if (settled[v]) continue;
+
+            double w = weights.weight(edge);
+            if (w == Double.POSITIVE_INFINITY) continue; // closed for this profile/overlay
+
+            double c = cost[u] + w;
+            if (c < cost[v]) {
+                cost[v] = c;
+                parentEdge[v] = edge.getId();
+                heap.insertOrDecrease(v, c);
+            }
+        }
+    }
+
+    public Node getRoot() { return root; }
+    public boolean isBackward() { return backward; }
+    public int getSettledCount() { return settledCount; }
+
+    public boolean isSettled(Node node) { return settled[node.getIndex()]; }
+    public double getCost(Node node) { return cost[node.getIndex()]; }
+
+    /**
+     * Tree edge at node: for a forward tree the edge entering node from its parent,
+     * for a backward tree the edge leaving node towards the root. Null at the root.
+     */
+    public Edge getParentEdge(Node node) {
+        int id = parentEdge[node.getIndex()];
+        return id < 0 ? null : graph.getEdge(id);
+    }
+
+    /**
+     * Length in meters of the tree path between root and node (infinity if unreached)
+     */
+    public double pathDistance(Node node) {
+        if (cost[node.getIndex()] == Double.POSITIVE_INFINITY) return Double.POSITIVE_INFINITY;
+        double distance = 0;
+        Node current = node;
+        Edge e;
+        while ((e = getParentEdge(current)) != null) {
+            distance += e.getWeight();
+            current = backward ? e.getTo() : e.getFrom();
+        }
+        return distance;
+    }
+
+    /**
+     * Nodes on the tree path, always in travel order:
+     * forward tree root..node, backward tree node..root. Empty if unreached.
+     */
+    public List<Node> path(Node node) {
+        if (cost[node.getIndex()] == Double.POSITIVE_INFINITY) return Collections.emptyList();
+        List<Node> path = new ArrayList<>();
+        Node current = node;
+        path.add(current);
+        Edge e;
+        while ((e = getParentEdge(current)) != null) {
+            current = backward ? e.getTo() : e.getFrom();
+            path.add(current);
+        }
+        if (!backward) Collections.reverse(path);
+        return path;
+    }
+}
@@ -0,0 +1,122 @@
+package com.collegeconnect.navigation.algorithm;
+
+/**
+ * Visiting order for a handful of stops given their cost matrix (a small TSP).
+ * Starts from a nearest-neighbour tour and improves it with 2-opt and Or-opt
+ * moves until no move helps or the time budget runs out. Stop 0 is always the
+ * first stop; the matrix may be asymmetric (one-way streets, closures).
+ */
+public class TourOptimizer {
+
+    public record Result(int[] order, double cost, int improvements, boolean budgetExhausted) {}
+
+    /**
+     * @param cost      cost[i][j] from stop i to stop j, all finite
+     * @param roundTrip whether the tour returns to stop 0 at the end
+     * @param budgetNanos time allowed for the improvement phase
+     */
+    public Result solve(double[][] cost, boolean roundTrip, long budgetNanos) {
+        int n = cost.length;
+        long deadline = System.nanoTime() + budgetNanos;
+        int[] tour = nearestNeighbour(cost);
+        double best = tourCost(cost, tour, roundTrip);
+        if (n <= 3) {
+            // Only one or two visiting orders exist; just check the other one
+            if (n == 3) {
+                int[] swapped = {0, 2, 1};
+                double c = tourCost(cost, swapped, roundTrip);
+                if (c < best) return new Result(swapped, c, 1, false);
+            }
+            return new Result(tour, best, 0, false);
+        }
+
+        int improvements = 0;
+        boolean improved = true;
+        boolean budgetExhausted = false;
+        int[] candidate = new int[n];
+        while (improved) {
+            improved = false;
+
+            // 2-opt: reverse tour[i..j]
+            for (int i = 1; i < n - 1 && !budgetExhausted; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    System.arraycopy(tour, 0, candidate, 0, n);
+                    reverse(candidate, i, j);
+                    double c = tourCost(cost, candidate, roundTrip);
+                    if (c < best - 1e-9) {
+                        System.arraycopy(candidate, 0, tour, 0, n);
+                        best = c;
+                        improved = true;
+                        improvements++;
+                    }
+                }
+                budgetExhausted = System.nanoTime() > deadline;
+            }
+
+            // Or-opt: move a run of 1-3 stops to another position
+            for (int len = 1; len <= 3 && !budgetExhausted; len++) {
+                for (int i = 1; i + len <= n; i++) {
+                    for (int j = 1; j + len <= n; j++) {
+                        if (j == i) continue;
+                        moveSegment(tour, candidate, i, len, j);
+                        double c = tourCost(cost, candidate, roundTrip);
+                        if (c < best - 1e-9) {
+                            System.arraycopy(candidate, 0, tour, 0, n);
+                            best = c;
+                            improved = true;
+                            improvements++;
+                        }
+                    }
+                }
+                budgetExhausted = System.nanoTime() > deadline;
+            }
+            if (budgetExhausted) break;
+        }
+        return new Result(tour, best, improvements, budgetExhausted);
+    }
+
+    private static int[] nearestNeighbour(double[][] cost) {
+        int n = cost.length;
+        int[] tour = new int[n];
+        boolean[] visited = new boolean[n];
+        visited[0] = true;
+        for (int k = 1; k < n; k++) {
+            int from = tour[k - 1];
+            int next = -1;
+            for (int j = 0; j < n; j++) {
+                if (!visited[j] && (next < 0 || cost[from][j] < cost[from][next])) next = j;
+            }
+            tour[k] = next;
+            visited[next] = true;
+        }
+        return tour;
+    }
+
+    static double tourCost(double[][] cost, int[] tour, boolean roundTrip) {
+        double sum = 0;
+        for (int k = 0; k + 1 < tour.length; k++) sum += cost[tour[k]][tour[k + 1]];
+        if (roundTrip && tour.length > 1) sum += cost[tour[tour.length - 1]][tour[0]];
+        return sum;
+    }
+
+    private static void reverse(int[] a, int i, int j) {
+        while (i < j) {
+            int tmp = a[i];
+            a[i++] = a[j];
+            a[j--] = tmp;
+        }
+    }
+
+    // out = tour with tour[i..i+len) removed and re-inserted so it starts at index j
+    private static void moveSegment(int[] tour, int[] out, int i, int len, int j) {
+        int n = tour.length;
+        int[] rest = new int[n - len];
+        int r = 0;
+        for (int k = 0; k < n; k++) {
+            if (k < i || k >= i + len) rest[r++] = tour[k];
+        }
+        System.arraycopy(rest, 0, out, 0, j);
+        System.arraycopy(tour, i, out, j, len);
+        System.arraycopy(rest, j, out, j + len, n - len - j);
+    }
+}
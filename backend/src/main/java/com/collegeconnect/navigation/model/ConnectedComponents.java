@@ -0,0 +1,152 @@
+package com.collegeconnect.navigation.model;
+
+import java.util.Arrays;
+
+/**
+ * Component ids per node index, computed once when a graph is loaded.
+ * Weak components (edges taken as undirected) give an O(1) "no path" answer:
+ * nodes in different weak components can never reach each other, whatever the
+ * profile or closures. Strong components identify the part of the map where
+ * every node can reach every other, which is where endpoints are best snapped.
+ */
+public final class ConnectedComponents {
+
+    private final int[] weak;   // node index -> weak component id
+    private final int[] strong; // node index -> strong component id
+    private final int weakCount;
+    private final int strongCount;
+    private final int largestWeak;
+    private final int largestStrong;
+    private final int largestStrongSize;
+
+    private ConnectedComponents(int[] weak, int weakCount, int[] strong, int strongCount) {
+        this.weak = weak;
+        this.weakCount = weakCount;
+        this.strong = strong;
+        this.strongCount = strongCount;
+        int[] weakSizes = sizes(weak, weakCount);
+        int[] strongSizes = sizes(strong, strongCount);
+        this.largestWeak = argMax(weakSizes);
+        this.largestStrong = argMax(strongSizes);
+        this.largestStrongSize = largestStrong < 0 ? 0 : strongSizes[largestStrong];
+    }
+
+    public static ConnectedComponents compute(Graph graph) {
+        int n = graph.getNodeCount();
+        int[] weak = new int[n];
+        int weakCount = labelWeak(graph, weak);
+        int[] strong = new int[n];
+        int strongCount = labelStrong(graph, strong);
+        return new ConnectedComponents(weak, weakCount, strong, strongCount);
+    }
+
+    // Union-find over every edge, then relabel roots densely
+    private static int labelWeak(Graph graph, int[] out) {
+        int n = out.length;
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) parent[i] = i;
+        for (int id = 0; id < graph.getEdgeCount(); id++) {
+            Edge e = graph.getEdge(id);
+            int a = find(parent, e.getFrom().getIndex());
+            int b = find(parent, e.getTo().getIndex());
+            if (a != b) parent[Math.max(a, b)] = Math.min(a, b);
+        }
+        int[] label = new int[n];
+        Arrays.fill(label, -1);
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            int root = find(parent, i);
+            if (label[root] < 0) label[root] = count++;
+            out[i] = label[root];
+        }
+        return count;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    // Iterative Tarjan, so large maps can't overflow the call stack
+    private static int labelStrong(Graph graph, int[] out) {
+        int n = out.length;
+        int[] order = new int[n];      // discovery order, -1 = unvisited
+        int[] low = new int[n];
+        int[] stack = new int[n];      // Tarjan's component stack
+        boolean[] onStack = new boolean[n];
+        int[] callNode = new int[n];   // explicit DFS stack: node
+        int[] callEdge = new int[n];   // ... and next neighbour position
+        Arrays.fill(order, -1);
+        int counter = 0, sp = 0, count = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (order[root] >= 0) continue;
+            int depth = 0;
+            callNode[0] = root;
+            callEdge[0] = 0;
+            order[root] = low[root] = counter++;
+            stack[sp++] = root;
+            onStack[root] = true;
+
+            while (depth >= 0) {
+                int u = callNode[depth];
+                var neighbors = graph.getNeighbors(graph.getNodeByIndex(u));
+                if (callEdge[depth] < neighbors.size()) {
+                    int v = neighbors.get(callEdge[depth]++).getTo().getIndex();
+                    if (order[v] < 0) {
+                        order[v] = low[v] = counter++;
+                        stack[sp++] = v;
+                        onStack[v] = true;
+                        depth++;
+                        callNode[depth] = v;
+                        callEdge[depth] = 0;
+                    } else if (onStack[v]) {
+                        low[u] = Math.min(low[u], order[v]);
+                    }
+                    continue;
+                }
+                // u is done: pop its component if it is a root, then return to the caller
+                if (low[u] == order[u]) {
+                    int v;
+                    do {
+                        v = stack[--sp];
+                        onStack[v] = false;
+                        out[v] = count;
+                    } while (v != u);
+                    count++;
+                }
+                depth--;
+                if (depth >= 0) {
+                    int caller = callNode[depth];
+                    low[caller] = Math.min(low[caller], low[u]);
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int[] sizes(int[] labels, int count) {
+        int[] sizes = new int[count];
+        for (int label : labels) sizes[label]++;
+        return sizes;
+    }
+
+    private static int argMax(int[] values) {
+        int best = -1;
+        for (int i = 0; i < values.length; i++) {
+            if (best < 0 || values[i] > values[best]) best = i;
+        }
+        return best;
+    }
+
+    public int getWeak(int nodeIndex) { return weak[nodeIndex]; }
+    public int getStrong(int nodeIndex) { return strong[nodeIndex]; }
+    public int getWeakCount() { return weakCount; }
+    public int getStrongCount() { return strongCount; }
+    public int getLargestWeak() { return largestWeak; }
+    public int getLargestStrong() { return largestStrong; }
+    public int getLargestStrongSize() { return largestStrongSize; }
+}
@@ -4,20 +4,36 @@ package com.collegeconnect.navigation.model;
  * Represents an edge (road/path) between two nodes in the navigation graph
  */
 public class Edge {
+    public static final long NO_WAY_ID = -1; // synthetic edges (e.g. stitching bridges)
+
     private final Node from;
     private final Node to;
     private final double weight; // Distance in meters or travel time in seconds
     private final boolean bidirectional; // Can travel both ways
+    private final long wayId; // OSM way this edge was built from
+    private final int tags; // EdgeTags bit set
+    private int id = -1; // Dense index assigned by Graph.addEdge, used by per-edge arrays
+    private Edge reverse; // Twin edge in the opposite direction (null if one-way)
     
     public Edge(Node from, Node to, double weight) {
         this(from, to, weight, true);
     }
     
     public Edge(Node from, Node to, double weight, boolean bidirectional) {
+        this(from, to, weight, bidirectional, NO_WAY_ID);
+    }
+    
+    public Edge(Node from, Node to, double weight, boolean bidirectional, long wayId) {
+        this(from, to, weight, bidirectional, wayId, wayId == NO_WAY_ID ? EdgeTags.SYNTHETIC : 0);
+    }
+    
+    public Edge(Node from, Node to, double weight, boolean bidirectional, long wayId, int tags) {
         this.from = from;
         this.to = to;
         this.weight = weight;
         this.bidirectional = bidirectional;
+        this.wayId = wayId;
+        this.tags = tags;
     }
     
     // Getters
@@ -25,14 +41,23 @@ public class Edge {
     public Node getTo() { return to; }
     public double getWeight() { return weight; }
     public boolean isBidirectional() { return bidirectional; }
+    public long getWayId() { return wayId; }
+    public int getTags() { return tags; }
+    public int getId() { return id; }
+    public Edge getReverse() { return reverse; }
+    
+    void setId(int id) { this.id = id; }
+    void setReverse(Edge reverse) { this.reverse = reverse; }
     
     @Override
     public String toString() {
         return "Edge{" +
-                "from=" + from.getId() +
+                "id=" + id +
+                ", from=" + from.getId() +
                 ", to=" + to.getId() +
                 ", weight=" + weight +
                 ", bidirectional=" + bidirectional +
+                ", wayId=" + wayId +
                 '}';
     }
 }
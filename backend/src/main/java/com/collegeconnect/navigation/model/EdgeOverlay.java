@@ -0,0 +1,105 @@
+package com.collegeconnect.navigation.model;
+
+import java.util.Arrays;
+
+/**
+ * Query-time closures and penalties layered over a graph's static edge weights.
+ * Stored as a blocked bitmap plus a penalty factor per edge id, so routing pays
+ * one array lookup per relaxed edge and the graph itself never has to be rebuilt.
+ * Instances are immutable; changes compile a new overlay that is swapped in.
+ */
+public final class EdgeOverlay {
+
+    public static final EdgeOverlay EMPTY = new EdgeOverlay(new long[0], null, 0, Long.MAX_VALUE);
+
+    private final long[] blocked;      // bit per edge id
+    private final float[] penalty;     // multiplicative factor >= 1, null when no penalties
+    private final int affectedEdges;
+    private final long validUntilMillis; // next time-window boundary
+
+    private EdgeOverlay(long[] blocked, float[] penalty, int affectedEdges, long validUntilMillis) {
+        this.blocked = blocked;
+        this.penalty = penalty;
+        this.affectedEdges = affectedEdges;
+        this.validUntilMillis = validUntilMillis;
+    }
+
+    public boolean isBlocked(int edgeId) {
+        int word = edgeId >>> 6;
+        return word < blocked.length && (blocked[word] & (1L << edgeId)) != 0;
+    }
+
+    public double penaltyFactor(int edgeId) {
+        return penalty == null || edgeId < 0 || edgeId >= penalty.length ? 1.0 : penalty[edgeId];
+    }
+
+    public boolean isEmpty() { return affectedEdges == 0; }
+    public int getAffectedEdges() { return affectedEdges; }
+    public long getValidUntilMillis() { return validUntilMillis; }
+
+    /**
+     * Wrap a base cost function so blocked edges become impassable and penalised
+     * edges cost proportionally more. Factors are >= 1, so distance-based
+     * heuristics stay admissible.
+     */
+    public EdgeWeights apply(EdgeWeights base) {
+        if (isEmpty()) return base;
+        return new EdgeWeights() {
+            @Override
+            public double weight(Edge edge) {
+                int id = edge.getId();
+                if (id < 0) return base.weight(edge);
+                if (isBlocked(id)) return Double.POSITIVE_INFINITY;
+                return base.weight(edge) * penaltyFactor(id);
+            }
+
+            @Override
+            public double minCostPerMeter() { return base.minCostPerMeter(); }
+
+            @Override
+            public double toSeconds(double cost) { return base.toSeconds(cost); }
+        };
+    }
+
+    public static class Builder {
+        private final int edgeCount;
+        private final long[] blocked;
+        private float[] penalty;
+        private int affectedEdges;
+
+        public Builder(int edgeCount) {
+            this.edgeCount = edgeCount;
+            this.blocked = new long[(edgeCount + 63) >>> 6];
+        }
+
+        public Builder block(int edgeId) {
+            if (edgeId < 0 || edgeId >= edgeCount) return this;
+            if ((blocked[edgeId >>> 6] & (1L << edgeId)) == 0 && penaltyFactor(edgeId) == 1.0) affectedEdges++;
+            blocked[edgeId >>> 6] |= 1L << edgeId;
+            return this;
+        }
+
+        public Builder penalize(int edgeId, double factor) {
+            if (edgeId < 0 || edgeId >= edgeCount || factor <= 1.0) return this;
+            if (penalty == null) {
+                penalty = new float[edgeCount];
+                Arrays.fill(penalty, 1.0f);
+            }
+            if (penalty[edgeId] == 1.0f && (blocked[edgeId >>> 6] & (1L << edgeId)) == 0) affectedEdges++;
+            // Overlapping rules keep the strongest penalty
+            penalty[edgeId] = Math.max(penalty[edgeId], (float) factor);
+            return this;
+        }
+
+        private double penaltyFactor(int edgeId) {
+            return penalty == null ? 1.0 : penalty[edgeId];
+        }
+
+        public EdgeOverlay build(long validUntilMillis) {
+            if (affectedEdges == 0) {
+                return new EdgeOverlay(new long[0], null, 0, validUntilMillis);
+            }
+            return new EdgeOverlay(blocked, penalty, affectedEdges, validUntilMillis);
+        }
+    }
+}
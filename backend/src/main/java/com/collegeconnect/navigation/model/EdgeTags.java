@@ -0,0 +1,140 @@
+package com.collegeconnect.navigation.model;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact bit encoding of the OSM tags that matter for routing profiles.
+ * Each edge keeps a single int, so profiles can precompute their weights
+ * without holding on to the raw tag strings.
+ *
+ * Layout: bits 0-3 highway class, bits 4-5 surface, bits 6+ flags.
+ */
+public final class EdgeTags {
+
+    // Highway class (bits 0-3)
+    public static final int CLASS_MASK = 0xF;
+    public static final int FOOTWAY = 0;     // footway, pedestrian, path, corridor
+    public static final int STEPS = 1;
+    public static final int CYCLEWAY = 2;
+    public static final int SERVICE = 3;
+    public static final int RESIDENTIAL = 4; // residential, living_street, unclassified
+    public static final int MAJOR_ROAD = 5;  // primary/secondary/tertiary and links
+    public static final int TRACK = 6;
+    public static final int OTHER = 7;
+
+    // Surface (bits 4-5)
+    public static final int SURFACE_SHIFT = 4;
+    public static final int SURFACE_MASK = 0x3 << SURFACE_SHIFT;
+    public static final int SURFACE_UNKNOWN = 0;
+    public static final int SURFACE_PAVED = 1;
+    public static final int SURFACE_UNPAVED = 2;
+    public static final int SURFACE_ROUGH = 3;   // cobblestone, sett, ...
+
+    // Flags
+    public static final int BARRIER = 1 << 6;       // touches a barrier node that blocks wheels
+    public static final int CROSSING = 1 << 7;      // road crossing
+    public static final int TUNNEL = 1 << 8;
+    public static final int ONEWAY = 1 << 9;        // way is oneway for vehicles
+    public static final int REVERSE = 1 << 10;      // edge runs against the way's direction
+    public static final int NO_WHEELCHAIR = 1 << 11;
+    public static final int NO_BICYCLE = 1 << 12;
+    public static final int SYNTHETIC = 1 << 13;    // stitching bridge, not an OSM way
+
+    private static final Set<String> PAVED = Set.of(
+            "paved", "asphalt", "concrete", "concrete:plates", "paving_stones", "metal", "wood");
+    private static final Set<String> ROUGH = Set.of(
+            "cobblestone", "sett", "unhewn_cobblestone", "grass_paver");
+    // Barrier values that still let wheelchairs and bikes through
+    private static final Set<String> PASSABLE_BARRIERS = Set.of(
+            "gate", "lift_gate", "entrance", "bollard", "swing_gate", "sliding_gate", "border_control");
+
+    private EdgeTags() {}
+
+    public static int highwayClass(int tags) { return tags & CLASS_MASK; }
+    public static int surface(int tags) { return (tags & SURFACE_MASK) >>> SURFACE_SHIFT; }
+    public static boolean has(int tags, int flag) { return (tags & flag) != 0; }
+
+    public static boolean isAgainstOneway(int tags) {
+        return has(tags, ONEWAY) && has(tags, REVERSE);
+    }
+
+    /**
+     * Encode the relevant tags of an OSM way
+     */
+    public static int fromWayTags(Map<String, String> tags) {
+        int encoded = classify(tags.get("highway"));
+
+        String surface = tags.get("surface");
+        int surfaceClass = SURFACE_UNKNOWN;
+        if (surface != null) {
+            if (PAVED.contains(surface)) surfaceClass = SURFACE_PAVED;
+            else if (ROUGH.contains(surface)) surfaceClass = SURFACE_ROUGH;
+            else surfaceClass = SURFACE_UNPAVED;
+        }
+        encoded |= surfaceClass << SURFACE_SHIFT;
+
+        String footway = tags.get("footway");
+        if ("crossing".equals(footway) || "crossing".equals(tags.get("cycleway")) || tags.containsKey("crossing")) {
+            encoded |= CROSSING;
+        }
+        String tunnel = tags.get("tunnel");
+        if (tunnel != null && !"no".equals(tunnel)) encoded |= TUNNEL;
+
+        String oneway = tags.get("oneway");
+        if ("yes".equals(oneway) || "1".equals(oneway) || "true".equals(oneway)) {
+            encoded |= ONEWAY;
+        } else if ("-1".equals(oneway)) {
+            // Drawn against the direction of travel: the forward edge is the "wrong" one
+            encoded |= ONEWAY | REVERSE;
+        }
+
+        if ("no".equals(tags.get("wheelchair"))) encoded |= NO_WHEELCHAIR;
+        String bicycle = tags.get("bicycle");
+        if ("no".equals(bicycle) || "dismount".equals(bicycle)) encoded |= NO_BICYCLE;
+        return encoded;
+    }
+
+    /**
+     * Flags contributed by a tagged OSM node lying on an edge
+     */
+    public static int fromNodeTags(Map<String, String> tags) {
+        int flags = 0;
+        String barrier = tags.get("barrier");
+        if (barrier != null && !PASSABLE_BARRIERS.contains(barrier)) flags |= BARRIER;
+        if ("crossing".equals(tags.get("highway"))) flags |= CROSSING;
+        return flags;
+    }
+
+    private static int classify(String highway) {
+        if (highway == null) return OTHER;
+        switch (highway) {
+            case "footway":
+            case "pedestrian":
+            case "path":
+            case "corridor":
+                return FOOTWAY;
+            case "steps":
+                return STEPS;
+            case "cycleway":
+                return CYCLEWAY;
+            case "service":
+                return SERVICE;
+            case "residential":
+            case "living_street":
+            case "unclassified":
+                return RESIDENTIAL;
+            case "primary":
+            case "primary_link":
+            case "secondary":
+            case "secondary_link":
+            case "tertiary":
+            case "tertiary_link":
+                return MAJOR_ROAD;
+            case "track":
+                return TRACK;
+            default:
+                return OTHER;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.collegeconnect.navigation.model;
+
+/**
+ * Cost function consulted by the pathfinding algorithms for every relaxed edge.
+ * Returning Double.POSITIVE_INFINITY means the edge cannot be used.
+ */
+public interface EdgeWeights {
+
+    /** Plain geometric weight as stored on the edge (meters), timed at walking pace */
+    EdgeWeights DISTANCE = new EdgeWeights() {
+        @Override
+        public double weight(Edge edge) { return edge.getWeight(); }
+
+        @Override
+        public double toSeconds(double cost) { return cost / RoutingProfile.WALK.getSpeed(); }
+    };
+
+    double weight(Edge edge);
+
+    /**
+     * Lower bound of cost per meter over all edges. Straight-line heuristics are
+     * scaled by this so they never overestimate.
+     */
+    default double minCostPerMeter() { return 1.0; }
+
+    /**
+     * Convert an accumulated path cost into an estimated duration in seconds
+     */
+    default double toSeconds(double cost) { return cost; }
+}
@@ -1,5 +1,7 @@
 package com.collegeconnect.navigation.model;
 
+import com.collegeconnect.navigation.util.GeoMath;
+
 import java.util.*;
 
 /**
@@ -8,18 +10,36 @@ import java.util.*;
  */
 public class Graph {
     private final Map<String, Node> nodes;
+    private final List<Node> nodesByIndex; // indexed by Node.getIndex()
     private final Map<String, List<Edge>> adjacencyList;
+    private final List<List<Edge>> incomingByIndex; // edges arriving at each node, by node index
+    private final List<Edge> edges; // indexed by Edge.getId()
+    private final Map<Long, List<Integer>> edgeIdsByWay;
+    private final Map<Long, String> wayNames; // OSM name of named ways, for instructions
+    private ConnectedComponents components; // set by labelComponents(), cleared by any change
+    private volatile Coordinates coordinates; // built on first nearest-node lookup, cleared by new nodes
     
     public Graph() {
         this.nodes = new HashMap<>();
+        this.nodesByIndex = new ArrayList<>();
         this.adjacencyList = new HashMap<>();
+        this.incomingByIndex = new ArrayList<>();
+        this.edges = new ArrayList<>();
+        this.edgeIdsByWay = new HashMap<>();
+        this.wayNames = new HashMap<>();
     }
     
     /**
      * Add a node to the graph
      */
     public void addNode(Node node) {
-        nodes.put(node.getId(), node);
+        components = null;
+        if (nodes.putIfAbsent(node.getId(), node) == null) {
+            coordinates = null;
+            node.setIndex(nodesByIndex.size());
+            nodesByIndex.add(node);
+            incomingByIndex.add(new ArrayList<>());
+        }
         adjacencyList.putIfAbsent(node.getId(), new ArrayList<>());
     }
     
@@ -30,21 +50,67 @@ public class Graph {
     public void addEdge(Edge edge) {
         String fromId = edge.getFrom().getId();
         String toId = edge.getTo().getId();
+        components = null;
         
         // Ensure nodes exist
         addNode(edge.getFrom());
         addNode(edge.getTo());
         
         // Add edge from -> to
+        register(edge);
         adjacencyList.get(fromId).add(edge);
+        incomingByIndex.get(edge.getTo().getIndex()).add(edge);
         
         // If bidirectional, add reverse edge
         if (edge.isBidirectional()) {
-            Edge reverseEdge = new Edge(edge.getTo(), edge.getFrom(), edge.getWeight(), false);
+            Edge reverseEdge = new Edge(edge.getTo(), edge.getFrom(), edge.getWeight(), false,
+                    edge.getWayId(), edge.getTags() ^ EdgeTags.REVERSE);
+            edge.setReverse(reverseEdge);
+            reverseEdge.setReverse(edge);
+            register(reverseEdge);
             adjacencyList.get(toId).add(reverseEdge);
+            incomingByIndex.get(reverseEdge.getTo().getIndex()).add(reverseEdge);
+        }
+    }
+    
+    private void register(Edge edge) {
+        edge.setId(edges.size());
+        edges.add(edge);
+        if (edge.getWayId() != Edge.NO_WAY_ID) {
+            edgeIdsByWay.computeIfAbsent(edge.getWayId(), k -> new ArrayList<>()).add(edge.getId());
         }
     }
     
+    /**
+     * Get an edge by its dense id
+     */
+    public Edge getEdge(int id) {
+        return edges.get(id);
+    }
+    
+    /**
+     * Ids of all directed edges built from the given OSM way (empty if unknown)
+     */
+    public int[] getEdgeIdsForWay(long wayId) {
+        List<Integer> ids = edgeIdsByWay.get(wayId);
+        if (ids == null) return new int[0];
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+    
+    /**
+     * Record the street name of an OSM way
+     */
+    public void setWayName(long wayId, String name) {
+        wayNames.put(wayId, name);
+    }
+    
+    /**
+     * Street name of an OSM way, or null if unnamed or unknown
+     */
+    public String getWayName(long wayId) {
+        return wayNames.get(wayId);
+    }
+    
     /**
      * Get all neighbors of a node
      */
@@ -52,6 +118,14 @@ public class Graph {
         return adjacencyList.getOrDefault(node.getId(), new ArrayList<>());
     }
     
+    /**
+     * Edges arriving at a node (what a backward search expands)
+     */
+    public List<Edge> getIncoming(Node node) {
+        int index = node.getIndex();
+        return index >= 0 && index < incomingByIndex.size() ? incomingByIndex.get(index) : List.of();
+    }
+    
     /**
      * Get a node by ID
      */
@@ -60,47 +134,88 @@ public class Graph {
     }
     
     /**
-     * Find the closest node to given coordinates
+     * Get a node by its dense index (0 .. getNodeCount() - 1)
      */
-    public Node findClosestNode(double latitude, double longitude) {
-        Node closest = null;
-        double minDistance = Double.MAX_VALUE;
-        
-        for (Node node : nodes.values()) {
-            double distance = calculateDistance(latitude, longitude, node.getLatitude(), node.getLongitude());
-            if (distance < minDistance) {
-                minDistance = distance;
-                closest = node;
-            }
-        }
-        
-        return closest;
+    public Node getNodeByIndex(int index) {
+        return nodesByIndex.get(index);
     }
     
     /**
-     * Calculate straight-line distance between two coordinates (Haversine formula)
-     * Returns distance in meters
+     * Label connected components once the graph is complete (done by the loader)
      */
-    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        final int R = 6371000; // Earth's radius in meters
-        
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        
-        return R * c;
+    public void labelComponents() {
+        components = ConnectedComponents.compute(this);
+    }
+    
+    /**
+     * Component labels, or null if the graph changed since it was last labelled
+     */
+    public ConnectedComponents getComponents() {
+        return components;
+    }
+    
+    /**
+     * Weak component id of a node, -1 if not labelled
+     */
+    public int getComponent(Node node) {
+        return components == null ? -1 : components.getWeak(node.getIndex());
+    }
+    
+    /**
+     * Strong component id of a node, -1 if not labelled
+     */
+    public int getStrongComponent(Node node) {
+        return components == null ? -1 : components.getStrong(node.getIndex());
     }
     
     /**
-     * Reset all nodes for a new pathfinding run
+     * O(1) reachability pre-check: false only if a and b are known to lie in
+     * different weak components, i.e. no path can exist between them
      */
-    public void resetNodes() {
-        for (Node node : nodes.values()) {
-            node.reset();
+    public boolean mayConnect(Node a, Node b) {
+        int ca = getComponent(a);
+        int cb = getComponent(b);
+        return ca < 0 || cb < 0 || ca == cb;
+    }
+    
+    /**
+     * Find the closest node to given coordinates
+     */
+    public Node findClosestNode(double latitude, double longitude) {
+        Coordinates c = coordinates();
+        int index = GeoMath.nearest(c.lats(), c.lngs(), c.lats().length, latitude, longitude);
+        return index < 0 ? null : nodesByIndex.get(index);
+    }
+    
+    /**
+     * The k nodes closest to given coordinates, closest first
+     */
+    public List<Node> findClosestNodes(double latitude, double longitude, int k) {
+        Coordinates c = coordinates();
+        List<Node> closest = new ArrayList<>(k);
+        for (int index : GeoMath.nearest(c.lats(), c.lngs(), c.lats().length, latitude, longitude, k)) {
+            closest.add(nodesByIndex.get(index));
+        }
+        return closest;
+    }
+    
+    // Node coordinates by index as separate arrays, the layout the bulk distance kernels scan
+    private record Coordinates(double[] lats, double[] lngs) {}
+    
+    private Coordinates coordinates() {
+        Coordinates c = coordinates;
+        if (c == null) {
+            int n = nodesByIndex.size();
+            double[] lats = new double[n];
+            double[] lngs = new double[n];
+            for (int i = 0; i < n; i++) {
+                lats[i] = nodesByIndex.get(i).getLatitude();
+                lngs[i] = nodesByIndex.get(i).getLongitude();
+            }
+            c = new Coordinates(lats, lngs);
+            coordinates = c;
         }
+        return c;
     }
     
     /**
@@ -121,9 +236,7 @@ public class Graph {
      * Get total number of edges
      */
     public int getEdgeCount() {
-        return adjacencyList.values().stream()
-                .mapToInt(List::size)
-                .sum();
+        return edges.size();
     }
     
     @Override
@@ -0,0 +1,114 @@
+package com.collegeconnect.navigation.model;
+
+import com.collegeconnect.navigation.algorithm.HubLabels;
+import com.collegeconnect.navigation.algorithm.PlaceDistanceTable;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable, versioned view of a loaded navigation graph.
+ * A request grabs the current snapshot once and uses it for its whole lifetime,
+ * so a reload can swap in a new graph without disturbing in-flight searches.
+ * Tables precomputed from the graph are attached before the snapshot is
+ * published (see withPlaceTables, withHubLabels), so they always go live together with it.
+ */
+public class GraphSnapshot {
+    private final long version;
+    private final Graph graph;
+    private final double minLat, minLng, maxLat, maxLng;
+    private final String source; // e.g. "classpath:map/map.osm"
+    private final Instant loadedAt;
+    private final Map<RoutingProfile, ProfileWeights> profileWeights;
+    private final SegmentIndex segmentIndex;
+    private final PlaceIndex places;
+    private final Map<RoutingProfile, PlaceDistanceTable> placeTables;
+    private final Map<RoutingProfile, HubLabels> hubLabels;
+
+    public GraphSnapshot(long version, Graph graph, double minLat, double minLng,
+                         double maxLat, double maxLng, String source) {
+        this(version, graph, minLat, minLng, maxLat, maxLng, source, PlaceIndex.EMPTY);
+    }
+
+    public GraphSnapshot(long version, Graph graph, double minLat, double minLng,
+                         double maxLat, double maxLng, String source, PlaceIndex places) {
+        this.version = version;
+        this.graph = graph;
+        this.minLat = minLat;
+        this.minLng = minLng;
+        this.maxLat = maxLat;
+        this.maxLng = maxLng;
+        this.source = source;
+        this.loadedAt = Instant.now();
+
+        // Evaluate every profile's tag rules once here so queries only read arrays
+        this.profileWeights = new EnumMap<>(RoutingProfile.class);
+        for (RoutingProfile profile : RoutingProfile.values()) {
+            profileWeights.put(profile, ProfileWeights.build(graph, profile));
+        }
+        this.segmentIndex = new SegmentIndex(graph);
+        this.places = places;
+        this.placeTables = Map.of();
+        this.hubLabels = Map.of();
+    }
+
+    // Same graph and derived data, with different precomputed tables
+    private GraphSnapshot(GraphSnapshot from, Map<RoutingProfile, PlaceDistanceTable> placeTables,
+                          Map<RoutingProfile, HubLabels> hubLabels) {
+        this.version = from.version;
+        this.graph = from.graph;
+        this.minLat = from.minLat;
+        this.minLng = from.minLng;
+        this.maxLat = from.maxLat;
+        this.maxLng = from.maxLng;
+        this.source = from.source;
+        this.loadedAt = from.loadedAt;
+        this.profileWeights = from.profileWeights;
+        this.segmentIndex = from.segmentIndex;
+        this.places = from.places;
+        this.placeTables = placeTables;
+        this.hubLabels = hubLabels;
+    }
+
+    /**
+     * This snapshot with place distance tables (one per profile) attached.
+     * Call before publishing the snapshot; the original is left unchanged.
+     */
+    public GraphSnapshot withPlaceTables(Map<RoutingProfile, PlaceDistanceTable> tables) {
+        return new GraphSnapshot(this, Map.copyOf(tables), hubLabels);
+    }
+
+    /**
+     * This snapshot with hub labels (one set per profile) attached.
+     * Call before publishing the snapshot; the original is left unchanged.
+     */
+    public GraphSnapshot withHubLabels(Map<RoutingProfile, HubLabels> labels) {
+        return new GraphSnapshot(this, placeTables, Map.copyOf(labels));
+    }
+
+    // Getters
+    public long getVersion() { return version; }
+    public Graph getGraph() { return graph; }
+    public double getMinLat() { return minLat; }
+    public double getMinLng() { return minLng; }
+    public double getMaxLat() { return maxLat; }
+    public double getMaxLng() { return maxLng; }
+    public String getSource() { return source; }
+    public Instant getLoadedAt() { return loadedAt; }
+    public ProfileWeights getWeights(RoutingProfile profile) { return profileWeights.get(profile); }
+    public SegmentIndex getSegmentIndex() { return segmentIndex; }
+    public PlaceIndex getPlaces() { return places; }
+    public PlaceDistanceTable getPlaceTable(RoutingProfile profile) { return placeTables.get(profile); } // null if none
+    public HubLabels getHubLabels(RoutingProfile profile) { return hubLabels.get(profile); } // null if none
+
+    @Override
+    public String toString() {
+        return "GraphSnapshot{" +
+                "version=" + version +
+                ", graph=" + graph +
+                ", source='" + source + '\'' +
+                ", loadedAt=" + loadedAt +
+                '}';
+    }
+}
@@ -8,21 +8,15 @@ public class Node {
     private final String id;
     private final double latitude;
     private final double longitude;
+    private final double cosLatitude; // for trig-free equirectangular distances (GeoMath)
     private String name; // Optional: e.g., "Main Building", "Library"
-    
-    // For pathfinding algorithms
-    private double gScore; // Cost from start node (Dijkstra/A*)
-    private double fScore; // gScore + heuristic (A* only)
-    private Node parent;   // For path reconstruction
-    private boolean visited;
+    private int index = -1; // Dense index assigned by Graph.addNode, used by per-node arrays
     
     public Node(String id, double latitude, double longitude) {
         this.id = id;
         this.latitude = latitude;
         this.longitude = longitude;
-        this.gScore = Double.MAX_VALUE;
-        this.fScore = Double.MAX_VALUE;
-        this.visited = false;
+        this.cosLatitude = Math.cos(Math.toRadians(latitude));
     }
     
     public Node(String id, double latitude, double longitude, String name) {
@@ -30,32 +24,16 @@ public class Node {
         this.name = name;
     }
     
-    // Reset for new pathfinding run
-    public void reset() {
-        this.gScore = Double.MAX_VALUE;
-        this.fScore = Double.MAX_VALUE;
-        this.parent = null;
-        this.visited = false;
-    }
-    
     // Getters and setters
     public String getId() { return id; }
     public double getLatitude() { return latitude; }
     public double getLongitude() { return longitude; }
+    public double getCosLatitude() { return cosLatitude; }
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
+    public int getIndex() { return index; }
     
-    public double getGScore() { return gScore; }
-    public void setGScore(double gScore) { this.gScore = gScore; }
-    
-    public double getFScore() { return fScore; }
-    public void setFScore(double fScore) { this.fScore = fScore; }
-    
-    public Node getParent() { return parent; }
-    public void setParent(Node parent) { this.parent = parent; }
-    
-    public boolean isVisited() { return visited; }
-    public void setVisited(boolean visited) { this.visited = visited; }
+    void setIndex(int index) { this.index = index; }
     
     @Override
     public boolean equals(Object o) {
@@ -0,0 +1,240 @@
+package com.collegeconnect.navigation.model;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Named places (buildings, amenities, ...) from the map, with the graph nodes
+ * used to walk in and out of them. Built once per graph by the loader and
+ * read-only afterwards.
+ *
+ * Autocomplete uses a prefix trie over the words of each name. The trie is
+ * built from the sorted (word, place) list, so every trie node's subtree covers
+ * a contiguous range of that list: a prefix lookup is one walk down the trie
+ * and yields its matches as a single range. Nodes and child links live in flat
+ * arrays.
+ */
+public final class PlaceIndex {
+
+    /**
+     * A named place. id is the OSM element ("n123", "w123", "r123"), stable across
+     * map reloads; lat/lng is the node or the centre of the outline; entrances are
+     * walkable graph nodes to route to or from (at least one).
+     */
+    public record Place(String id, String name, String kind, double lat, double lng, List<Node> entrances) {}
+
+    public static final PlaceIndex EMPTY = new PlaceIndex(List.of());
+
+    private final Place[] places; // sorted by name
+    private final Map<String, Place> byId;
+    private final String[] normalizedNames; // by place index: words joined by single spaces
+
+    // Sorted (word, place) entries
+    private final String[] words;
+    private final int[] wordPlaces;
+
+    // Trie: node 0 is the root. Children of node n are slots childStart[n] .. childStart[n + 1] - 1,
+    // sorted by character; each node matches the entries rangeStart[n] .. rangeEnd[n] - 1.
+    private final int[] childStart;
+    private final char[] childChar;
+    private final int[] childNode;
+    private final int[] rangeStart;
+    private final int[] rangeEnd;
+
+    public PlaceIndex(Collection<Place> places) {
+        this.places = places.toArray(new Place[0]);
+        Arrays.sort(this.places, Comparator.comparing((Place p) -> p.name().toLowerCase(Locale.ROOT))
+                .thenComparing(Place::id));
+        this.byId = new HashMap<>();
+        this.normalizedNames = new String[this.places.length];
+
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < this.places.length; i++) {
+            Place place = this.places[i];
+            byId.put(place.id(), place);
+            List<String> tokens = tokenize(place.name());
+            normalizedNames[i] = String.join(" ", tokens);
+            for (String token : tokens) entries.add(new Entry(token, i));
+        }
+        entries.sort(Comparator.comparing(Entry::word).thenComparingInt(Entry::place));
+        this.words = new String[entries.size()];
+        this.wordPlaces = new int[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            words[i] = entries.get(i).word();
+            wordPlaces[i] = entries.get(i).place();
+        }
+
+        TrieBuilder trie = new TrieBuilder();
+        trie.build(0, words.length, 0);
+        this.childStart = trie.childStart();
+        this.childChar = Arrays.copyOf(trie.childChar, trie.slots);
+        this.childNode = Arrays.copyOf(trie.childNode, trie.slots);
+        this.rangeStart = Arrays.copyOf(trie.rangeStart, trie.nodes);
+        this.rangeEnd = Arrays.copyOf(trie.rangeEnd, trie.nodes);
+    }
+
+    private record Entry(String word, int place) {}
+
+    public Place get(String id) {
+        return id != null ? byId.get(id) : null;
+    }
+
+    public List<Place> getAll() {
+        return List.of(places);
+    }
+
+    public int size() {
+        return places.length;
+    }
+
+    /**
+     * Places whose name has a word starting with each word of the query, names
+     * starting with the query first, then shorter names. A blank query lists
+     * places by name.
+     */
+    public List<Place> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of(places).subList(0, Math.min(limit, places.length));
+        }
+
+        BitSet matches = null;
+        for (String token : tokens) {
+            int node = find(token);
+            if (node < 0) return List.of();
+            BitSet withToken = new BitSet(places.length);
+            for (int i = rangeStart[node]; i < rangeEnd[node]; i++) withToken.set(wordPlaces[i]);
+            if (matches == null) {
+                matches = withToken;
+            } else {
+                matches.and(withToken);
+            }
+            if (matches.isEmpty()) return List.of();
+        }
+
+        String phrase = String.join(" ", tokens);
+        List<Integer> found = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) found.add(i);
+        // Ties keep name order, since place indices follow it
+        found.sort(Comparator.comparingInt((Integer i) -> normalizedNames[i].startsWith(phrase) ? 0 : 1)
+                .thenComparingInt(i -> normalizedNames[i].length()));
+
+        List<Place> result = new ArrayList<>(Math.min(limit, found.size()));
+        for (int i = 0; i < found.size() && result.size() < limit; i++) result.add(places[found.get(i)]);
+        return result;
+    }
+
+    // Trie node for a prefix, or -1 if no word starts with it
+    private int find(String prefix) {
+        int node = 0;
+        for (int i = 0; i < prefix.length(); i++) {
+            int lo = childStart[node], hi = childStart[node + 1] - 1;
+            char c = prefix.charAt(i);
+            int next = -1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (childChar[mid] < c) {
+                    lo = mid + 1;
+                } else if (childChar[mid] > c) {
+                    hi = mid - 1;
+                } else {
+                    next = childNode[mid];
+                    break;
+                }
+            }
+            if (next < 0) return -1;
+            node = next;
+        }
+        return node;
+    }
+
+    /**
+     * Lower-case words of a name or query, accents removed
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) return tokens;
+        String normalized = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) continue;
+            if (Character.isLetterOrDigit(c)) {
+                token.append(c);
+            } else if (token.length() > 0) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (token.length() > 0) tokens.add(token.toString());
+        return tokens;
+    }
+
+    // Builds the flat trie from the sorted words; a node's children get adjacent slots
+    private final class TrieBuilder {
+        int nodes, slots;
+        int[] firstSlot = new int[16];
+        int[] rangeStart = new int[16], rangeEnd = new int[16];
+        char[] childChar = new char[16];
+        int[] childNode = new int[16];
+
+        // Node for the words in [lo, hi), which share their first depth characters
+        int build(int lo, int hi, int depth) {
+            int node = nodes++;
+            if (node == rangeStart.length) {
+                int size = node * 2;
+                firstSlot = Arrays.copyOf(firstSlot, size);
+                rangeStart = Arrays.copyOf(rangeStart, size);
+                rangeEnd = Arrays.copyOf(rangeEnd, size);
+            }
+            rangeStart[node] = lo;
+            rangeEnd[node] = hi;
+
+            // Words ending here sort first; the rest group by their next character
+            int start = lo;
+            while (start < hi && words[start].length() == depth) start++;
+            int groups = 0;
+            for (int i = start; i < hi; i++) {
+                if (i == start || words[i].charAt(depth) != words[i - 1].charAt(depth)) groups++;
+            }
+            int first = slots;
+            slots += groups;
+            if (slots > childChar.length) {
+                int size = Math.max(slots, childChar.length * 2);
+                childChar = Arrays.copyOf(childChar, size);
+                childNode = Arrays.copyOf(childNode, size);
+            }
+            firstSlot[node] = first;
+
+            int slot = first;
+            for (int i = start; i < hi; ) {
+                char c = words[i].charAt(depth);
+                int j = i + 1;
+                while (j < hi && words[j].charAt(depth) == c) j++;
+                int child = build(i, j, depth + 1); // may grow the arrays, so assign after
+                childChar[slot] = c;
+                childNode[slot] = child;
+                slot++;
+                i = j;
+            }
+            return node;
+        }
+
+        // Slot offsets by node id, with one extra entry closing the last node
+        int[] childStart() {
+            // Nodes are numbered and given their slots in the same (pre)order, so each
+            // node's slots end where the next node's begin
+            int[] starts = Arrays.copyOf(firstSlot, nodes + 1);
+            starts[nodes] = slots;
+            return starts;
+        }
+    }
+}
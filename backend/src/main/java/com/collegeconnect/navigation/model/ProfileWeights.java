@@ -0,0 +1,44 @@
+package com.collegeconnect.navigation.model;
+
+/**
+ * Edge costs (seconds) of one routing profile, precomputed into an array indexed
+ * by edge id when a graph snapshot is built. Query time is a single array read.
+ */
+public final class ProfileWeights implements EdgeWeights {
+
+    private final RoutingProfile profile;
+    private final double[] seconds;
+    private final int usableEdges;
+
+    private ProfileWeights(RoutingProfile profile, double[] seconds, int usableEdges) {
+        this.profile = profile;
+        this.seconds = seconds;
+        this.usableEdges = usableEdges;
+    }
+
+    public static ProfileWeights build(Graph graph, RoutingProfile profile) {
+        int count = graph.getEdgeCount();
+        double[] seconds = new double[count];
+        int usable = 0;
+        for (int id = 0; id < count; id++) {
+            Edge edge = graph.getEdge(id);
+            seconds[id] = edge.getWeight() * profile.secondsPerMeter(edge.getTags());
+            if (seconds[id] != Double.POSITIVE_INFINITY) usable++;
+        }
+        return new ProfileWeights(profile, seconds, usable);
+    }
+
+    @Override
+    public double weight(Edge edge) {
+        return seconds[edge.getId()];
+    }
+
+    @Override
+    public double minCostPerMeter() {
+        // Profile factors are >= 1, so the free-flow pace is a lower bound
+        return 1.0 / profile.getSpeed();
+    }
+
+    public RoutingProfile getProfile() { return profile; }
+    public int getUsableEdges() { return usableEdges; }
+}
@@ -0,0 +1,290 @@
+package com.collegeconnect.navigation.model;
+
+import java.util.*;
+
+/**
+ * Per-query view of a shared graph with virtual nodes at snapped positions.
+ * Each snapped point splits its segment into virtual edges (u -> x -> v, plus
+ * the twins if the street is two-way), so a route can start or end part-way
+ * along a street instead of at its nearest vertex. The base graph is never
+ * modified, so concurrent queries on the same snapshot don't see each other's
+ * virtual nodes.
+ *
+ * Virtual nodes get indices after the base nodes and virtual edges get ids after
+ * the base edges; wrap() maps a virtual edge's cost to the matching fraction of
+ * the base edge it was cut from, so profiles and closures apply unchanged.
+ */
+public class QueryGraph extends Graph {
+
+    // Closer than this to an endpoint, the endpoint itself is used
+    private static final double ENDPOINT_TOLERANCE_METERS = 0.5;
+
+    private final Graph base;
+    private final int baseNodeCount;
+    private final int baseEdgeCount;
+
+    private final List<Node> virtualNodes = new ArrayList<>();
+    private final List<List<Edge>> virtualAdjacency = new ArrayList<>(); // by virtual node
+    private final List<List<Edge>> virtualIncoming = new ArrayList<>();  // by virtual node
+    private final List<Edge> virtualEdges = new ArrayList<>();
+    private final List<Edge> cutFrom = new ArrayList<>();      // by virtual edge: base edge in the same direction
+    private final List<Double> cutFraction = new ArrayList<>(); // by virtual edge: share of that base edge
+    private final Map<Node, List<Edge>> extraNeighbors = new HashMap<>(); // base nodes -> base + virtual edges
+    private final Map<Node, List<Edge>> extraIncoming = new HashMap<>();
+    private final Map<String, Node> virtualById = new HashMap<>();
+    private final List<Node> virtualCutFrom = new ArrayList<>(); // by virtual node: base node it shares components with
+    private final Node[] queryNodes;
+    private final SegmentIndex.Snap[] snaps;
+
+    /**
+     * @param snaps one entry per query point (entries may be null if a point could not be snapped)
+     */
+    public QueryGraph(Graph base, List<SegmentIndex.Snap> snaps) {
+        this.base = base;
+        this.baseNodeCount = base.getNodeCount();
+        this.baseEdgeCount = base.getEdgeCount();
+        this.snaps = snaps.toArray(new SegmentIndex.Snap[0]);
+        this.queryNodes = new Node[snaps.size()];
+
+        // Group points by the undirected segment they fall on, so several points on
+        // one street are chained in order rather than each skipping over the others
+        Map<Integer, List<Integer>> bySegment = new LinkedHashMap<>();
+        for (int i = 0; i < this.snaps.length; i++) {
+            SegmentIndex.Snap s = this.snaps[i];
+            if (s == null) continue;
+            Edge e = s.edge();
+            double lengthMeters = e.getWeight();
+            if (s.fraction() * lengthMeters <= ENDPOINT_TOLERANCE_METERS) {
+                queryNodes[i] = e.getFrom();
+            } else if ((1 - s.fraction()) * lengthMeters <= ENDPOINT_TOLERANCE_METERS) {
+                queryNodes[i] = e.getTo();
+            } else {
+                bySegment.computeIfAbsent(canonical(e).getId(), k -> new ArrayList<>()).add(i);
+            }
+        }
+        for (Map.Entry<Integer, List<Integer>> entry : bySegment.entrySet()) {
+            splitSegment(base.getEdge(entry.getKey()), entry.getValue());
+        }
+    }
+
+    private static Edge canonical(Edge e) {
+        Edge r = e.getReverse();
+        return r != null && r.getId() < e.getId() ? r : e;
+    }
+
+    private void splitSegment(Edge edge, List<Integer> points) {
+        Edge twin = edge.getReverse();
+        // Fractions along the canonical direction, in order
+        points.sort(Comparator.comparingDouble(i -> along(edge, snaps[i])));
+
+        Node previous = edge.getFrom();
+        double previousFraction = 0;
+        for (int i : points) {
+            SegmentIndex.Snap s = snaps[i];
+            Node x = new Node("virtual:" + virtualNodes.size(), s.lat(), s.lng());
+            x.setIndex(baseNodeCount + virtualNodes.size());
+            virtualNodes.add(x);
+            virtualAdjacency.add(new ArrayList<>());
+            virtualIncoming.add(new ArrayList<>());
+            virtualById.put(x.getId(), x);
+            virtualCutFrom.add(edge.getFrom());
+            queryNodes[i] = x;
+
+            double fraction = along(edge, s);
+            link(previous, x, edge, twin, fraction - previousFraction);
+            previous = x;
+            previousFraction = fraction;
+        }
+        link(previous, edge.getTo(), edge, twin, 1 - previousFraction);
+    }
+
+    private static double along(Edge canonical, SegmentIndex.Snap s) {
+        return s.edge() == canonical ? s.fraction() : 1 - s.fraction();
+    }
+
+    // a -> b as a piece of edge, plus b -> a as a piece of twin (if the street is two-way)
+    private void link(Node a, Node b, Edge edge, Edge twin, double fraction) {
+        Edge forward = addVirtualEdge(a, b, edge, fraction);
+        if (twin != null) {
+            Edge backward = addVirtualEdge(b, a, twin, fraction);
+            forward.setReverse(backward);
+            backward.setReverse(forward);
+        }
+    }
+
+    private Edge addVirtualEdge(Node from, Node to, Edge original, double fraction) {
+        Edge e = new Edge(from, to, original.getWeight() * fraction, false,
+                original.getWayId(), original.getTags());
+        e.setId(baseEdgeCount + virtualEdges.size());
+        virtualEdges.add(e);
+        cutFrom.add(original);
+        cutFraction.add(fraction);
+        if (isVirtual(from)) {
+            virtualAdjacency.get(from.getIndex() - baseNodeCount).add(e);
+        } else {
+            extraNeighbors.computeIfAbsent(from, n -> new ArrayList<>(base.getNeighbors(n))).add(e);
+        }
+        if (isVirtual(to)) {
+            virtualIncoming.get(to.getIndex() - baseNodeCount).add(e);
+        } else {
+            extraIncoming.computeIfAbsent(to, n -> new ArrayList<>(base.getIncoming(n))).add(e);
+        }
+        return e;
+    }
+
+    private boolean isVirtual(Node node) {
+        return node.getIndex() >= baseNodeCount && virtualById.get(node.getId()) == node;
+    }
+
+    /**
+     * Node to route from/to for the i-th snap: a virtual node, or a segment
+     * endpoint if the point projected (almost) onto it. Null if the snap was null.
+     */
+    public Node getQueryNode(int i) {
+        return queryNodes[i];
+    }
+
+    public SegmentIndex.Snap getSnap(int i) {
+        return snaps[i];
+    }
+
+    /**
+     * The shared graph this query graph adds its virtual nodes to
+     */
+    public Graph getBase() {
+        return base;
+    }
+
+    /**
+     * Costs for this query graph: virtual edges cost their share of the base edge
+     * they were cut from, everything else is passed straight through.
+     */
+    public EdgeWeights wrap(EdgeWeights weights) {
+        if (virtualEdges.isEmpty()) return weights;
+        return new EdgeWeights() {
+            @Override
+            public double weight(Edge edge) {
+                int k = edge.getId() - baseEdgeCount;
+                if (k < 0 || k >= virtualEdges.size() || virtualEdges.get(k) != edge) return weights.weight(edge);
+                return weights.weight(cutFrom.get(k)) * cutFraction.get(k);
+            }
+
+            @Override
+            public double minCostPerMeter() { return weights.minCostPerMeter(); }
+
+            @Override
+            public double toSeconds(double cost) { return weights.toSeconds(cost); }
+        };
+    }
+
+    /**
+     * The query point of a snap resolves to its query node, so algorithms that look
+     * up their endpoints by coordinate start on the snapped street
+     */
+    @Override
+    public Node findClosestNode(double latitude, double longitude) {
+        for (int i = 0; i < snaps.length; i++) {
+            if (snaps[i] != null && snaps[i].queryLat() == latitude && snaps[i].queryLng() == longitude) {
+                return queryNodes[i];
+            }
+        }
+        return base.findClosestNode(latitude, longitude);
+    }
+
+    @Override
+    public List<Node> findClosestNodes(double latitude, double longitude, int k) {
+        return base.findClosestNodes(latitude, longitude, k);
+    }
+
+    @Override
+    public List<Edge> getNeighbors(Node node) {
+        if (isVirtual(node)) return virtualAdjacency.get(node.getIndex() - baseNodeCount);
+        List<Edge> extra = extraNeighbors.get(node);
+        return extra != null ? extra : base.getNeighbors(node);
+    }
+
+    @Override
+    public List<Edge> getIncoming(Node node) {
+        if (isVirtual(node)) return virtualIncoming.get(node.getIndex() - baseNodeCount);
+        List<Edge> extra = extraIncoming.get(node);
+        return extra != null ? extra : base.getIncoming(node);
+    }
+
+    @Override
+    public ConnectedComponents getComponents() {
+        return base.getComponents();
+    }
+
+    @Override
+    public int getComponent(Node node) {
+        return base.getComponent(isVirtual(node) ? virtualCutFrom.get(node.getIndex() - baseNodeCount) : node);
+    }
+
+    @Override
+    public int getStrongComponent(Node node) {
+        return base.getStrongComponent(isVirtual(node) ? virtualCutFrom.get(node.getIndex() - baseNodeCount) : node);
+    }
+
+    @Override
+    public Node getNode(String id) {
+        Node virtual = virtualById.get(id);
+        return virtual != null ? virtual : base.getNode(id);
+    }
+
+    @Override
+    public Node getNodeByIndex(int index) {
+        return index < baseNodeCount ? base.getNodeByIndex(index) : virtualNodes.get(index - baseNodeCount);
+    }
+
+    @Override
+    public Edge getEdge(int id) {
+        return id < baseEdgeCount ? base.getEdge(id) : virtualEdges.get(id - baseEdgeCount);
+    }
+
+    @Override
+    public int[] getEdgeIdsForWay(long wayId) {
+        return base.getEdgeIdsForWay(wayId);
+    }
+
+    @Override
+    public String getWayName(long wayId) {
+        return base.getWayName(wayId);
+    }
+
+    @Override
+    public Collection<Node> getAllNodes() {
+        if (virtualNodes.isEmpty()) return base.getAllNodes();
+        List<Node> all = new ArrayList<>(base.getAllNodes());
+        all.addAll(virtualNodes);
+        return all;
+    }
+
+    @Override
+    public int getNodeCount() {
+        return baseNodeCount + virtualNodes.size();
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return baseEdgeCount + virtualEdges.size();
+    }
+
+    @Override
+    public void addNode(Node node) {
+        throw new UnsupportedOperationException("QueryGraph is read-only");
+    }
+
+    @Override
+    public void addEdge(Edge edge) {
+        throw new UnsupportedOperationException("QueryGraph is read-only");
+    }
+
+    @Override
+    public String toString() {
+        return "QueryGraph{" +
+                "base=" + base +
+                ", virtualNodes=" + virtualNodes.size() +
+                ", virtualEdges=" + virtualEdges.size() +
+                '}';
+    }
+}
@@ -10,18 +10,29 @@ public class Route {
     private final double totalDistance; // in meters
     private final double estimatedDuration; // in seconds
     private final String algorithm; // "DIJKSTRA" or "ASTAR"
+    private final int settledNodes; // search effort, -1 if not reported
+    private final long computeNanos; // search time, -1 if not reported
     
     public Route(List<Node> path, double totalDistance, double estimatedDuration, String algorithm) {
+        this(path, totalDistance, estimatedDuration, algorithm, -1, -1);
+    }
+    
+    public Route(List<Node> path, double totalDistance, double estimatedDuration, String algorithm,
+                 int settledNodes, long computeNanos) {
         this.path = path;
         this.totalDistance = totalDistance;
         this.estimatedDuration = estimatedDuration;
         this.algorithm = algorithm;
+        this.settledNodes = settledNodes;
+        this.computeNanos = computeNanos;
     }
     
     public List<Node> getPath() { return path; }
     public double getTotalDistance() { return totalDistance; }
     public double getEstimatedDuration() { return estimatedDuration; }
     public String getAlgorithm() { return algorithm; }
+    public int getSettledNodes() { return settledNodes; }
+    public long getComputeNanos() { return computeNanos; }
     
     public boolean isValid() {
         return path != null && !path.isEmpty();
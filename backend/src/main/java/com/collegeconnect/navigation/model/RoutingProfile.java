@@ -0,0 +1,94 @@
+package com.collegeconnect.navigation.model;
+
+import java.util.Locale;
+
+/**
+ * Travel modes with their own edge costing. Costs are seconds per meter derived
+ * from EdgeTags; Double.POSITIVE_INFINITY marks edges the mode cannot use.
+ * They are evaluated once per edge when a graph is loaded (see ProfileWeights),
+ * never at query time.
+ */
+public enum RoutingProfile {
+
+    WALK(1.4) {
+        @Override
+        protected double factor(int tags) {
+            return EdgeTags.highwayClass(tags) == EdgeTags.STEPS ? 1.5 : 1.0;
+        }
+    },
+
+    WHEELCHAIR(1.0) {
+        @Override
+        protected double factor(int tags) {
+            if (EdgeTags.highwayClass(tags) == EdgeTags.STEPS
+                    || EdgeTags.has(tags, EdgeTags.BARRIER)
+                    || EdgeTags.has(tags, EdgeTags.NO_WHEELCHAIR)) {
+                return Double.POSITIVE_INFINITY;
+            }
+            switch (EdgeTags.surface(tags)) {
+                case EdgeTags.SURFACE_UNPAVED: return 2.0;
+                case EdgeTags.SURFACE_ROUGH: return 3.0;
+                default: return EdgeTags.highwayClass(tags) == EdgeTags.TRACK ? 2.0 : 1.0;
+            }
+        }
+    },
+
+    BIKE(4.5) {
+        @Override
+        protected double factor(int tags) {
+            if (EdgeTags.highwayClass(tags) == EdgeTags.STEPS
+                    || EdgeTags.has(tags, EdgeTags.BARRIER)
+                    || EdgeTags.has(tags, EdgeTags.NO_BICYCLE)
+                    || EdgeTags.isAgainstOneway(tags)) {
+                return Double.POSITIVE_INFINITY;
+            }
+            double f = EdgeTags.highwayClass(tags) == EdgeTags.FOOTWAY ? 2.0 : 1.0; // shared with pedestrians
+            switch (EdgeTags.surface(tags)) {
+                case EdgeTags.SURFACE_UNPAVED: return f * 1.5;
+                case EdgeTags.SURFACE_ROUGH: return f * 2.0;
+                default: return f;
+            }
+        }
+    };
+
+    private final double speed; // m/s on an unpenalised edge
+
+    RoutingProfile(double speed) {
+        this.speed = speed;
+    }
+
+    public double getSpeed() { return speed; }
+
+    /**
+     * Seconds needed per meter of an edge with the given tags
+     */
+    public double secondsPerMeter(int tags) {
+        return factor(tags) / speed;
+    }
+
+    /** Multiplier (>= 1) on the base pace, or infinity if the edge is unusable */
+    protected abstract double factor(int tags);
+
+    /**
+     * Parse a profile name from a request; null means the default (WALK).
+     * @throws IllegalArgumentException for unknown names
+     */
+    public static RoutingProfile fromName(String name) {
+        if (name == null || name.isBlank()) return WALK;
+        switch (name.trim().toUpperCase(Locale.ROOT)) {
+            case "WALK":
+            case "WALKING":
+            case "FOOT":
+                return WALK;
+            case "WHEELCHAIR":
+            case "ACCESSIBLE":
+                return WHEELCHAIR;
+            case "BIKE":
+            case "BICYCLE":
+            case "CYCLING":
+                return BIKE;
+            default:
+                throw new IllegalArgumentException("Unknown routing profile: " + name);
+        }
+    }
+}
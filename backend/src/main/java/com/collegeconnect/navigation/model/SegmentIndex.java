@@ -0,0 +1,179 @@
+package com.collegeconnect.navigation.model;
+
+import com.collegeconnect.navigation.util.GeoMath;
+
+/**
+ * Uniform grid over the graph's street segments, used to snap a coordinate onto
+ * the nearest point of the nearest segment (not just the nearest node).
+ * Each undirected segment is stored once, in every cell its bounding box touches;
+ * cells are kept in flat int arrays (CSR layout) so a lookup allocates nothing.
+ * Distances use a local equirectangular projection, which is exact enough at
+ * campus scale.
+ */
+public final class SegmentIndex {
+
+    private static final double CELL_METERS = 50.0;
+    // Points farther than this from every usable segment don't snap at all
+    static final double MAX_SNAP_METERS = 1000.0;
+
+    /**
+     * Result of snapping a query point: the matched edge, how far along it the
+     * projection lies (0 = edge.getFrom(), 1 = edge.getTo()), the projected
+     * coordinate and its distance in meters from the query point.
+     */
+    public record Snap(double queryLat, double queryLng, Edge edge, double fraction,
+                       double lat, double lng, double distance) {}
+
+    private final Graph graph;
+    private final double originLat, originLng;
+    private final double metersPerDegLng;
+    private final int cols, rows;
+    private final int[] cellStart; // cell -> offset into cellEdges (length cols * rows + 1)
+    private final int[] cellEdges; // edge ids, grouped by cell
+
+    public SegmentIndex(Graph graph) {
+        this.graph = graph;
+
+        double minLat = Double.MAX_VALUE, minLng = Double.MAX_VALUE;
+        double maxLat = -Double.MAX_VALUE, maxLng = -Double.MAX_VALUE;
+        for (Node n : graph.getAllNodes()) {
+            minLat = Math.min(minLat, n.getLatitude());
+            maxLat = Math.max(maxLat, n.getLatitude());
+            minLng = Math.min(minLng, n.getLongitude());
+            maxLng = Math.max(maxLng, n.getLongitude());
+        }
+        if (graph.getNodeCount() == 0) {
+            minLat = minLng = maxLat = maxLng = 0;
+        }
+        this.originLat = minLat;
+        this.originLng = minLng;
+        this.metersPerDegLng = GeoMath.metersPerDegreeLng((minLat + maxLat) / 2);
+        this.cols = Math.max(1, (int) Math.ceil(toX(maxLng) / CELL_METERS) + 1);
+        this.rows = Math.max(1, (int) Math.ceil(toY(maxLat) / CELL_METERS) + 1);
+
+        // Two passes: count entries per cell, then fill
+        int[] counts = new int[cols * rows + 1];
+        forEachSegmentCell((edgeId, cell) -> counts[cell + 1]++);
+        for (int i = 1; i < counts.length; i++) counts[i] += counts[i - 1];
+        this.cellStart = counts.clone();
+        this.cellEdges = new int[counts[counts.length - 1]];
+        int[] fill = counts;
+        forEachSegmentCell((edgeId, cell) -> cellEdges[fill[cell]++] = edgeId);
+    }
+
+    private interface CellVisitor {
+        void visit(int edgeId, int cell);
+    }
+
+    private void forEachSegmentCell(CellVisitor visitor) {
+        for (int id = 0; id < graph.getEdgeCount(); id++) {
+            Edge e = graph.getEdge(id);
+            // Twins describe the same stretch of street; index the lower id only
+            if (e.getReverse() != null && e.getReverse().getId() < id) continue;
+            double x1 = toX(e.getFrom().getLongitude()), y1 = toY(e.getFrom().getLatitude());
+            double x2 = toX(e.getTo().getLongitude()), y2 = toY(e.getTo().getLatitude());
+            int c0 = clampCol((int) Math.floor(Math.min(x1, x2) / CELL_METERS));
+            int c1 = clampCol((int) Math.floor(Math.max(x1, x2) / CELL_METERS));
+            int r0 = clampRow((int) Math.floor(Math.min(y1, y2) / CELL_METERS));
+            int r1 = clampRow((int) Math.floor(Math.max(y1, y2) / CELL_METERS));
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    visitor.visit(id, r * cols + c);
+                }
+            }
+        }
+    }
+
+    /**
+     * Nearest point on any segment the given weights can travel (in at least one
+     * direction). Pass null to consider every segment. Returns null for an empty graph
+     * or when no such segment lies within MAX_SNAP_METERS.
+     */
+    public Snap nearest(double lat, double lng, EdgeWeights weights) {
+        return nearest(lat, lng, weights, -1);
+    }
+
+    /**
+     * As above, restricted to segments touching the given strong component
+     * (see Graph.getStrongComponent); -1 means any component.
+     */
+    public Snap nearest(double lat, double lng, EdgeWeights weights, int strongComponent) {
+        double px = toX(lng), py = toY(lat);
+        if (!(offGridMeters(px, py) <= MAX_SNAP_METERS)) return null; // also rejects NaN
+        // Clamped to one cell off the grid: rings still grow by at least CELL_METERS
+        // from the query point, and far-away points can't overflow the cast
+        int cx = (int) Math.max(-1, Math.min(cols, Math.floor(px / CELL_METERS)));
+        int cy = (int) Math.max(-1, Math.min(rows, Math.floor(py / CELL_METERS)));
+        // Rings needed for the search square to cover the whole grid from here
+        int maxRing = Math.max(Math.max(cx + 1, cols - cx), Math.max(cy + 1, rows - cy));
+
+        Edge bestEdge = null;
+        double bestDistSq = Double.MAX_VALUE;
+        double bestT = 0;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            int r0 = Math.max(0, cy - ring), r1 = Math.min(rows - 1, cy + ring);
+            int c0 = Math.max(0, cx - ring), c1 = Math.min(cols - 1, cx + ring);
+            for (int r = r0; r <= r1; r++) {
+                // Inner rows of a ring only have its left and right cells
+                boolean edgeRow = r == cy - ring || r == cy + ring;
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int c = edgeRow ? c0 : cx - ring; c <= c1; c += step) {
+                    if (c < 0) continue;
+                    int cell = r * cols + c;
+                    for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                        Edge e = graph.getEdge(cellEdges[i]);
+                        double ax = toX(e.getFrom().getLongitude()), ay = toY(e.getFrom().getLatitude());
+                        double bx = toX(e.getTo().getLongitude()), by = toY(e.getTo().getLatitude());
+                        double dx = bx - ax, dy = by - ay;
+                        double len2 = dx * dx + dy * dy;
+                        double t = len2 == 0 ? 0 : Math.max(0, Math.min(1, ((px - ax) * dx + (py - ay) * dy) / len2));
+                        double qx = ax + t * dx - px, qy = ay + t * dy - py;
+                        double distSq = qx * qx + qy * qy;
+                        if (distSq < bestDistSq && usable(e, weights) && inComponent(e, strongComponent)) {
+                            bestDistSq = distSq;
+                            bestEdge = e;
+                            bestT = t;
+                        }
+                    }
+                }
+            }
+            // Anything in the next ring is at least ring * CELL_METERS away
+            double bound = ring * CELL_METERS;
+            if (bestEdge != null && bestDistSq <= bound * bound) break;
+            if (bound >= MAX_SNAP_METERS) break;
+        }
+        if (bestEdge == null || bestDistSq > MAX_SNAP_METERS * MAX_SNAP_METERS) return null;
+
+        Node from = bestEdge.getFrom(), to = bestEdge.getTo();
+        double snappedLat = from.getLatitude() + bestT * (to.getLatitude() - from.getLatitude());
+        double snappedLng = from.getLongitude() + bestT * (to.getLongitude() - from.getLongitude());
+        return new Snap(lat, lng, bestEdge, bestT, snappedLat, snappedLng, Math.sqrt(bestDistSq));
+    }
+
+    private boolean inComponent(Edge e, int strongComponent) {
+        return strongComponent < 0
+                || graph.getStrongComponent(e.getFrom()) == strongComponent
+                || graph.getStrongComponent(e.getTo()) == strongComponent;
+    }
+
+    private static boolean usable(Edge e, EdgeWeights weights) {
+        if (weights == null) return true;
+        if (weights.weight(e) != Double.POSITIVE_INFINITY) return true;
+        return e.getReverse() != null && weights.weight(e.getReverse()) != Double.POSITIVE_INFINITY;
+    }
+
+    private double toX(double lng) { return (lng - originLng) * metersPerDegLng; }
+    private double toY(double lat) { return (lat - originLat) * GeoMath.METERS_PER_DEGREE; }
+    // Distance from a projected point to the grid's bounding box, 0 inside it
+    private double offGridMeters(double x, double y) {
+        double dx = Math.max(0, Math.max(-x, x - cols * CELL_METERS));
+        double dy = Math.max(0, Math.max(-y, y - rows * CELL_METERS));
+        return Math.hypot(dx, dy);
+    }
+
+    private int clampCol(int c) { return Math.max(0, Math.min(cols - 1, c)); }
+    private int clampRow(int r) { return Math.max(0, Math.min(rows - 1, r)); }
+
+    public int getCellCount() { return cols * rows; }
+    public int getEntryCount() { return cellEdges.length; }
+}
@@ -0,0 +1,134 @@
+package com.collegeconnect.navigation.service;
+
+import com.collegeconnect.navigation.model.EdgeOverlay;
+import com.collegeconnect.navigation.model.Graph;
+import com.collegeconnect.navigation.model.GraphSnapshot;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Temporary path closures and penalties (events, construction, crowds), keyed by
+ * OSM way id so they survive graph reloads. Rules are compiled into an
+ * EdgeOverlay per graph snapshot and recompiled only when a rule changes or a
+ * time window opens/closes.
+ */
+@Service
+public class EdgeClosureService {
+
+    public record Closure(String id, List<Long> wayIds, boolean blocked, double penalty,
+                          Instant from, Instant until, String reason) {
+        boolean isActiveAt(long millis) {
+            return (from == null || from.toEpochMilli() <= millis)
+                    && (until == null || millis < until.toEpochMilli());
+        }
+
+        boolean isExpiredAt(long millis) {
+            return until != null && until.toEpochMilli() <= millis;
+        }
+    }
+
+    private record Compiled(long graphVersion, long revision, EdgeOverlay overlay) {}
+
+    private final ConcurrentHashMap<String, Closure> closures = new ConcurrentHashMap<>();
+    private final AtomicLong revision = new AtomicLong();
+    private final AtomicReference<Compiled> compiled = new AtomicReference<>();
+
+    /**
+     * Register a closure. If blocked is false the ways stay usable but cost
+     * penalty times more (penalty must be > 1).
+     */
+    public Closure addClosure(List<Long> wayIds, boolean blocked, double penalty,
+                              Instant from, Instant until, String reason) {
+        if (wayIds == null || wayIds.isEmpty()) {
+            throw new IllegalArgumentException("wayIds must not be empty");
+        }
+        if (!blocked && !(penalty > 1.0)) {
+            throw new IllegalArgumentException("penalty must be greater than 1 for non-blocking closures");
+        }
+        if (from != null && until != null && !until.isAfter(from)) {
+            throw new IllegalArgumentException("until must be after from");
+        }
+        Closure closure = new Closure(UUID.randomUUID().toString(), List.copyOf(wayIds), blocked,
+                blocked ? Double.POSITIVE_INFINITY : penalty, from, until, reason);
+        closures.put(closure.id(), closure);
+        revision.incrementAndGet();
+        System.out.println("[Closures] Added " + closure);
+        return closure;
+    }
+
+    public boolean removeClosure(String id) {
+        Closure removed = closures.remove(id);
+        if (removed == null) return false;
+        revision.incrementAndGet();
+        System.out.println("[Closures] Removed " + removed);
+        return true;
+    }
+
+    public List<Closure> getClosures() {
+        List<Closure> list = new ArrayList<>(closures.values());
+        list.sort(Comparator.comparing(Closure::id));
+        return list;
+    }
+
+    /**
+     * Number of directed graph edges the closure's ways map to
+     */
+    public int matchedEdges(Closure closure, Graph graph) {
+        int count = 0;
+        for (Long wayId : closure.wayIds()) {
+            count += graph.getEdgeIdsForWay(wayId).length;
+        }
+        return count;
+    }
+
+    /**
+     * Overlay that applies to the given snapshot right now. Cheap on the hot path:
+     * the compiled overlay is reused until rules change, the graph is swapped or the
+     * next time-window boundary passes.
+     */
+    public EdgeOverlay overlayFor(GraphSnapshot snapshot) {
+        long now = System.currentTimeMillis();
+        long rev = revision.get();
+        Compiled c = compiled.get();
+        if (c != null && c.graphVersion() == snapshot.getVersion() && c.revision() == rev
+                && now < c.overlay().getValidUntilMillis()) {
+            return c.overlay();
+        }
+        EdgeOverlay overlay = compile(snapshot.getGraph(), now);
+        compiled.set(new Compiled(snapshot.getVersion(), rev, overlay));
+        return overlay;
+    }
+
+    private EdgeOverlay compile(Graph graph, long now) {
+        EdgeOverlay.Builder builder = new EdgeOverlay.Builder(graph.getEdgeCount());
+        long validUntil = Long.MAX_VALUE;
+
+        for (Closure closure : closures.values()) {
+            if (closure.isExpiredAt(now)) {
+                // Drop finished windows; no revision bump needed since they no longer apply
+                closures.remove(closure.id(), closure);
+                continue;
+            }
+            if (closure.isActiveAt(now)) {
+                for (Long wayId : closure.wayIds()) {
+                    for (int edgeId : graph.getEdgeIdsForWay(wayId)) {
+                        if (closure.blocked()) builder.block(edgeId);
+                        else builder.penalize(edgeId, closure.penalty());
+                    }
+                }
+                if (closure.until() != null) validUntil = Math.min(validUntil, closure.until().toEpochMilli());
+            } else if (closure.from() != null) {
+                validUntil = Math.min(validUntil, closure.from().toEpochMilli());
+            }
+        }
+        return builder.build(validUntil);
+    }
+}
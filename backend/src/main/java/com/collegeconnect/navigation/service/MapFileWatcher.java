@@ -0,0 +1,99 @@
+package com.collegeconnect.navigation.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the external OSM map file (navigation.map.path) and triggers a
+ * background graph reload when it changes. Bursts of events from editors and
+ * copy tools are debounced so one save results in one reload.
+ */
+@Component
+public class MapFileWatcher {
+
+    @Value("${navigation.map.path:}")
+    private String mapPath;
+
+    @Value("${navigation.map.watch:true}")
+    private boolean watchEnabled;
+
+    @Value("${navigation.map.watch-debounce-ms:2000}")
+    private long debounceMs;
+
+    private final NavigationService navigationService;
+    private WatchService watchService;
+    private Thread watcherThread;
+
+    public MapFileWatcher(NavigationService navigationService) {
+        this.navigationService = navigationService;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!watchEnabled || mapPath == null || mapPath.isBlank()) {
+            return;
+        }
+        Path file = Path.of(mapPath).toAbsolutePath();
+        Path dir = file.getParent();
+        watchService = FileSystems.getDefault().newWatchService();
+        dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        watcherThread = new Thread(() -> watchLoop(file), "map-file-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        System.out.println("[MapFileWatcher] Watching " + file + " for changes");
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+        }
+    }
+
+    private void watchLoop(Path file) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                boolean touched = drain(key, file);
+                if (!touched) continue;
+
+                // Wait until the directory has been quiet for debounceMs before reloading
+                WatchKey next;
+                while ((next = watchService.poll(debounceMs, TimeUnit.MILLISECONDS)) != null) {
+                    drain(next, file);
+                }
+                navigationService.reload("map file changed: " + file);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // shutting down
+        }
+    }
+
+    private boolean drain(WatchKey key, Path file) {
+        boolean touched = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (context instanceof Path changed && changed.equals(file.getFileName())) {
+                touched = true;
+            }
+        }
+        key.reset();
+        return touched;
+    }
+}
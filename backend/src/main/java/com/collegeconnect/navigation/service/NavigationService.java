@@ -1,111 +1,586 @@
 package com.collegeconnect.navigation.service;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 
 import com.collegeconnect.navigation.algorithm.AStarAlgorithm;
 import com.collegeconnect.navigation.algorithm.BidirectionalAStarAlgorithm;
+import com.collegeconnect.navigation.algorithm.HubLabels;
 import com.collegeconnect.navigation.algorithm.PathfindingAlgorithm;
+import com.collegeconnect.navigation.algorithm.PlaceDistanceTable;
+import com.collegeconnect.navigation.algorithm.PlateauAlternatives;
+import com.collegeconnect.navigation.algorithm.RouteGuidance;
+import com.collegeconnect.navigation.algorithm.ShortestPathTree;
+import com.collegeconnect.navigation.algorithm.TourOptimizer;
+import com.collegeconnect.navigation.model.ConnectedComponents;
+import com.collegeconnect.navigation.model.EdgeOverlay;
+import com.collegeconnect.navigation.model.EdgeWeights;
 import com.collegeconnect.navigation.model.Graph;
+import com.collegeconnect.navigation.model.GraphSnapshot;
+import com.collegeconnect.navigation.model.PlaceIndex;
+import com.collegeconnect.navigation.model.QueryGraph;
 import com.collegeconnect.navigation.model.Route;
+import com.collegeconnect.navigation.model.RoutingProfile;
+import com.collegeconnect.navigation.model.SegmentIndex;
+import com.collegeconnect.navigation.util.GeoMath;
 import com.collegeconnect.navigation.util.OSMGraphLoader;
+import com.collegeconnect.util.SingleFlight;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class NavigationService {
 
-    private Graph graph;
-    private double minLat, minLng, maxLat, maxLng;
+    private static final String CLASSPATH_MAP = "map/map.osm";
+    private static final double MIN_REPORTED_SNAP_METERS = 1.0;
+    private static final double PREFER_MAIN_COMPONENT_METERS = 25.0;
+    private static final int COMPARE_QUEUE_CAPACITY = 32;
+
+    // Optional filesystem override for the OSM map; falls back to the bundled classpath copy
+    @Value("${navigation.map.path:}")
+    private String mapPath;
+
+    // Current graph. Readers take one snapshot per request; reloads swap the reference atomically.
+    private final AtomicReference<GraphSnapshot> current = new AtomicReference<>();
+    private final AtomicLong versionCounter = new AtomicLong();
+
+    // Single background thread so reloads never overlap and never block request threads
+    private final ExecutorService reloadExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "graph-reload");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Object reloadLock = new Object();
+
+    // Bounded pool for /compare: one thread per algorithm; when the queue is full
+    // the request thread runs the work itself, which throttles callers
+    private final AtomicInteger compareThreadCount = new AtomicInteger();
+    private final ExecutorService compareExecutor = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(COMPARE_QUEUE_CAPACITY), r -> {
+                Thread t = new Thread(r, "route-compare-" + compareThreadCount.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+    private CompletableFuture<GraphSnapshot> queuedReload; // guarded by reloadLock
 
     private final PathfindingAlgorithm astarAlgo = new AStarAlgorithm();
     private final PathfindingAlgorithm bidirectionalAlgo = new BidirectionalAStarAlgorithm();
     private final PathfindingAlgorithm defaultAlgo = bidirectionalAlgo; // Bidirectional is faster
+    private final PlateauAlternatives alternativesAlgo = new PlateauAlternatives();
+    private final TourOptimizer tourOptimizer = new TourOptimizer();
+
+    private final EdgeClosureService closureService;
+
+    // With a map file, hub labels are stored next to it and read back while the map and profile costs are unchanged
+    @Value("${navigation.hub-labels.persist:true}")
+    private boolean persistHubLabels = true;
+
+    // Identifies a search by what determines its result; the overlay instance changes
+    // whenever closures do. Snap positions are compared to 1/10000 of the edge length.
+    private record RouteKey(long graphVersion, RoutingProfile profile, EdgeOverlay overlay,
+                            Class<?> algorithm, int startEdge, long startPosition, int endEdge, long endPosition) {}
+
+    private static final double SNAP_FRACTION_STEPS = 10_000;
+    private final SingleFlight<RouteKey, Guided> routeSearches = new SingleFlight<>();
+
+    // A route with its instructions, worked out on the graph it was found on
+    private record Guided(Route route, RouteGuidance.Guidance guidance) {}
+
+    // Douglas-Peucker tolerance for the geometry sent to clients; 0 sends every vertex
+    @Value("${navigation.simplify.tolerance-meters:2.0}")
+    private double simplifyToleranceMeters = 2.0;
+
+    public NavigationService(EdgeClosureService closureService) {
+        this.closureService = closureService;
+    }
 
     @PostConstruct
     public void init() {
         try {
-            ClassPathResource resource = new ClassPathResource("map/map.osm");
-            try (InputStream in = resource.getInputStream()) {
-                OSMGraphLoader loader = new OSMGraphLoader();
-                OSMGraphLoader.Result res = loader.loadFromResource(in);
-                this.graph = res.graph;
-                this.minLat = res.minLat;
-                this.minLng = res.minLng;
-                this.maxLat = res.maxLat;
-                this.maxLng = res.maxLng;
-                
-                System.out.println("✅ Campus navigation graph loaded:");
-                System.out.println("   Nodes: " + graph.getNodeCount());
-                System.out.println("   Edges: " + graph.getEdgeCount());
-                System.out.println("   Bounds: [" + String.format("%.6f", minLat) + ", " + 
-                                   String.format("%.6f", minLng) + "] to [" + 
-                                   String.format("%.6f", maxLat) + ", " + 
-                                   String.format("%.6f", maxLng) + "]");
-            }
+            GraphSnapshot snapshot = loadSnapshot();
+            warm(snapshot);
+            snapshot = snapshot.withPlaceTables(buildPlaceTables(snapshot))
+                    .withHubLabels(buildHubLabels(snapshot));
+            current.set(snapshot);
+            logSnapshot("Campus navigation graph loaded", snapshot);
         } catch (Exception e) {
             throw new RuntimeException("Failed to load campus OSM graph from resources", e);
         }
     }
 
+    @PreDestroy
+    public void shutdown() {
+        reloadExecutor.shutdownNow();
+        compareExecutor.shutdownNow();
+    }
+
+    /**
+     * Rebuild the graph in the background and atomically swap it in once it is warm.
+     * Requests already running keep the snapshot they started with; new requests see
+     * the new graph as soon as the swap happens. Calls made while a reload is still
+     * queued share that reload, since it will read the latest map anyway.
+     */
+    public CompletableFuture<GraphSnapshot> reload(String reason) {
+        synchronized (reloadLock) {
+            if (queuedReload != null) {
+                return queuedReload;
+            }
+            CompletableFuture<GraphSnapshot> future = new CompletableFuture<>();
+            queuedReload = future;
+            System.out.println("[GraphReload] Reload requested: " + reason);
+            reloadExecutor.execute(() -> {
+                synchronized (reloadLock) {
+                    if (queuedReload == future) queuedReload = null;
+                }
+                try {
+                    GraphSnapshot loaded = loadSnapshot();
+                    warm(loaded);
+                    GraphSnapshot next = loaded.withPlaceTables(buildPlaceTables(loaded))
+                            .withHubLabels(buildHubLabels(loaded));
+                    GraphSnapshot previous = current.getAndSet(next);
+                    logSnapshot("Campus navigation graph reloaded (v" + previous.getVersion() + " -> v" + next.getVersion() + ")", next);
+                    future.complete(next);
+                } catch (Exception e) {
+                    System.out.println("[GraphReload] Reload failed, keeping v" + current.get().getVersion() + ": " + e.getMessage());
+                    future.completeExceptionally(e);
+                }
+            });
+            return future;
+        }
+    }
+
+    public GraphSnapshot getSnapshot() {
+        return current.get();
+    }
+
+    private GraphSnapshot loadSnapshot() throws Exception {
+        boolean fromFile = mapPath != null && !mapPath.isBlank();
+        String source = fromFile ? "file:" + mapPath : "classpath:" + CLASSPATH_MAP;
+        try (InputStream in = fromFile
+                ? Files.newInputStream(Path.of(mapPath))
+                : new ClassPathResource(CLASSPATH_MAP).getInputStream()) {
+            OSMGraphLoader loader = new OSMGraphLoader();
+            OSMGraphLoader.Result res = loader.loadFromResource(in);
+            if (res.graph.getNodeCount() == 0) {
+                throw new IllegalStateException("Map " + source + " contains no nodes");
+            }
+            return new GraphSnapshot(versionCounter.incrementAndGet(), res.graph,
+                    res.minLat, res.minLng, res.maxLat, res.maxLng, source, res.places);
+        }
+    }
+
+    /**
+     * Exercise a fresh graph before it becomes visible so the first real query
+     * doesn't pay for lazy initialisation. Uses private algorithm instances to
+     * avoid touching the metrics of requests running on the live graph.
+     */
+    private void warm(GraphSnapshot snapshot) {
+        Graph g = snapshot.getGraph();
+        g.findClosestNode((snapshot.getMinLat() + snapshot.getMaxLat()) / 2,
+                (snapshot.getMinLng() + snapshot.getMaxLng()) / 2);
+        EdgeWeights weights = snapshot.getWeights(RoutingProfile.WALK);
+        new AStarAlgorithm().findRoute(g, snapshot.getMinLat(), snapshot.getMinLng(),
+                snapshot.getMaxLat(), snapshot.getMaxLng(), weights);
+        new BidirectionalAStarAlgorithm().findRoute(g, snapshot.getMinLat(), snapshot.getMinLng(),
+                snapshot.getMaxLat(), snapshot.getMaxLng(), weights);
+    }
+
+    /**
+     * One place distance table per profile, built from the profile's own weights
+     * (closures are applied at query time, so routes fall back to searching while
+     * any are active)
+     */
+    private Map<RoutingProfile, PlaceDistanceTable> buildPlaceTables(GraphSnapshot snapshot) {
+        Map<RoutingProfile, PlaceDistanceTable> byProfile = new EnumMap<>(RoutingProfile.class);
+        if (snapshot.getPlaces().size() > 0) {
+            for (RoutingProfile profile : RoutingProfile.values()) {
+                PlaceDistanceTable table = PlaceDistanceTable.build(snapshot.getGraph(), snapshot.getPlaces(),
+                        snapshot.getWeights(profile));
+                byProfile.put(profile, table);
+                System.out.println("   Place table (" + profile + "): " + table.getSize() + " entrances in "
+                        + table.getBuildNanos() / 1_000_000 + "ms");
+            }
+        }
+        return byProfile;
+    }
+
+    // The precomputed table for this snapshot and profile, or null if it can't be used right now
+    private PlaceDistanceTable placeTable(GraphSnapshot snap, RoutingProfile profile, EdgeOverlay overlay) {
+        if (!overlay.isEmpty()) return null;
+        return snap.getPlaceTable(profile);
+    }
+
+    /**
+     * Hub labels for every profile: read from the file next to the map when it
+     * still matches, otherwise built (and written back if persisting)
+     */
+    private Map<RoutingProfile, HubLabels> buildHubLabels(GraphSnapshot snapshot) {
+        Map<RoutingProfile, HubLabels> byProfile = new EnumMap<>(RoutingProfile.class);
+        for (RoutingProfile profile : RoutingProfile.values()) {
+            EdgeWeights weights = snapshot.getWeights(profile);
+            Path file = hubLabelFile(profile);
+            HubLabels labels = file != null ? readHubLabels(file, snapshot.getGraph(), weights) : null;
+            boolean read = labels != null;
+            if (!read) {
+                labels = HubLabels.build(snapshot.getGraph(), weights);
+                if (file != null) writeHubLabels(file, labels);
+            }
+            byProfile.put(profile, labels);
+            System.out.println("   Hub labels (" + profile + "): " + labels.getEntryCount() + " entries "
+                    + (read ? "read" : "built") + " in " + labels.getBuildNanos() / 1_000_000 + "ms");
+        }
+        return byProfile;
+    }
+
+    private Path hubLabelFile(RoutingProfile profile) {
+        if (!persistHubLabels || mapPath == null || mapPath.isBlank()) return null;
+        return Path.of(mapPath + "." + profile.name().toLowerCase(Locale.ROOT) + ".hl");
+    }
+
+    private HubLabels readHubLabels(Path file, Graph graph, EdgeWeights weights) {
+        if (!Files.isRegularFile(file)) return null;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            return HubLabels.read(in, graph, weights); // null if stale
+        } catch (IOException e) {
+            System.out.println("[HubLabels] Ignoring unreadable " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Written to a temporary file and moved into place, so a reader never sees half a file
+    private void writeHubLabels(Path file, HubLabels labels) {
+        try {
+            Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+                labels.write(out);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.out.println("[HubLabels] Could not write " + file + ": " + e.getMessage());
+        }
+    }
+
+    // Hub labels for this snapshot and profile, or null if they can't be used right now (closures)
+    private HubLabels hubLabels(GraphSnapshot snap, RoutingProfile profile, EdgeOverlay overlay) {
+        if (!overlay.isEmpty()) return null;
+        return snap.getHubLabels(profile);
+    }
+
+    private void logSnapshot(String title, GraphSnapshot snapshot) {
+        Graph graph = snapshot.getGraph();
+        System.out.println("✅ " + title + ":");
+        System.out.println("   Version: " + snapshot.getVersion() + " (" + snapshot.getSource() + ")");
+        System.out.println("   Nodes: " + graph.getNodeCount());
+        System.out.println("   Edges: " + graph.getEdgeCount());
+        System.out.println("   Distance kernel: " + GeoMath.getKernelName());
+        System.out.println("   Bounds: [" + String.format("%.6f", snapshot.getMinLat()) + ", " +
+                           String.format("%.6f", snapshot.getMinLng()) + "] to [" +
+                           String.format("%.6f", snapshot.getMaxLat()) + ", " +
+                           String.format("%.6f", snapshot.getMaxLng()) + "]");
+    }
+
     public Bounds getBounds() {
-        return new Bounds(minLat, minLng, maxLat, maxLng);
+        GraphSnapshot snap = current.get();
+        return new Bounds(snap.getMinLat(), snap.getMinLng(), snap.getMaxLat(), snap.getMaxLng());
+    }
+
+    /**
+     * Places matching a name prefix query, best first (see PlaceIndex.search)
+     */
+    public List<PlaceIndex.Place> searchPlaces(String query, int limit) {
+        return current.get().getPlaces().search(query, limit);
+    }
+
+    /**
+     * Place by id on the current map, or null
+     */
+    public PlaceIndex.Place getPlace(String id) {
+        return current.get().getPlaces().get(id);
+    }
+
+    /**
+     * The place's entrance to use when coming from (or going to) the given point:
+     * the one nearest to it in a straight line
+     */
+    public com.collegeconnect.navigation.model.Node entranceToward(PlaceIndex.Place place, double lat, double lng) {
+        com.collegeconnect.navigation.model.Node best = null;
+        double bestDistSq = Double.MAX_VALUE;
+        for (com.collegeconnect.navigation.model.Node entrance : place.entrances()) {
+            double dx = entrance.getLatitude() - lat;
+            double dy = entrance.getLongitude() - lng;
+            if (dx * dx + dy * dy < bestDistSq) {
+                bestDistSq = dx * dx + dy * dy;
+                best = entrance;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Route between two places by id, or null if either id is unknown. Uses the
+     * precomputed place table (best entrance pair, path unpacked from its tree)
+     * unless closures are active; otherwise searches between the entrances that
+     * face each other.
+     */
+    public RouteWithSnaps routeBetweenPlaces(String fromId, String toId, RoutingProfile profile) {
+        long start = System.nanoTime();
+        GraphSnapshot snap = current.get();
+        PlaceIndex.Place from = snap.getPlaces().get(fromId);
+        PlaceIndex.Place to = snap.getPlaces().get(toId);
+        if (from == null || to == null) return null;
+
+        PlaceDistanceTable table = placeTable(snap, profile, closureService.overlayFor(snap));
+        if (table != null) {
+            PlaceDistanceTable.Leg leg = table.best(from, to);
+            if (leg == null) {
+                return new RouteWithSnaps(new Route(List.of(), 0, 0, "TABLE (unreachable)"), null, null, null);
+            }
+            List<com.collegeconnect.navigation.model.Node> path = table.path(leg.from(), leg.to());
+            long nanos = System.nanoTime() - start;
+            Route route = new Route(path, leg.distance(), snap.getWeights(profile).toSeconds(leg.cost()),
+                    "TABLE (" + path.size() + " nodes, " + nanos / 1000 + "us)", 0, nanos);
+            return new RouteWithSnaps(route, null, null, guide(snap.getGraph(), route));
+        }
+
+        com.collegeconnect.navigation.model.Node exit = entranceToward(from, to.lat(), to.lng());
+        com.collegeconnect.navigation.model.Node entry = entranceToward(to, exit.getLatitude(), exit.getLongitude());
+        return routeWithSmartSnapping(exit.getLatitude(), exit.getLongitude(),
+                entry.getLatitude(), entry.getLongitude(), profile);
+    }
+
+    /**
+     * Place-to-place lengths (meters) and durations (seconds), infinity where
+     * unreachable, or null if any id is unknown. From the place table when no
+     * closures are active, otherwise one search per source entrance.
+     */
+    public PlaceMatrix placeMatrix(List<String> placeIds, RoutingProfile profile) {
+        GraphSnapshot snap = current.get();
+        int n = placeIds.size();
+        PlaceIndex.Place[] places = new PlaceIndex.Place[n];
+        for (int i = 0; i < n; i++) {
+            places[i] = snap.getPlaces().get(placeIds.get(i));
+            if (places[i] == null) return null;
+        }
+        double[][] distances = new double[n][n];
+        double[][] durations = new double[n][n];
+        for (double[] row : distances) Arrays.fill(row, Double.POSITIVE_INFINITY);
+        for (double[] row : durations) Arrays.fill(row, Double.POSITIVE_INFINITY);
+
+        EdgeOverlay overlay = closureService.overlayFor(snap);
+        EdgeWeights weights = overlay.apply(snap.getWeights(profile));
+        PlaceDistanceTable table = placeTable(snap, profile, overlay);
+        if (table != null) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    PlaceDistanceTable.Leg leg = table.best(places[i], places[j]);
+                    if (leg != null) {
+                        distances[i][j] = leg.distance();
+                        durations[i][j] = weights.toSeconds(leg.cost());
+                    }
+                }
+            }
+            return new PlaceMatrix(distances, durations, true);
+        }
+
+        for (int i = 0; i < n; i++) {
+            for (com.collegeconnect.navigation.model.Node exit : places[i].entrances()) {
+                ShortestPathTree tree = ShortestPathTree.forward(snap.getGraph(), exit, weights);
+                for (int j = 0; j < n; j++) {
+                    for (com.collegeconnect.navigation.model.Node entry : places[j].entrances()) {
+                        double seconds = weights.toSeconds(tree.settle(entry));
+                        if (seconds < durations[i][j]) {
+                            durations[i][j] = seconds;
+                            distances[i][j] = tree.pathDistance(entry);
+                        }
+                    }
+                }
+            }
+        }
+        return new PlaceMatrix(distances, durations, false);
     }
 
     public boolean isInsideCampus(double lat, double lng) {
+        GraphSnapshot snap = current.get();
         // Simple bounding-box check with a small margin (~20m)
         double latMargin = 0.0002;
         double lngMargin = 0.0002;
-        return lat >= (minLat - latMargin) && lat <= (maxLat + latMargin)
-                && lng >= (minLng - lngMargin) && lng <= (maxLng + lngMargin);
+        return lat >= (snap.getMinLat() - latMargin) && lat <= (snap.getMaxLat() + latMargin)
+                && lng >= (snap.getMinLng() - lngMargin) && lng <= (snap.getMaxLng() + lngMargin);
     }
 
     public Route route(double startLat, double startLng, double endLat, double endLng, String algorithm) {
-        PathfindingAlgorithm algo = selectAlgorithm(algorithm);
-        return algo.findRoute(graph, startLat, startLng, endLat, endLng);
+        return route(startLat, startLng, endLat, endLng, algorithm, RoutingProfile.WALK);
+    }
+
+    public Route route(double startLat, double startLng, double endLat, double endLng, String algorithm, RoutingProfile profile) {
+        GraphSnapshot snap = current.get();
+        EdgeOverlay overlay = closureService.overlayFor(snap);
+        PathfindingAlgorithm algo = selectAlgorithm(algorithm, snap, profile, overlay);
+        EdgeWeights weights = overlay.apply(snap.getWeights(profile));
+        QueryGraph graph = queryGraph(snap, weights, List.of(new double[]{startLat, startLng}, new double[]{endLat, endLng}));
+        return sharedSearch(algo, snap, profile, overlay, graph, weights, startLat, startLng, endLat, endLng).route();
+    }
+
+    /**
+     * Search between the query graph's two snapped points. Concurrent searches
+     * between the same snapped points, on the same graph with the same profile and
+     * closures, run once and share the route (e.g. a crowd asking for the same
+     * walk at a class changeover).
+     */
+    private Guided sharedSearch(PathfindingAlgorithm algo, GraphSnapshot snap, RoutingProfile profile, EdgeOverlay overlay,
+                               QueryGraph graph, EdgeWeights weights,
+                               double startLat, double startLng, double endLat, double endLng) {
+        SegmentIndex.Snap from = graph.getSnap(0), to = graph.getSnap(1);
+        if (from == null || to == null) {
+            return guided(graph, algo.findRoute(graph, startLat, startLng, endLat, endLng, graph.wrap(weights)));
+        }
+        RouteKey key = new RouteKey(snap.getVersion(), profile, overlay, algo.getClass(),
+                from.edge().getId(), Math.round(from.fraction() * SNAP_FRACTION_STEPS),
+                to.edge().getId(), Math.round(to.fraction() * SNAP_FRACTION_STEPS));
+        // Guidance is worked out by the leader too: it needs the query graph the route's virtual nodes belong to
+        return routeSearches.get(key, () ->
+                guided(graph, algo.findRoute(graph, startLat, startLng, endLat, endLng, graph.wrap(weights))));
+    }
+
+    private Guided guided(Graph graph, Route route) {
+        return new Guided(route, guide(graph, route));
     }
 
     /**
-     * Attempt routing with smart snapping: if no direct path, snap start and/or end
-     * to nearest graph nodes and retry. Returns RouteWithSnaps containing the route
-     * plus metadata about which points were snapped.
+     * Instructions and simplified geometry for a route found on graph, or null if it has no path
+     */
+    private RouteGuidance.Guidance guide(Graph graph, Route route) {
+        if (route.getPath().isEmpty()) return null;
+        return RouteGuidance.describe(graph, route.getPath(), route.getEstimatedDuration(), simplifyToleranceMeters);
+    }
+
+    /**
+     * Edge costs for a query on the given snapshot: the profile's precomputed
+     * weights with any active closures layered on top
+     */
+    private EdgeWeights weightsFor(GraphSnapshot snap, RoutingProfile profile) {
+        return closureService.overlayFor(snap).apply(snap.getWeights(profile));
+    }
+
+    /**
+     * Snap each point onto the nearest street segment the weights can use and
+     * return a per-query graph with virtual nodes at the projected positions.
+     * Algorithms looking up a point's closest node get its virtual node.
+     */
+    private QueryGraph queryGraph(GraphSnapshot snap, EdgeWeights weights, List<double[]> points) {
+        List<SegmentIndex.Snap> snaps = new ArrayList<>(points.size());
+        for (double[] p : points) {
+            snaps.add(snapToSegment(snap, weights, p[0], p[1]));
+        }
+        return new QueryGraph(snap.getGraph(), snaps);
+    }
+
+    /**
+     * Nearest segment, but prefer the main (largest strongly connected) part of
+     * the map when it is nearly as close: a point next to a small disconnected
+     * fragment would otherwise get no route at all.
+     */
+    private SegmentIndex.Snap snapToSegment(GraphSnapshot snap, EdgeWeights weights, double lat, double lng) {
+        SegmentIndex index = snap.getSegmentIndex();
+        SegmentIndex.Snap nearest = index.nearest(lat, lng, weights);
+        ConnectedComponents components = snap.getGraph().getComponents();
+        if (nearest == null || components == null) return nearest;
+
+        int main = components.getLargestStrong();
+        if (snap.getGraph().getStrongComponent(nearest.edge().getFrom()) == main
+                || snap.getGraph().getStrongComponent(nearest.edge().getTo()) == main) {
+            return nearest;
+        }
+        SegmentIndex.Snap inMain = index.nearest(lat, lng, weights, main);
+        return inMain != null && inMain.distance() <= nearest.distance() + PREFER_MAIN_COMPONENT_METERS
+                ? inMain : nearest;
+    }
+
+    // Snap metadata for the response, only when the point actually moved
+    private static SnapPoint snapPoint(SegmentIndex.Snap s) {
+        if (s == null || s.distance() < MIN_REPORTED_SNAP_METERS) return null;
+        return new SnapPoint(s.queryLat(), s.queryLng(), s.lat(), s.lng());
+    }
+
+    /**
+     * Attempt routing with smart snapping: start and end are projected onto their
+     * nearest street segments (virtual nodes part-way along the street). Only if
+     * that finds no path, snap to nearby well-connected graph nodes and retry.
+     * Returns RouteWithSnaps containing the route plus metadata about which
+     * points were snapped.
      */
     public RouteWithSnaps routeWithSmartSnapping(double startLat, double startLng, double endLat, double endLng) {
-        // First attempt without snapping
-        Route first = defaultAlgo.findRoute(graph, startLat, startLng, endLat, endLng);
+        return routeWithSmartSnapping(startLat, startLng, endLat, endLng, RoutingProfile.WALK);
+    }
+
+    public RouteWithSnaps routeWithSmartSnapping(double startLat, double startLng, double endLat, double endLng,
+                                                 RoutingProfile profile) {
+        return routeWithSmartSnapping(startLat, startLng, endLat, endLng, profile, null);
+    }
+
+    /**
+     * @param algorithm algorithm for the first attempt by name (null for the default);
+     *                  the retry from graph nodes always uses the default
+     */
+    public RouteWithSnaps routeWithSmartSnapping(double startLat, double startLng, double endLat, double endLng,
+                                                 RoutingProfile profile, String algorithm) {
+        GraphSnapshot snap = current.get();
+        Graph graph = snap.getGraph();
+        EdgeOverlay overlay = closureService.overlayFor(snap);
+        EdgeWeights weights = overlay.apply(snap.getWeights(profile));
+        PathfindingAlgorithm algo = selectAlgorithm(algorithm, snap, profile, overlay);
+
+        // First attempt: project both points onto their nearest segments
+        QueryGraph queryGraph = queryGraph(snap, weights,
+                List.of(new double[]{startLat, startLng}, new double[]{endLat, endLng}));
+        Guided guided = sharedSearch(algo, snap, profile, overlay, queryGraph, weights, startLat, startLng, endLat, endLng);
+        Route first = guided.route();
         if (!first.getPath().isEmpty()) {
-            System.out.println("[SmartSnap] Direct route found, no snapping needed.");
-            return new RouteWithSnaps(first, null, null);
+            System.out.println("[SmartSnap] Route found from edge-snapped points.");
+            return new RouteWithSnaps(first,
+                    snapPoint(queryGraph.getSnap(0)), snapPoint(queryGraph.getSnap(1)), guided.guidance());
         }
 
-        // Smart snapping with retry for isolated nodes
+        // Nearest segment may be a dead-end fragment: retry from well-connected nodes
         int maxTries = 5;
         List<com.collegeconnect.navigation.model.Node> startCandidates = getClosestNodes(graph, startLat, startLng, maxTries);
         List<com.collegeconnect.navigation.model.Node> endCandidates = getClosestNodes(graph, endLat, endLng, maxTries);
 
-        com.collegeconnect.navigation.model.Node startNode = null;
-        com.collegeconnect.navigation.model.Node endNode = null;
-        for (com.collegeconnect.navigation.model.Node candidate : startCandidates) {
-            int neighbors = graph.getNeighbors(candidate).size();
-            System.out.println("[SmartSnap] Start candidate: " + candidate + " neighbors=" + neighbors);
-            if (neighbors > 1) { startNode = candidate; break; }
-        }
-        if (startNode == null && !startCandidates.isEmpty()) startNode = startCandidates.get(0);
-
-        for (com.collegeconnect.navigation.model.Node candidate : endCandidates) {
-            int neighbors = graph.getNeighbors(candidate).size();
-            System.out.println("[SmartSnap] End candidate: " + candidate + " neighbors=" + neighbors);
-            if (neighbors > 1) { endNode = candidate; break; }
-        }
-        if (endNode == null && !endCandidates.isEmpty()) endNode = endCandidates.get(0);
+        com.collegeconnect.navigation.model.Node startNode = pickCandidate(graph, startCandidates, "Start");
+        com.collegeconnect.navigation.model.Node endNode = pickCandidate(graph, endCandidates, "End");
 
         if (startNode == null || endNode == null) {
             System.out.println("[SmartSnap] Could not find valid snapped nodes.");
-            return new RouteWithSnaps(first, null, null);
+            return new RouteWithSnaps(first, null, null, null);
+        }
+        if (!graph.mayConnect(startNode, endNode)) {
+            // Retrying would only search one fragment to exhaustion
+            System.out.println("[SmartSnap] Snapped nodes are in different components, skipping retry.");
+            return new RouteWithSnaps(first, null, null, null);
         }
 
         double snappedStartLat = startNode.getLatitude();
@@ -115,7 +590,7 @@ public class NavigationService {
 
         System.out.println("[SmartSnap] Using snapped start: " + startNode + ", snapped end: " + endNode);
 
-        Route second = defaultAlgo.findRoute(graph, snappedStartLat, snappedStartLng, snappedEndLat, snappedEndLng);
+        Route second = defaultAlgo.findRoute(graph, snappedStartLat, snappedStartLng, snappedEndLat, snappedEndLng, weights);
 
         if (!second.getPath().isEmpty()) {
             String alg = second.getAlgorithm();
@@ -127,54 +602,208 @@ public class NavigationService {
 
             SnapPoint startSnap = new SnapPoint(startLat, startLng, snappedStartLat, snappedStartLng);
             SnapPoint endSnap = new SnapPoint(endLat, endLng, snappedEndLat, snappedEndLng);
-            return new RouteWithSnaps(second, startSnap, endSnap);
+            return new RouteWithSnaps(second, startSnap, endSnap, guide(graph, second));
         }
 
         System.out.println("[SmartSnap] No route found after snapping. Start node neighbors=" + graph.getNeighbors(startNode).size() + ", End node neighbors=" + graph.getNeighbors(endNode).size());
-        return new RouteWithSnaps(second, null, null);
+        return new RouteWithSnaps(second, null, null, null);
     }
 
-    // Helper: get N closest nodes to a lat/lng (optimized - fixed-size max-heap)
-    private List<com.collegeconnect.navigation.model.Node> getClosestNodes(Graph graph, double lat, double lng, int n) {
-        // Use a max-heap of size N to keep only the N closest nodes (O(N log N) instead of O(M log M) where M=1803)
-        java.util.PriorityQueue<NodeDistance> maxHeap = new java.util.PriorityQueue<>(n + 1, 
-            (a, b) -> Double.compare(b.distance, a.distance)); // Max-heap: largest distance at top
-        
-        for (com.collegeconnect.navigation.model.Node node : graph.getAllNodes()) {
-            // Use squared distance to avoid expensive sqrt
-            double dx = node.getLatitude() - lat;
-            double dy = node.getLongitude() - lng;
-            double distSq = dx * dx + dy * dy;
-            
-            maxHeap.offer(new NodeDistance(node, distSq));
-            if (maxHeap.size() > n) {
-                maxHeap.poll(); // Remove farthest node, keep only N closest
+    /**
+     * Up to k distinct routes between two points (best first), computed with the
+     * plateau method from one forward and one backward search.
+     */
+    public List<PlateauAlternatives.Alternative> alternatives(double startLat, double startLng,
+                                                              double endLat, double endLng,
+                                                              RoutingProfile profile, int k) {
+        GraphSnapshot snap = current.get();
+        EdgeWeights weights = weightsFor(snap, profile);
+        QueryGraph graph = queryGraph(snap, weights,
+                List.of(new double[]{startLat, startLng}, new double[]{endLat, endLng}));
+        com.collegeconnect.navigation.model.Node start = graph.getQueryNode(0);
+        com.collegeconnect.navigation.model.Node goal = graph.getQueryNode(1);
+        if (start == null || goal == null) return List.of();
+        return alternativesAlgo.find(graph, start, goal, graph.wrap(weights), k);
+    }
+
+    /**
+     * Best order to visit the given stops, starting at the first one. Builds the
+     * stop-to-stop cost matrix with one search per stop (each stopped as soon as
+     * every other stop is settled), solves the order heuristically within
+     * budgetMs, and stitches the legs from the same search trees.
+     */
+    public TourResult tour(List<double[]> stops, RoutingProfile profile, boolean roundTrip, long budgetMs) {
+        long startTime = System.currentTimeMillis();
+        GraphSnapshot snap = current.get();
+        EdgeWeights base = weightsFor(snap, profile);
+        QueryGraph graph = queryGraph(snap, base, stops);
+        EdgeWeights weights = graph.wrap(base);
+
+        int n = stops.size();
+        com.collegeconnect.navigation.model.Node[] nodes = new com.collegeconnect.navigation.model.Node[n];
+        for (int i = 0; i < n; i++) {
+            nodes[i] = graph.getQueryNode(i);
+            if (nodes[i] == null) return TourResult.unreachable(List.of(i));
+        }
+
+        // One-to-many: a single tree per stop answers its whole matrix row
+        ShortestPathTree[] trees = new ShortestPathTree[n];
+        double[][] cost = new double[n][n];
+        int settled = 0;
+        for (int i = 0; i < n; i++) {
+            trees[i] = ShortestPathTree.forward(graph, nodes[i], weights);
+            for (int j = 0; j < n; j++) {
+                cost[i][j] = trees[i].settle(nodes[j]);
             }
+            settled += trees[i].getSettledCount();
         }
-        
-        // Convert to list sorted by distance (closest first)
-        List<NodeDistance> sorted = new ArrayList<>(maxHeap);
-        sorted.sort(Comparator.comparingDouble(nd -> nd.distance));
-        
-        List<com.collegeconnect.navigation.model.Node> result = new ArrayList<>(n);
-        for (NodeDistance nd : sorted) {
-            result.add(nd.node);
+
+        // Stops the first stop can't reach (or, for round trips, can't get back from)
+        List<Integer> unreachable = new ArrayList<>();
+        for (int j = 1; j < n; j++) {
+            if (cost[0][j] == Double.POSITIVE_INFINITY
+                    || (roundTrip && cost[j][0] == Double.POSITIVE_INFINITY)) {
+                unreachable.add(j);
+            }
         }
-        return result;
+        if (!unreachable.isEmpty()) return TourResult.unreachable(unreachable);
+        // Reachable from the start but not from each other (one-way pieces): never pick that hop
+        for (double[] row : cost) {
+            for (int j = 0; j < n; j++) if (row[j] == Double.POSITIVE_INFINITY) row[j] = 1e12;
+        }
+
+        TourOptimizer.Result solved = tourOptimizer.solve(cost, roundTrip, budgetMs * 1_000_000L);
+        int[] order = solved.order();
+
+        List<com.collegeconnect.navigation.model.Node> path = new ArrayList<>();
+        List<TourLeg> legs = new ArrayList<>();
+        double totalDistance = 0;
+        double totalCost = 0;
+        int hops = roundTrip ? n : n - 1;
+        for (int k = 0; k < hops; k++) {
+            int from = order[k];
+            int to = order[(k + 1) % n];
+            List<com.collegeconnect.navigation.model.Node> leg = trees[from].path(nodes[to]);
+            if (leg.isEmpty()) return TourResult.unreachable(List.of(to));
+            double legDistance = trees[from].pathDistance(nodes[to]);
+            legs.add(new TourLeg(from, to, legDistance, weights.toSeconds(cost[from][to])));
+            // Consecutive legs share the stop node
+            path.addAll(path.isEmpty() ? leg : leg.subList(1, leg.size()));
+            totalDistance += legDistance;
+            totalCost += cost[from][to];
+        }
+        if (path.isEmpty()) path.add(nodes[0]);
+
+        long computeTimeMs = System.currentTimeMillis() - startTime;
+        String label = "TOUR (" + settled + " nodes, " + solved.improvements() + " improvements, "
+                + computeTimeMs + "ms" + (solved.budgetExhausted() ? ", budget hit" : "") + ")";
+        Route route = new Route(path, totalDistance, weights.toSeconds(totalCost), label);
+        return new TourResult(order, legs, route, List.of());
+    }
+
+    // Helper: first candidate in the main component, else the first that isn't a dead end, else the closest
+    private com.collegeconnect.navigation.model.Node pickCandidate(Graph graph,
+                                                                   List<com.collegeconnect.navigation.model.Node> candidates,
+                                                                   String label) {
+        ConnectedComponents components = graph.getComponents();
+        com.collegeconnect.navigation.model.Node connected = null;
+        for (com.collegeconnect.navigation.model.Node candidate : candidates) {
+            int neighbors = graph.getNeighbors(candidate).size();
+            boolean inMain = components != null && graph.getStrongComponent(candidate) == components.getLargestStrong();
+            System.out.println("[SmartSnap] " + label + " candidate: " + candidate + " neighbors=" + neighbors + " main=" + inMain);
+            if (inMain) return candidate;
+            if (connected == null && neighbors > 1) connected = candidate;
+        }
+        if (connected != null) return connected;
+        return candidates.isEmpty() ? null : candidates.get(0);
+    }
+
+    // Helper: get N closest nodes to a lat/lng (one bulk scan over the graph's coordinate arrays)
+    private List<com.collegeconnect.navigation.model.Node> getClosestNodes(Graph graph, double lat, double lng, int n) {
+        return graph.findClosestNodes(lat, lng, n);
     }
-    
-    private record NodeDistance(com.collegeconnect.navigation.model.Node node, double distance) {}
 
     public record SnapPoint(double originalLat, double originalLng, double snappedLat, double snappedLng) {}
-    public record RouteWithSnaps(Route route, SnapPoint startSnap, SnapPoint endSnap) {}
+    // guidance is null when there is no path
+    public record RouteWithSnaps(Route route, SnapPoint startSnap, SnapPoint endSnap, RouteGuidance.Guidance guidance) {}
     /**
      * Run both A* and BiA* algorithms to compare performance.
      * Returns both routes with their metrics for side-by-side comparison.
      */
     public RouteComparison routeComparison(double startLat, double startLng, double endLat, double endLng) {
-        Route astarRoute = astarAlgo.findRoute(graph, startLat, startLng, endLat, endLng);
-        Route biaRoute = bidirectionalAlgo.findRoute(graph, startLat, startLng, endLat, endLng);
-        return new RouteComparison(astarRoute, biaRoute);
+        return routeComparison(startLat, startLng, endLat, endLng, RoutingProfile.WALK);
+    }
+
+    public RouteComparison routeComparison(double startLat, double startLng, double endLat, double endLng,
+                                           RoutingProfile profile) {
+        return routeComparison(startLat, startLng, endLat, endLng, profile, 1, 0);
+    }
+
+    /**
+     * Benchmark A* against BiA* on the same query: each algorithm runs warmup
+     * unmeasured searches, then runs measured ones, on its own compare thread
+     * (search state is per thread, so the two don't interfere). Reports the last
+     * route of each plus median/p95 of the timings and settled-node counts.
+     */
+    public RouteComparison routeComparison(double startLat, double startLng, double endLat, double endLng,
+                                           RoutingProfile profile, int runs, int warmup) {
+        int measuredRuns = Math.max(1, runs);
+        int warmupRuns = Math.max(0, warmup);
+        GraphSnapshot snap = current.get();
+        EdgeWeights base = weightsFor(snap, profile);
+        QueryGraph graph = queryGraph(snap, base,
+                List.of(new double[]{startLat, startLng}, new double[]{endLat, endLng}));
+        EdgeWeights weights = graph.wrap(base);
+
+        CompletableFuture<Measured> astar = CompletableFuture.supplyAsync(
+                () -> measure(astarAlgo, graph, startLat, startLng, endLat, endLng, weights, measuredRuns, warmupRuns), compareExecutor);
+        CompletableFuture<Measured> bidirectional = CompletableFuture.supplyAsync(
+                () -> measure(bidirectionalAlgo, graph, startLat, startLng, endLat, endLng, weights, measuredRuns, warmupRuns), compareExecutor);
+        Measured a = astar.join();
+        Measured b = bidirectional.join();
+        return new RouteComparison(a.route(), b.route(), a.stats(), b.stats());
+    }
+
+    private record Measured(Route route, SearchStats stats) {}
+
+    private static Measured measure(PathfindingAlgorithm algo, Graph graph,
+                                    double startLat, double startLng, double endLat, double endLng,
+                                    EdgeWeights weights, int runs, int warmup) {
+        for (int i = 0; i < warmup; i++) {
+            algo.findRoute(graph, startLat, startLng, endLat, endLng, weights);
+        }
+        long[] nanos = new long[runs];
+        int[] settled = new int[runs];
+        Route route = null;
+        for (int i = 0; i < runs; i++) {
+            route = algo.findRoute(graph, startLat, startLng, endLat, endLng, weights);
+            nanos[i] = route.getComputeNanos();
+            settled[i] = route.getSettledNodes();
+        }
+        Arrays.sort(nanos);
+        Arrays.sort(settled);
+        return new Measured(route, new SearchStats(runs, warmup,
+                nanos[percentileIndex(runs, 0.5)], nanos[percentileIndex(runs, 0.95)], nanos[0],
+                settled[percentileIndex(runs, 0.5)], settled[percentileIndex(runs, 0.95)]));
+    }
+
+    // Nearest-rank percentile position in a sorted array of n samples
+    private static int percentileIndex(int n, double p) {
+        return Math.max(0, (int) Math.ceil(p * n) - 1);
+    }
+
+    /**
+     * Like selectAlgorithm(name), plus "HL" for the hub labels of this snapshot and
+     * profile. Labels only hold for the unmodified costs, so while closures are
+     * active HL falls back to the default.
+     */
+    private PathfindingAlgorithm selectAlgorithm(String name, GraphSnapshot snap, RoutingProfile profile,
+                                                 EdgeOverlay overlay) {
+        if (name != null && name.trim().equalsIgnoreCase("HL")) {
+            HubLabels labels = hubLabels(snap, profile, overlay);
+            return labels != null ? labels : defaultAlgo;
+        }
+        return selectAlgorithm(name);
     }
 
     private PathfindingAlgorithm selectAlgorithm(String name) {
@@ -194,5 +823,15 @@ public class NavigationService {
     }
 
     public record Bounds(double minLat, double minLng, double maxLat, double maxLng) {}
-    public record RouteComparison(Route astar, Route bidirectional) {}
+    public record PlaceMatrix(double[][] distances, double[][] durations, boolean fromTable) {}
+    public record SearchStats(int runs, int warmup, long medianNanos, long p95Nanos, long minNanos,
+                              int medianSettled, int p95Settled) {}
+    public record RouteComparison(Route astar, Route bidirectional,
+                                  SearchStats astarStats, SearchStats bidirectionalStats) {}
+    public record TourLeg(int from, int to, double distance, double duration) {}
+    public record TourResult(int[] order, List<TourLeg> legs, Route route, List<Integer> unreachableStops) {
+        static TourResult unreachable(List<Integer> stops) {
+            return new TourResult(new int[0], List.of(), null, stops);
+        }
+    }
 }
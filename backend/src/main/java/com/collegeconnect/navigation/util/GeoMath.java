@@ -0,0 +1,173 @@
+package com.collegeconnect.navigation.util;
+
+import com.collegeconnect.navigation.model.Node;
+
+/**
+ * Distance math shared by the loader, the searches and the controllers.
+ *
+ * haversine() is the reference (edge weights and reported lengths use it).
+ * Campus-scale code that runs per node or per relaxed edge uses the
+ * equirectangular projection instead: with cos(latitude) precomputed on every
+ * Node it needs no trig at all. Bulk scans over coordinate arrays go through a
+ * DistanceKernel: the Vector API one when the build includes it (-Psimd) and
+ * the JVM was started with --add-modules jdk.incubator.vector, a scalar loop
+ * otherwise.
+ */
+public final class GeoMath {
+
+    public static final double EARTH_RADIUS_METERS = 6_371_000;
+    /** Meters per degree of latitude (and of longitude at the equator) */
+    public static final double METERS_PER_DEGREE = EARTH_RADIUS_METERS * Math.PI / 180;
+
+    // The projection's error against haversine stays far below this at campus
+    // (even city) scale, so shaving it off keeps lowerBoundMeters() admissible
+    private static final double LOWER_BOUND_FACTOR = 0.999;
+
+    private static final String VECTOR_KERNEL = "com.collegeconnect.navigation.util.VectorDistanceKernel";
+    private static final DistanceKernel KERNEL = loadKernel();
+    // Per-thread distance buffer for the scans, grown to the largest array seen
+    private static final ThreadLocal<double[]> SCRATCH = ThreadLocal.withInitial(() -> new double[0]);
+
+    private GeoMath() {}
+
+    /**
+     * Great-circle distance in meters
+     */
+    public static double haversine(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return EARTH_RADIUS_METERS * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    public static double haversine(Node a, Node b) {
+        return haversine(a.getLatitude(), a.getLongitude(), b.getLatitude(), b.getLongitude());
+    }
+
+    /**
+     * Equirectangular distance in meters between two nodes, longitude scaled by
+     * the mean of their cos(latitude). Within a few parts per million of
+     * haversine over a campus.
+     */
+    public static double equirectangular(Node a, Node b) {
+        double dy = (b.getLatitude() - a.getLatitude()) * METERS_PER_DEGREE;
+        double dx = (b.getLongitude() - a.getLongitude()) * METERS_PER_DEGREE
+                * 0.5 * (a.getCosLatitude() + b.getCosLatitude());
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Never more than haversine(a, b) at campus scale: the straight-line A*
+     * heuristic, computed without trig
+     */
+    public static double lowerBoundMeters(Node a, Node b) {
+        return equirectangular(a, b) * LOWER_BOUND_FACTOR;
+    }
+
+    /**
+     * Meters per degree of longitude at the given latitude
+     */
+    public static double metersPerDegreeLng(double lat) {
+        return METERS_PER_DEGREE * Math.cos(Math.toRadians(lat));
+    }
+
+    /**
+     * Index of the point nearest to (lat, lng) among the first n entries of the
+     * coordinate arrays, or -1 if n is 0. Ranks by the projection around the
+     * query point, so its choice only differs from haversine's between points
+     * a few millimeters apart.
+     */
+    public static int nearest(double[] lats, double[] lngs, int n, double lat, double lng) {
+        double[] scratch = squaredDistances(lats, lngs, n, lat, lng);
+        int best = -1;
+        double bestSq = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            if (scratch[i] < bestSq) {
+                bestSq = scratch[i];
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Indices of the k points nearest to (lat, lng), nearest first (fewer if n < k)
+     */
+    public static int[] nearest(double[] lats, double[] lngs, int n, double lat, double lng, int k) {
+        double[] scratch = squaredDistances(lats, lngs, n, lat, lng);
+        int size = Math.min(k, n);
+        int[] found = new int[size];
+        // Insertion into a short sorted prefix: k is a handful, so this beats a heap
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            double d = scratch[i];
+            if (count == size && (size == 0 || d >= scratch[found[size - 1]])) continue;
+            int pos = count < size ? count++ : size - 1;
+            while (pos > 0 && scratch[found[pos - 1]] > d) {
+                found[pos] = found[pos - 1];
+                pos--;
+            }
+            found[pos] = i;
+        }
+        return found;
+    }
+
+    private static double[] squaredDistances(double[] lats, double[] lngs, int n, double lat, double lng) {
+        double[] scratch = SCRATCH.get();
+        if (scratch.length < n) {
+            scratch = new double[n];
+            SCRATCH.set(scratch);
+        }
+        KERNEL.squaredDistances(lats, lngs, n, lat, lng, METERS_PER_DEGREE, metersPerDegreeLng(lat), scratch);
+        return scratch;
+    }
+
+    /**
+     * Name of the bulk kernel in use, for the startup log
+     */
+    public static String getKernelName() {
+        return KERNEL.name();
+    }
+
+    private static DistanceKernel loadKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (DistanceKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Built without -Psimd
+            }
+        }
+        return new ScalarDistanceKernel();
+    }
+
+    /**
+     * Squared projected distances (meters²) from a query point to many points
+     * held as separate latitude and longitude arrays
+     */
+    interface DistanceKernel {
+        /**
+         * out[i] = ((lats[i] - lat) * metersPerDegLat)² + ((lngs[i] - lng) * metersPerDegLng)² for i below n
+         */
+        void squaredDistances(double[] lats, double[] lngs, int n, double lat, double lng,
+                              double metersPerDegLat, double metersPerDegLng, double[] out);
+
+        String name();
+    }
+
+    static final class ScalarDistanceKernel implements DistanceKernel {
+        @Override
+        public void squaredDistances(double[] lats, double[] lngs, int n, double lat, double lng,
+                                     double metersPerDegLat, double metersPerDegLng, double[] out) {
+            for (int i = 0; i < n; i++) {
+                double dy = (lats[i] - lat) * metersPerDegLat;
+                double dx = (lngs[i] - lng) * metersPerDegLng;
+                out[i] = dx * dx + dy * dy;
+            }
+        }
+
+        @Override
+        public String name() { return "scalar"; }
+    }
+}
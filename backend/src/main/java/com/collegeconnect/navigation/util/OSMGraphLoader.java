@@ -1,8 +1,11 @@
 package com.collegeconnect.navigation.util;
 
+import com.collegeconnect.navigation.model.ConnectedComponents;
 import com.collegeconnect.navigation.model.Edge;
+import com.collegeconnect.navigation.model.EdgeTags;
 import com.collegeconnect.navigation.model.Graph;
 import com.collegeconnect.navigation.model.Node;
+import com.collegeconnect.navigation.model.PlaceIndex;
 
 import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLInputFactory;
@@ -15,28 +18,51 @@ import java.util.*;
 /**
  * Minimal OSM (XML) loader for building a pedestrian graph from OSM data.
  * Parses nodes and ways and creates bidirectional edges for walkable ways.
+ * Named buildings and amenities (nodes, ways and multipolygon relations) are
+ * collected into a PlaceIndex, each with the walkable nodes used as its entrances.
  */
 public class OSMGraphLoader {
 
     // Exclude only fast/inaccessible roads; accept everything else for maximum campus connectivity
     private static final Set<String> EXCLUDED_HIGHWAYS = new HashSet<>(Arrays.asList(
             "motorway", "motorway_link", "trunk", "trunk_link"
-    ));    public static class Result {
+    ));
+
+    // Way tags kept (until encoded into EdgeTags) for routing profiles
+    private static final Set<String> PROFILE_WAY_KEYS = new HashSet<>(Arrays.asList(
+            "highway", "surface", "footway", "cycleway", "crossing", "tunnel", "oneway", "wheelchair", "bicycle"
+    ));
+
+    // Tags that make a named element a place, in the order used to pick its kind
+    private static final List<String> PLACE_KEYS = List.of(
+            "amenity", "leisure", "tourism", "office", "shop", "healthcare", "historic", "building"
+    );
+
+    // A walkable node this much farther away than the nearest one is still preferred
+    // as an entrance if it is in the main part of the network
+    private static final double PREFER_MAIN_COMPONENT_METERS = 25.0;
+
+    public static class Result {
         public final Graph graph;
         public final double minLat, minLng, maxLat, maxLng;
+        public final PlaceIndex places;
 
-        public Result(Graph graph, double minLat, double minLng, double maxLat, double maxLng) {
+        public Result(Graph graph, double minLat, double minLng, double maxLat, double maxLng, PlaceIndex places) {
             this.graph = graph;
             this.minLat = minLat;
             this.minLng = minLng;
             this.maxLat = maxLat;
             this.maxLng = maxLng;
+            this.places = places;
         }
     }
 
     public Result loadFromResource(InputStream osmXml) throws Exception {
         Map<Long, Node> nodeMap = new HashMap<>();
+        Map<Long, Integer> nodeFlags = new HashMap<>(); // EdgeTags flags from barrier/crossing nodes
+        Map<Long, Map<String, String>> nodePlaceTags = new HashMap<>(); // only nodes with name/entrance/PLACE_KEYS
         List<Way> ways = new ArrayList<>();
+        List<Relation> relations = new ArrayList<>();
 
         double minLat = Double.POSITIVE_INFINITY;
         double minLng = Double.POSITIVE_INFINITY;
@@ -48,6 +74,8 @@ public class OSMGraphLoader {
 
         Way currentWay = null;
         boolean inWay = false;
+        Relation currentRelation = null;
+        Long currentNodeId = null;
         String currentKey = null;
         String currentVal = null;
 
@@ -62,6 +90,7 @@ public class OSMGraphLoader {
                     double lon = getDoubleAttr(start, "lon");
                     Node node = new Node("n" + id, lat, lon);
                     nodeMap.put(id, node);
+                    currentNodeId = id;
 
                     // track bounds
                     minLat = Math.min(minLat, lat);
@@ -71,6 +100,8 @@ public class OSMGraphLoader {
                 } else if ("way".equals(name)) {
                     inWay = true;
                     currentWay = new Way();
+                    Long wayId = getLongAttr(start, "id");
+                    currentWay.id = wayId != null ? wayId : Edge.NO_WAY_ID;
                 } else if (inWay && "nd".equals(name)) {
                     Long ref = getLongAttr(start, "ref");
                     currentWay.nodeRefs.add(ref);
@@ -80,13 +111,48 @@ public class OSMGraphLoader {
                     if ("highway".equals(currentKey)) {
                         currentWay.highway = currentVal;
                     }
+                    if (PROFILE_WAY_KEYS.contains(currentKey)) {
+                        currentWay.tags.put(currentKey, currentVal);
+                    }
+                    if (isPlaceTag(currentKey)) {
+                        currentWay.placeTags.put(currentKey, currentVal);
+                    }
+                } else if (currentNodeId != null && "tag".equals(name)) {
+                    String k = getStringAttr(start, "k");
+                    String v = getStringAttr(start, "v");
+                    int flags = k != null && v != null ? EdgeTags.fromNodeTags(Map.of(k, v)) : 0;
+                    if (flags != 0) nodeFlags.merge(currentNodeId, flags, (x, y) -> x | y);
+                    if (v != null && (isPlaceTag(k) || "entrance".equals(k) || "door".equals(k))) {
+                        nodePlaceTags.computeIfAbsent(currentNodeId, id -> new HashMap<>()).put(k, v);
+                    }
+                } else if ("relation".equals(name)) {
+                    currentRelation = new Relation();
+                    Long relationId = getLongAttr(start, "id");
+                    currentRelation.id = relationId != null ? relationId : 0;
+                } else if (currentRelation != null && "member".equals(name)) {
+                    String role = getStringAttr(start, "role");
+                    Long ref = getLongAttr(start, "ref");
+                    if ("way".equals(getStringAttr(start, "type")) && ref != null
+                            && (role == null || role.isEmpty() || "outer".equals(role))) {
+                        currentRelation.outerWayRefs.add(ref);
+                    }
+                } else if (currentRelation != null && "tag".equals(name)) {
+                    String k = getStringAttr(start, "k");
+                    if (isPlaceTag(k) || "type".equals(k)) {
+                        currentRelation.tags.put(k, getStringAttr(start, "v"));
+                    }
                 }
             } else if (event.isEndElement()) {
                 String name = event.asEndElement().getName().getLocalPart();
-                if ("way".equals(name)) {
+                if ("node".equals(name)) {
+                    currentNodeId = null;
+                } else if ("way".equals(name)) {
                     inWay = false;
                     ways.add(currentWay);
                     currentWay = null;
+                } else if ("relation".equals(name)) {
+                    relations.add(currentRelation);
+                    currentRelation = null;
                 }
             }
         }
@@ -96,6 +162,10 @@ public class OSMGraphLoader {
         for (Node node : nodeMap.values()) {
             graph.addNode(node);
         }
+        for (Map.Entry<Long, Map<String, String>> tagged : nodePlaceTags.entrySet()) {
+            String nodeName = tagged.getValue().get("name");
+            if (nodeName != null) nodeMap.get(tagged.getKey()).setName(nodeName);
+        }
 
         // Connect ways that are walkable
         for (Way way : ways) {
@@ -103,13 +173,17 @@ public class OSMGraphLoader {
             // Accept all highway types except fast roads (motorway/trunk)
             if (EXCLUDED_HIGHWAYS.contains(way.highway)) continue;
             
+            String wayName = way.placeTags.get("name");
+            if (wayName != null && !wayName.isBlank()) graph.setWayName(way.id, wayName.trim());
+            int wayTags = EdgeTags.fromWayTags(way.tags);
             List<Long> refs = way.nodeRefs;
             for (int i = 0; i < refs.size() - 1; i++) {
                 Node a = nodeMap.get(refs.get(i));
                 Node b = nodeMap.get(refs.get(i + 1));
                 if (a == null || b == null) continue;
-                double dist = haversine(a.getLatitude(), a.getLongitude(), b.getLatitude(), b.getLongitude());
-                graph.addEdge(new Edge(a, b, dist, true));
+                double dist = GeoMath.haversine(a, b);
+                int tags = wayTags | nodeFlags.getOrDefault(refs.get(i), 0) | nodeFlags.getOrDefault(refs.get(i + 1), 0);
+                graph.addEdge(new Edge(a, b, dist, true, way.id, tags));
             }
         }
 
@@ -119,7 +193,137 @@ public class OSMGraphLoader {
         // Stitch isolated nodes: connect nodes with 0-1 neighbors to nearest node within 50m
         stitchIsolatedNodes(graph, 50.0);
 
-        return new Result(graph, minLat, minLng, maxLat, maxLng);
+        // Component ids let routing reject impossible queries without searching
+        graph.labelComponents();
+        ConnectedComponents components = graph.getComponents();
+        System.out.println("   Components: " + components.getWeakCount() + " weak, "
+                + components.getStrongCount() + " strong (largest strong: "
+                + components.getLargestStrongSize() + " nodes)");
+
+        PlaceIndex places = buildPlaces(graph, nodeMap, nodePlaceTags, ways, relations);
+        System.out.println("   Places: " + places.size() + " named");
+
+        return new Result(graph, minLat, minLng, maxLat, maxLng, places);
+    }
+
+    private static boolean isPlaceTag(String key) {
+        return "name".equals(key) || "highway".equals(key) || PLACE_KEYS.contains(key);
+    }
+
+    /**
+     * Named elements with a place tag (and no highway tag, so streets and bus
+     * stops are left out). Entrances are the element's entrance-tagged nodes that
+     * lie on a walkable way, or failing that the walkable node nearest to its
+     * outline (or to the node itself).
+     */
+    private PlaceIndex buildPlaces(Graph graph, Map<Long, Node> nodeMap, Map<Long, Map<String, String>> nodePlaceTags,
+                                   List<Way> ways, List<Relation> relations) {
+        Set<Node> walkable = new HashSet<>();
+        Map<Long, Way> waysById = new HashMap<>();
+        for (Way way : ways) {
+            waysById.put(way.id, way);
+            if (way.highway == null || EXCLUDED_HIGHWAYS.contains(way.highway)) continue;
+            for (Long ref : way.nodeRefs) {
+                Node node = nodeMap.get(ref);
+                if (node != null) walkable.add(node);
+            }
+        }
+        List<Node> walkableNodes = new ArrayList<>(walkable);
+        if (walkableNodes.isEmpty()) return PlaceIndex.EMPTY;
+
+        List<PlaceIndex.Place> places = new ArrayList<>();
+        for (Map.Entry<Long, Map<String, String>> tagged : nodePlaceTags.entrySet()) {
+            PlaceIndex.Place place = place("n" + tagged.getKey(), tagged.getValue(), List.of(tagged.getKey()),
+                    graph, nodeMap, nodePlaceTags, walkable, walkableNodes);
+            if (place != null) places.add(place);
+        }
+        for (Way way : ways) {
+            PlaceIndex.Place place = place("w" + way.id, way.placeTags, way.nodeRefs,
+                    graph, nodeMap, nodePlaceTags, walkable, walkableNodes);
+            if (place != null) places.add(place);
+        }
+        for (Relation relation : relations) {
+            if (!"multipolygon".equals(relation.tags.get("type"))) continue;
+            List<Long> outline = new ArrayList<>();
+            for (Long wayRef : relation.outerWayRefs) {
+                Way way = waysById.get(wayRef);
+                if (way != null) outline.addAll(way.nodeRefs);
+            }
+            PlaceIndex.Place place = place("r" + relation.id, relation.tags, outline,
+                    graph, nodeMap, nodePlaceTags, walkable, walkableNodes);
+            if (place != null) places.add(place);
+        }
+        return new PlaceIndex(places);
+    }
+
+    // The place for an element with the given tags and outline node refs, or null if it isn't one
+    private PlaceIndex.Place place(String id, Map<String, String> tags, List<Long> outlineRefs, Graph graph,
+                                   Map<Long, Node> nodeMap, Map<Long, Map<String, String>> nodePlaceTags,
+                                   Set<Node> walkable, List<Node> walkableNodes) {
+        String name = tags.get("name");
+        if (name == null || name.isBlank() || tags.containsKey("highway")) return null;
+        String kind = null;
+        for (String key : PLACE_KEYS) {
+            String value = tags.get(key);
+            if (value != null) {
+                kind = "building".equals(key) && "yes".equals(value) ? "building" : value;
+                break;
+            }
+        }
+        if (kind == null) return null;
+
+        Set<Node> outline = new LinkedHashSet<>(); // closed ways repeat their first node
+        List<Node> entrances = new ArrayList<>();
+        for (Long ref : outlineRefs) {
+            Node node = nodeMap.get(ref);
+            if (node == null || !outline.add(node)) continue;
+            Map<String, String> nodeTags = nodePlaceTags.get(ref);
+            boolean entrance = nodeTags != null && (nodeTags.containsKey("entrance") || nodeTags.containsKey("door"));
+            if (entrance && walkable.contains(node)) entrances.add(node);
+        }
+        if (outline.isEmpty()) return null;
+
+        double lat = 0, lng = 0;
+        for (Node node : outline) {
+            lat += node.getLatitude();
+            lng += node.getLongitude();
+        }
+        lat /= outline.size();
+        lng /= outline.size();
+
+        if (entrances.isEmpty()) {
+            Node nearest = nearestWalkable(graph, outline, walkableNodes);
+            if (nearest == null) return null;
+            entrances.add(nearest);
+        }
+        return new PlaceIndex.Place(id, name.trim(), kind, lat, lng, List.copyOf(entrances));
+    }
+
+    // Walkable node nearest to any outline node, preferring the main strongly connected part of the map
+    private Node nearestWalkable(Graph graph, Collection<Node> outline, List<Node> walkableNodes) {
+        ConnectedComponents components = graph.getComponents();
+        int main = components != null ? components.getLargestStrong() : -1;
+        Node nearest = null, nearestMain = null;
+        double best = Double.MAX_VALUE, bestMain = Double.MAX_VALUE; // squared meters
+        for (Node corner : outline) {
+            // Local equirectangular projection: plenty at campus scale, and no trig per candidate
+            double metersPerDegLng = GeoMath.metersPerDegreeLng(corner.getLatitude());
+            for (Node candidate : walkableNodes) {
+                double dy = (candidate.getLatitude() - corner.getLatitude()) * GeoMath.METERS_PER_DEGREE;
+                double dx = (candidate.getLongitude() - corner.getLongitude()) * metersPerDegLng;
+                double distSq = dx * dx + dy * dy;
+                if (distSq < best) {
+                    best = distSq;
+                    nearest = candidate;
+                }
+                if (distSq < bestMain && graph.getStrongComponent(candidate) == main) {
+                    bestMain = distSq;
+                    nearestMain = candidate;
+                }
+            }
+        }
+        return nearestMain != null && Math.sqrt(bestMain) <= Math.sqrt(best) + PREFER_MAIN_COMPONENT_METERS
+                ? nearestMain : nearest;
     }
 
     /**
@@ -149,13 +353,14 @@ public class OSMGraphLoader {
             Node a = endpoints.get(i);
             for (int j = i + 1; j < endpoints.size(); j++) {
                 Node b = endpoints.get(j);
+                if (GeoMath.lowerBoundMeters(a, b) > maxDistanceMeters) continue; // cheap reject before the exact check
                 
                 // Skip if already directly connected
                 boolean alreadyConnected = graph.getNeighbors(a).stream()
                         .anyMatch(edge -> edge.getTo().equals(b));
                 if (alreadyConnected) continue;
                 
-                double dist = haversine(a.getLatitude(), a.getLongitude(), b.getLatitude(), b.getLongitude());
+                double dist = GeoMath.haversine(a, b);
                 if (dist <= maxDistanceMeters) {
                     graph.addEdge(new Edge(a, b, dist, true));
                     bridgesAdded++;
@@ -181,22 +386,18 @@ public class OSMGraphLoader {
                 int neighborCount = graph.getNeighbors(node).size();
                 if (neighborCount > 1) continue;
             
-                // Find the closest node within maxDistance
+                // Find the closest node within maxDistance (bridges add no nodes, so one
+                // bulk scan per node over the graph's coordinate arrays)
                 Node closest = null;
                 double minDist = Double.MAX_VALUE;
-            
-                for (Node candidate : allNodes) {
+                for (Node candidate : graph.findClosestNodes(node.getLatitude(), node.getLongitude(), 2)) {
                     if (candidate.equals(node)) continue;
-                
-                    double dist = haversine(
-                        node.getLatitude(), node.getLongitude(),
-                        candidate.getLatitude(), candidate.getLongitude()
-                    );
-                
-                    if (dist < minDist && dist <= maxDistanceMeters) {
+                    double dist = GeoMath.haversine(node, candidate);
+                    if (dist <= maxDistanceMeters) {
                         minDist = dist;
                         closest = candidate;
                     }
+                    break;
                 }
             
                 // Add bridge edge if we found a close node and they're not already connected
@@ -218,8 +419,17 @@ public class OSMGraphLoader {
     }
 
     private static class Way {
+        long id;
         List<Long> nodeRefs = new ArrayList<>();
         String highway; // type
+        Map<String, String> tags = new HashMap<>(); // only PROFILE_WAY_KEYS
+        Map<String, String> placeTags = new HashMap<>(); // name (also the street name), highway and PLACE_KEYS
+    }
+
+    private static class Relation {
+        long id;
+        List<Long> outerWayRefs = new ArrayList<>();
+        Map<String, String> tags = new HashMap<>(); // type, name, highway and PLACE_KEYS
     }
 
     private static Long getLongAttr(StartElement start, String name) {
@@ -236,16 +446,4 @@ public class OSMGraphLoader {
         Attribute attr = start.getAttributeByName(new javax.xml.namespace.QName(name));
         return attr != null ? attr.getValue() : null;
     }
-
-    // Haversine distance in meters
-    private static double haversine(double lat1, double lon1, double lat2, double lon2) {
-        final int R = 6371000; // meters
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c;
-    }
 }
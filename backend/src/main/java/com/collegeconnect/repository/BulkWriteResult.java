@@ -0,0 +1,19 @@
+package com.collegeconnect.repository;
+
+/**
+ * Outcome of one document in a bulk write: the new id, or why it was not written
+ */
+public record BulkWriteResult(String id, String error) {
+
+    public static BulkWriteResult written(String id) {
+        return new BulkWriteResult(id, null);
+    }
+
+    public static BulkWriteResult failed(String error) {
+        return new BulkWriteResult(null, error);
+    }
+
+    public boolean isWritten() {
+        return error == null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.collegeconnect.repository;
+
+import com.collegeconnect.model.Event;
+
+/**
+ * One change to the events collection. For ADDED and MODIFIED, event is the new
+ * state; for REMOVED it is the last known state, or null when the writer did not
+ * have it. EventChangeFeed drops a change that repeats a document's last
+ * published state (e.g. the Firestore listener's echo of a local write), but
+ * consumers should still apply changes idempotently, keyed by id.
+ */
+public record EventChange(Type type, String id, Event event) {
+
+    public enum Type { ADDED, MODIFIED, REMOVED }
+}
@@ -0,0 +1,139 @@
+package com.collegeconnect.repository;
+
+import com.collegeconnect.model.Event;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Change stream of the events collection, fed by the active EventRepository (its
+ * own writes, plus a Firestore snapshot listener for changes made elsewhere).
+ * Keeps a version counter that moves on every change, used for ETags, and hands
+ * each change to subscribers such as in-memory indexes. A change that repeats
+ * the last published state of its document (e.g. the listener's echo of this
+ * instance's own write) is dropped, so subscribers and stream clients see each
+ * change once.
+ */
+@Component
+public class EventChangeFeed {
+
+    private record Published(Event event) {}
+
+    private final AtomicLong version = new AtomicLong();
+    // Distinguishes this process's counter from one that restarted at the same value
+    private final String instanceTag = Long.toString(System.currentTimeMillis(), 36);
+    private final List<Consumer<EventChange>> subscribers = new CopyOnWriteArrayList<>();
+    // Last published state by id; a null event marks a removed document
+    private final ConcurrentHashMap<String, Published> lastPublished = new ConcurrentHashMap<>();
+    private volatile boolean seeded;
+
+    /**
+     * Called on the writing thread (request or Firestore listener thread); keep it quick
+     */
+    public void subscribe(Consumer<EventChange> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void publish(EventChange change) {
+        Event state = change.type() == EventChange.Type.REMOVED ? null : change.event();
+        boolean[] repeat = new boolean[1];
+        lastPublished.compute(change.id(), (id, last) -> {
+            repeat[0] = last != null && sameState(last.event(), state);
+            return new Published(state);
+        });
+        if (repeat[0]) return;
+
+        for (Consumer<EventChange> subscriber : subscribers) {
+            try {
+                subscriber.accept(change);
+            } catch (RuntimeException e) {
+                System.out.println("[EventChangeFeed] Subscriber failed on " + change.type() + " " + change.id() + ": " + e.getMessage());
+            }
+        }
+        // Only once the indexes hold the change: a tag read in between must not cache the old data
+        version.incrementAndGet();
+    }
+
+    /**
+     * Marks that every existing event has been published at least once, so a
+     * subscriber that has seen the whole feed holds the complete collection.
+     * Moves the version, as tags handed out while unseeded may not reflect
+     * outside changes.
+     */
+    public void markSeeded() {
+        seeded = true;
+        version.incrementAndGet();
+    }
+
+    /**
+     * The feed has stopped hearing about changes made elsewhere (e.g. the
+     * Firestore listener failed): reads go back to the repository until
+     * markSeeded() is called again, and the version moves so tags handed out
+     * while the feed was live are not honoured any more
+     */
+    public void markUnseeded() {
+        seeded = false;
+        version.incrementAndGet();
+    }
+
+    /**
+     * Until this is true (e.g. the Firestore listener is disabled or has not
+     * delivered its first snapshot yet), indexes built from the feed are partial
+     * and reads should go to the repository instead
+     */
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    // Field by field; numbers by value, since a local write and the stored copy may differ in type (Integer vs Long)
+    private static boolean sameState(Event a, Event b) {
+        if (a == null || b == null) return a == b;
+        return Objects.equals(a.getId(), b.getId())
+                && Objects.equals(a.getName(), b.getName())
+                && Objects.equals(a.getDescription(), b.getDescription())
+                && Objects.equals(a.getDateTime(), b.getDateTime())
+                && sameLocation(a.getLocation(), b.getLocation())
+                && Objects.equals(a.getLocationName(), b.getLocationName())
+                && Objects.equals(a.getCreatedBy(), b.getCreatedBy())
+                && Objects.equals(a.getCreatorName(), b.getCreatorName())
+                && Objects.equals(a.getCreatedAt(), b.getCreatedAt());
+    }
+
+    private static boolean sameLocation(Map<String, Object> a, Map<String, Object> b) {
+        if (a == null || b == null) return a == b;
+        if (!a.keySet().equals(b.keySet())) return false;
+        for (Map.Entry<String, Object> entry : a.entrySet()) {
+            Object x = entry.getValue(), y = b.get(entry.getKey());
+            boolean same = x instanceof Number n && y instanceof Number m
+                    ? n.doubleValue() == m.doubleValue()
+                    : Objects.equals(x, y);
+            if (!same) return false;
+        }
+        return true;
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Opaque tag for the current state of the collection, for use as an ETag
+     */
+    public String getVersionTag() {
+        return getVersionTag(version.get());
+    }
+
+    /**
+     * Tag for an earlier version of this feed, e.g. one recorded by an index for
+     * the part of the collection it covers
+     */
+    public String getVersionTag(long version) {
+        return "events-" + instanceTag + "-" + version;
+    }
+}
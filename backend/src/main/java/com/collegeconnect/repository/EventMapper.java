@@ -0,0 +1,58 @@
+package com.collegeconnect.repository;
+
+import com.collegeconnect.model.Event;
+import com.google.cloud.Timestamp;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Builds typed Events from stored fields. Reads each field through an accessor
+ * (DocumentSnapshot::get, or Map::get for the in-memory store) so no copy of the
+ * document is made. Dates may be stored as Firestore Timestamps, Dates or (in old
+ * documents) ISO strings.
+ */
+final class EventMapper {
+
+    private EventMapper() {}
+
+    @SuppressWarnings("unchecked")
+    static Event toEvent(String id, Function<String, Object> field) {
+        Object location = field.apply("location");
+        return new Event(
+            id,
+            asString(field.apply("name")),
+            asString(field.apply("description")),
+            asDate(field.apply("dateTime")),
+            location instanceof Map ? Collections.unmodifiableMap((Map<String, Object>) location) : null,
+            asString(field.apply("locationName")),
+            asString(field.apply("createdBy")),
+            asString(field.apply("creatorName")),
+            asDate(field.apply("createdAt"))
+        );
+    }
+
+    private static String asString(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    private static Date asDate(Object value) {
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toDate();
+        }
+        if (value instanceof Date) {
+            return (Date) value;
+        }
+        if (value instanceof String) {
+            try {
+                return Date.from(Instant.parse((String) value));
+            } catch (Exception ex) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
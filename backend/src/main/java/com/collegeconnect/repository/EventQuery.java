@@ -0,0 +1,71 @@
+package com.collegeconnect.repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Query over the events collection: equality filters, an optional sort field with
+ * an optional range on it (or a page cursor), and an optional limit. Mirrors the subset of Firestore
+ * queries the services use, so every repository implementation can answer it.
+ * Immutable; each method returns a new query.
+ */
+public record EventQuery(Map<String, Object> filters, String orderField, boolean descending,
+                         Object startAt, String startAfterId, Object endAt, int limit) {
+
+    public static EventQuery all() {
+        return new EventQuery(Map.of(), null, false, null, null, null, 0);
+    }
+
+    public EventQuery whereEqualTo(String field, Object value) {
+        Map<String, Object> next = new LinkedHashMap<>(filters);
+        next.put(field, value);
+        return new EventQuery(Map.copyOf(next), orderField, descending, startAt, startAfterId, endAt, limit);
+    }
+
+    public EventQuery orderBy(String field) {
+        return new EventQuery(filters, field, false, startAt, startAfterId, endAt, limit);
+    }
+
+    public EventQuery orderByDescending(String field) {
+        return new EventQuery(filters, field, true, startAt, startAfterId, endAt, limit);
+    }
+
+    /**
+     * Start at this value of the sort field (inclusive), as Firestore's startAt
+     */
+    public EventQuery startAt(Object value) {
+        requireOrder();
+        return new EventQuery(filters, orderField, descending, value, null, endAt, limit);
+    }
+
+    /**
+     * Start just after the document with this sort value and id, i.e. resume from
+     * the last result of the previous page. Ties on the sort value are ordered by
+     * document id, as in Firestore.
+     */
+    public EventQuery startAfter(Object value, String id) {
+        requireOrder();
+        if (value == null || id == null) throw new IllegalArgumentException("startAfter needs a value and an id");
+        return new EventQuery(filters, orderField, descending, value, id, endAt, limit);
+    }
+
+    /**
+     * End at this value of the sort field (inclusive), as Firestore's endAt
+     */
+    public EventQuery endAt(Object value) {
+        requireOrder();
+        return new EventQuery(filters, orderField, descending, startAt, startAfterId, value, limit);
+    }
+
+    /**
+     * At most n results; 0 means no limit
+     */
+    public EventQuery limit(int n) {
+        if (n < 0) throw new IllegalArgumentException("limit must be >= 0");
+        return new EventQuery(filters, orderField, descending, startAt, startAfterId, endAt, n);
+    }
+
+    private void requireOrder() {
+        if (orderField == null) throw new IllegalStateException("startAt/startAfter/endAt need orderBy first");
+    }
+}
@@ -0,0 +1,40 @@
+package com.collegeconnect.repository;
+
+import com.collegeconnect.model.Event;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Storage for the events collection. The Firestore implementation is the default;
+ * the in-memory one is used when the "inmemory" profile is active.
+ */
+public interface EventRepository {
+
+    /**
+     * Stores a new event under a generated id and returns the id
+     */
+    String add(Map<String, Object> data) throws ExecutionException, InterruptedException;
+
+    /**
+     * Stores many new events; one result per input, in input order. A failed item
+     * does not stop the others.
+     */
+    List<BulkWriteResult> addAll(List<Map<String, Object>> data) throws ExecutionException, InterruptedException;
+
+    /**
+     * The event with the given id, or null if there is none
+     */
+    Event findById(String id) throws ExecutionException, InterruptedException;
+
+    List<Event> find(EventQuery query) throws ExecutionException, InterruptedException;
+
+    /**
+     * Up to pageSize events in document id order, starting after afterId (null for
+     * the first page). For walking the whole collection without loading it at once.
+     */
+    List<Event> findPage(String afterId, int pageSize) throws ExecutionException, InterruptedException;
+
+    void delete(String id) throws ExecutionException, InterruptedException;
+}
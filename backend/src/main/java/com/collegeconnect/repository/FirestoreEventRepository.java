@@ -0,0 +1,254 @@
+package com.collegeconnect.repository;
+
+import com.collegeconnect.model.Event;
+import com.google.api.core.ApiFuture;
+import com.google.cloud.firestore.BulkWriter;
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentChange;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.FieldPath;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.FirestoreException;
+import com.google.cloud.firestore.ListenerRegistration;
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.QuerySnapshot;
+import com.google.cloud.firestore.WriteResult;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@Repository
+@Profile("!inmemory")
+public class FirestoreEventRepository implements EventRepository {
+
+    private static final String COLLECTION_NAME = "events";
+    // Writes handed to the BulkWriter but not yet acknowledged; caps memory for large imports
+    private static final int MAX_IN_FLIGHT = 200;
+    // Wait before re-registering a failed change listener; doubles per failure up to the max
+    private static final long LISTENER_RETRY_INITIAL_MS = 1_000;
+    private static final long LISTENER_RETRY_MAX_MS = 60_000;
+
+    private final Firestore firestore;
+    private final EventChangeFeed changeFeed;
+    private volatile ListenerRegistration listener;
+    private volatile boolean stopped;
+    private ScheduledExecutorService listenerRetry;
+    private long retryDelayMs = LISTENER_RETRY_INITIAL_MS; // only touched by listener callbacks, which don't overlap
+    // Ids the listener has reported as existing, to find the ones deleted while it was down
+    private final Set<String> listenedIds = ConcurrentHashMap.newKeySet();
+
+    // Listen for changes made by other instances or directly in Firestore
+    @Value("${events.change-listener.enabled:true}")
+    private boolean listenForChanges;
+
+    public FirestoreEventRepository(Firestore firestore, EventChangeFeed changeFeed) {
+        this.firestore = firestore;
+        this.changeFeed = changeFeed;
+    }
+
+    // After startup, so every feed subscriber (indexes) sees the initial snapshot
+    @EventListener(ApplicationReadyEvent.class)
+    public void startListening() {
+        if (!listenForChanges) return;
+        listenerRetry = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "event-listener-retry");
+            t.setDaemon(true);
+            return t;
+        });
+        register();
+    }
+
+    private synchronized void register() {
+        if (stopped) return;
+        // The first snapshot reports every existing event as ADDED, which also seeds the feed's subscribers
+        listener = firestore.collection(COLLECTION_NAME).addSnapshotListener(this::onSnapshot);
+    }
+
+    private void onSnapshot(QuerySnapshot snapshots, FirestoreException error) {
+        if (error != null) {
+            // Firestore stops a listener after an error. Until a new one has caught up the feed
+            // misses outside changes, so indexes and tags are stale: reads go to the repository
+            changeFeed.markUnseeded();
+            long delay = retryDelayMs;
+            retryDelayMs = Math.min(retryDelayMs * 2, LISTENER_RETRY_MAX_MS);
+            System.out.println("[FirestoreEventRepository] Change listener failed: " + error.getMessage() + "; re-registering in " + delay + " ms");
+            scheduleRestart(delay);
+            return;
+        }
+        for (DocumentChange change : snapshots.getDocumentChanges()) {
+            DocumentSnapshot doc = change.getDocument();
+            EventChange.Type type = toChangeType(change.getType());
+            if (type == EventChange.Type.REMOVED) {
+                listenedIds.remove(doc.getId());
+            } else {
+                listenedIds.add(doc.getId());
+            }
+            changeFeed.publish(new EventChange(type, doc.getId(), EventMapper.toEvent(doc.getId(), doc::get)));
+        }
+        if (!changeFeed.isSeeded()) {
+            // A new listener's first snapshot just leaves out events deleted while none was running
+            Set<String> present = new HashSet<>();
+            for (QueryDocumentSnapshot doc : snapshots.getDocuments()) present.add(doc.getId());
+            for (String id : listenedIds) {
+                if (!present.contains(id)) {
+                    listenedIds.remove(id);
+                    changeFeed.publish(new EventChange(EventChange.Type.REMOVED, id, null));
+                }
+            }
+            System.out.println("[FirestoreEventRepository] Change listener seeded with " + present.size() + " events");
+            changeFeed.markSeeded();
+        }
+        retryDelayMs = LISTENER_RETRY_INITIAL_MS;
+    }
+
+    private void scheduleRestart(long delayMs) {
+        if (stopped) return;
+        listenerRetry.schedule(() -> {
+            try {
+                ListenerRegistration failed = listener;
+                if (failed != null) failed.remove();
+                register();
+            } catch (RuntimeException e) {
+                System.out.println("[FirestoreEventRepository] Re-registering change listener failed: " + e.getMessage());
+                scheduleRestart(Math.min(delayMs * 2, LISTENER_RETRY_MAX_MS));
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void stopListening() {
+        stopped = true;
+        if (listenerRetry != null) listenerRetry.shutdownNow();
+        if (listener != null) listener.remove();
+    }
+
+    private static EventChange.Type toChangeType(DocumentChange.Type type) {
+        switch (type) {
+            case ADDED: return EventChange.Type.ADDED;
+            case MODIFIED: return EventChange.Type.MODIFIED;
+            default: return EventChange.Type.REMOVED;
+        }
+    }
+
+    @Override
+    public String add(Map<String, Object> data) throws ExecutionException, InterruptedException {
+        String id = firestore.collection(COLLECTION_NAME).add(data).get().getId();
+        // Published right away so ETags move before the listener catches up
+        changeFeed.publish(new EventChange(EventChange.Type.ADDED, id, EventMapper.toEvent(id, data::get)));
+        return id;
+    }
+
+    @Override
+    public List<BulkWriteResult> addAll(List<Map<String, Object>> data) throws ExecutionException, InterruptedException {
+        CollectionReference collection = firestore.collection(COLLECTION_NAME);
+        List<DocumentReference> refs = new ArrayList<>(data.size());
+        List<ApiFuture<WriteResult>> writes = new ArrayList<>(data.size());
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+
+        // BulkWriter batches and parallelises the writes (with Firestore's ramp-up throttling);
+        // the semaphore keeps at most MAX_IN_FLIGHT of them outstanding at a time
+        try (BulkWriter writer = firestore.bulkWriter()) {
+            for (Map<String, Object> item : data) {
+                if (!inFlight.tryAcquire()) {
+                    writer.flush(); // send any partly filled batch before waiting on it
+                    inFlight.acquire();
+                }
+                DocumentReference ref = collection.document(); // auto id, as add() would assign
+                ApiFuture<WriteResult> write = writer.create(ref, item);
+                write.addListener(inFlight::release, Runnable::run);
+                refs.add(ref);
+                writes.add(write);
+            }
+        } // close() flushes and waits for every write
+
+        List<BulkWriteResult> results = new ArrayList<>(data.size());
+        for (int i = 0; i < writes.size(); i++) {
+            try {
+                writes.get(i).get();
+                String id = refs.get(i).getId();
+                Map<String, Object> item = data.get(i);
+                changeFeed.publish(new EventChange(EventChange.Type.ADDED, id, EventMapper.toEvent(id, item::get)));
+                results.add(BulkWriteResult.written(id));
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                results.add(BulkWriteResult.failed(cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName()));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public Event findById(String id) throws ExecutionException, InterruptedException {
+        DocumentSnapshot doc = firestore.collection(COLLECTION_NAME).document(id).get().get();
+        if (!doc.exists()) {
+            return null;
+        }
+        return EventMapper.toEvent(doc.getId(), doc::get);
+    }
+
+    @Override
+    public List<Event> find(EventQuery query) throws ExecutionException, InterruptedException {
+        Query q = firestore.collection(COLLECTION_NAME);
+        for (Map.Entry<String, Object> filter : query.filters().entrySet()) {
+            q = q.whereEqualTo(filter.getKey(), filter.getValue());
+        }
+        if (query.orderField() != null) {
+            Query.Direction direction = query.descending() ? Query.Direction.DESCENDING : Query.Direction.ASCENDING;
+            q = q.orderBy(query.orderField(), direction);
+            if (query.startAfterId() != null) {
+                // Cursor on (value, id): make the implicit id tie-break explicit so it can be a cursor field
+                q = q.orderBy(FieldPath.documentId(), direction).startAfter(query.startAt(), query.startAfterId());
+            } else if (query.startAt() != null) {
+                q = q.startAt(query.startAt());
+            }
+            if (query.endAt() != null) q = q.endAt(query.endAt());
+        }
+        if (query.limit() > 0) {
+            q = q.limit(query.limit());
+        }
+
+        List<QueryDocumentSnapshot> documents = q.get().get().getDocuments();
+        List<Event> results = new ArrayList<>(documents.size());
+        for (QueryDocumentSnapshot doc : documents) {
+            results.add(EventMapper.toEvent(doc.getId(), doc::get));
+        }
+        return results;
+    }
+
+    @Override
+    public List<Event> findPage(String afterId, int pageSize) throws ExecutionException, InterruptedException {
+        Query q = firestore.collection(COLLECTION_NAME).orderBy(FieldPath.documentId()).limit(pageSize);
+        if (afterId != null) {
+            q = q.startAfter(afterId);
+        }
+        List<QueryDocumentSnapshot> documents = q.get().get().getDocuments();
+        List<Event> results = new ArrayList<>(documents.size());
+        for (QueryDocumentSnapshot doc : documents) {
+            results.add(EventMapper.toEvent(doc.getId(), doc::get));
+        }
+        return results;
+    }
+
+    @Override
+    public void delete(String id) throws ExecutionException, InterruptedException {
+        firestore.collection(COLLECTION_NAME).document(id).delete().get();
+        changeFeed.publish(new EventChange(EventChange.Type.REMOVED, id, null));
+    }
+}
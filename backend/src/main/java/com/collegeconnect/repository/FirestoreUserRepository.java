@@ -0,0 +1,95 @@
+package com.collegeconnect.repository;
+
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.FieldPath;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.SetOptions;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+@Repository
+@Profile("!inmemory")
+public class FirestoreUserRepository implements UserRepository {
+
+    private static final String COLLECTION_NAME = "users";
+
+    private final Firestore firestore;
+
+    public FirestoreUserRepository(Firestore firestore) {
+        this.firestore = firestore;
+    }
+
+    @Override
+    public void set(String uid, Map<String, Object> data) throws ExecutionException, InterruptedException {
+        firestore.collection(COLLECTION_NAME).document(uid).set(data).get();
+    }
+
+    @Override
+    public void merge(String uid, Map<String, Object> data) throws ExecutionException, InterruptedException {
+        firestore.collection(COLLECTION_NAME).document(uid).set(data, SetOptions.merge()).get();
+    }
+
+    @Override
+    public void update(String uid, Map<String, Object> fields) throws ExecutionException, InterruptedException {
+        firestore.collection(COLLECTION_NAME).document(uid).update(fields).get();
+    }
+
+    @Override
+    public StoredDocument findById(String uid) throws ExecutionException, InterruptedException {
+        DocumentSnapshot doc = firestore.collection(COLLECTION_NAME).document(uid).get().get();
+        if (!doc.exists()) {
+            return null;
+        }
+        return new StoredDocument(doc.getId(), doc.getData());
+    }
+
+    @Override
+    public Map<String, StoredDocument> findAllById(Collection<String> uids) throws ExecutionException, InterruptedException {
+        Map<String, StoredDocument> results = new HashMap<>();
+        if (uids.isEmpty()) {
+            return results;
+        }
+        CollectionReference users = firestore.collection(COLLECTION_NAME);
+        DocumentReference[] refs = uids.stream().map(users::document).toArray(DocumentReference[]::new);
+        // One batched read for all documents instead of one request each
+        for (DocumentSnapshot doc : firestore.getAll(refs).get()) {
+            if (doc.exists()) {
+                results.put(doc.getId(), new StoredDocument(doc.getId(), doc.getData()));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public List<StoredDocument> findAll() throws ExecutionException, InterruptedException {
+        List<StoredDocument> results = new ArrayList<>();
+        for (QueryDocumentSnapshot doc : firestore.collection(COLLECTION_NAME).get().get().getDocuments()) {
+            results.add(new StoredDocument(doc.getId(), doc.getData()));
+        }
+        return results;
+    }
+
+    @Override
+    public List<StoredDocument> findPage(String afterUid, int pageSize) throws ExecutionException, InterruptedException {
+        Query q = firestore.collection(COLLECTION_NAME).orderBy(FieldPath.documentId()).limit(pageSize);
+        if (afterUid != null) {
+            q = q.startAfter(afterUid);
+        }
+        List<StoredDocument> results = new ArrayList<>();
+        for (QueryDocumentSnapshot doc : q.get().get().getDocuments()) {
+            results.add(new StoredDocument(doc.getId(), doc.getData()));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,222 @@
+package com.collegeconnect.repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+
+/**
+ * A thread-safe collection of documents kept in a ConcurrentHashMap, with the
+ * Firestore behaviour the services rely on: 20-character auto ids, copies in and
+ * out (callers may mutate what they get back), and queries that only return
+ * documents having the sort field, ordered by value type then value, ties by id.
+ */
+final class InMemoryCollection {
+
+    private static final String ID_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+
+    private final String name;
+    private final ConcurrentHashMap<String, Map<String, Object>> documents = new ConcurrentHashMap<>();
+
+    InMemoryCollection(String name) {
+        this.name = name;
+    }
+
+    String add(Map<String, Object> data) {
+        while (true) {
+            String id = newId();
+            if (documents.putIfAbsent(id, new HashMap<>(data)) == null) return id;
+        }
+    }
+
+    void set(String id, Map<String, Object> data) {
+        documents.put(id, new HashMap<>(data));
+    }
+
+    void merge(String id, Map<String, Object> data) {
+        documents.merge(id, new HashMap<>(data), (existing, fields) -> {
+            Map<String, Object> merged = new HashMap<>(existing);
+            merged.putAll(fields);
+            return merged;
+        });
+    }
+
+    // Like Firestore, updating a missing document fails (wrapped the same way as a failed future)
+    void update(String id, Map<String, Object> fields) throws ExecutionException {
+        Map<String, Object> updated = documents.computeIfPresent(id, (key, existing) -> {
+            Map<String, Object> merged = new HashMap<>(existing);
+            merged.putAll(fields);
+            return merged;
+        });
+        if (updated == null) {
+            throw new ExecutionException(new NoSuchElementException("No document to update: " + name + "/" + id));
+        }
+    }
+
+    StoredDocument get(String id) {
+        return get(id, InMemoryCollection::copy);
+    }
+
+    /**
+     * The document passed through mapper, or null if there is none. The mapper sees
+     * the stored map itself (never modified in place, writes replace it) and must
+     * not change it.
+     */
+    <T> T get(String id, BiFunction<String, Map<String, Object>, T> mapper) {
+        Map<String, Object> data = documents.get(id);
+        return data == null ? null : mapper.apply(id, data);
+    }
+
+    /**
+     * Removes the document, returning its last state (or null if there was none)
+     */
+    Map<String, Object> delete(String id) {
+        return documents.remove(id);
+    }
+
+    List<StoredDocument> all() {
+        return find(EventQuery.all(), InMemoryCollection::copy);
+    }
+
+    int size() {
+        return documents.size();
+    }
+
+    /**
+     * Matching documents in query order, each passed through mapper (see get)
+     */
+    <T> List<T> find(EventQuery query, BiFunction<String, Map<String, Object>, T> mapper) {
+        List<Map.Entry<String, Map<String, Object>>> matches = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Object>> entry : documents.entrySet()) {
+            Map<String, Object> data = entry.getValue();
+            if (query.orderField() != null && !data.containsKey(query.orderField())) continue;
+            if (!matchesFilters(data, query.filters())) continue;
+            if (!inRange(entry.getKey(), data, query)) continue;
+            matches.add(entry);
+        }
+
+        Comparator<Map.Entry<String, Map<String, Object>>> order = Map.Entry.comparingByKey();
+        if (query.orderField() != null) {
+            String field = query.orderField();
+            Comparator<Map.Entry<String, Map<String, Object>>> byField =
+                    (a, b) -> compareValues(a.getValue().get(field), b.getValue().get(field));
+            // Ties by id in the same direction as the sort field, as Firestore does
+            order = byField.thenComparing(order);
+            if (query.descending()) order = order.reversed();
+        }
+        matches.sort(order);
+
+        int count = query.limit() > 0 ? Math.min(query.limit(), matches.size()) : matches.size();
+        List<T> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map.Entry<String, Map<String, Object>> match = matches.get(i);
+            results.add(mapper.apply(match.getKey(), match.getValue()));
+        }
+        return results;
+    }
+
+    List<StoredDocument> page(String afterId, int pageSize) {
+        return page(afterId, pageSize, InMemoryCollection::copy);
+    }
+
+    /**
+     * Up to pageSize documents in id order with ids after afterId (all when null),
+     * each passed through mapper (see get). Keeps only the page's ids while scanning.
+     */
+    <T> List<T> page(String afterId, int pageSize, BiFunction<String, Map<String, Object>, T> mapper) {
+        // Max-heap of the smallest ids seen so far
+        PriorityQueue<String> smallest = new PriorityQueue<>(pageSize + 1, Comparator.reverseOrder());
+        for (String id : documents.keySet()) {
+            if (afterId != null && id.compareTo(afterId) <= 0) continue;
+            if (smallest.size() < pageSize) {
+                smallest.add(id);
+            } else if (id.compareTo(smallest.peek()) < 0) {
+                smallest.poll();
+                smallest.add(id);
+            }
+        }
+        List<String> ids = new ArrayList<>(smallest);
+        ids.sort(null);
+        List<T> results = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Map<String, Object> data = documents.get(id);
+            if (data != null) results.add(mapper.apply(id, data)); // skip ones deleted meanwhile
+        }
+        return results;
+    }
+
+    // Callers of the untyped methods may modify what they get back
+    private static StoredDocument copy(String id, Map<String, Object> data) {
+        return new StoredDocument(id, new HashMap<>(data));
+    }
+
+    // startAt/endAt bound the sort field, in the query's direction; a startAfter cursor
+    // also skips documents with the same value up to and including its id
+    private static boolean inRange(String id, Map<String, Object> data, EventQuery query) {
+        if (query.orderField() == null) return true;
+        Object value = data.get(query.orderField());
+        int direction = query.descending() ? -1 : 1;
+        if (query.startAt() != null) {
+            int cmp = direction * compareValues(value, query.startAt());
+            if (cmp < 0) return false;
+            if (cmp == 0 && query.startAfterId() != null && direction * id.compareTo(query.startAfterId()) <= 0) return false;
+        }
+        if (query.endAt() != null && direction * compareValues(value, query.endAt()) > 0) return false;
+        return true;
+    }
+
+    private static boolean matchesFilters(Map<String, Object> data, Map<String, Object> filters) {
+        for (Map.Entry<String, Object> filter : filters.entrySet()) {
+            if (!data.containsKey(filter.getKey())) return false;
+            if (!valuesEqual(data.get(filter.getKey()), filter.getValue())) return false;
+        }
+        return true;
+    }
+
+    // Firestore compares integers and doubles by numeric value
+    private static boolean valuesEqual(Object a, Object b) {
+        if (a instanceof Number x && b instanceof Number y) {
+            return x.doubleValue() == y.doubleValue();
+        }
+        return Objects.equals(a, b);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareValues(Object a, Object b) {
+        int rank = Integer.compare(typeRank(a), typeRank(b));
+        if (rank != 0) return rank;
+        if (a == null) return 0;
+        if (a instanceof Number x) return Double.compare(x.doubleValue(), ((Number) b).doubleValue());
+        if (a instanceof Date x) return x.compareTo((Date) b);
+        if (a instanceof Comparable x && a.getClass() == b.getClass()) return x.compareTo(b);
+        return 0;
+    }
+
+    // Firestore's cross-type order: null < boolean < number < timestamp < string < everything else
+    private static int typeRank(Object value) {
+        if (value == null) return 0;
+        if (value instanceof Boolean) return 1;
+        if (value instanceof Number) return 2;
+        if (value instanceof Date) return 3;
+        if (value instanceof String) return 4;
+        return 5;
+    }
+
+    private static String newId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] id = new char[20];
+        for (int i = 0; i < id.length; i++) {
+            id[i] = ID_CHARS.charAt(random.nextInt(ID_CHARS.length()));
+        }
+        return new String(id);
+    }
+}
@@ -0,0 +1,69 @@
+package com.collegeconnect.repository;
+
+import com.collegeconnect.model.Event;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Events kept in process memory. Active with the "inmemory" profile, for tests,
+ * benchmarks and running the backend without Firestore; nothing is persisted.
+ */
+@Repository
+@Profile("inmemory")
+public class InMemoryEventRepository implements EventRepository {
+
+    private final InMemoryCollection events = new InMemoryCollection("events");
+    private final EventChangeFeed changeFeed;
+
+    public InMemoryEventRepository(EventChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+        changeFeed.markSeeded(); // starts empty, so every event will pass through the feed
+    }
+
+    @Override
+    public String add(Map<String, Object> data) {
+        String id = events.add(data);
+        changeFeed.publish(new EventChange(EventChange.Type.ADDED, id, EventMapper.toEvent(id, data::get)));
+        return id;
+    }
+
+    @Override
+    public List<BulkWriteResult> addAll(List<Map<String, Object>> data) {
+        List<BulkWriteResult> results = new ArrayList<>(data.size());
+        for (Map<String, Object> item : data) {
+            results.add(BulkWriteResult.written(add(item)));
+        }
+        return results;
+    }
+
+    @Override
+    public Event findById(String id) {
+        return events.get(id, (key, data) -> EventMapper.toEvent(key, data::get));
+    }
+
+    @Override
+    public List<Event> find(EventQuery query) {
+        return events.find(query, (key, data) -> EventMapper.toEvent(key, data::get));
+    }
+
+    @Override
+    public List<Event> findPage(String afterId, int pageSize) {
+        return events.page(afterId, pageSize, (key, data) -> EventMapper.toEvent(key, data::get));
+    }
+
+    @Override
+    public void delete(String id) {
+        Map<String, Object> removed = events.delete(id);
+        if (removed != null) {
+            changeFeed.publish(new EventChange(EventChange.Type.REMOVED, id, EventMapper.toEvent(id, removed::get)));
+        }
+    }
+
+    public int size() {
+        return events.size();
+    }
+}
@@ -0,0 +1,64 @@
+package com.collegeconnect.repository;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Users kept in process memory. Active with the "inmemory" profile; nothing is persisted.
+ */
+@Repository
+@Profile("inmemory")
+public class InMemoryUserRepository implements UserRepository {
+
+    private final InMemoryCollection users = new InMemoryCollection("users");
+
+    @Override
+    public void set(String uid, Map<String, Object> data) {
+        users.set(uid, data);
+    }
+
+    @Override
+    public void merge(String uid, Map<String, Object> data) {
+        users.merge(uid, data);
+    }
+
+    @Override
+    public void update(String uid, Map<String, Object> fields) throws ExecutionException {
+        users.update(uid, fields);
+    }
+
+    @Override
+    public StoredDocument findById(String uid) {
+        return users.get(uid);
+    }
+
+    @Override
+    public Map<String, StoredDocument> findAllById(Collection<String> uids) {
+        Map<String, StoredDocument> results = new HashMap<>();
+        for (String uid : uids) {
+            StoredDocument doc = users.get(uid);
+            if (doc != null) results.put(uid, doc);
+        }
+        return results;
+    }
+
+    @Override
+    public List<StoredDocument> findAll() {
+        return users.all();
+    }
+
+    @Override
+    public List<StoredDocument> findPage(String afterUid, int pageSize) {
+        return users.page(afterUid, pageSize);
+    }
+
+    public int size() {
+        return users.size();
+    }
+}
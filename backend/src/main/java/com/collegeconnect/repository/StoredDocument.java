@@ -0,0 +1,8 @@
+package com.collegeconnect.repository;
+
+import java.util.Map;
+
+/**
+ * A stored document: its id plus its fields, as returned by a repository
+ */
+public record StoredDocument(String id, Map<String, Object> data) {}
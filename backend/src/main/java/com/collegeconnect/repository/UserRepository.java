@@ -0,0 +1,46 @@
+package com.collegeconnect.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Storage for the users collection, keyed by Firebase uid. The Firestore
+ * implementation is the default; the in-memory one is used when the "inmemory"
+ * profile is active.
+ */
+public interface UserRepository {
+
+    /**
+     * Replaces the user's document
+     */
+    void set(String uid, Map<String, Object> data) throws ExecutionException, InterruptedException;
+
+    /**
+     * Writes the given fields, keeping any others; creates the document if missing
+     */
+    void merge(String uid, Map<String, Object> data) throws ExecutionException, InterruptedException;
+
+    /**
+     * Writes the given fields of an existing document; fails if it does not exist
+     */
+    void update(String uid, Map<String, Object> fields) throws ExecutionException, InterruptedException;
+
+    /**
+     * The user with the given uid, or null if there is none
+     */
+    StoredDocument findById(String uid) throws ExecutionException, InterruptedException;
+
+    /**
+     * The users with the given uids that exist, keyed by uid, fetched in one round trip
+     */
+    Map<String, StoredDocument> findAllById(Collection<String> uids) throws ExecutionException, InterruptedException;
+
+    List<StoredDocument> findAll() throws ExecutionException, InterruptedException;
+
+    /**
+     * Up to pageSize users in uid order, starting after afterUid (null for the first page)
+     */
+    List<StoredDocument> findPage(String afterUid, int pageSize) throws ExecutionException, InterruptedException;
+}
@@ -10,12 +10,26 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class FirebaseAuthFilter extends OncePerRequestFilter {
 
+    // Beyond a valid token, these need the admin custom claim on it
+    private static final List<String> ADMIN_PATHS = List.of(
+            "/api/admin/",
+            "/api/navigation/admin/reload",
+            "/api/navigation/admin/closures");
+
+    // Caller of protected endpoints in emulator mode when the request has no readable token
+    static final String DEV_UID = "dev-user";
+
     private final FirebaseTokenVerifier tokenVerifier;
     private final CurrentUser currentUser;
+    // In local development (when the Firestore emulator is used) tokens are not verified,
+    // since no FirebaseApp is initialised. The emulator env var is set by our start
+    // scripts. Do NOT use this in production environments.
+    private final boolean emulatorMode = System.getenv("FIRESTORE_EMULATOR_HOST") != null;
 
     public FirebaseAuthFilter(FirebaseTokenVerifier tokenVerifier, CurrentUser currentUser) {
         this.tokenVerifier = tokenVerifier;
@@ -29,12 +43,13 @@ public class FirebaseAuthFilter extends OncePerRequestFilter {
         if ("OPTIONS".equalsIgnoreCase(request.getMethod())) {
             return true;
         }
-        // In local development (when Firestore emulator is used), allow all /api/* requests
-        // to pass through without auth to simplify flows. The emulator env var is set by our
-        // start scripts. Do NOT use this in production environments.
-        if (System.getenv("FIRESTORE_EMULATOR_HOST") != null && path.startsWith("/api/")) {
-            return true;
-        }
+        // Navigation admin operations (graph reload etc.) always require a valid token
+        if (path.startsWith("/api/navigation/admin")) return false;
+        // Bulk import writes up to 2000 events per request under the caller's uid
+        if (path.startsWith("/api/events/bulk")) return false;
+        // Profile writes are checked against the caller's uid
+        if ("PUT".equalsIgnoreCase(request.getMethod()) && path.startsWith("/api/users/")) return false;
+
         // Allow public access to health endpoint and static assets
         if (path.equals("/health") || path.equals("/healthz") || path.equals("/")) return true;
         
@@ -50,12 +65,23 @@ public class FirebaseAuthFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
+        if (emulatorMode) {
+            String uid = tokenVerifier.unverifiedUid(authHeader);
+            currentUser.setUid(uid != null ? uid : DEV_UID);
+            request.setAttribute("firebaseUid", currentUser.getUid());
+            filterChain.doFilter(request, response);
+            return;
+        }
         try {
             FirebaseToken token = tokenVerifier.verify(authHeader);
             if (token == null) {
                 response.sendError(HttpStatus.UNAUTHORIZED.value(), "Missing or invalid token");
                 return;
             }
+            if (requiresAdmin(request.getRequestURI()) && !isAdmin(token)) {
+                response.sendError(HttpStatus.FORBIDDEN.value(), "Admin role required");
+                return;
+            }
             // attach uid for downstream use in bean
             currentUser.setUid(token.getUid());
             request.setAttribute("firebaseUid", token.getUid());
@@ -64,4 +90,13 @@ public class FirebaseAuthFilter extends OncePerRequestFilter {
             response.sendError(HttpStatus.UNAUTHORIZED.value(), "Invalid token: " + e.getMessage());
         }
     }
+
+    private static boolean requiresAdmin(String path) {
+        return ADMIN_PATHS.stream().anyMatch(path::startsWith);
+    }
+
+    // Granted server-side with the Admin SDK (setCustomUserClaims), so users can't give it to themselves
+    private static boolean isAdmin(FirebaseToken token) {
+        return Boolean.TRUE.equals(token.getClaims().get("admin"));
+    }
 }
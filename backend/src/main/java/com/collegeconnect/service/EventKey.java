@@ -0,0 +1,54 @@
+package com.collegeconnect.service;
+
+import com.collegeconnect.model.Event;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of an event in date order: start time, then id so events starting
+ * together stay distinct. Used as the key of the in-memory indexes and, encoded,
+ * as the page cursor handed to clients.
+ */
+record EventKey(long startMillis, String id) implements Comparable<EventKey> {
+
+    static final String MIN_ID = "";
+    static final String MAX_ID = "\uffff";
+
+    /**
+     * Key of the event, or null if it has no date (date queries never return those)
+     */
+    static EventKey of(Event event) {
+        if (event == null || event.getDateTime() == null) return null;
+        return new EventKey(event.getDateTime().getTime(), event.getId());
+    }
+
+    @Override
+    public int compareTo(EventKey other) {
+        int byTime = Long.compare(startMillis, other.startMillis);
+        return byTime != 0 ? byTime : id.compareTo(other.id);
+    }
+
+    /**
+     * Opaque, URL-safe form for a "next page" cursor
+     */
+    String toCursor() {
+        String raw = startMillis + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Inverse of toCursor
+     * @throws IllegalArgumentException if the cursor was not made by toCursor
+     */
+    static EventKey fromCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            if (sep <= 0 || sep == raw.length() - 1) throw new IllegalArgumentException("malformed");
+            return new EventKey(Long.parseLong(raw.substring(0, sep)), raw.substring(sep + 1));
+        } catch (IllegalArgumentException e) { // also NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.collegeconnect.service;
+
+import com.collegeconnect.model.Event;
+import com.collegeconnect.repository.EventChange;
+import com.collegeconnect.repository.EventChangeFeed;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process full-text index over event name, location name and description,
+ * kept up to date from the event change feed. Terms map to postings lists in a
+ * sorted dictionary, so a query term can also match terms it is a prefix of
+ * (search as you type) or terms one or two edits away (typos). Results are
+ * ranked with BM25, with name matches counting more than location and
+ * description matches.
+ */
+@Component
+public class EventSearchIndex {
+
+    // BM25 parameters (the usual defaults)
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // Field weights: a term in the name says more about the event than one in the description
+    private static final float NAME_WEIGHT = 3f;
+    private static final float LOCATION_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    // Score multipliers for inexact matches of a query term
+    private static final float PREFIX_FACTOR = 0.7f;
+    private static final float TYPO_FACTOR = 0.5f;
+    // Dictionary terms one query term may expand to, bounding the cost of short prefixes
+    private static final int MAX_EXPANSIONS = 50;
+    static final int MAX_QUERY_TERMS = 10;
+
+    // Documents containing a term, with the term's weighted frequency in each
+    private static final class Postings {
+        int[] docs = new int[4];
+        float[] tfs = new float[4];
+        int size;
+
+        void add(int doc, float tf) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2);
+            }
+            docs[size] = doc;
+            tfs[size] = tf;
+            size++;
+        }
+
+        // Order within a list doesn't matter, so remove by moving the last entry in
+        void remove(int doc) {
+            for (int i = 0; i < size; i++) {
+                if (docs[i] == doc) {
+                    size--;
+                    docs[i] = docs[size];
+                    tfs[i] = tfs[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private record Doc(Event event, float length, String[] terms) {}
+
+    private final EventChangeFeed changeFeed;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> dictionary = new TreeMap<>();
+    private final HashMap<String, Integer> docsById = new HashMap<>();
+    private final ArrayList<Doc> docs = new ArrayList<>(); // doc number -> doc, null once removed
+    private final ArrayDeque<Integer> freeDocs = new ArrayDeque<>();
+    private double totalLength;
+
+    public EventSearchIndex(EventChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+        if (changeFeed != null) changeFeed.subscribe(this::apply);
+    }
+
+    /**
+     * A standalone index over the given events, for searching before the feed is seeded
+     */
+    static EventSearchIndex of(Collection<Event> events) {
+        EventSearchIndex index = new EventSearchIndex(null);
+        for (Event event : events) {
+            index.apply(new EventChange(EventChange.Type.ADDED, event.getId(), event));
+        }
+        return index;
+    }
+
+    /**
+     * True once the index holds every event (see EventChangeFeed.isSeeded)
+     */
+    public boolean isReady() {
+        return changeFeed != null && changeFeed.isSeeded();
+    }
+
+    void apply(EventChange change) {
+        lock.writeLock().lock();
+        try {
+            Integer old = docsById.remove(change.id());
+            if (old != null) removeDoc(old);
+            if (change.type() != EventChange.Type.REMOVED && change.event() != null) {
+                docsById.put(change.id(), addDoc(change.event()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int addDoc(Event event) {
+        Map<String, Float> tfs = new HashMap<>();
+        float length = 0;
+        length += addTerms(tfs, event.getName(), NAME_WEIGHT);
+        length += addTerms(tfs, event.getLocationName(), LOCATION_WEIGHT);
+        length += addTerms(tfs, event.getDescription(), DESCRIPTION_WEIGHT);
+
+        int doc = freeDocs.isEmpty() ? docs.size() : freeDocs.pop();
+        for (Map.Entry<String, Float> tf : tfs.entrySet()) {
+            dictionary.computeIfAbsent(tf.getKey(), t -> new Postings()).add(doc, tf.getValue());
+        }
+        Doc entry = new Doc(event, length, tfs.keySet().toArray(new String[0]));
+        if (doc == docs.size()) docs.add(entry);
+        else docs.set(doc, entry);
+        totalLength += length;
+        return doc;
+    }
+
+    private static float addTerms(Map<String, Float> tfs, String text, float weight) {
+        List<String> tokens = tokenize(text);
+        for (String token : tokens) tfs.merge(token, weight, Float::sum);
+        return tokens.size() * weight;
+    }
+
+    private void removeDoc(int doc) {
+        Doc entry = docs.get(doc);
+        for (String term : entry.terms()) {
+            Postings postings = dictionary.get(term);
+            postings.remove(doc);
+            if (postings.size == 0) dictionary.remove(term);
+        }
+        totalLength -= entry.length();
+        docs.set(doc, null);
+        freeDocs.push(doc);
+    }
+
+    /**
+     * Best matches for the query, highest score first. Each query term matches
+     * itself, terms it is a prefix of, and (from four letters) terms within one
+     * edit, or two from eight letters. Events matching more of the query terms
+     * rank higher.
+     */
+    public List<Event> search(String query, int limit) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.size() > MAX_QUERY_TERMS) queryTerms = queryTerms.subList(0, MAX_QUERY_TERMS);
+        if (queryTerms.isEmpty() || limit <= 0) return List.of();
+
+        lock.readLock().lock();
+        try {
+            int docCount = docsById.size();
+            if (docCount == 0) return List.of();
+            float avgLength = (float) Math.max(totalLength / docCount, 1e-6);
+
+            float[] scores = new float[docs.size()];
+            int[] termsMatched = new int[docs.size()];
+            float[] best = new float[docs.size()]; // this query term's best score per doc
+            int[] touched = new int[docs.size()];
+            int touchedCount = 0;
+            List<Integer> candidates = new ArrayList<>();
+
+            for (String queryTerm : queryTerms) {
+                touchedCount = 0;
+                // A doc matching several expansions of one query term counts its best match only
+                for (Map.Entry<String, Float> expansion : expand(queryTerm).entrySet()) {
+                    Postings postings = dictionary.get(expansion.getKey());
+                    float idf = (float) Math.log(1 + (docCount - postings.size + 0.5) / (postings.size + 0.5));
+                    for (int i = 0; i < postings.size; i++) {
+                        int doc = postings.docs[i];
+                        float tf = postings.tfs[i];
+                        float norm = K1 * (1 - B + B * docs.get(doc).length() / avgLength);
+                        float score = expansion.getValue() * idf * tf * (K1 + 1) / (tf + norm);
+                        if (best[doc] == 0) touched[touchedCount++] = doc;
+                        if (score > best[doc]) best[doc] = score;
+                    }
+                }
+                for (int i = 0; i < touchedCount; i++) {
+                    int doc = touched[i];
+                    if (termsMatched[doc]++ == 0) candidates.add(doc);
+                    scores[doc] += best[doc];
+                    best[doc] = 0;
+                }
+            }
+
+            // Top results by score, scaled by the share of query terms matched
+            int terms = queryTerms.size();
+            PriorityQueue<float[]> top = new PriorityQueue<>(limit + 1, (a, b) -> Float.compare(a[0], b[0]));
+            for (int doc : candidates) {
+                float score = scores[doc] * termsMatched[doc] / terms;
+                if (top.size() < limit) {
+                    top.add(new float[]{score, doc});
+                } else if (score > top.peek()[0]) {
+                    top.poll();
+                    top.add(new float[]{score, doc});
+                }
+            }
+            Event[] results = new Event[top.size()];
+            for (int i = results.length - 1; i >= 0; i--) {
+                results[i] = docs.get((int) top.poll()[1]).event();
+            }
+            return Arrays.asList(results);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Dictionary terms this query term matches, with the factor for each kind of match
+    private Map<String, Float> expand(String term) {
+        Map<String, Float> matches = new LinkedHashMap<>();
+        if (dictionary.containsKey(term)) matches.put(term, 1f);
+
+        if (term.length() >= 2) {
+            for (String candidate : dictionary.subMap(term, false, term + Character.MAX_VALUE, false).keySet()) {
+                if (matches.size() >= MAX_EXPANSIONS) break;
+                matches.put(candidate, PREFIX_FACTOR);
+            }
+        }
+
+        if (term.length() >= 4) {
+            int maxEdits = term.length() >= 8 ? 2 : 1;
+            // Typos in the first letter are rare; scanning only its terms keeps this cheap
+            char first = term.charAt(0);
+            for (String candidate : dictionary.subMap(String.valueOf(first), true, String.valueOf((char) (first + 1)), false).keySet()) {
+                if (matches.size() >= MAX_EXPANSIONS) break;
+                if (Math.abs(candidate.length() - term.length()) > maxEdits || matches.containsKey(candidate)) continue;
+                int edits = editDistance(term, candidate, maxEdits);
+                if (edits <= maxEdits) matches.put(candidate, TYPO_FACTOR / edits);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Levenshtein distance between a and b, or maxEdits + 1 as soon as it is known
+     * to exceed maxEdits
+     */
+    static int editDistance(String a, String b, int maxEdits) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) return maxEdits + 1;
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], maxEdits + 1);
+    }
+
+    /**
+     * Lower-cased, accent-stripped runs of letters and digits
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) return tokens;
+        String normalized = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) continue;
+            if (Character.isLetterOrDigit(c)) {
+                token.append(c);
+            } else if (token.length() > 0) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (token.length() > 0) tokens.add(token.toString());
+        return tokens;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTermCount() {
+        lock.readLock().lock();
+        try {
+            return dictionary.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.collegeconnect.service;
 
 import com.collegeconnect.dto.EventDto;
+import com.collegeconnect.model.Event;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
@@ -20,22 +22,97 @@ public interface EventService {
      */
     Map<String, String> createEvent(EventDto eventDto) throws ExecutionException, InterruptedException;
     
+    /**
+     * Creates many events at once, e.g. when importing a semester's calendar
+     * @param eventDtos Event data transfer objects
+     * @return One result per input, in input order: the new ID or why it was rejected
+     * @throws ExecutionException if async operation fails
+     * @throws InterruptedException if async operation is interrupted
+     */
+    List<BulkCreateResult> createEvents(List<EventDto> eventDtos) throws ExecutionException, InterruptedException;
+    
+    /**
+     * Result for one item of a bulk create: id is set on success, error otherwise
+     */
+    record BulkCreateResult(int index, String id, String error) {}
+    
     /**
      * Retrieves an event by ID
      * @param id Event identifier
-     * @return Map containing event data
+     * @return The event, or null if there is none with that ID
      * @throws ExecutionException if async operation fails
      * @throws InterruptedException if async operation is interrupted
      */
-    Map<String, Object> getEventById(String id) throws ExecutionException, InterruptedException;
+    Event getEventById(String id) throws ExecutionException, InterruptedException;
     
     /**
-     * Retrieves all events
+     * Retrieves all events, ordered by date
      * @return List of all events
      * @throws ExecutionException if async operation fails
      * @throws InterruptedException if async operation is interrupted
      */
-    List<Map<String, Object>> getAllEvents() throws ExecutionException, InterruptedException;
+    List<Event> getAllEvents() throws ExecutionException, InterruptedException;
+    
+    /**
+     * Retrieves the events created by a user, ordered by date
+     * @param uid Creator's user id
+     * @return List of that user's events
+     * @throws ExecutionException if async operation fails
+     * @throws InterruptedException if async operation is interrupted
+     */
+    List<Event> getEventsByOwner(String uid) throws ExecutionException, InterruptedException;
+    
+    /**
+     * One page of the events created by a user, ordered by date
+     * @param uid Creator's user id
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param limit Page size; 0 returns every remaining event
+     * @return The page and the cursor for the next one (null on the last page)
+     * @throws IllegalArgumentException if the cursor is not one this service issued
+     * @throws ExecutionException if async operation fails
+     * @throws InterruptedException if async operation is interrupted
+     */
+    EventPage getEventsByOwner(String uid, String cursor, int limit) throws ExecutionException, InterruptedException;
+    
+    /**
+     * A page of events plus the cursor to pass for the next page (null when done)
+     */
+    record EventPage(List<Event> events, String nextCursor) {}
+    
+    /**
+     * Retrieves events starting between now and now + within, ordered by date
+     * @param within Window length, or null for every upcoming event
+     * @return Upcoming events in the window
+     * @throws ExecutionException if async operation fails
+     * @throws InterruptedException if async operation is interrupted
+     */
+    List<Event> getUpcomingEvents(Duration within) throws ExecutionException, InterruptedException;
+    
+    /**
+     * Full-text search over event name, location name and description
+     * @param query Search text; prefixes and small typos also match
+     * @param limit Maximum number of results
+     * @return Matching events, best match first
+     * @throws ExecutionException if async operation fails
+     * @throws InterruptedException if async operation is interrupted
+     */
+    List<Event> searchEvents(String query, int limit) throws ExecutionException, InterruptedException;
+    
+    /**
+     * Tag for the current state of the events collection; changes whenever any event
+     * is created, updated or deleted. Reading it costs no Firestore reads.
+     * @return Opaque version tag, usable as an ETag; null while changes made
+     *         elsewhere may go unnoticed (change feed not seeded)
+     */
+    String getVersionTag();
+    
+    /**
+     * Like getVersionTag, but only changes when one of this user's events does
+     * (falls back to the collection-wide tag while the owner index is loading)
+     * @param uid Creator's user id
+     * @return Opaque version tag, usable as an ETag; null like getVersionTag
+     */
+    String getOwnerVersionTag(String uid);
     
     /**
      * Deletes an event by ID
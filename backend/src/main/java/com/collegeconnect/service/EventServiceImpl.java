@@ -1,16 +1,21 @@
 package com.collegeconnect.service;
 
 import com.collegeconnect.dto.EventDto;
-import com.google.api.core.ApiFuture;
-import com.google.cloud.firestore.DocumentReference;
-import com.google.cloud.firestore.Firestore;
-import com.google.cloud.firestore.QueryDocumentSnapshot;
-import com.google.cloud.firestore.QuerySnapshot;
+import com.collegeconnect.model.Event;
+import com.collegeconnect.repository.BulkWriteResult;
+import com.collegeconnect.repository.EventChangeFeed;
+import com.collegeconnect.repository.EventQuery;
+import com.collegeconnect.repository.EventRepository;
+import com.collegeconnect.util.EventValidator;
+import com.collegeconnect.util.SingleFlight;
+import com.collegeconnect.util.Validator;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.IntStream;
 
 /**
  * Implementation class demonstrating:
@@ -25,10 +30,38 @@ public class EventServiceImpl extends BaseService implements EventService {
     // Private constant
     private static final String COLLECTION_NAME = "events";
     
+    // Storage backend (Firestore, or in-memory under the "inmemory" profile)
+    private final EventRepository repository;
+    
+    // Version of the events collection, moved by every write
+    private final EventChangeFeed changeFeed;
+    
+    // In-memory time index, used once it holds every event
+    private final UpcomingEventIndex upcomingIndex;
+    
+    // In-memory per-creator index for dashboards, used once it holds every event
+    private final OwnerEventIndex ownerIndex;
+    
+    // In-memory full-text index, used once it holds every event
+    private final EventSearchIndex searchIndex;
+    
+    // Identical concurrent reads (same id, same query) share one repository call
+    private final SingleFlight<String, Event> readsById = new SingleFlight<>();
+    private final SingleFlight<EventQuery, List<Event>> queries = new SingleFlight<>();
+    
+    // Stateless, so one instance can validate bulk imports in parallel
+    private final EventValidator validator = new EventValidator();
+    
     // Constructor demonstrating constructor with dependency injection
-    public EventServiceImpl(Firestore firestore) {
-        super(firestore); // Call to parent constructor
-        setServiceName("EventServiceImpl");
+    public EventServiceImpl(EventRepository repository, EventChangeFeed changeFeed,
+                            UpcomingEventIndex upcomingIndex, OwnerEventIndex ownerIndex,
+                            EventSearchIndex searchIndex) {
+        super("EventServiceImpl"); // Call to parent constructor
+        this.repository = repository;
+        this.changeFeed = changeFeed;
+        this.upcomingIndex = upcomingIndex;
+        this.ownerIndex = ownerIndex;
+        this.searchIndex = searchIndex;
     }
     
     // Implementing abstract method from BaseService
@@ -62,51 +95,173 @@ public class EventServiceImpl extends BaseService implements EventService {
         
         Map<String, Object> data = buildEventData(dto);
         
-        ApiFuture<DocumentReference> added = firestore.collection(COLLECTION_NAME).add(data);
-        DocumentReference docRef = added.get();
+        String id = repository.add(data);
         
         Map<String, String> result = new HashMap<>();
-        result.put("id", docRef.getId());
+        result.put("id", id);
         return result;
     }
     
     // Implementing interface method from EventService
     @Override
-    public Map<String, Object> getEventById(String id) throws ExecutionException, InterruptedException {
-        log("Fetching event: " + id);
+    public List<BulkCreateResult> createEvents(List<EventDto> dtos) throws ExecutionException, InterruptedException {
+        log("Creating " + dtos.size() + " events in bulk");
         
-        ApiFuture<com.google.cloud.firestore.DocumentSnapshot> future = 
-            firestore.collection(COLLECTION_NAME).document(id).get();
-        com.google.cloud.firestore.DocumentSnapshot doc = future.get();
+        String[] errors = new String[dtos.size()];
+        IntStream.range(0, dtos.size()).parallel()
+            .forEach(i -> errors[i] = validateForImport(dtos.get(i)));
         
-        if (!doc.exists()) {
-            return null;
+        List<Integer> accepted = new ArrayList<>();
+        List<Map<String, Object>> data = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            if (errors[i] == null) {
+                accepted.add(i);
+                data.add(buildEventData(dtos.get(i)));
+            }
         }
+        List<BulkWriteResult> written = data.isEmpty() ? List.of() : repository.addAll(data);
         
-        return convertDocumentToMap(doc);
+        BulkCreateResult[] results = new BulkCreateResult[dtos.size()];
+        for (int i = 0; i < dtos.size(); i++) {
+            if (errors[i] != null) {
+                results[i] = new BulkCreateResult(i, null, errors[i]);
+            }
+        }
+        for (int k = 0; k < accepted.size(); k++) {
+            int i = accepted.get(k);
+            BulkWriteResult w = written.get(k);
+            results[i] = new BulkCreateResult(i, w.id(), w.error());
+        }
+        return Arrays.asList(results);
+    }
+    
+    // Validator rules plus what the single-event endpoint gets from bean validation
+    private String validateForImport(EventDto dto) {
+        Validator.ValidationResult result = validator.validateWithResult(dto);
+        if (!result.isValid()) {
+            return result.getMessage();
+        }
+        if (dto.location == null) {
+            return "location is required";
+        }
+        if (dto.dateTime == null) {
+            return "dateTime is required";
+        }
+        try {
+            Instant.parse(dto.dateTime);
+        } catch (Exception ex) {
+            return "dateTime must be an ISO-8601 instant: " + dto.dateTime;
+        }
+        return null;
+    }
+    
+    // Implementing interface method from EventService
+    @Override
+    public Event getEventById(String id) throws ExecutionException, InterruptedException {
+        log("Fetching event: " + id);
+        return readsById.run(id, () -> repository.findById(id));
     }
     
     // Implementing interface method from EventService
     @Override
-    public List<Map<String, Object>> getAllEvents() throws ExecutionException, InterruptedException {
+    public List<Event> getAllEvents() throws ExecutionException, InterruptedException {
         log("Fetching all events");
+        return find(EventQuery.all().orderBy("dateTime"));
+    }
+    
+    // Implementing interface method from EventService
+    @Override
+    public List<Event> getEventsByOwner(String uid) throws ExecutionException, InterruptedException {
+        return getEventsByOwner(uid, null, 0).events();
+    }
+    
+    // Implementing interface method from EventService
+    @Override
+    public EventPage getEventsByOwner(String uid, String cursor, int limit) throws ExecutionException, InterruptedException {
+        EventKey after = cursor != null ? EventKey.fromCursor(cursor) : null;
         
-        ApiFuture<QuerySnapshot> future = firestore.collection(COLLECTION_NAME).get();
-        List<QueryDocumentSnapshot> documents = future.get().getDocuments();
+        // Both paths fetch one extra event to know whether there is a next page
+        List<Event> events;
+        if (ownerIndex.isReady()) {
+            events = ownerIndex.page(uid, after, limit);
+        } else {
+            // Index not complete yet: composite-index query (see firestore.indexes.json)
+            log("Fetching events created by: " + uid);
+            EventQuery query = EventQuery.all().whereEqualTo("createdBy", uid).orderBy("dateTime");
+            if (after != null) {
+                query = query.startAfter(new Date(after.startMillis()), after.id());
+            }
+            if (limit > 0) {
+                query = query.limit(limit + 1);
+            }
+            events = find(query);
+        }
         
-        List<Map<String, Object>> events = new ArrayList<>();
-        for (QueryDocumentSnapshot doc : documents) {
-            events.add(convertDocumentToMap(doc));
+        if (limit > 0 && events.size() > limit) {
+            events = events.subList(0, limit);
+            return new EventPage(events, EventKey.of(events.get(limit - 1)).toCursor());
+        }
+        return new EventPage(events, null);
+    }
+    
+    // Implementing interface method from EventService
+    @Override
+    public List<Event> getUpcomingEvents(Duration within) throws ExecutionException, InterruptedException {
+        long now = System.currentTimeMillis();
+        if (upcomingIndex.isReady()) {
+            return upcomingIndex.upcoming(now, within);
         }
         
-        return events;
+        // Index not complete yet (listener disabled or still starting): range query instead
+        log("Fetching upcoming events from the repository");
+        EventQuery query = EventQuery.all().orderBy("dateTime").startAt(new Date(now));
+        if (within != null && within.toMillis() <= Long.MAX_VALUE - now) {
+            query = query.endAt(new Date(now + within.toMillis()));
+        }
+        return find(query);
+    }
+    
+    // Implementing interface method from EventService
+    @Override
+    public List<Event> searchEvents(String query, int limit) throws ExecutionException, InterruptedException {
+        if (searchIndex.isReady()) {
+            return searchIndex.search(query, limit);
+        }
+        
+        // Index not complete yet: index the current collection just for this query
+        log("Searching events without the index: " + query);
+        return EventSearchIndex.of(find(EventQuery.all())).search(query, limit);
+    }
+    
+    // Implementing interface method from EventService
+    @Override
+    public String getVersionTag() {
+        // An unseeded feed misses outside writes, so its version can't vouch for the data
+        return changeFeed.isSeeded() ? changeFeed.getVersionTag() : null;
+    }
+    
+    // Implementing interface method from EventService
+    @Override
+    public String getOwnerVersionTag(String uid) {
+        if (!changeFeed.isSeeded()) {
+            return null;
+        }
+        if (!ownerIndex.isReady()) {
+            return changeFeed.getVersionTag();
+        }
+        return changeFeed.getVersionTag(ownerIndex.getVersion(uid));
     }
     
     // Implementing interface method from EventService
     @Override
     public void deleteEvent(String id) throws ExecutionException, InterruptedException {
         log("Deleting event: " + id);
-        firestore.collection(COLLECTION_NAME).document(id).delete().get();
+        repository.delete(id);
+    }
+    
+    // Queries are records, so equal queries share one in-flight read
+    private List<Event> find(EventQuery query) throws ExecutionException, InterruptedException {
+        return queries.run(query, () -> repository.find(query));
     }
     
     // Private helper method - encapsulation
@@ -143,32 +298,4 @@ public class EventServiceImpl extends BaseService implements EventService {
         
         return data;
     }
-    
-    // Private helper method - method overloading example with different signature
-    private Map<String, Object> convertDocumentToMap(com.google.cloud.firestore.DocumentSnapshot doc) {
-        Map<String, Object> data = doc.getData();
-        if (data == null) {
-            return new HashMap<>();
-        }
-        
-        return formatEventData(doc.getId(), data);
-    }
-    
-    // Private helper method - another overloaded version
-    private Map<String, Object> formatEventData(String id, Map<String, Object> data) {
-        Object dt = data.get("dateTime");
-        String dtIso = null;
-        
-        if (dt instanceof Date) {
-            dtIso = Instant.ofEpochMilli(((Date) dt).getTime()).toString();
-        } else if (dt != null) {
-            dtIso = dt.toString();
-        }
-        
-        Map<String, Object> result = new HashMap<>(data);
-        result.put("id", id);
-        result.put("dateTime", dtIso);
-        
-        return result;
-    }
 }
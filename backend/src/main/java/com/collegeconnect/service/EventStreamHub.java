@@ -0,0 +1,317 @@
+package com.collegeconnect.service;
+
+import com.collegeconnect.repository.EventChange;
+import com.collegeconnect.repository.EventChangeFeed;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans event changes out to Server-Sent Events clients. Every change from the
+ * event change feed (one Firestore listener per instance) is serialized once and
+ * queued for each connected client; a small writer pool drains the queues, so
+ * the thread that published the change never waits on a socket. Each client's
+ * queue is bounded: a client that falls behind has its backlog dropped and gets
+ * a "resync" event telling it to reload the list instead. A client whose socket
+ * stops taking data altogether is dropped once a single write has been blocked
+ * for write-timeout-ms; the pool gets a stand-in thread until that write returns.
+ *
+ * Event types sent: "ready" on connect, "change" ({type, id, event}) per change,
+ * "resync" when the client must refetch. Ids let a reconnecting client resume via
+ * Last-Event-ID from the recent-changes buffer.
+ */
+@Component
+public class EventStreamHub {
+
+    // Changes a client may have waiting before it is considered too slow
+    private static final int QUEUE_CAPACITY = 256;
+    // Recent changes kept for clients resuming with Last-Event-ID
+    private static final int REPLAY_CAPACITY = 1024;
+    // Messages written to one client before its writer yields to other clients
+    private static final int DRAIN_BATCH = 64;
+    // Client.writeStarted when no write is in progress, and once the watchdog has given up on one
+    private static final long IDLE = Long.MIN_VALUE;
+    private static final long TIMED_OUT = Long.MAX_VALUE;
+
+    private record Message(long seq, String name, String data) {}
+
+    private static final class Client {
+        final SseEmitter emitter;
+        final ConcurrentLinkedQueue<Message> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger queued = new AtomicInteger();
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicLong writeStarted = new AtomicLong(IDLE); // System.nanoTime() of the write in progress
+        volatile boolean overflowed;
+
+        Client(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    // Distinguishes this process's sequence numbers from another instance's or a restart's
+    private final String instanceTag = Long.toString(System.currentTimeMillis(), 36);
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final Object lock = new Object(); // orders sequence numbers, the replay buffer and queueing
+    private final ArrayDeque<Message> recent = new ArrayDeque<>();
+    private long seq;
+    private ThreadPoolExecutor writers;
+    private ScheduledExecutorService heartbeat;
+    private int stuckWriters; // guarded by writers
+
+    @Value("${events.stream.max-clients:5000}")
+    private int maxClients = 5000;
+
+    @Value("${events.stream.timeout-ms:1800000}")
+    private long timeoutMs = 1_800_000;
+
+    @Value("${events.stream.heartbeat-ms:25000}")
+    private long heartbeatMs = 25_000;
+
+    @Value("${events.stream.writer-threads:4}")
+    private int writerThreads = 4;
+
+    @Value("${events.stream.write-timeout-ms:10000}")
+    private long writeTimeoutMs = 10_000;
+
+    public EventStreamHub(EventChangeFeed changeFeed, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        changeFeed.subscribe(this::broadcast);
+    }
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        // Fixed size, except for the stand-ins lent while writes are stuck (see lendWriters)
+        writers = new ThreadPoolExecutor(writerThreads, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "event-stream-writer-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "event-stream-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        // Keeps idle connections open through proxies and finds clients that went away
+        heartbeat.scheduleWithFixedDelay(() -> {
+            for (Client client : clients) offer(client, new Message(-1, null, null));
+        }, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        long checkMs = Math.max(10, writeTimeoutMs / 4);
+        heartbeat.scheduleWithFixedDelay(this::dropStuckClients, checkMs, checkMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (heartbeat != null) heartbeat.shutdownNow();
+        for (Client client : clients) client.emitter.complete();
+        clients.clear();
+        if (writers != null) writers.shutdownNow();
+    }
+
+    /**
+     * Registers a new client, or returns null when the instance already has
+     * max-clients connections. lastEventId is the Last-Event-ID header of a
+     * reconnecting client (or null); missed changes are replayed when still
+     * buffered, otherwise the client is told to resync.
+     */
+    public SseEmitter connect(String lastEventId) {
+        if (clients.size() >= maxClients) return null;
+        Client client = new Client(newEmitter(timeoutMs));
+        client.emitter.onCompletion(() -> clients.remove(client));
+        client.emitter.onTimeout(() -> clients.remove(client));
+        client.emitter.onError(e -> clients.remove(client));
+
+        // Under the lock, so nothing is published between the replay and going live
+        synchronized (lock) {
+            offer(client, new Message(seq, "ready", "{\"clients\":" + (clients.size() + 1) + "}"));
+            if (lastEventId != null) {
+                long resumeAfter = parseSeq(lastEventId);
+                Message oldest = recent.peekFirst();
+                long oldestSeq = oldest != null ? oldest.seq() : seq + 1;
+                if (resumeAfter < 0 || resumeAfter > seq || resumeAfter < oldestSeq - 1) {
+                    // Can't fill the gap. Queued rather than flagged as overflowed, so "ready" still goes first
+                    offer(client, new Message(seq, "resync", "{}"));
+                } else {
+                    for (Message message : recent) {
+                        if (message.seq() > resumeAfter) offer(client, message);
+                    }
+                }
+            }
+            clients.add(client);
+        }
+        schedule(client);
+        System.out.println("[EventStreamHub] Client connected, " + clients.size() + " open");
+        return client.emitter;
+    }
+
+    // Overridden by tests to watch what is sent
+    SseEmitter newEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    void broadcast(EventChange change) {
+        // Serialized once for all clients, outside the lock
+        Map<String, Object> delta = new LinkedHashMap<>();
+        delta.put("type", change.type());
+        delta.put("id", change.id());
+        delta.put("event", change.event());
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(delta);
+        } catch (JsonProcessingException e) {
+            System.out.println("[EventStreamHub] Could not serialize change " + change.id() + ": " + e.getMessage());
+            return;
+        }
+
+        synchronized (lock) {
+            Message message = new Message(++seq, "change", data);
+            recent.addLast(message);
+            if (recent.size() > REPLAY_CAPACITY) recent.removeFirst();
+            for (Client client : clients) offer(client, message);
+        }
+    }
+
+    // Never blocks: queues the message and makes sure a writer will drain the client
+    private void offer(Client client, Message message) {
+        if (client.overflowed) return;
+        if (client.queued.incrementAndGet() > QUEUE_CAPACITY) {
+            client.overflowed = true;
+        } else {
+            client.queue.add(message);
+        }
+        schedule(client);
+    }
+
+    private void schedule(Client client) {
+        if (writers != null && client.draining.compareAndSet(false, true)) {
+            try {
+                writers.execute(() -> drain(client));
+            } catch (RuntimeException e) { // pool shut down
+                client.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Client client) {
+        try {
+            for (int sent = 0; sent < DRAIN_BATCH; sent++) {
+                if (client.overflowed) {
+                    // Too far behind: drop the backlog, the client reloads instead
+                    client.queue.clear();
+                    client.queued.set(0);
+                    client.overflowed = false;
+                    long current;
+                    synchronized (lock) {
+                        current = seq;
+                    }
+                    send(client, SseEmitter.event().id(eventId(current)).name("resync").data("{}"));
+                    continue;
+                }
+                Message message = client.queue.poll();
+                if (message == null) break;
+                client.queued.decrementAndGet();
+                if (message.name() == null) {
+                    send(client, SseEmitter.event().comment("keepalive"));
+                } else {
+                    send(client, SseEmitter.event().id(eventId(message.seq())).name(message.name()).data(message.data()));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away (or its emitter already completed)
+            clients.remove(client);
+            client.queue.clear();
+            client.emitter.completeWithError(e);
+            return;
+        } finally {
+            client.draining.set(false);
+        }
+        if ((!client.queue.isEmpty() || client.overflowed) && clients.contains(client)) {
+            schedule(client);
+        }
+    }
+
+    // SseEmitter.send blocks while the client's socket buffer is full
+    private void send(Client client, SseEmitter.SseEventBuilder event) throws IOException {
+        client.writeStarted.set(System.nanoTime());
+        boolean timedOut;
+        try {
+            client.emitter.send(event);
+        } finally {
+            timedOut = client.writeStarted.getAndSet(IDLE) == TIMED_OUT;
+            if (timedOut) lendWriters(-1);
+        }
+        if (timedOut) throw new IOException("write blocked for more than " + writeTimeoutMs + " ms");
+    }
+
+    /**
+     * Drops clients with a write blocked for longer than write-timeout-ms. The
+     * write can't be cancelled (and completing the emitter would wait for it),
+     * so the client just stops getting messages; its writer completes the
+     * emitter once the socket gives up. Meanwhile the pool gets a stand-in
+     * thread, so stuck clients can't starve everyone else.
+     */
+    void dropStuckClients() {
+        long now = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+        for (Client client : clients) {
+            long started = client.writeStarted.get();
+            if (started == IDLE || started == TIMED_OUT || now - started < timeoutNanos) continue;
+            if (client.writeStarted.compareAndSet(started, TIMED_OUT)) {
+                clients.remove(client);
+                client.queue.clear();
+                lendWriters(1);
+                System.out.println("[EventStreamHub] Dropped a client whose write was blocked for "
+                        + TimeUnit.NANOSECONDS.toMillis(now - started) + " ms, " + clients.size() + " open");
+            }
+        }
+    }
+
+    // At most writer-threads stand-ins, however many writes are stuck
+    private void lendWriters(int delta) {
+        synchronized (writers) {
+            stuckWriters += delta;
+            writers.setCorePoolSize(writerThreads + Math.min(stuckWriters, writerThreads));
+        }
+    }
+
+    private String eventId(long messageSeq) {
+        return instanceTag + "-" + messageSeq;
+    }
+
+    // Sequence number from an id this instance issued, or -1
+    private long parseSeq(String eventId) {
+        String prefix = instanceTag + "-";
+        if (!eventId.startsWith(prefix)) return -1;
+        try {
+            return Long.parseLong(eventId.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public int getClientCount() {
+        return clients.size();
+    }
+}
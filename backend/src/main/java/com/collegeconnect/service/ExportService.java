@@ -0,0 +1,219 @@
+package com.collegeconnect.service;
+
+import com.collegeconnect.model.Event;
+import com.collegeconnect.repository.EventRepository;
+import com.collegeconnect.repository.StoredDocument;
+import com.collegeconnect.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Writes the events and users collections to an output stream as NDJSON or CSV.
+ * Documents are read a page at a time in id order (a startAfter cursor on the
+ * last id), and each page is written and flushed before the next is read, so
+ * heap use is bounded by the page size however large the collection is. The
+ * export is not a snapshot: documents written while it runs may or may not
+ * be included.
+ *
+ * The last line is a trailer with the number of records, so a client can tell
+ * a complete export from one cut short: {"_export":{"complete":true,"count":N}}
+ * in NDJSON, "# export complete: N rows" in CSV.
+ */
+@Service
+public class ExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        public final String contentType;
+        public final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        /**
+         * @throws IllegalArgumentException for anything but ndjson or csv
+         */
+        public static Format parse(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private static final List<String> EVENT_COLUMNS = List.of("id", "name", "description", "dateTime",
+            "lat", "lng", "locationName", "createdBy", "creatorName", "createdAt");
+    // CSV has fixed columns; NDJSON keeps every field of the user document
+    private static final List<String> USER_COLUMNS = List.of("uid", "email", "displayName", "role", "createdAt");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final ObjectWriter jsonWriter;
+
+    @Value("${export.page-size:500}")
+    private int pageSize = 500;
+
+    public ExportService(EventRepository eventRepository, UserRepository userRepository, ObjectMapper objectMapper) {
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.jsonWriter = objectMapper.writer();
+    }
+
+    /**
+     * Writes every event; returns how many
+     */
+    public long exportEvents(Format format, OutputStream out) throws IOException, ExecutionException, InterruptedException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == Format.CSV) writeCsvRow(writer, EVENT_COLUMNS);
+
+        long count = 0;
+        String after = null;
+        while (true) {
+            List<Event> page = eventRepository.findPage(after, pageSize);
+            for (Event event : page) {
+                if (format == Format.NDJSON) {
+                    writer.write(jsonWriter.writeValueAsString(event));
+                    writer.write('\n');
+                } else {
+                    writeCsvRow(writer, eventRow(event));
+                }
+            }
+            writer.flush(); // hand the page to the client before reading the next
+            count += page.size();
+            if (page.size() < pageSize) break;
+            after = page.get(page.size() - 1).getId();
+        }
+        writeTrailer(writer, format, count);
+        System.out.println("[ExportService] Exported " + count + " events as " + format);
+        return count;
+    }
+
+    /**
+     * Writes every user; returns how many
+     */
+    public long exportUsers(Format format, OutputStream out) throws IOException, ExecutionException, InterruptedException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == Format.CSV) writeCsvRow(writer, USER_COLUMNS);
+
+        long count = 0;
+        String after = null;
+        while (true) {
+            List<StoredDocument> page = userRepository.findPage(after, pageSize);
+            for (StoredDocument doc : page) {
+                Map<String, Object> user = new LinkedHashMap<>();
+                user.put("uid", doc.id());
+                if (doc.data() != null) {
+                    for (Map.Entry<String, Object> field : doc.data().entrySet()) {
+                        if (!field.getKey().equals("uid")) user.put(field.getKey(), plain(field.getValue()));
+                    }
+                }
+                if (format == Format.NDJSON) {
+                    writer.write(jsonWriter.writeValueAsString(user));
+                    writer.write('\n');
+                } else {
+                    List<Object> row = new ArrayList<>(USER_COLUMNS.size());
+                    for (String column : USER_COLUMNS) row.add(user.get(column));
+                    writeCsvRow(writer, row);
+                }
+            }
+            writer.flush();
+            count += page.size();
+            if (page.size() < pageSize) break;
+            after = page.get(page.size() - 1).id();
+        }
+        writeTrailer(writer, format, count);
+        System.out.println("[ExportService] Exported " + count + " users as " + format);
+        return count;
+    }
+
+    private static void writeTrailer(Writer writer, Format format, long count) throws IOException {
+        if (format == Format.NDJSON) {
+            writer.write("{\"_export\":{\"complete\":true,\"count\":" + count + "}}\n");
+        } else {
+            writer.write("# export complete: " + count + " rows\r\n");
+        }
+        writer.flush();
+    }
+
+    private static List<Object> eventRow(Event event) {
+        Map<String, Object> location = event.getLocation();
+        return List.of(
+                nullable(event.getId()), nullable(event.getName()), nullable(event.getDescription()),
+                nullable(plain(event.getDateTime())),
+                nullable(location != null ? location.get("lat") : null),
+                nullable(location != null ? location.get("lng") : null),
+                nullable(event.getLocationName()), nullable(event.getCreatedBy()), nullable(event.getCreatorName()),
+                nullable(plain(event.getCreatedAt())));
+    }
+
+    // List.of rejects nulls; an empty cell is written for these
+    private static Object nullable(Object value) {
+        return value != null ? value : "";
+    }
+
+    // Dates as ISO-8601 strings, nested maps and lists kept, store-specific types
+    // (e.g. Firestore timestamps) by their string form
+    private static Object plain(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        if (value instanceof Date date) {
+            return Instant.ofEpochMilli(date.getTime()).toString();
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> copy = new LinkedHashMap<>();
+            map.forEach((k, v) -> copy.put(String.valueOf(k), plain(v)));
+            return copy;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object item : list) copy.add(plain(item));
+            return copy;
+        }
+        return value.toString();
+    }
+
+    private static void writeCsvRow(Writer writer, List<?> cells) throws IOException {
+        for (int i = 0; i < cells.size(); i++) {
+            if (i > 0) writer.write(',');
+            writeCsvCell(writer, cells.get(i));
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180 quoting; text that a spreadsheet would run as a formula is prefixed with '
+    private static void writeCsvCell(Writer writer, Object value) throws IOException {
+        if (value == null) return;
+        String text = value.toString();
+        if (!(value instanceof Number) && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
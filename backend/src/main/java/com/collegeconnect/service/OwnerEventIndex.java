@@ -0,0 +1,112 @@
+package com.collegeconnect.service;
+
+import com.collegeconnect.model.Event;
+import com.collegeconnect.repository.EventChange;
+import com.collegeconnect.repository.EventChangeFeed;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Each creator's events in date order, kept in memory from the event change feed,
+ * so a creator's dashboard is a skip-list walk instead of a composite-index query
+ * that reads every event they own. Also tracks a per-creator version, so one
+ * creator's changes don't invalidate everyone else's cached list.
+ */
+@Component
+public class OwnerEventIndex {
+
+    // Where an indexed event currently sits
+    private record Entry(String owner, EventKey key) {}
+
+    private final EventChangeFeed changeFeed;
+    private final ConcurrentHashMap<String, ConcurrentSkipListMap<EventKey, Event>> byOwner = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Entry> entriesById = new ConcurrentHashMap<>();
+    // Feed version at each creator's last change; never shrinks (one entry per creator)
+    private final ConcurrentHashMap<String, Long> ownerVersions = new ConcurrentHashMap<>();
+
+    public OwnerEventIndex(EventChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+        changeFeed.subscribe(this::apply);
+    }
+
+    /**
+     * True once the index holds every event (see EventChangeFeed.isSeeded)
+     */
+    public boolean isReady() {
+        return changeFeed.isSeeded();
+    }
+
+    void apply(EventChange change) {
+        // compute() serialises changes to the same id (local write and listener echo)
+        entriesById.compute(change.id(), (id, old) -> {
+            Event event = change.type() == EventChange.Type.REMOVED ? null : change.event();
+            EventKey key = EventKey.of(event);
+            String owner = key != null ? event.getCreatedBy() : null;
+            if (old != null && old.owner().equals(owner) && old.key().equals(key)) {
+                // Same slot (e.g. the listener echo of a local write): just refresh the event
+                byOwner.computeIfPresent(owner, (o, events) -> {
+                    events.put(key, event);
+                    return events;
+                });
+                bump(owner);
+                return old;
+            }
+            if (old != null) {
+                // Drop the owner's map once empty; compute() keeps that atomic with adds
+                byOwner.computeIfPresent(old.owner(), (o, events) -> {
+                    events.remove(old.key());
+                    return events.isEmpty() ? null : events;
+                });
+                bump(old.owner());
+            }
+            // Like the fallback query, events without a creator or date are not listed
+            if (owner == null) return null;
+            byOwner.compute(owner, (o, events) -> {
+                if (events == null) events = new ConcurrentSkipListMap<>();
+                events.put(key, event);
+                return events;
+            });
+            bump(owner);
+            return new Entry(owner, key);
+        });
+    }
+
+    private void bump(String owner) {
+        long version = changeFeed.getVersion();
+        ownerVersions.merge(owner, version, Math::max);
+    }
+
+    /**
+     * Up to limit of the owner's events in date order, starting after the given
+     * position (null for the first page). limit 0 means all remaining events.
+     * Returns one extra event when there are more, so callers can tell if there
+     * is a next page.
+     */
+    List<Event> page(String owner, EventKey after, int limit) {
+        NavigableMap<EventKey, Event> events = byOwner.get(owner);
+        if (events == null) return List.of();
+        if (after != null) events = events.tailMap(after, false);
+        List<Event> page = new ArrayList<>(limit > 0 ? limit + 1 : events.size());
+        for (Event event : events.values()) {
+            if (limit > 0 && page.size() > limit) break;
+            page.add(event);
+        }
+        return page;
+    }
+
+    /**
+     * Feed version at the owner's last change (0 if they never had an event)
+     */
+    public long getVersion(String owner) {
+        return ownerVersions.getOrDefault(owner, 0L);
+    }
+
+    public int getOwnerCount() {
+        return byOwner.size();
+    }
+}
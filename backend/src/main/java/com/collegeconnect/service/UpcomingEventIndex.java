@@ -0,0 +1,128 @@
+package com.collegeconnect.service;
+
+import com.collegeconnect.model.Event;
+import com.collegeconnect.repository.EventChange;
+import com.collegeconnect.repository.EventChangeFeed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Upcoming events ordered by start time, kept in memory from the event change feed.
+ * A window query ("what starts in the next 24h") is a skip-list range scan,
+ * O(log n + k), instead of a collection read. Events whose start time has passed
+ * are moved out of the index by a background sweep; queries never return them
+ * even before the sweep runs.
+ */
+@Component
+public class UpcomingEventIndex {
+
+    // Entries removed per sweep step, so a sweep never holds the thread for long
+    private static final int SWEEP_BATCH = 500;
+
+    private final EventChangeFeed changeFeed;
+    private final ConcurrentSkipListMap<EventKey, Event> upcoming = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, EventKey> keysById = new ConcurrentHashMap<>();
+    private ScheduledExecutorService sweeper;
+
+    @Value("${events.upcoming.sweep-interval-ms:60000}")
+    private long sweepIntervalMs;
+
+    public UpcomingEventIndex(EventChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+        changeFeed.subscribe(this::apply);
+    }
+
+    @PostConstruct
+    public void startSweeper() {
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "upcoming-events-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleWithFixedDelay(() -> expire(System.currentTimeMillis()),
+                sweepIntervalMs, sweepIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopSweeper() {
+        if (sweeper != null) sweeper.shutdownNow();
+    }
+
+    /**
+     * True once the index holds every event (see EventChangeFeed.isSeeded)
+     */
+    public boolean isReady() {
+        return changeFeed.isSeeded();
+    }
+
+    void apply(EventChange change) {
+        long now = System.currentTimeMillis();
+        // compute() serialises changes to the same id (local write and listener echo)
+        keysById.compute(change.id(), (id, oldKey) -> {
+            if (oldKey != null) upcoming.remove(oldKey);
+            EventKey key = change.type() == EventChange.Type.REMOVED ? null : EventKey.of(change.event());
+            if (key == null) return null;
+            if (key.startMillis() < now) return null; // already started: not upcoming
+            upcoming.put(key, change.event());
+            return key;
+        });
+    }
+
+    /**
+     * Events starting from now up to now + within (no upper bound if within is null),
+     * in start order
+     */
+    public List<Event> upcoming(long nowMillis, Duration within) {
+        long until = within == null ? Long.MAX_VALUE : saturatedAdd(nowMillis, within.toMillis());
+        if (until < nowMillis) return List.of();
+        return new ArrayList<>(upcoming.subMap(new EventKey(nowMillis, EventKey.MIN_ID), true, new EventKey(until, EventKey.MAX_ID), true).values());
+    }
+
+    /**
+     * Moves events that started before nowMillis out of the index; returns how many.
+     * Only ever touches the head of the skip list.
+     */
+    int expire(long nowMillis) {
+        int removed = 0;
+        while (true) {
+            int batch = 0;
+            Map.Entry<EventKey, Event> first;
+            while (batch < SWEEP_BATCH && (first = upcoming.firstEntry()) != null
+                    && first.getKey().startMillis() < nowMillis) {
+                EventKey key = first.getKey();
+                if (upcoming.remove(key) != null) {
+                    keysById.remove(key.id(), key);
+                    batch++;
+                }
+            }
+            removed += batch;
+            if (batch < SWEEP_BATCH) break;
+            Thread.yield(); // let writers in between batches
+        }
+        if (removed > 0) {
+            System.out.println("[UpcomingEventIndex] Expired " + removed + " started events, " + upcoming.size() + " upcoming");
+        }
+        return removed;
+    }
+
+    public int size() {
+        return upcoming.size();
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return ((a ^ sum) & (b ^ sum)) < 0 ? Long.MAX_VALUE : sum;
+    }
+}
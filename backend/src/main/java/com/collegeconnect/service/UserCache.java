@@ -0,0 +1,128 @@
+package com.collegeconnect.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of user documents by uid, in front of the users collection.
+ * Caffeine evicts by W-TinyLFU, so the profiles of active event creators stay
+ * cached while one-off lookups don't push them out. Uids with no user document
+ * are cached too (for a shorter time), so repeated lookups of a missing uid
+ * don't each cost a read. Entries expire after a TTL, which bounds how long a
+ * change made through another instance can go unseen here.
+ *
+ * Misses are loaded through the cache rather than read and then put: a pending
+ * entry is in place while the read runs, so a write's invalidate() that lands
+ * mid-read drops it and the (possibly stale) result is never cached. Loads run
+ * on the calling thread, and concurrent lookups of the same uid share one read.
+ */
+@Component
+public class UserCache {
+
+    /**
+     * A cached lookup: the user's fields (read-only), or null data when there is no such user
+     */
+    record Entry(Map<String, Object> data) {
+        boolean exists() {
+            return data != null;
+        }
+    }
+
+    /**
+     * Reads the given uids from the store: the fields of those that exist, keyed by uid
+     */
+    @FunctionalInterface
+    interface Loader {
+        Map<String, Map<String, Object>> load(Set<String> uids) throws ExecutionException, InterruptedException;
+    }
+
+    private final AsyncCache<String, Entry> cache;
+
+    public UserCache(@Value("${users.cache.max-size:10000}") long maxSize,
+                     @Value("${users.cache.ttl-seconds:300}") long ttlSeconds,
+                     @Value("${users.cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
+        long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        long negativeTtlNanos = TimeUnit.SECONDS.toNanos(negativeTtlSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String uid, Entry entry, long currentTime) {
+                        return entry.exists() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String uid, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(uid, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String uid, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration; // reads don't extend the lifetime
+                    }
+                })
+                .buildAsync();
+    }
+
+    /**
+     * The lookup for uid, read through loader on a miss
+     */
+    Entry get(String uid, Loader loader) throws ExecutionException, InterruptedException {
+        return getAll(List.of(uid), loader).get(uid);
+    }
+
+    /**
+     * Lookups for all of the uids; the ones not cached are read through one call to loader
+     */
+    Map<String, Entry> getAll(Collection<String> uids, Loader loader) throws ExecutionException, InterruptedException {
+        CompletableFuture<Map<String, Entry>> lookups = cache.getAll(uids, (missing, executor) -> {
+            try {
+                Map<String, Map<String, Object>> found = loader.load(Set.copyOf(missing));
+                Map<String, Entry> loaded = new HashMap<>();
+                for (String uid : missing) {
+                    Map<String, Object> data = found.get(uid);
+                    loaded.put(uid, new Entry(data != null ? Collections.unmodifiableMap(new HashMap<>(data)) : null));
+                }
+                return CompletableFuture.completedFuture(loaded);
+            } catch (ExecutionException | InterruptedException | RuntimeException e) {
+                // A failed load is not cached
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+        try {
+            return lookups.get();
+        } catch (ExecutionException e) {
+            // Rethrow the loader's own exception (this thread's load, or another's it waited on)
+            Throwable cause = e.getCause();
+            if (cause instanceof ExecutionException loadFailure) throw loadFailure;
+            if (cause instanceof InterruptedException interrupted) throw interrupted;
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            throw e;
+        }
+    }
+
+    /**
+     * Drops uid after a write, so the next read goes to the repository. A load
+     * of uid still in flight is dropped too.
+     */
+    void invalidate(String uid) {
+        cache.synchronous().invalidate(uid);
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+}
@@ -1,6 +1,7 @@
 package com.collegeconnect.service;
 
 import com.collegeconnect.dto.UserDto;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
@@ -16,11 +17,22 @@ public interface UserService {
      */
     void saveUser(UserDto userDto) throws ExecutionException, InterruptedException;
     
+    /**
+     * Writes the profile fields of a user document, keeping any other fields
+     */
+    void upsertUser(String uid, UserDto userDto) throws ExecutionException, InterruptedException;
+    
     /**
      * Retrieves a user by UID
      */
     Map<String, Object> getUserByUid(String uid) throws ExecutionException, InterruptedException;
     
+    /**
+     * Retrieves many users at once, e.g. the creators of a page of events
+     * @return The users that exist, keyed by UID (missing UIDs are left out)
+     */
+    Map<String, Map<String, Object>> getUsersByUids(Collection<String> uids) throws ExecutionException, InterruptedException;
+    
     /**
      * Retrieves all users
      */
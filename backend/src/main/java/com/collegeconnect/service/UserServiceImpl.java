@@ -1,10 +1,8 @@
 package com.collegeconnect.service;
 
 import com.collegeconnect.dto.UserDto;
-import com.google.api.core.ApiFuture;
-import com.google.cloud.firestore.Firestore;
-import com.google.cloud.firestore.QueryDocumentSnapshot;
-import com.google.cloud.firestore.QuerySnapshot;
+import com.collegeconnect.repository.StoredDocument;
+import com.collegeconnect.repository.UserRepository;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -22,10 +20,17 @@ public class UserServiceImpl extends BaseService implements UserService {
     
     private static final String COLLECTION_NAME = "users";
     
+    // Storage backend (Firestore, or in-memory under the "inmemory" profile)
+    private final UserRepository repository;
+    
+    // Profiles by uid, including uids known not to exist; invalidated on every write
+    private final UserCache cache;
+    
     // Constructor - demonstrating dependency injection
-    public UserServiceImpl(Firestore firestore) {
-        super(firestore);
-        setServiceName("UserServiceImpl");
+    public UserServiceImpl(UserRepository repository, UserCache cache) {
+        super("UserServiceImpl");
+        this.repository = repository;
+        this.cache = cache;
     }
     
     // Implementing abstract method from BaseService
@@ -58,29 +63,69 @@ public class UserServiceImpl extends BaseService implements UserService {
         log("Saving user: " + dto.uid);
         
         Map<String, Object> data = buildUserData(dto);
-        firestore.collection(COLLECTION_NAME).document(dto.uid).set(data).get();
+        repository.set(dto.uid, data);
+        cache.invalidate(dto.uid);
     }
     
     // Implementing interface method from UserService
     @Override
-    public Map<String, Object> getUserByUid(String uid) throws ExecutionException, InterruptedException {
-        log("Fetching user: " + uid);
+    public void upsertUser(String uid, UserDto dto) throws ExecutionException, InterruptedException {
+        log("Upserting user: " + uid);
         
-        ApiFuture<com.google.cloud.firestore.DocumentSnapshot> future = 
-            firestore.collection(COLLECTION_NAME).document(uid).get();
-        com.google.cloud.firestore.DocumentSnapshot doc = future.get();
+        // Profile fields as sent by the client; fields not listed here are kept
+        Map<String, Object> data = new HashMap<>();
+        data.put("uid", uid);
+        data.put("email", dto.email);
+        data.put("displayName", dto.displayName);
+        data.put("role", dto.role);
+        data.put("createdAt", dto.createdAt);
+        repository.merge(uid, data);
+        cache.invalidate(uid);
+    }
+    
+    // Implementing interface method from UserService
+    @Override
+    public Map<String, Object> getUserByUid(String uid) throws ExecutionException, InterruptedException {
+        UserCache.Entry entry = cache.get(uid, this::load);
+        return entry.exists() ? toProfile(uid, entry.data()) : null;
+    }
+    
+    // Implementing interface method from UserService
+    @Override
+    public Map<String, Map<String, Object>> getUsersByUids(Collection<String> uids) throws ExecutionException, InterruptedException {
+        Set<String> wanted = new LinkedHashSet<>(uids);
+        Map<String, UserCache.Entry> entries = cache.getAll(wanted, this::load);
         
-        if (!doc.exists()) {
-            return null;
+        Map<String, Map<String, Object>> users = new LinkedHashMap<>();
+        for (String uid : wanted) {
+            UserCache.Entry entry = entries.get(uid);
+            if (entry != null && entry.exists()) users.put(uid, toProfile(uid, entry.data()));
         }
-        
-        Map<String, Object> data = doc.getData();
-        if (data == null) {
-            return new HashMap<>();
+        return users;
+    }
+    
+    // Cache loader: one read for a single uid, otherwise one batched read for all of them
+    private Map<String, Map<String, Object>> load(Set<String> uids) throws ExecutionException, InterruptedException {
+        if (uids.size() == 1) {
+            String uid = uids.iterator().next();
+            log("Fetching user: " + uid);
+            StoredDocument doc = repository.findById(uid);
+            return doc != null ? Map.of(uid, dataOf(doc)) : Map.of();
         }
-        
+        log("Fetching " + uids.size() + " users");
+        Map<String, Map<String, Object>> found = new HashMap<>();
+        repository.findAllById(uids).forEach((uid, doc) -> found.put(uid, dataOf(doc)));
+        return found;
+    }
+    
+    private static Map<String, Object> dataOf(StoredDocument doc) {
+        return doc.data() != null ? doc.data() : Map.of();
+    }
+    
+    // A fresh copy for the caller, with the uid filled in
+    private static Map<String, Object> toProfile(String uid, Map<String, Object> data) {
         Map<String, Object> result = new HashMap<>(data);
-        result.put("uid", doc.getId());
+        result.put("uid", uid);
         return result;
     }
     
@@ -89,14 +134,11 @@ public class UserServiceImpl extends BaseService implements UserService {
     public List<Map<String, Object>> getAllUsers() throws ExecutionException, InterruptedException {
         log("Fetching all users");
         
-        ApiFuture<QuerySnapshot> future = firestore.collection(COLLECTION_NAME).get();
-        List<QueryDocumentSnapshot> documents = future.get().getDocuments();
-        
         List<Map<String, Object>> users = new ArrayList<>();
-        for (QueryDocumentSnapshot doc : documents) {
-            Map<String, Object> data = doc.getData();
+        for (StoredDocument doc : repository.findAll()) {
+            Map<String, Object> data = doc.data();
             if (data != null) {
-                data.put("uid", doc.getId());
+                data.put("uid", doc.id());
                 users.add(data);
             }
         }
@@ -112,7 +154,11 @@ public class UserServiceImpl extends BaseService implements UserService {
         Map<String, Object> updates = new HashMap<>();
         updates.put("role", role);
         
-        firestore.collection(COLLECTION_NAME).document(uid).update(updates).get();
+        try {
+            repository.update(uid, updates);
+        } finally {
+            cache.invalidate(uid);
+        }
     }
     
     // Private helper method - encapsulation
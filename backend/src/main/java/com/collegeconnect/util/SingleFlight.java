@@ -0,0 +1,78 @@
+package com.collegeconnect.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one unit of work: the first
+ * caller runs it, callers arriving while it is in flight wait for and share its
+ * result (or its exception). Nothing is cached; once the work finishes, the next
+ * call for the key runs it again. Results are shared between callers, so they
+ * must be treated as read-only.
+ */
+public final class SingleFlight<K, V> {
+
+    @FunctionalInterface
+    public interface Work<V> {
+        V run() throws ExecutionException, InterruptedException;
+    }
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Runs work for key, or joins the call already running it
+     */
+    public V run(K key, Work<V> work) throws ExecutionException, InterruptedException {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            return await(leader);
+        }
+        try {
+            V value = work.run();
+            mine.complete(value);
+            return value;
+        } catch (Throwable t) {
+            mine.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * As run, for work that throws no checked exceptions
+     */
+    public V get(K key, Supplier<V> work) {
+        try {
+            return run(key, work::get);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shared result", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // The leader's outcome, with its exception rethrown as the leader saw it
+    private static <V> V await(CompletableFuture<V> leader) throws ExecutionException, InterruptedException {
+        try {
+            return leader.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ExecutionException ee) throw ee;
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw e; // leader was interrupted: surfaced as a failed execution
+        }
+    }
+
+    /**
+     * Keys with work currently running
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,33 @@
+package com.collegeconnect.navigation.util;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * GeoMath's bulk distance kernel on the JDK Vector API, a full SIMD register
+ * of points per step. Only compiled with -Psimd and only picked up when the
+ * JVM runs with --add-modules jdk.incubator.vector; see GeoMath.
+ */
+final class VectorDistanceKernel implements GeoMath.DistanceKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void squaredDistances(double[] lats, double[] lngs, int n, double lat, double lng,
+                                 double metersPerDegLat, double metersPerDegLng, double[] out) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            DoubleVector dy = DoubleVector.fromArray(SPECIES, lats, i).sub(lat).mul(metersPerDegLat);
+            DoubleVector dx = DoubleVector.fromArray(SPECIES, lngs, i).sub(lng).mul(metersPerDegLng);
+            dx.fma(dx, dy.mul(dy)).intoArray(out, i);
+        }
+        for (; i < n; i++) {
+            double dy = (lats[i] - lat) * metersPerDegLat;
+            double dx = (lngs[i] - lng) * metersPerDegLng;
+            out[i] = dx * dx + dy * dy;
+        }
+    }
+
+    @Override
+    public String name() { return "vector (" + SPECIES.length() + " lanes)"; }
+}
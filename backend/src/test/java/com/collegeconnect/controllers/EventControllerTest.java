@@ -1,10 +1,7 @@
 package com.collegeconnect.controllers;
 
 import com.collegeconnect.dto.EventDto;
-import com.google.api.core.ApiFuture;
-import com.google.cloud.firestore.DocumentReference;
-import com.google.cloud.firestore.CollectionReference;
-import com.google.cloud.firestore.Firestore;
+import com.collegeconnect.service.EventService;
 import org.junit.jupiter.api.Test;
 import com.google.firebase.auth.FirebaseToken;
 import org.mockito.Mockito;
@@ -14,8 +11,8 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
 import java.util.Map;
-import com.google.api.core.ApiFutures;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -28,7 +25,7 @@ public class EventControllerTest {
     private MockMvc mockMvc;
 
     @MockBean
-    private Firestore firestore;
+    private EventService eventService;
 
     @MockBean
     private com.collegeconnect.security.FirebaseTokenVerifier tokenVerifier;
@@ -36,6 +33,9 @@ public class EventControllerTest {
     @MockBean
     private com.collegeconnect.security.CurrentUser currentUser;
 
+    @MockBean
+    private com.collegeconnect.service.EventStreamHub streamHub;
+
     @org.springframework.boot.test.context.TestConfiguration
     static class TestConfig {
         @org.springframework.context.annotation.Bean
@@ -60,13 +60,8 @@ public class EventControllerTest {
     when(mockToken.getUid()).thenReturn("uid-123");
     when(tokenVerifier.verify(Mockito.anyString())).thenReturn(mockToken);
 
-    // Mock Firestore add
-        DocumentReference mockRef = Mockito.mock(DocumentReference.class);
-        CollectionReference mockCollection = Mockito.mock(CollectionReference.class);
-    ApiFuture<DocumentReference> fakeFuture = ApiFutures.immediateFuture(mockRef);
-    when(mockRef.getId()).thenReturn("doc-1");
-        when(firestore.collection("events")).thenReturn(mockCollection);
-        when(mockCollection.add(Mockito.any(Map.class))).thenReturn(fakeFuture);
+    // Mock event creation
+        when(eventService.createEvent(Mockito.any(EventDto.class))).thenReturn(Map.of("id", "doc-1"));
 
         String body = "{\"name\":\"Test Event\",\"description\":\"This is a test event description.\",\"dateTime\":\"2025-10-20T12:00:00Z\",\"location\":{\"lat\":1.0,\"lng\":2.0},\"locationName\":\"Campus\",\"createdBy\":\"uid-123\"}";
 
@@ -74,4 +69,22 @@ public class EventControllerTest {
         .header("Authorization", "Bearer dummy-token"))
         .andExpect(status().isOk());
     }
+
+    @Test
+    public void createEvents_setsCreatedByToCaller() throws Exception {
+        FirebaseToken mockToken = Mockito.mock(FirebaseToken.class);
+        when(mockToken.getUid()).thenReturn("uid-123");
+        when(tokenVerifier.verify(Mockito.anyString())).thenReturn(mockToken);
+        when(currentUser.getUid()).thenReturn("uid-123");
+        when(eventService.createEvents(Mockito.anyList())).thenReturn(List.of());
+
+        String body = "[{\"name\":\"Test Event\",\"description\":\"This is a test event description.\",\"dateTime\":\"2025-10-20T12:00:00Z\",\"location\":{\"lat\":1.0,\"lng\":2.0},\"locationName\":\"Campus\",\"createdBy\":\"someone-else\"}]";
+
+        mockMvc.perform(post("/api/events/bulk").contentType(MediaType.APPLICATION_JSON).content(body)
+                .header("Authorization", "Bearer dummy-token"))
+                .andExpect(status().isOk());
+
+        Mockito.verify(eventService).createEvents(Mockito.argThat(dtos ->
+                dtos.size() == 1 && "uid-123".equals(dtos.get(0).createdBy)));
+    }
 }
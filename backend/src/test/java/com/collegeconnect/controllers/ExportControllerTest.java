@@ -0,0 +1,82 @@
+package com.collegeconnect.controllers;
+
+import com.collegeconnect.service.ExportService;
+import com.google.firebase.auth.FirebaseToken;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ExportController.class)
+public class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ExportService exportService;
+
+    @MockBean
+    private com.collegeconnect.security.FirebaseTokenVerifier tokenVerifier;
+
+    @MockBean
+    private com.collegeconnect.security.CurrentUser currentUser;
+
+    private void signInAsAdmin() throws Exception {
+        FirebaseToken token = Mockito.mock(FirebaseToken.class);
+        when(token.getUid()).thenReturn("uid-admin");
+        when(token.getClaims()).thenReturn(Map.of("admin", true));
+        when(tokenVerifier.verify(Mockito.anyString())).thenReturn(token);
+    }
+
+    @Test
+    public void exportEvents_streamsWithItsOwnTimeout() throws Exception {
+        signInAsAdmin();
+        when(exportService.exportEvents(Mockito.eq(ExportService.Format.NDJSON), Mockito.any())).thenAnswer(call -> {
+            OutputStream out = call.getArgument(1);
+            out.write("{\"id\":\"e1\"}\n{\"_export\":{\"complete\":true,\"count\":1}}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        MvcResult started = mockMvc.perform(get("/api/admin/export/events").header("Authorization", "Bearer dummy-token"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // export.timeout-ms, not the default async request timeout
+        assertEquals(3_600_000L, started.getRequest().getAsyncContext().getTimeout());
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson; charset=utf-8"))
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(content().string("{\"id\":\"e1\"}\n{\"_export\":{\"complete\":true,\"count\":1}}\n"));
+    }
+
+    @Test
+    public void exportUsers_unknownFormat_returns400() throws Exception {
+        signInAsAdmin();
+
+        MvcResult started = mockMvc.perform(get("/api/admin/export/users?format=xml").header("Authorization", "Bearer dummy-token"))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().json("{\"error\":\"format must be ndjson or csv\",\"format\":\"xml\"}"));
+        Mockito.verifyNoInteractions(exportService);
+    }
+}
@@ -1,9 +1,7 @@
 package com.collegeconnect.controllers;
 
 import com.collegeconnect.dto.UserDto;
-import com.google.api.core.ApiFuture;
-import com.google.cloud.firestore.DocumentReference;
-import com.google.cloud.firestore.Firestore;
+import com.collegeconnect.service.UserService;
 import org.junit.jupiter.api.Test;
 import com.google.firebase.auth.FirebaseToken;
 import org.mockito.Mockito;
@@ -13,9 +11,6 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
-import com.google.api.core.ApiFutures;
-import com.google.cloud.firestore.WriteResult;
-
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.mockito.Mockito.when;
@@ -27,7 +22,7 @@ public class UserControllerTest {
     private MockMvc mockMvc;
 
     @MockBean
-    private Firestore firestore;
+    private UserService userService;
 
     @MockBean
     private com.collegeconnect.security.FirebaseTokenVerifier tokenVerifier;
@@ -47,21 +42,59 @@ public class UserControllerTest {
     @Test
     public void upsertUser_validPayload_returns200() throws Exception {
     // Mock token verification to allow the request through
-    when(tokenVerifier.verify(Mockito.anyString())).thenReturn(Mockito.mock(FirebaseToken.class));
-
-    DocumentReference mockRef = Mockito.mock(DocumentReference.class);
-        com.google.cloud.firestore.CollectionReference mockCollection = Mockito.mock(com.google.cloud.firestore.CollectionReference.class);
-    WriteResult mockWriteResult = Mockito.mock(WriteResult.class);
-    ApiFuture<com.google.cloud.firestore.WriteResult> fakeFuture = ApiFutures.immediateFuture(mockWriteResult);
-    when(firestore.collection("users")).thenReturn(mockCollection);
-    when(mockCollection.document(Mockito.anyString())).thenReturn(mockRef);
-    when(mockRef.set(Mockito.any(), Mockito.any())).thenReturn(fakeFuture);
-    when(mockRef.getId()).thenReturn("uid-123");
+    FirebaseToken token = Mockito.mock(FirebaseToken.class);
+    when(token.getUid()).thenReturn("uid-123");
+    when(tokenVerifier.verify(Mockito.anyString())).thenReturn(token);
+    when(currentUser.getUid()).thenReturn("uid-123");
 
         String body = "{\"uid\":\"uid-123\",\"displayName\":\"Alice\",\"role\":\"student\"}";
 
     mockMvc.perform(put("/api/users/uid-123").contentType(MediaType.APPLICATION_JSON).content(body)
         .header("Authorization", "Bearer dummy-token"))
         .andExpect(status().isOk());
+
+    Mockito.verify(userService).upsertUser(Mockito.eq("uid-123"), Mockito.any(UserDto.class));
+    }
+
+    @Test
+    public void upsertUser_withoutToken_returns401() throws Exception {
+        String body = "{\"uid\":\"uid-123\",\"displayName\":\"Alice\",\"role\":\"student\"}";
+
+        mockMvc.perform(put("/api/users/uid-123").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isUnauthorized());
+
+        Mockito.verifyNoInteractions(userService);
+    }
+
+    @Test
+    public void upsertUser_someoneElsesProfile_returns403() throws Exception {
+        FirebaseToken token = Mockito.mock(FirebaseToken.class);
+        when(token.getUid()).thenReturn("mallory");
+        when(tokenVerifier.verify(Mockito.anyString())).thenReturn(token);
+        when(currentUser.getUid()).thenReturn("mallory");
+
+        String body = "{\"uid\":\"uid-123\",\"displayName\":\"Alice\",\"role\":\"student\"}";
+
+        mockMvc.perform(put("/api/users/uid-123").contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header("Authorization", "Bearer dummy-token"))
+                .andExpect(status().isForbidden());
+
+        Mockito.verifyNoInteractions(userService);
+    }
+
+    @Test
+    public void upsertUser_adminRole_returns400() throws Exception {
+        FirebaseToken token = Mockito.mock(FirebaseToken.class);
+        when(token.getUid()).thenReturn("uid-123");
+        when(tokenVerifier.verify(Mockito.anyString())).thenReturn(token);
+        when(currentUser.getUid()).thenReturn("uid-123");
+
+        String body = "{\"uid\":\"uid-123\",\"displayName\":\"Alice\",\"role\":\"admin\"}";
+
+        mockMvc.perform(put("/api/users/uid-123").contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header("Authorization", "Bearer dummy-token"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(userService);
     }
 }
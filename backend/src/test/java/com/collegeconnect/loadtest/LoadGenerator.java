@@ -0,0 +1,332 @@
+package com.collegeconnect.loadtest;
+
+import com.collegeconnect.Application;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load generator for the backend: replays a mix of navigation, event and user
+ * requests with a fixed number of workers, optionally at a fixed total rate,
+ * and prints throughput plus an HDR latency histogram per endpoint.
+ *
+ * Either targets a running server (--target=http://host:port) or boots the
+ * application in-process on a random port, using whatever Firestore the
+ * environment selects (e.g. FIRESTORE_EMULATOR_HOST) and --profiles.
+ *
+ * With --rate, requests are scheduled at fixed intervals and latency is measured
+ * from the scheduled start, so a stalled server shows up in the percentiles
+ * instead of silently lowering the request rate (coordinated omission).
+ *
+ * Run: mvn -Ploadtest test-compile exec:java -Dloadtest.args="--duration=60 --concurrency=32"
+ */
+public class LoadGenerator {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final Duration requestTimeout;
+
+    LoadGenerator(String baseUrl, Duration requestTimeout) {
+        this.baseUrl = baseUrl;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /** Latency histogram and outcome counters for one endpoint */
+    static final class EndpointStats {
+        final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+        final LongAdder ok = new LongAdder();          // 2xx/3xx
+        final LongAdder clientErrors = new LongAdder(); // 4xx (e.g. unreachable route -> 404)
+        final LongAdder serverErrors = new LongAdder(); // 5xx
+        final LongAdder failures = new LongAdder();    // timeouts, connection errors
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parseArgs(args);
+        if (opts.containsKey("help")) {
+            printUsage();
+            return;
+        }
+
+        int durationSec = Integer.parseInt(opts.getOrDefault("duration", "30"));
+        int warmupSec = Integer.parseInt(opts.getOrDefault("warmup", "5"));
+        int concurrency = Integer.parseInt(opts.getOrDefault("concurrency", "16"));
+        double rate = Double.parseDouble(opts.getOrDefault("rate", "0"));
+        long seed = Long.parseLong(opts.getOrDefault("seed", "42"));
+        Duration timeout = Duration.ofMillis(Long.parseLong(opts.getOrDefault("timeout-ms", "10000")));
+
+        ConfigurableApplicationContext app = null;
+        String target = opts.get("target");
+        if (target == null) {
+            List<String> appArgs = new ArrayList<>(List.of("--server.port=0", "--navigation.map.watch=false"));
+            if (opts.containsKey("profiles")) appArgs.add("--spring.profiles.active=" + opts.get("profiles"));
+            System.out.println("[LoadGen] Booting backend in-process (" + String.join(" ", appArgs) + ")");
+            app = SpringApplication.run(Application.class, appArgs.toArray(new String[0]));
+            int port = ((ServletWebServerApplicationContext) app).getWebServer().getPort();
+            target = "http://localhost:" + port;
+        }
+        System.out.println("[LoadGen] Target: " + target);
+
+        try {
+            LoadGenerator generator = new LoadGenerator(target, timeout);
+            TrafficMix mix;
+            if (opts.containsKey("replay")) {
+                mix = TrafficMix.replay(Path.of(opts.get("replay")));
+            } else {
+                Random seeding = new Random(seed);
+                double[] bounds = generator.fetchBounds();
+                List<String> eventIds = generator.seedEvents(Integer.parseInt(opts.getOrDefault("seed-events", "50")), seeding);
+                List<String> userIds = generator.seedUsers(Integer.parseInt(opts.getOrDefault("seed-users", "20")));
+                mix = TrafficMix.synthetic(opts.getOrDefault("mix", TrafficMix.DEFAULT_MIX), bounds,
+                        eventIds, userIds, Integer.parseInt(opts.getOrDefault("compare-runs", "1")));
+            }
+
+            if (warmupSec > 0) {
+                System.out.println("[LoadGen] Warming up for " + warmupSec + "s");
+                generator.run(mix, concurrency, rate, warmupSec, seed + 1);
+            }
+            System.out.println("[LoadGen] Measuring for " + durationSec + "s with " + concurrency + " workers"
+                    + (rate > 0 ? " at " + rate + " req/s" : " (closed loop)"));
+            long started = System.nanoTime();
+            Map<String, EndpointStats> stats = generator.run(mix, concurrency, rate, durationSec, seed + 2);
+            double elapsedSec = (System.nanoTime() - started) / 1e9;
+
+            report(stats, elapsedSec, System.out);
+            if (opts.containsKey("hdr-out")) {
+                writeHistograms(stats, Path.of(opts.get("hdr-out")));
+            }
+        } finally {
+            if (app != null) app.close();
+        }
+    }
+
+    /**
+     * Drive the mix for durationSec and return per-endpoint stats
+     */
+    Map<String, EndpointStats> run(TrafficMix mix, int concurrency, double rate, int durationSec, long seed)
+            throws InterruptedException {
+        Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(durationSec);
+        long intervalNanos = rate > 0 ? (long) (1e9 / rate) : 0;
+        AtomicLong ticket = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        for (int w = 0; w < concurrency; w++) {
+            Random random = new Random(seed * 31 + w);
+            Thread worker = new Thread(() -> {
+                try {
+                    while (true) {
+                        long intended;
+                        if (intervalNanos > 0) {
+                            // Open loop: every request has a slot on a fixed schedule
+                            intended = start + ticket.getAndIncrement() * intervalNanos;
+                            if (intended >= deadline) break;
+                            long wait = intended - System.nanoTime();
+                            if (wait > 0) LockSupport.parkNanos(wait);
+                        } else {
+                            intended = System.nanoTime();
+                            if (intended >= deadline) break;
+                        }
+                        TrafficMix.Call call = mix.next(random);
+                        EndpointStats s = stats.computeIfAbsent(call.endpoint(), k -> new EndpointStats());
+                        execute(call, intended, s);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "loadgen-" + w);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        done.await();
+        return stats;
+    }
+
+    private void execute(TrafficMix.Call call, long intendedNanos, EndpointStats s) {
+        try {
+            HttpResponse<Void> response = http.send(request(call), HttpResponse.BodyHandlers.discarding());
+            record(s, intendedNanos);
+            int status = response.statusCode();
+            if (status >= 500) s.serverErrors.increment();
+            else if (status >= 400) s.clientErrors.increment();
+            else s.ok.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            record(s, intendedNanos);
+            s.failures.increment();
+        }
+    }
+
+    private static void record(EndpointStats s, long intendedNanos) {
+        long latency = System.nanoTime() - intendedNanos;
+        s.latency.recordValue(Math.min(Math.max(latency, 1), HIGHEST_TRACKABLE_NANOS));
+    }
+
+    private HttpRequest request(TrafficMix.Call call) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + call.path()))
+                .timeout(requestTimeout);
+        if (call.body() != null) {
+            builder.header("Content-Type", "application/json")
+                    .method(call.method(), HttpRequest.BodyPublishers.ofString(call.body()));
+        } else {
+            builder.method(call.method(), HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.build();
+    }
+
+    private double[] fetchBounds() throws Exception {
+        HttpResponse<String> response = http.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/navigation/bounds")).timeout(requestTimeout).build(),
+                HttpResponse.BodyHandlers.ofString());
+        JsonNode b = JSON.readTree(response.body());
+        return new double[]{b.get("minLat").asDouble(), b.get("minLng").asDouble(),
+                b.get("maxLat").asDouble(), b.get("maxLng").asDouble()};
+    }
+
+    // Create events to read back; ids feed the events.get share of the mix
+    private List<String> seedEvents(int count, Random random) throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            HttpResponse<String> response = http.send(request(
+                    new TrafficMix.Call("seed", "POST", "/api/events", TrafficMix.eventBody(random))),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 200) {
+                ids.add(JSON.readTree(response.body()).path("id").asText());
+            }
+        }
+        System.out.println("[LoadGen] Seeded " + ids.size() + "/" + count + " events");
+        return ids;
+    }
+
+    private List<String> seedUsers(int count) throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String uid = "loadtest-user-" + i;
+            String body = "{\"uid\":\"" + uid + "\",\"email\":\"" + uid + "@example.edu\","
+                    + "\"displayName\":\"Load Test " + i + "\",\"role\":\"student\"}";
+            // Profiles are owner-only; an unsigned token is enough against the emulator
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/" + uid))
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + unsignedToken(uid))
+                    .PUT(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() == 200) ids.add(uid);
+        }
+        System.out.println("[LoadGen] Seeded " + ids.size() + "/" + count + " users");
+        if (ids.isEmpty() && count > 0) {
+            System.out.println("[LoadGen] User seeding needs the backend on the Firestore emulator (tokens are verified otherwise)");
+        }
+        return ids;
+    }
+
+    // The shape of a Firebase ID token, without a signature
+    private static String unsignedToken(String uid) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(("{\"user_id\":\"" + uid + "\",\"sub\":\"" + uid + "\"}")
+                        .getBytes(StandardCharsets.UTF_8)) + ".";
+    }
+
+    static void report(Map<String, EndpointStats> stats, double elapsedSec, PrintStream out) {
+        out.println();
+        out.printf("%-16s %8s %9s %6s %6s %6s %6s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "req/s", "2xx", "4xx", "5xx", "fail",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(stats).entrySet()) {
+            EndpointStats s = entry.getValue();
+            Histogram h = s.latency;
+            long count = h.getTotalCount();
+            total += count;
+            out.printf("%-16s %8d %9.1f %6d %6d %6d %6d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), count, count / elapsedSec,
+                    s.ok.sum(), s.clientErrors.sum(), s.serverErrors.sum(), s.failures.sum(),
+                    ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)),
+                    ms(h.getValueAtPercentile(99)), ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+        }
+        out.printf("%-16s %8d %9.1f%n", "total", total, total / elapsedSec);
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1e6;
+    }
+
+    // One percentile distribution file per endpoint (plot with HdrHistogram's plotter)
+    private static void writeHistograms(Map<String, EndpointStats> stats, Path dir) throws Exception {
+        Files.createDirectories(dir);
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            Path file = dir.resolve(entry.getKey().replaceAll("[^A-Za-z0-9._-]", "_") + ".hgrm");
+            try (PrintStream out = new PrintStream(new FileOutputStream(file.toFile()))) {
+                entry.getValue().latency.outputPercentileDistribution(out, 1e6); // in ms
+            }
+        }
+        System.out.println("[LoadGen] Wrote histograms to " + dir.toAbsolutePath());
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (String arg : args) {
+            if (arg.isBlank()) continue;
+            if (!arg.startsWith("--")) throw new IllegalArgumentException("Unexpected argument: " + arg);
+            int eq = arg.indexOf('=');
+            if (eq < 0) opts.put(arg.substring(2), "true");
+            else opts.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return opts;
+    }
+
+    private static void printUsage() {
+        System.out.println(String.join("\n",
+                "Options (all --key=value):",
+                "  --target=URL         server to load (default: boot the backend in-process)",
+                "  --profiles=LIST      Spring profiles for the in-process backend",
+                "  --duration=SEC       measured duration (default 30)",
+                "  --warmup=SEC         unmeasured warmup before it (default 5)",
+                "  --concurrency=N      worker threads (default 16)",
+                "  --rate=R             total requests/s; 0 = as fast as workers allow (default 0)",
+                "  --mix=SPEC           endpoint weights (default " + TrafficMix.DEFAULT_MIX + ")",
+                "  --replay=FILE        replay recorded requests (JSON lines) instead of the mix",
+                "  --seed-events=N      events created before the run (default 50)",
+                "  --seed-users=N       users created before the run (default 20)",
+                "  --compare-runs=N     measured runs per /compare request (default 1)",
+                "  --timeout-ms=MS      per-request timeout (default 10000)",
+                "  --hdr-out=DIR        write one .hgrm percentile file per endpoint",
+                "  --seed=N             random seed (default 42)"));
+    }
+}
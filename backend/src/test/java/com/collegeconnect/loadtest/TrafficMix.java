@@ -0,0 +1,145 @@
+package com.collegeconnect.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Source of requests for the load generator: either a weighted synthetic mix of
+ * the endpoints the frontend calls, or a replay of recorded traffic (JSON lines).
+ *
+ * Recording format, one request per line:
+ * {"name":"events.get","method":"GET","path":"/api/events/abc123"}
+ * {"method":"POST","path":"/api/navigation/route","body":{"start":{...},"end":{...}}}
+ * "name" is optional; without it requests are grouped by method and path.
+ */
+class TrafficMix {
+
+    record Call(String endpoint, String method, String path, String body) {}
+
+    static final String DEFAULT_MIX =
+            "route=35,compare=5,events.list=25,events.get=20,events.create=5,users.get=10";
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final Map<String, Integer> weights;
+    private final int totalWeight;
+    private final List<Call> replay;
+    private final AtomicLong replayCursor = new AtomicLong();
+
+    // Filled in by seeding before the run
+    private final double[] bounds; // minLat, minLng, maxLat, maxLng
+    private final List<String> eventIds;
+    private final List<String> userIds;
+    private final int compareRuns;
+
+    private TrafficMix(Map<String, Integer> weights, List<Call> replay, double[] bounds,
+                       List<String> eventIds, List<String> userIds, int compareRuns) {
+        this.weights = weights;
+        this.totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+        this.replay = replay;
+        this.bounds = bounds;
+        this.eventIds = eventIds;
+        this.userIds = userIds;
+        this.compareRuns = compareRuns;
+    }
+
+    static TrafficMix synthetic(String spec, double[] bounds, List<String> eventIds, List<String> userIds,
+                                int compareRuns) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) throw new IllegalArgumentException("Bad mix entry: " + part);
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) weights.put(kv[0].trim(), weight);
+        }
+        if (weights.isEmpty()) throw new IllegalArgumentException("Mix has no positive weights: " + spec);
+        return new TrafficMix(weights, null, bounds, eventIds, userIds, compareRuns);
+    }
+
+    static TrafficMix replay(Path recording) throws IOException {
+        List<Call> calls = new ArrayList<>();
+        for (String line : Files.readAllLines(recording)) {
+            if (line.isBlank()) continue;
+            JsonNode node = JSON.readTree(line);
+            String method = node.path("method").asText("GET").toUpperCase();
+            String path = node.path("path").asText();
+            String body = node.hasNonNull("body") ? JSON.writeValueAsString(node.get("body")) : null;
+            String name = node.hasNonNull("name") ? node.get("name").asText() : method + " " + path;
+            calls.add(new Call(name, method, path, body));
+        }
+        if (calls.isEmpty()) throw new IllegalArgumentException("Recording is empty: " + recording);
+        return new TrafficMix(Map.of(), calls, null, List.of(), List.of(), 1);
+    }
+
+    /**
+     * Next request; thread-safe as long as each worker passes its own Random
+     */
+    Call next(Random random) {
+        if (replay != null) {
+            // Loop over the recording in order, shared by all workers
+            return replay.get((int) (replayCursor.getAndIncrement() % replay.size()));
+        }
+        int pick = random.nextInt(totalWeight);
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) return build(entry.getKey(), random);
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    private Call build(String endpoint, Random random) {
+        switch (endpoint) {
+            case "route":
+                return new Call(endpoint, "POST", "/api/navigation/route", routeBody(random, null));
+            case "compare":
+                return new Call(endpoint, "POST", "/api/navigation/compare",
+                        routeBody(random, "\"runs\":" + compareRuns + ",\"warmup\":0"));
+            case "events.list":
+                return new Call(endpoint, "GET", "/api/events", null);
+            case "events.get":
+                return new Call(endpoint, "GET", "/api/events/" + pickId(eventIds, random), null);
+            case "events.create":
+                return new Call(endpoint, "POST", "/api/events", eventBody(random));
+            case "users.get":
+                return new Call(endpoint, "GET", "/api/users/" + pickId(userIds, random), null);
+            default:
+                throw new IllegalArgumentException("Unknown endpoint in mix: " + endpoint
+                        + " (known: route, compare, events.list, events.get, events.create, users.get)");
+        }
+    }
+
+    private String routeBody(Random random, String extra) {
+        // Points inside the campus bounds, so the outside-campus guard doesn't short-circuit
+        double lat1 = bounds[0] + (bounds[2] - bounds[0]) * random.nextDouble();
+        double lng1 = bounds[1] + (bounds[3] - bounds[1]) * random.nextDouble();
+        double lat2 = bounds[0] + (bounds[2] - bounds[0]) * random.nextDouble();
+        double lng2 = bounds[1] + (bounds[3] - bounds[1]) * random.nextDouble();
+        return "{\"start\":{\"lat\":" + lat1 + ",\"lng\":" + lng1 + "},"
+                + "\"end\":{\"lat\":" + lat2 + ",\"lng\":" + lng2 + "}"
+                + (extra != null ? "," + extra : "") + "}";
+    }
+
+    static String eventBody(Random random) {
+        long when = System.currentTimeMillis() + random.nextInt(30 * 24 * 3600) * 1000L;
+        return "{\"name\":\"Load test event " + random.nextInt(1_000_000) + "\","
+                + "\"description\":\"Generated by the load generator\","
+                + "\"dateTime\":\"" + java.time.Instant.ofEpochMilli(when) + "\","
+                + "\"location\":{\"lat\":17.77,\"lng\":83.37},"
+                + "\"locationName\":\"Load test hall\","
+                + "\"createdBy\":\"loadtest-user-" + random.nextInt(20) + "\"}";
+    }
+
+    private static String pickId(List<String> ids, Random random) {
+        return ids.isEmpty() ? "missing" : ids.get(random.nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,116 @@
+package com.collegeconnect.navigation.algorithm;
+
+import com.collegeconnect.navigation.model.Edge;
+import com.collegeconnect.navigation.model.EdgeWeights;
+import com.collegeconnect.navigation.model.Graph;
+import com.collegeconnect.navigation.model.Node;
+import com.collegeconnect.navigation.model.QueryGraph;
+import com.collegeconnect.navigation.model.Route;
+import com.collegeconnect.navigation.model.SegmentIndex;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HubLabelsTest {
+
+    //   a --100-- b --100-- c
+    //   |         |         ^
+    //   50        30        | 20 (one way d -> c)
+    //   |         |         |
+    //   +-- d ----+---------+        e (isolated)
+    private final Node a = new Node("a", 0, 0), b = new Node("b", 0, 0.001), c = new Node("c", 0, 0.002),
+            d = new Node("d", -0.001, 0.001), e = new Node("e", 1, 1);
+    private final Graph graph = graph();
+
+    private Graph graph() {
+        Graph graph = new Graph();
+        graph.addEdge(new Edge(a, b, 100, true));
+        graph.addEdge(new Edge(b, c, 100, true));
+        graph.addEdge(new Edge(a, d, 50, true));
+        graph.addEdge(new Edge(b, d, 30, true));
+        graph.addEdge(new Edge(d, c, 20, false));
+        graph.addNode(e);
+        graph.labelComponents();
+        return graph;
+    }
+
+    @Test
+    void cost_matchesDijkstraForEveryPair() {
+        HubLabels labels = HubLabels.build(graph, EdgeWeights.DISTANCE);
+        for (Node from : List.of(a, b, c, d, e)) {
+            ShortestPathTree tree = ShortestPathTree.forward(graph, from, EdgeWeights.DISTANCE);
+            tree.growAll();
+            for (Node to : List.of(a, b, c, d, e)) {
+                assertEquals(tree.getCost(to), labels.cost(from, to), 1e-9);
+            }
+        }
+        assertEquals(70, labels.cost(a, c), 1e-9);   // a -> d -> c
+        assertEquals(130, labels.cost(c, d), 1e-9);  // c -> b -> d, d -> c is one way
+        assertEquals(Double.POSITIVE_INFINITY, labels.cost(a, e));
+    }
+
+    @Test
+    void path_unpacksEdgesInTravelOrder() {
+        HubLabels labels = HubLabels.build(graph, EdgeWeights.DISTANCE);
+
+        List<Edge> path = labels.path(c, a);
+
+        assertEquals(List.of(c, b, d), path.stream().map(Edge::getFrom).toList());
+        assertEquals(List.of(b, d, a), path.stream().map(Edge::getTo).toList());
+        assertEquals(180, labels.distance(c, a), 1e-9);
+        assertTrue(labels.path(a, e).isEmpty());
+    }
+
+    @Test
+    void findRoute_routesBetweenVirtualNodesOnTheSameStreet() {
+        HubLabels labels = HubLabels.build(graph, EdgeWeights.DISTANCE);
+        Edge ab = graph.getNeighbors(a).get(0);
+        QueryGraph query = new QueryGraph(graph, List.of(
+                new SegmentIndex.Snap(1, 1, ab, 0.2, 0, 0.0002, 0),
+                new SegmentIndex.Snap(2, 2, ab, 0.7, 0, 0.0007, 0)));
+
+        Route direct = labels.findRoute(query, 1, 1, 2, 2, query.wrap(EdgeWeights.DISTANCE));
+        Route back = labels.findRoute(query, 2, 2, 1, 1, query.wrap(EdgeWeights.DISTANCE));
+
+        // Straight along the street, not out to a or b and back
+        assertEquals(List.of(query.getQueryNode(0), query.getQueryNode(1)), direct.getPath());
+        assertEquals(50, direct.getTotalDistance(), 1e-9);
+        assertEquals(50, back.getTotalDistance(), 1e-9);
+        assertEquals("HL", labels.getName());
+    }
+
+    @Test
+    void findRoute_leavesAVirtualStartThroughTheLabelledGraph() {
+        HubLabels labels = HubLabels.build(graph, EdgeWeights.DISTANCE);
+        Edge ab = graph.getNeighbors(a).get(0);
+        QueryGraph query = new QueryGraph(graph, List.of(
+                new SegmentIndex.Snap(1, 1, ab, 0.2, 0, 0.0002, 0),
+                new SegmentIndex.Snap(c.getLatitude(), c.getLongitude(), graph.getNeighbors(c).get(0), 0, 0, 0.002, 0)));
+
+        Route route = labels.findRoute(query, 1, 1, c.getLatitude(), c.getLongitude(), query.wrap(EdgeWeights.DISTANCE));
+
+        // 20 back to a, then a -> d -> c
+        assertEquals(90, route.getTotalDistance(), 1e-9);
+        assertEquals(List.of(a, d, c), route.getPath().subList(1, 4));
+    }
+
+    @Test
+    void read_returnsWrittenLabelsAndRejectsOtherCosts() throws Exception {
+        HubLabels labels = HubLabels.build(graph, EdgeWeights.DISTANCE);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        labels.write(bytes);
+
+        HubLabels back = HubLabels.read(new ByteArrayInputStream(bytes.toByteArray()), graph, EdgeWeights.DISTANCE);
+        EdgeWeights doubled = edge -> edge.getWeight() * 2;
+        HubLabels stale = HubLabels.read(new ByteArrayInputStream(bytes.toByteArray()), graph, doubled);
+
+        assertEquals(labels.getEntryCount(), back.getEntryCount());
+        assertEquals(130, back.cost(c, d), 1e-9);
+        assertEquals(List.of(c, b, d), back.path(c, a).stream().map(Edge::getFrom).toList());
+        assertNull(stale);
+    }
+}
@@ -0,0 +1,69 @@
+package com.collegeconnect.navigation.algorithm;
+
+import com.collegeconnect.navigation.model.Edge;
+import com.collegeconnect.navigation.model.EdgeWeights;
+import com.collegeconnect.navigation.model.Graph;
+import com.collegeconnect.navigation.model.Node;
+import com.collegeconnect.navigation.model.PlaceIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlaceDistanceTableTest {
+
+    //   a --100-- b --100-- c
+    //   |                   |
+    //   +--------50-------- d        e (isolated)
+    private final Node a = new Node("a", 0, 0), b = new Node("b", 0, 1), c = new Node("c", 0, 2),
+            d = new Node("d", 1, 2), e = new Node("e", 5, 5);
+    private final Graph graph = graph();
+
+    private Graph graph() {
+        Graph graph = new Graph();
+        graph.addEdge(new Edge(a, b, 100, true));
+        graph.addEdge(new Edge(b, c, 100, true));
+        graph.addEdge(new Edge(a, d, 50, true));
+        graph.addEdge(new Edge(d, c, 20, false)); // one way d -> c
+        graph.addNode(e);
+        graph.labelComponents();
+        return graph;
+    }
+
+    private static PlaceIndex.Place place(String id, Node... entrances) {
+        return new PlaceIndex.Place(id, "Place " + id, "building", 0, 0, List.of(entrances));
+    }
+
+    @Test
+    void best_picksCheapestEntrancePairAndUnpacksItsPath() {
+        PlaceIndex.Place library = place("w1", a);
+        PlaceIndex.Place hall = place("w2", b, c);
+        PlaceIndex.Place island = place("w3", e);
+        PlaceDistanceTable table = PlaceDistanceTable.build(graph, new PlaceIndex(List.of(library, hall, island)),
+                EdgeWeights.DISTANCE);
+        assertEquals(4, table.getSize());
+
+        // a -> c via d (70) beats a -> b (100)
+        PlaceDistanceTable.Leg leg = table.best(library, hall);
+        assertSame(c, leg.to());
+        assertEquals(70, leg.distance(), 1e-3);
+        assertEquals(List.of(a, d, c), table.path(leg.from(), leg.to()));
+
+        // The one-way edge only helps in its own direction
+        PlaceDistanceTable.Leg back = table.best(hall, library);
+        assertSame(b, back.from());
+        assertEquals(100, back.cost(), 1e-3);
+        assertEquals(List.of(b, a), table.path(back.from(), back.to()));
+
+        assertNull(table.best(library, island));
+        assertTrue(table.path(a, e).isEmpty());
+    }
+
+    @Test
+    void best_returnsNullForEntrancesOutsideTheTable() {
+        PlaceDistanceTable table = PlaceDistanceTable.build(graph, new PlaceIndex(List.of(place("w1", a))),
+                EdgeWeights.DISTANCE);
+        assertNull(table.best(place("w1", a), place("w9", new Node("b", 0, 1))));
+    }
+}
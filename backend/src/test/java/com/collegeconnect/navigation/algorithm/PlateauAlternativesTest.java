@@ -0,0 +1,69 @@
+package com.collegeconnect.navigation.algorithm;
+
+import com.collegeconnect.navigation.model.Edge;
+import com.collegeconnect.navigation.model.EdgeWeights;
+import com.collegeconnect.navigation.model.Graph;
+import com.collegeconnect.navigation.model.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlateauAlternativesTest {
+
+    //   s --100-- n1 --100-- n2 --100-- t   (north corridor, 300)
+    //   s --120-- m1 --120-- m2 --120-- t   (south corridor, 360)
+    private final Node s = new Node("s", 0, 0), t = new Node("t", 0, 0.003),
+            n1 = new Node("n1", 0.001, 0.001), n2 = new Node("n2", 0.001, 0.002),
+            m1 = new Node("m1", -0.001, 0.001), m2 = new Node("m2", -0.001, 0.002);
+    private final Graph graph = graph();
+
+    private Graph graph() {
+        Graph graph = new Graph();
+        graph.addEdge(new Edge(s, n1, 100, true));
+        graph.addEdge(new Edge(n1, n2, 100, true));
+        graph.addEdge(new Edge(n2, t, 100, true));
+        graph.addEdge(new Edge(s, m1, 120, true));
+        graph.addEdge(new Edge(m1, m2, 120, true));
+        graph.addEdge(new Edge(m2, t, 120, true));
+        return graph;
+    }
+
+    @Test
+    void find_returnsBothCorridorsBestFirstWithoutDuplicates() {
+        List<PlateauAlternatives.Alternative> found =
+                new PlateauAlternatives().find(graph, s, t, EdgeWeights.DISTANCE, 5);
+
+        assertEquals(2, found.size());
+        assertEquals(List.of(s, n1, n2, t), found.get(0).route().getPath());
+        assertEquals(300, found.get(0).route().getTotalDistance(), 1e-9);
+        assertEquals(1.0, found.get(0).stretch(), 1e-9);
+        assertEquals(1.0, found.get(0).overlap(), 1e-9);
+
+        assertEquals(List.of(s, m1, m2, t), found.get(1).route().getPath());
+        assertEquals(360, found.get(1).route().getTotalDistance(), 1e-9);
+        assertEquals(1.2, found.get(1).stretch(), 1e-9);
+        assertEquals(0.0, found.get(1).overlap(), 1e-9);
+    }
+
+    @Test
+    void find_dropsCorridorsBeyondTheAllowedStretch() {
+        // The south corridor costs 20% more than the best route
+        List<PlateauAlternatives.Alternative> found =
+                new PlateauAlternatives(0.1, 0.2, 0.75).find(graph, s, t, EdgeWeights.DISTANCE, 5);
+
+        assertEquals(1, found.size());
+        assertEquals(List.of(s, n1, n2, t), found.get(0).route().getPath());
+    }
+
+    @Test
+    void find_handlesMissingRoutesAndSmallK() {
+        Node island = new Node("island", 1, 1);
+        graph.addNode(island);
+
+        assertTrue(new PlateauAlternatives().find(graph, s, island, EdgeWeights.DISTANCE, 3).isEmpty());
+        assertTrue(new PlateauAlternatives().find(graph, s, s, EdgeWeights.DISTANCE, 3).isEmpty());
+        assertEquals(1, new PlateauAlternatives().find(graph, s, t, EdgeWeights.DISTANCE, 1).size());
+    }
+}
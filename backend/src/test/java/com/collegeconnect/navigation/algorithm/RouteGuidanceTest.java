@@ -0,0 +1,89 @@
+package com.collegeconnect.navigation.algorithm;
+
+import com.collegeconnect.navigation.model.Edge;
+import com.collegeconnect.navigation.model.Graph;
+import com.collegeconnect.navigation.model.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RouteGuidanceTest {
+
+    //   a -- m1 -- b -- m2 -- c     (way 1, "Main Road", heading east)
+    //               |
+    //               d              (way 2, "Library Lane", heading south)
+    //               |
+    //               e
+    private final Node a = new Node("a", 0, 0), m1 = new Node("m1", 0.00001, 0.0005), b = new Node("b", 0, 0.001),
+            m2 = new Node("m2", 0, 0.0015), c = new Node("c", 0, 0.002),
+            d = new Node("d", -0.0005, 0.001), e = new Node("e", -0.001, 0.001);
+    private final Graph graph = graph();
+
+    private Graph graph() {
+        Graph graph = new Graph();
+        graph.addEdge(new Edge(a, m1, 55, true, 1));
+        graph.addEdge(new Edge(m1, b, 55, true, 1));
+        graph.addEdge(new Edge(b, m2, 55, true, 1));
+        graph.addEdge(new Edge(m2, c, 55, true, 1));
+        graph.addEdge(new Edge(b, d, 55, true, 2));
+        graph.addEdge(new Edge(d, e, 55, true, 2));
+        graph.setWayName(1, "Main Road");
+        graph.setWayName(2, "Library Lane");
+        return graph;
+    }
+
+    @Test
+    void describe_turnsAtJunctionOntoNamedStreet() {
+        RouteGuidance.Guidance guidance = RouteGuidance.describe(graph, List.of(a, m1, b, d, e), 300, 2.0);
+
+        List<RouteGuidance.Instruction> steps = guidance.instructions();
+        assertEquals(3, steps.size());
+        assertEquals("depart", steps.get(0).type());
+        assertEquals("Main Road", steps.get(0).street());
+        assertEquals("turn", steps.get(1).type());
+        assertEquals("right", steps.get(1).modifier());
+        assertEquals("Library Lane", steps.get(1).street());
+        assertEquals("arrive", steps.get(2).type());
+
+        // m1 and d lie within the tolerance of the straight legs; the maneuver point stays
+        assertEquals(List.of(a, b, e), guidance.path());
+        assertSame(b, guidance.path().get(steps.get(1).pointIndex()));
+        assertEquals(2, steps.get(2).pointIndex());
+
+        double total = steps.get(0).distance() + steps.get(1).distance();
+        assertEquals(300, steps.get(0).duration() + steps.get(1).duration(), 1e-6);
+        assertEquals(222, total, 5); // about 111 m per leg
+    }
+
+    @Test
+    void describe_noManeuverWhenGoingStraightOnSameStreet() {
+        RouteGuidance.Guidance guidance = RouteGuidance.describe(graph, List.of(a, m1, b, m2, c), 200, 2.0);
+
+        assertEquals(List.of("depart", "arrive"),
+                guidance.instructions().stream().map(RouteGuidance.Instruction::type).toList());
+        assertEquals("Head east on Main Road", guidance.instructions().get(0).text());
+    }
+
+    @Test
+    void simplify_keepsEndsForcedPointsAndPointsBeyondTolerance() {
+        double[] x = {0, 10, 20, 30, 40, 50};
+        double[] y = {0, 2.8, 5, 2.2, 0, 0};
+        boolean[] keep = new boolean[6];
+        keep[0] = true;
+        keep[5] = true;
+        keep[4] = true; // a maneuver on the straight part
+
+        RouteGuidance.simplify(x, y, keep, 1.0);
+
+        assertArrayEquals(new boolean[]{true, false, true, false, true, true}, keep);
+    }
+
+    @Test
+    void simplify_zeroToleranceKeepsEverything() {
+        boolean[] keep = {true, false, false, true};
+        RouteGuidance.simplify(new double[]{0, 1, 2, 3}, new double[]{0, 0, 0, 0}, keep, 0);
+        assertArrayEquals(new boolean[]{true, true, true, true}, keep);
+    }
+}
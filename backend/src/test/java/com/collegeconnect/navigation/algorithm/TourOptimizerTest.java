@@ -0,0 +1,118 @@
+package com.collegeconnect.navigation.algorithm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TourOptimizerTest {
+
+    private static final long BUDGET_NANOS = 1_000_000_000L;
+
+    // Seven stops (metres) where the nearest-neighbour start is poor in every variant below,
+    // so each result depends on the 2-opt and Or-opt moves
+    private final double[][] points = {
+            {0, 0}, {30, 90}, {230, 150}, {70, 100}, {70, 60}, {40, 0}, {210, 50}
+    };
+    private final double[][] symmetric = euclidean(points);
+    // Same stops, but every hop against the clockwise direction costs a third more (one-way streets, hills)
+    private final double[][] asymmetric = skewed(symmetric);
+
+    @Test
+    void solve_matchesBruteForceOnSmallInstances() {
+        for (double[][] cost : new double[][][]{symmetric, asymmetric}) {
+            for (boolean roundTrip : new boolean[]{true, false}) {
+                TourOptimizer.Result result = new TourOptimizer().solve(cost, roundTrip, BUDGET_NANOS);
+
+                assertEquals(0, result.order()[0]);
+                assertArrayEquals(new int[]{0, 1, 2, 3, 4, 5, 6}, sorted(result.order()));
+                assertEquals(TourOptimizer.tourCost(cost, result.order(), roundTrip), result.cost(), 1e-9);
+                assertEquals(bruteForce(cost, roundTrip), result.cost(), 1e-6);
+                assertTrue(result.improvements() > 0);
+                assertFalse(result.budgetExhausted());
+            }
+        }
+    }
+
+    @Test
+    void solve_neverUsesAHopThatCannotBeTravelled() {
+        // NavigationService.tour passes hops with no path as 1e12; stop 3 can only be entered from stop 2
+        double[][] cost = euclidean(points);
+        for (int i = 0; i < cost.length; i++) {
+            if (i != 2 && i != 3) cost[i][3] = 1e12;
+        }
+        TourOptimizer.Result result = new TourOptimizer().solve(cost, true, BUDGET_NANOS);
+
+        int at = indexOf(result.order(), 3);
+        assertEquals(2, result.order()[at - 1]);
+        assertTrue(result.cost() < 1e12);
+        assertEquals(bruteForce(cost, true), result.cost(), 1e-6);
+    }
+
+    @Test
+    void solve_handlesTinyInstances() {
+        assertArrayEquals(new int[]{0}, new TourOptimizer().solve(new double[][]{{0}}, true, BUDGET_NANOS).order());
+
+        // Greedy picks 1 first, but 0 -> 2 -> 1 is shorter
+        double[][] three = {{0, 1, 2}, {9, 0, 9}, {9, 1, 0}};
+        TourOptimizer.Result result = new TourOptimizer().solve(three, false, BUDGET_NANOS);
+        assertArrayEquals(new int[]{0, 2, 1}, result.order());
+        assertEquals(3, result.cost(), 1e-9);
+    }
+
+    private static double bruteForce(double[][] cost, boolean roundTrip) {
+        int[] tour = new int[cost.length];
+        for (int i = 0; i < tour.length; i++) tour[i] = i;
+        return permute(cost, tour, 1, roundTrip);
+    }
+
+    // Cheapest tour over every order of tour[k..], with tour[0..k) fixed
+    private static double permute(double[][] cost, int[] tour, int k, boolean roundTrip) {
+        if (k == tour.length) return TourOptimizer.tourCost(cost, tour, roundTrip);
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = k; i < tour.length; i++) {
+            swap(tour, k, i);
+            best = Math.min(best, permute(cost, tour, k + 1, roundTrip));
+            swap(tour, k, i);
+        }
+        return best;
+    }
+
+    private static void swap(int[] a, int i, int j) {
+        int tmp = a[i];
+        a[i] = a[j];
+        a[j] = tmp;
+    }
+
+    private static double[][] euclidean(double[][] points) {
+        int n = points.length;
+        double[][] cost = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                cost[i][j] = Math.hypot(points[i][0] - points[j][0], points[i][1] - points[j][1]);
+            }
+        }
+        return cost;
+    }
+
+    private static double[][] skewed(double[][] cost) {
+        double[][] out = new double[cost.length][];
+        for (int i = 0; i < cost.length; i++) {
+            out[i] = cost[i].clone();
+            for (int j = 0; j < i; j++) out[i][j] *= 4.0 / 3;
+        }
+        return out;
+    }
+
+    private static int[] sorted(int[] order) {
+        int[] copy = order.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    private static int indexOf(int[] order, int stop) {
+        for (int i = 0; i < order.length; i++) if (order[i] == stop) return i;
+        return -1;
+    }
+}
@@ -0,0 +1,93 @@
+package com.collegeconnect.navigation.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectedComponentsTest {
+
+    //   a -> b -> c -> a (one-way cycle), c -> d -> e (one way, e is a sink)
+    //   f <-> g (two-way, not linked to the rest), h isolated
+    private final Node a = node("a"), b = node("b"), c = node("c"), d = node("d"), e = node("e"),
+            f = node("f"), g = node("g"), h = node("h");
+    private final Graph graph = graph();
+
+    private static Node node(String id) {
+        return new Node(id, 0, 0);
+    }
+
+    private Graph graph() {
+        Graph graph = new Graph();
+        // Tail first: the search starts at d, and the cycle later meets it again through an edge into a finished component
+        graph.addEdge(new Edge(d, e, 10, false));
+        graph.addEdge(new Edge(c, d, 10, false));
+        graph.addEdge(new Edge(a, b, 10, false));
+        graph.addEdge(new Edge(b, c, 10, false));
+        graph.addEdge(new Edge(c, a, 10, false));
+        graph.addEdge(new Edge(f, g, 10, true));
+        graph.addNode(h);
+        graph.labelComponents();
+        return graph;
+    }
+
+    @Test
+    void strongComponents_separateTheCycleFromItsOneWayTail() {
+        ConnectedComponents components = graph.getComponents();
+
+        assertEquals(graph.getStrongComponent(a), graph.getStrongComponent(b));
+        assertEquals(graph.getStrongComponent(a), graph.getStrongComponent(c));
+        assertEquals(graph.getStrongComponent(f), graph.getStrongComponent(g));
+        List<Integer> distinct = List.of(graph.getStrongComponent(a), graph.getStrongComponent(d),
+                graph.getStrongComponent(e), graph.getStrongComponent(f), graph.getStrongComponent(h));
+        assertEquals(5, distinct.stream().distinct().count());
+        assertEquals(5, components.getStrongCount());
+
+        assertEquals(graph.getStrongComponent(a), components.getLargestStrong());
+        assertEquals(3, components.getLargestStrongSize());
+    }
+
+    @Test
+    void weakComponents_ignoreEdgeDirection() {
+        ConnectedComponents components = graph.getComponents();
+
+        for (Node n : List.of(b, c, d, e)) {
+            assertEquals(graph.getComponent(a), graph.getComponent(n));
+        }
+        assertEquals(graph.getComponent(f), graph.getComponent(g));
+        assertNotEquals(graph.getComponent(a), graph.getComponent(f));
+        assertNotEquals(graph.getComponent(a), graph.getComponent(h));
+        assertEquals(3, components.getWeakCount());
+        assertEquals(graph.getComponent(a), components.getLargestWeak());
+    }
+
+    @Test
+    void mayConnect_rejectsOnlyPairsInDifferentWeakComponents() {
+        assertFalse(graph.mayConnect(a, f));
+        assertFalse(graph.mayConnect(g, e));
+        assertFalse(graph.mayConnect(h, a));
+        assertTrue(graph.mayConnect(a, e));
+        // Weak components can't see direction: e can't reach a, but the pair isn't ruled out
+        assertTrue(graph.mayConnect(e, a));
+        assertTrue(graph.mayConnect(h, h));
+    }
+
+    @Test
+    void strongComponents_handleLongChainsWithoutRecursion() {
+        // A one-way chain this long would overflow a recursive Tarjan
+        Graph chain = new Graph();
+        int n = 200_000;
+        Node previous = node("0");
+        for (int i = 1; i < n; i++) {
+            Node next = node(String.valueOf(i));
+            chain.addEdge(new Edge(previous, next, 1, false));
+            previous = next;
+        }
+        chain.addEdge(new Edge(previous, chain.getNode("0"), 1, false));
+        chain.labelComponents();
+
+        assertEquals(1, chain.getComponents().getStrongCount());
+        assertEquals(n, chain.getComponents().getLargestStrongSize());
+    }
+}
@@ -0,0 +1,52 @@
+package com.collegeconnect.navigation.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlaceIndexTest {
+
+    private static PlaceIndex.Place place(String id, String name) {
+        return new PlaceIndex.Place(id, name, "building", 17.78, 83.37, List.of(new Node("n" + id, 17.78, 83.37)));
+    }
+
+    private static List<String> names(List<PlaceIndex.Place> places) {
+        return places.stream().map(PlaceIndex.Place::name).toList();
+    }
+
+    private final PlaceIndex index = new PlaceIndex(List.of(
+            place("w1", "GITAM School of Law"),
+            place("w2", "GITAM Bhavan"),
+            place("w3", "C V Raman Bhavan"),
+            place("w4", "Old Bheemas Canteen"),
+            place("n5", "Café Coffee Day"),
+            place("w6", "Gitam University")));
+
+    @Test
+    void search_matchesWordPrefixesInAnyPosition() {
+        assertEquals(List.of("GITAM Bhavan", "C V Raman Bhavan"), names(index.search("bhav", 10)));
+        assertEquals(List.of("Old Bheemas Canteen"), names(index.search("CANTEEN", 10)));
+        assertEquals(List.of("Café Coffee Day"), names(index.search("cafe", 10)));
+        assertTrue(index.search("xyz", 10).isEmpty());
+    }
+
+    @Test
+    void search_requiresEveryWordAndRanksNamePrefixFirst() {
+        assertEquals(List.of("GITAM School of Law"), names(index.search("gitam sch", 10)));
+        assertTrue(index.search("gitam canteen", 10).isEmpty());
+        // Name starts with the query, then shorter names first
+        assertEquals(List.of("GITAM Bhavan", "Gitam University", "GITAM School of Law"), names(index.search("git", 10)));
+        assertEquals(List.of("C V Raman Bhavan"), names(index.search("bhavan c", 10)));
+        assertEquals(2, index.search("git", 2).size());
+    }
+
+    @Test
+    void blankQueryListsByNameAndIdsResolve() {
+        assertEquals(List.of("C V Raman Bhavan", "Café Coffee Day"), names(index.search("  ", 2)));
+        assertEquals("GITAM Bhavan", index.get("w2").name());
+        assertNull(index.get("w99"));
+        assertEquals(0, PlaceIndex.EMPTY.search("a", 5).size());
+    }
+}
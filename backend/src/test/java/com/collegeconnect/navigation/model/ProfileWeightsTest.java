@@ -0,0 +1,82 @@
+package com.collegeconnect.navigation.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProfileWeightsTest {
+
+    private static final int PAVED = EdgeTags.SURFACE_PAVED << EdgeTags.SURFACE_SHIFT;
+    private static final int ROUGH = EdgeTags.SURFACE_ROUGH << EdgeTags.SURFACE_SHIFT;
+
+    private final Node a = new Node("a", 0, 0), b = new Node("b", 0, 0.001);
+    // One-way 100 m edges: plain footway, steps, rough service road, oneway road walked against its direction
+    private final Edge footway = new Edge(a, b, 100, false, 1, EdgeTags.FOOTWAY | PAVED);
+    private final Edge steps = new Edge(a, b, 100, false, 2, EdgeTags.STEPS);
+    private final Edge rough = new Edge(a, b, 100, false, 3, EdgeTags.SERVICE | ROUGH);
+    private final Edge againstOneway = new Edge(a, b, 100, false, 4,
+            EdgeTags.RESIDENTIAL | PAVED | EdgeTags.ONEWAY | EdgeTags.REVERSE);
+    private final Graph graph = graph();
+
+    private Graph graph() {
+        Graph graph = new Graph();
+        graph.addEdge(footway);
+        graph.addEdge(steps);
+        graph.addEdge(rough);
+        graph.addEdge(againstOneway);
+        return graph;
+    }
+
+    @Test
+    void walk_slowsDownOnStepsButUsesEverything() {
+        ProfileWeights weights = ProfileWeights.build(graph, RoutingProfile.WALK);
+
+        assertEquals(100 / 1.4, weights.weight(footway), 1e-9);
+        assertEquals(1.5 * 100 / 1.4, weights.weight(steps), 1e-9);
+        assertEquals(100 / 1.4, weights.weight(rough), 1e-9);
+        assertEquals(100 / 1.4, weights.weight(againstOneway), 1e-9);
+        assertEquals(4, weights.getUsableEdges());
+        assertEquals(1 / 1.4, weights.minCostPerMeter(), 1e-9);
+    }
+
+    @Test
+    void wheelchair_cannotUseStepsAndPaysForRoughSurfaces() {
+        ProfileWeights weights = ProfileWeights.build(graph, RoutingProfile.WHEELCHAIR);
+
+        assertEquals(100.0, weights.weight(footway), 1e-9);
+        assertEquals(Double.POSITIVE_INFINITY, weights.weight(steps));
+        assertEquals(300.0, weights.weight(rough), 1e-9);
+        assertEquals(3, weights.getUsableEdges());
+    }
+
+    @Test
+    void bike_avoidsFootwaysAndRespectsOneways() {
+        ProfileWeights weights = ProfileWeights.build(graph, RoutingProfile.BIKE);
+
+        assertEquals(2 * 100 / 4.5, weights.weight(footway), 1e-9);
+        assertEquals(Double.POSITIVE_INFINITY, weights.weight(steps));
+        assertEquals(2 * 100 / 4.5, weights.weight(rough), 1e-9);
+        assertEquals(Double.POSITIVE_INFINITY, weights.weight(againstOneway));
+        assertEquals(2, weights.getUsableEdges());
+    }
+
+    @Test
+    void minCostPerMeter_neverExceedsAnyEdgeCost() {
+        for (RoutingProfile profile : RoutingProfile.values()) {
+            ProfileWeights weights = ProfileWeights.build(graph, profile);
+            for (Edge edge : new Edge[]{footway, steps, rough, againstOneway}) {
+                assertTrue(weights.weight(edge) >= edge.getWeight() * weights.minCostPerMeter() - 1e-9,
+                        profile + " underestimates edge " + edge.getWayId());
+            }
+        }
+    }
+
+    @Test
+    void fromName_acceptsAliasesAndRejectsUnknownNames() {
+        assertEquals(RoutingProfile.WALK, RoutingProfile.fromName(null));
+        assertEquals(RoutingProfile.WALK, RoutingProfile.fromName(" "));
+        assertEquals(RoutingProfile.WHEELCHAIR, RoutingProfile.fromName("accessible"));
+        assertEquals(RoutingProfile.BIKE, RoutingProfile.fromName(" Cycling "));
+        assertThrows(IllegalArgumentException.class, () -> RoutingProfile.fromName("car"));
+    }
+}
@@ -0,0 +1,111 @@
+package com.collegeconnect.navigation.model;
+
+import com.collegeconnect.navigation.util.GeoMath;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SegmentIndexTest {
+
+    // A few streets spread over roughly 400 m x 300 m of campus, crossing several 50 m cells
+    private static final double LAT = 17.78, LNG = 83.37;
+    private final Node a = node("a", 0, 0), b = node("b", 0, 400), c = node("c", 300, 400),
+            d = node("d", 120, 35), e = node("e", 260, 180), f = node("f", 300, 0);
+    private final Graph graph = graph();
+    private final SegmentIndex index = new SegmentIndex(graph);
+
+    // Node at the given offset in meters (north, east) from the campus origin
+    private static Node node(String id, double north, double east) {
+        return new Node(id, LAT + north / GeoMath.METERS_PER_DEGREE,
+                LNG + east / GeoMath.metersPerDegreeLng(LAT));
+    }
+
+    private Graph graph() {
+        Graph graph = new Graph();
+        graph.addEdge(new Edge(a, b, 400, true));
+        graph.addEdge(new Edge(b, c, 300, true));
+        graph.addEdge(new Edge(d, e, 200, true));
+        graph.addEdge(new Edge(f, e, 250, false));
+        return graph;
+    }
+
+    @Test
+    void nearest_farAwayPointsDoNotSnap() {
+        assertNull(index.nearest(0, 0, null));
+        assertNull(index.nearest(-90, 180, null));
+        assertNull(index.nearest(Double.NaN, LNG, null));
+        // 1.5 km north of the northernmost street
+        Node far = node("far", 1800, 200);
+        assertNull(index.nearest(far.getLatitude(), far.getLongitude(), null));
+    }
+
+    @Test
+    void nearest_pointJustOffTheGridSnapsToTheClosestStreet() {
+        Node south = node("south", -120, 200);
+        SegmentIndex.Snap snap = index.nearest(south.getLatitude(), south.getLongitude(), null);
+
+        assertNotNull(snap);
+        assertSame(a, snap.edge().getFrom());
+        assertSame(b, snap.edge().getTo());
+        assertEquals(0.5, snap.fraction(), 1e-6);
+        assertEquals(120, snap.distance(), 0.5);
+    }
+
+    @Test
+    void nearest_matchesBruteForceBetweenAndOnCellBorders() {
+        List<Edge> edges = List.of(graph.getEdge(0), graph.getEdge(2), graph.getEdge(4), graph.getEdge(6));
+        // 12.5 m steps land on cell borders as well as between them
+        for (double north = -60; north <= 360; north += 12.5) {
+            for (double east = -60; east <= 460; east += 12.5) {
+                Node p = node("p", north, east);
+                SegmentIndex.Snap snap = index.nearest(p.getLatitude(), p.getLongitude(), null);
+                assertNotNull(snap, "no snap at " + north + ", " + east);
+
+                double best = Double.MAX_VALUE;
+                for (Edge edge : edges) best = Math.min(best, distance(north, east, edge));
+                assertEquals(best, snap.distance(), 0.05, "wrong snap at " + north + ", " + east);
+            }
+        }
+    }
+
+    @Test
+    void nearest_skipsSegmentsTheWeightsCannotUse() {
+        EdgeWeights noFromF = new EdgeWeights() {
+            @Override
+            public double weight(Edge edge) {
+                return edge.getFrom() == f ? Double.POSITIVE_INFINITY : edge.getWeight();
+            }
+
+            @Override
+            public double minCostPerMeter() {
+                return 1.0;
+            }
+        };
+        // Right next to f, but f -> e is one way and blocked
+        Node nearF = node("nearF", 290, 10);
+        SegmentIndex.Snap snap = index.nearest(nearF.getLatitude(), nearF.getLongitude(), noFromF);
+
+        assertNotNull(snap);
+        assertNotSame(f, snap.edge().getFrom());
+        assertNotSame(f, snap.edge().getTo());
+    }
+
+    // Point-to-segment distance in the same local projection the index uses
+    private static double distance(double north, double east, Edge edge) {
+        double ay = north(edge.getFrom()), ax = east(edge.getFrom());
+        double by = north(edge.getTo()), bx = east(edge.getTo());
+        double dx = bx - ax, dy = by - ay;
+        double t = Math.max(0, Math.min(1, ((east - ax) * dx + (north - ay) * dy) / (dx * dx + dy * dy)));
+        return Math.hypot(ax + t * dx - east, ay + t * dy - north);
+    }
+
+    private static double north(Node n) {
+        return (n.getLatitude() - LAT) * GeoMath.METERS_PER_DEGREE;
+    }
+
+    private static double east(Node n) {
+        return (n.getLongitude() - LNG) * GeoMath.metersPerDegreeLng(LAT);
+    }
+}
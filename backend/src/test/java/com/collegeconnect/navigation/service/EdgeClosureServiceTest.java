@@ -0,0 +1,122 @@
+package com.collegeconnect.navigation.service;
+
+import com.collegeconnect.navigation.model.Edge;
+import com.collegeconnect.navigation.model.EdgeOverlay;
+import com.collegeconnect.navigation.model.EdgeWeights;
+import com.collegeconnect.navigation.model.Graph;
+import com.collegeconnect.navigation.model.GraphSnapshot;
+import com.collegeconnect.navigation.model.Node;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EdgeClosureServiceTest {
+
+    //   a --way 1-- b --way 2-- c   (both two-way, so two directed edges per way)
+    private final Node a = new Node("a", 0, 0), b = new Node("b", 0, 0.001), c = new Node("c", 0, 0.002);
+    private final Graph graph = graph();
+    private final GraphSnapshot snapshot = new GraphSnapshot(1, graph, 0, 0, 0, 0.002, "test");
+    private final EdgeClosureService service = new EdgeClosureService();
+
+    private Graph graph() {
+        Graph graph = new Graph();
+        graph.addEdge(new Edge(a, b, 100, true, 1));
+        graph.addEdge(new Edge(b, c, 100, true, 2));
+        return graph;
+    }
+
+    @Test
+    void overlayFor_blocksOrPenalizesEveryEdgeOfTheWay() {
+        service.addClosure(List.of(1L), true, 0, null, null, "construction");
+        service.addClosure(List.of(2L), false, 3, null, null, "crowd");
+
+        EdgeOverlay overlay = service.overlayFor(snapshot);
+        EdgeWeights weights = overlay.apply(EdgeWeights.DISTANCE);
+        assertEquals(4, overlay.getAffectedEdges());
+        for (int id : graph.getEdgeIdsForWay(1)) {
+            assertTrue(overlay.isBlocked(id));
+            assertEquals(Double.POSITIVE_INFINITY, weights.weight(graph.getEdge(id)));
+        }
+        for (int id : graph.getEdgeIdsForWay(2)) {
+            assertFalse(overlay.isBlocked(id));
+            assertEquals(300, weights.weight(graph.getEdge(id)), 1e-6);
+        }
+        assertEquals(Long.MAX_VALUE, overlay.getValidUntilMillis());
+    }
+
+    @Test
+    void overlayFor_ignoresPendingWindowsUntilTheyOpen() {
+        Instant from = Instant.now().plusSeconds(3600);
+        service.addClosure(List.of(1L), true, 0, from, from.plusSeconds(3600), "pending");
+
+        EdgeOverlay overlay = service.overlayFor(snapshot);
+        assertTrue(overlay.isEmpty());
+        // Recompiled when the window opens
+        assertEquals(from.toEpochMilli(), overlay.getValidUntilMillis());
+        assertEquals(1, service.getClosures().size());
+    }
+
+    @Test
+    void overlayFor_isValidUntilTheFirstActiveWindowCloses() {
+        Instant now = Instant.now();
+        service.addClosure(List.of(1L), true, 0, now.minusSeconds(60), now.plusSeconds(600), "short");
+        service.addClosure(List.of(2L), false, 2, null, now.plusSeconds(1200), "long");
+        service.addClosure(List.of(2L), true, 0, now.plusSeconds(900), null, "later");
+
+        assertEquals(now.plusSeconds(600).toEpochMilli(), service.overlayFor(snapshot).getValidUntilMillis());
+    }
+
+    @Test
+    void overlayFor_dropsExpiredWindows() {
+        Instant now = Instant.now();
+        service.addClosure(List.of(1L), true, 0, now.minusSeconds(120), now.minusSeconds(60), "over");
+
+        assertTrue(service.overlayFor(snapshot).isEmpty());
+        assertTrue(service.getClosures().isEmpty());
+    }
+
+    @Test
+    void overlayFor_recompilesOnceTheWindowCloses() throws InterruptedException {
+        Instant until = Instant.now().plusMillis(100);
+        service.addClosure(List.of(1L), true, 0, null, until, "brief");
+
+        EdgeOverlay during = service.overlayFor(snapshot);
+        assertFalse(during.isEmpty());
+        assertEquals(until.toEpochMilli(), during.getValidUntilMillis());
+        assertSame(during, service.overlayFor(snapshot));
+
+        Thread.sleep(Math.max(0, until.toEpochMilli() - System.currentTimeMillis()) + 20);
+        EdgeOverlay after = service.overlayFor(snapshot);
+        assertTrue(after.isEmpty());
+        assertTrue(service.getClosures().isEmpty());
+    }
+
+    @Test
+    void overlayFor_recompilesWhenRulesOrTheGraphChange() {
+        EdgeOverlay empty = service.overlayFor(snapshot);
+        assertTrue(empty.isEmpty());
+
+        EdgeClosureService.Closure closure = service.addClosure(List.of(1L), true, 0, null, null, "x");
+        EdgeOverlay closed = service.overlayFor(snapshot);
+        assertFalse(closed.isEmpty());
+        assertNotSame(closed, service.overlayFor(new GraphSnapshot(2, graph, 0, 0, 0, 0.002, "test")));
+
+        assertTrue(service.removeClosure(closure.id()));
+        assertTrue(service.overlayFor(snapshot).isEmpty());
+        assertFalse(service.removeClosure(closure.id()));
+    }
+
+    @Test
+    void addClosure_rejectsInvalidRules() {
+        Instant now = Instant.now();
+        assertThrows(IllegalArgumentException.class,
+                () -> service.addClosure(List.of(), true, 0, null, null, "no ways"));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.addClosure(List.of(1L), false, 1, null, null, "no penalty"));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.addClosure(List.of(1L), true, 0, now, now, "empty window"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.collegeconnect.navigation.service;
+
+import com.collegeconnect.navigation.model.GraphSnapshot;
+import com.collegeconnect.navigation.model.RoutingProfile;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NavigationServiceCompareTest {
+
+    // Loads the bundled campus map
+    private static NavigationService service() {
+        NavigationService service = new NavigationService(new EdgeClosureService());
+        service.init();
+        return service;
+    }
+
+    // Points at the given fractions of the campus bounding box
+    private static double[] at(GraphSnapshot snap, double latFraction, double lngFraction) {
+        return new double[]{
+                snap.getMinLat() + latFraction * (snap.getMaxLat() - snap.getMinLat()),
+                snap.getMinLng() + lngFraction * (snap.getMaxLng() - snap.getMinLng())};
+    }
+
+    @Test
+    void routeComparison_bothAlgorithmsFindTheSameCost() {
+        NavigationService service = service();
+        try {
+            GraphSnapshot snap = service.getSnapshot();
+            double[] from = at(snap, 0.3, 0.3), to = at(snap, 0.7, 0.6);
+
+            NavigationService.RouteComparison comparison = service.routeComparison(
+                    from[0], from[1], to[0], to[1], RoutingProfile.WALK, 5, 2);
+
+            assertTrue(comparison.astar().isValid());
+            assertTrue(comparison.bidirectional().isValid());
+            assertEquals(comparison.astar().getEstimatedDuration(),
+                    comparison.bidirectional().getEstimatedDuration(), 1e-6);
+            for (NavigationService.SearchStats stats : List.of(comparison.astarStats(), comparison.bidirectionalStats())) {
+                assertEquals(5, stats.runs());
+                assertEquals(2, stats.warmup());
+                assertTrue(stats.minNanos() <= stats.medianNanos());
+                assertTrue(stats.medianNanos() <= stats.p95Nanos());
+                assertTrue(stats.medianSettled() <= stats.p95Settled());
+            }
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void routeComparison_concurrentComparisonsAgree() {
+        NavigationService service = service();
+        try {
+            GraphSnapshot snap = service.getSnapshot();
+            double[] from = at(snap, 0.2, 0.7), to = at(snap, 0.8, 0.3);
+            double expected = service.routeComparison(from[0], from[1], to[0], to[1], RoutingProfile.WALK)
+                    .astar().getEstimatedDuration();
+
+            // More callers than compare threads, so searches queue and reuse thread-local state
+            List<CompletableFuture<NavigationService.RouteComparison>> running = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                running.add(CompletableFuture.supplyAsync(() -> service.routeComparison(
+                        from[0], from[1], to[0], to[1], RoutingProfile.WALK, 3, 1)));
+            }
+            for (CompletableFuture<NavigationService.RouteComparison> future : running) {
+                NavigationService.RouteComparison comparison = future.join();
+                assertEquals(expected, comparison.astar().getEstimatedDuration(), 1e-6);
+                assertEquals(expected, comparison.bidirectional().getEstimatedDuration(), 1e-6);
+            }
+        } finally {
+            service.shutdown();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.collegeconnect.navigation.util;
+
+import com.collegeconnect.navigation.model.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeoMathTest {
+
+    // Random points over roughly a 2 km square around a campus at 17.7°N
+    private final Random random = new Random(7);
+    private final int n = 500;
+    private final double[] lats = random.doubles(n, 17.70, 17.72).toArray();
+    private final double[] lngs = random.doubles(n, 83.30, 83.32).toArray();
+
+    @Test
+    void haversine_matchesAKnownDistance() {
+        // One degree of latitude along a meridian
+        assertEquals(GeoMath.METERS_PER_DEGREE, GeoMath.haversine(17, 83, 18, 83), 1e-6);
+        assertEquals(0, GeoMath.haversine(17.7, 83.3, 17.7, 83.3));
+    }
+
+    @Test
+    void lowerBoundMeters_neverExceedsHaversine() {
+        for (int i = 0; i + 1 < n; i++) {
+            Node a = new Node("a", lats[i], lngs[i]);
+            Node b = new Node("b", lats[i + 1], lngs[i + 1]);
+            double exact = GeoMath.haversine(a, b);
+            assertTrue(GeoMath.lowerBoundMeters(a, b) <= exact);
+            assertEquals(exact, GeoMath.equirectangular(a, b), exact * 1e-5);
+        }
+    }
+
+    @Test
+    void nearest_agreesWithHaversineScan() {
+        for (int q = 0; q < 100; q++) {
+            double lat = 17.70 + random.nextDouble() * 0.02, lng = 83.30 + random.nextDouble() * 0.02;
+            int[] byDistance = byHaversine(lat, lng);
+
+            assertEquals(byDistance[0], GeoMath.nearest(lats, lngs, n, lat, lng));
+            int[] closest = GeoMath.nearest(lats, lngs, n, lat, lng, 4);
+            assertArrayEquals(Arrays.copyOf(byDistance, 4), closest);
+        }
+    }
+
+    @Test
+    void nearest_handlesFewerPointsThanAsked() {
+        assertEquals(-1, GeoMath.nearest(lats, lngs, 0, 17.71, 83.31));
+        assertEquals(3, GeoMath.nearest(lats, lngs, 3, 17.71, 83.31, 5).length);
+    }
+
+    @Test
+    void scalarKernel_computesProjectedSquaredDistances() {
+        double[] out = new double[n];
+        double perDegLng = GeoMath.metersPerDegreeLng(17.71);
+        new GeoMath.ScalarDistanceKernel().squaredDistances(lats, lngs, n, 17.71, 83.31,
+                GeoMath.METERS_PER_DEGREE, perDegLng, out);
+
+        for (int i = 0; i < n; i++) {
+            double dy = (lats[i] - 17.71) * GeoMath.METERS_PER_DEGREE;
+            double dx = (lngs[i] - 83.31) * perDegLng;
+            assertEquals(dx * dx + dy * dy, out[i], 1e-6);
+        }
+    }
+
+    private int[] byHaversine(double lat, double lng) {
+        return IntStream.range(0, n).boxed()
+                .sorted(Comparator.comparingDouble(i -> GeoMath.haversine(lat, lng, lats[i], lngs[i])))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+}
@@ -0,0 +1,71 @@
+package com.collegeconnect.repository;
+
+import com.collegeconnect.model.Event;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventChangeFeedTest {
+
+    @Test
+    public void markUnseeded_sendsReadsBackToTheRepositoryAndRetiresTags() {
+        EventChangeFeed feed = new EventChangeFeed();
+        feed.markSeeded();
+        String liveTag = feed.getVersionTag();
+
+        feed.markUnseeded();
+        assertFalse(feed.isSeeded());
+        assertNotEquals(liveTag, feed.getVersionTag());
+
+        String outageTag = feed.getVersionTag();
+        feed.markSeeded();
+        assertTrue(feed.isSeeded());
+        assertNotEquals(outageTag, feed.getVersionTag());
+    }
+
+    @Test
+    public void publish_dropsRepeatsOfTheLastPublishedState() {
+        EventChangeFeed feed = new EventChangeFeed();
+        List<EventChange> seen = new ArrayList<>();
+        feed.subscribe(seen::add);
+
+        // The local write, then the listener's echo of it as read back from the store
+        Event written = event("Talk", Map.of("lat", 1, "lng", 2.5));
+        Event echoed = event("Talk", Map.of("lat", 1L, "lng", 2.5));
+        feed.publish(new EventChange(EventChange.Type.ADDED, "e1", written));
+        long version = feed.getVersion();
+        feed.publish(new EventChange(EventChange.Type.ADDED, "e1", echoed));
+        assertEquals(version, feed.getVersion());
+
+        feed.publish(new EventChange(EventChange.Type.MODIFIED, "e1", event("Talk (moved)", Map.of("lat", 1, "lng", 2.5))));
+        feed.publish(new EventChange(EventChange.Type.REMOVED, "e1", null));
+        feed.publish(new EventChange(EventChange.Type.REMOVED, "e1", null));
+        // Removals of documents the feed never saw still go out
+        feed.publish(new EventChange(EventChange.Type.REMOVED, "e2", null));
+
+        assertEquals(List.of("ADDED e1", "MODIFIED e1", "REMOVED e1", "REMOVED e2"),
+                seen.stream().map(c -> c.type() + " " + c.id()).toList());
+    }
+
+    @Test
+    public void publish_movesTheVersionOnlyAfterSubscribersHaveTheChange() {
+        EventChangeFeed feed = new EventChangeFeed();
+        long before = feed.getVersion();
+        List<Long> versionsSeen = new ArrayList<>();
+        feed.subscribe(change -> versionsSeen.add(feed.getVersion()));
+
+        feed.publish(new EventChange(EventChange.Type.ADDED, "e1", event("Talk", Map.of("lat", 1, "lng", 2.5))));
+
+        assertEquals(List.of(before), versionsSeen);
+        assertEquals(before + 1, feed.getVersion());
+    }
+
+    private static Event event(String name, Map<String, Object> location) {
+        return new Event("e1", name, "description", new Date(1000), location, "Hall", "alice", null, new Date(500));
+    }
+}
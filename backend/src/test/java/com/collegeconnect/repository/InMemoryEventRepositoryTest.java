@@ -0,0 +1,78 @@
+package com.collegeconnect.repository;
+
+import com.collegeconnect.model.Event;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryEventRepositoryTest {
+
+    private static Map<String, Object> event(String name, String createdBy, long dateMillis) {
+        return Map.of("name", name, "createdBy", createdBy, "dateTime", new Date(dateMillis));
+    }
+
+    @Test
+    public void find_appliesWhereOrderByAndLimit() throws Exception {
+        InMemoryEventRepository repo = new InMemoryEventRepository(new EventChangeFeed());
+        repo.add(event("c", "alice", 3000));
+        repo.add(event("a", "alice", 1000));
+        repo.add(event("b", "bob", 2000));
+        repo.add(event("d", "alice", 4000));
+        repo.add(Map.of("name", "undated", "createdBy", "alice"));
+
+        List<Event> alice = repo.find(EventQuery.all().whereEqualTo("createdBy", "alice").orderBy("dateTime"));
+        // Like Firestore, documents without the sort field are left out
+        assertEquals(List.of("a", "c", "d"), alice.stream().map(Event::getName).toList());
+
+        List<Event> latestTwo = repo.find(EventQuery.all().orderByDescending("dateTime").limit(2));
+        assertEquals(List.of("d", "c"), latestTwo.stream().map(Event::getName).toList());
+
+        assertEquals(5, repo.find(EventQuery.all()).size());
+    }
+
+    @Test
+    public void find_startAfterResumesPastTiesById() throws Exception {
+        InMemoryEventRepository repo = new InMemoryEventRepository(new EventChangeFeed());
+        repo.add(event("a", "alice", 1000));
+        repo.add(event("b", "alice", 2000));
+        repo.add(event("c", "alice", 2000));
+        repo.add(event("d", "alice", 3000));
+
+        EventQuery byDate = EventQuery.all().whereEqualTo("createdBy", "alice").orderBy("dateTime");
+        List<Event> firstPage = repo.find(byDate.limit(2));
+        Event last = firstPage.get(1);
+        List<Event> rest = repo.find(byDate.startAfter(last.getDateTime(), last.getId()));
+
+        // The event sharing last's date is on exactly one of the two pages
+        List<String> names = new ArrayList<>();
+        firstPage.forEach(e -> names.add(e.getName()));
+        rest.forEach(e -> names.add(e.getName()));
+        assertEquals(4, names.size());
+        assertEquals(List.of("a", "b", "c", "d"), names.stream().sorted().toList());
+        assertEquals("d", rest.get(rest.size() - 1).getName());
+    }
+
+    @Test
+    public void findById_mapsFieldsAndDeleteRemoves() throws Exception {
+        EventChangeFeed feed = new EventChangeFeed();
+        InMemoryEventRepository repo = new InMemoryEventRepository(feed);
+        String id = repo.add(event("a", "alice", 1000));
+        assertEquals(20, id.length());
+
+        Event found = repo.findById(id);
+        assertEquals(id, found.getId());
+        assertEquals(new Date(1000), found.getDateTime());
+        found.setName("changed");
+        assertEquals("a", repo.findById(id).getName());
+
+        String tagBefore = feed.getVersionTag();
+        repo.delete(id);
+        assertNull(repo.findById(id));
+        assertNotEquals(tagBefore, feed.getVersionTag());
+    }
+}
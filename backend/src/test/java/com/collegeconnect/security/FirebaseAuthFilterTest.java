@@ -23,7 +23,10 @@ public class FirebaseAuthFilterTest {
     private FirebaseTokenVerifier tokenVerifier;
 
     @MockBean
-    private com.google.cloud.firestore.Firestore firestore;
+    private com.collegeconnect.service.EventService eventService;
+
+    @MockBean
+    private com.collegeconnect.service.EventStreamHub streamHub;
 
     @MockBean
     private com.collegeconnect.security.CurrentUser currentUser;
@@ -43,4 +46,52 @@ public class FirebaseAuthFilterTest {
         mockMvc.perform(MockMvcRequestBuilders.get("/api/events"))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    public void bulkEventImport_withoutAuth_shouldReturn401() throws Exception {
+        when(tokenVerifier.verify(null)).thenReturn(null);
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/events/bulk")
+                        .contentType("application/json").content("[]"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void adminExport_withoutAdminClaim_shouldReturn403() throws Exception {
+        FirebaseToken token = Mockito.mock(FirebaseToken.class);
+        when(token.getUid()).thenReturn("uid-student");
+        when(token.getClaims()).thenReturn(java.util.Map.of());
+        when(tokenVerifier.verify(Mockito.anyString())).thenReturn(token);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/admin/export/users")
+                        .header("Authorization", "Bearer dummy-token"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void navigationReload_withoutAdminClaim_shouldReturn403() throws Exception {
+        FirebaseToken token = Mockito.mock(FirebaseToken.class);
+        when(token.getUid()).thenReturn("uid-student");
+        when(token.getClaims()).thenReturn(java.util.Map.of());
+        when(tokenVerifier.verify(Mockito.anyString())).thenReturn(token);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/navigation/admin/reload")
+                        .header("Authorization", "Bearer dummy-token"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void closureChanges_withoutAdminClaim_shouldReturn403() throws Exception {
+        FirebaseToken token = Mockito.mock(FirebaseToken.class);
+        when(token.getUid()).thenReturn("uid-student");
+        when(token.getClaims()).thenReturn(java.util.Map.of());
+        when(tokenVerifier.verify(Mockito.anyString())).thenReturn(token);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/navigation/admin/closures")
+                        .header("Authorization", "Bearer dummy-token")
+                        .contentType("application/json").content("{\"wayIds\":[1]}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/navigation/admin/closures/c1")
+                        .header("Authorization", "Bearer dummy-token"))
+                .andExpect(status().isForbidden());
+    }
 }
@@ -0,0 +1,33 @@
+package com.collegeconnect.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FirebaseTokenVerifierTest {
+
+    private final FirebaseTokenVerifier verifier = new FirebaseTokenVerifier();
+
+    private static String token(String payloadJson) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(payloadJson.getBytes(StandardCharsets.UTF_8)) + ".sig";
+    }
+
+    @Test
+    void unverifiedUid_readsTheUidClaim() {
+        assertEquals("alice", verifier.unverifiedUid("Bearer " + token("{\"user_id\":\"alice\",\"sub\":\"other\"}")));
+        assertEquals("bob", verifier.unverifiedUid(token("{\"sub\":\"bob\"}")));
+    }
+
+    @Test
+    void unverifiedUid_returnsNullForUnreadableTokens() {
+        assertNull(verifier.unverifiedUid(null));
+        assertNull(verifier.unverifiedUid("Bearer not-a-jwt"));
+        assertNull(verifier.unverifiedUid("Bearer a.%%%.c"));
+        assertNull(verifier.unverifiedUid(token("{\"name\":\"no uid\"}")));
+    }
+}
@@ -0,0 +1,70 @@
+package com.collegeconnect.service;
+
+import com.collegeconnect.model.Event;
+import com.collegeconnect.repository.EventChange;
+import com.collegeconnect.repository.EventChangeFeed;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventSearchIndexTest {
+
+    private static EventChange added(String id, String name, String description, String locationName) {
+        Event event = new Event(id, name, description, new Date(), null, locationName, "uid", null, new Date());
+        return new EventChange(EventChange.Type.ADDED, id, event);
+    }
+
+    private static List<String> ids(List<Event> events) {
+        return events.stream().map(Event::getId).toList();
+    }
+
+    private static EventSearchIndex sampleIndex(EventChangeFeed feed) {
+        EventSearchIndex index = new EventSearchIndex(feed);
+        feed.publish(added("hack", "Hackathon 2024", "Build something in 24 hours", "Main Auditorium"));
+        feed.publish(added("talk", "Guest talk", "A talk about hackathon judging", "Seminar Hall"));
+        feed.publish(added("music", "Música night", "Live bands and open mic", "Open Air Theatre"));
+        return index;
+    }
+
+    @Test
+    public void search_ranksNameMatchesAboveDescriptionMatches() {
+        EventSearchIndex index = sampleIndex(new EventChangeFeed());
+        assertEquals(List.of("hack", "talk"), ids(index.search("hackathon", 10)));
+        assertEquals(List.of("hack"), ids(index.search("hackathon", 1)));
+        // Accents and case are ignored
+        assertEquals(List.of("music"), ids(index.search("MUSICA", 10)));
+    }
+
+    @Test
+    public void search_matchesPrefixesAndTypos() {
+        EventSearchIndex index = sampleIndex(new EventChangeFeed());
+        assertEquals("hack", index.search("hack", 10).get(0).getId());
+        assertEquals("hack", index.search("hackaton", 10).get(0).getId()); // one letter missing
+        assertEquals(List.of("music"), ids(index.search("theatre opne air", 10)));
+        assertEquals(List.of(), ids(index.search("zzz", 10)));
+    }
+
+    @Test
+    public void apply_keepsIndexInStepWithChanges() {
+        EventChangeFeed feed = new EventChangeFeed();
+        EventSearchIndex index = sampleIndex(feed);
+
+        feed.publish(added("talk", "Guest lecture", "Robotics", "Seminar Hall"));
+        assertEquals(List.of("hack"), ids(index.search("hackathon", 10)));
+        assertEquals(List.of("talk"), ids(index.search("robotics", 10)));
+
+        feed.publish(new EventChange(EventChange.Type.REMOVED, "hack", null));
+        assertEquals(List.of(), ids(index.search("hackathon", 10)));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void editDistance_stopsPastTheLimit() {
+        assertEquals(1, EventSearchIndex.editDistance("hackaton", "hackathon", 2));
+        assertEquals(2, EventSearchIndex.editDistance("seminar", "semniar", 2));
+        assertEquals(3, EventSearchIndex.editDistance("robotics", "auditorium", 2));
+    }
+}
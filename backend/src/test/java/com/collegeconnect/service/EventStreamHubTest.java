@@ -0,0 +1,181 @@
+package com.collegeconnect.service;
+
+import com.collegeconnect.repository.EventChange;
+import com.collegeconnect.repository.EventChangeFeed;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventStreamHubTest {
+
+    // Records what the hub sends instead of writing to a response; a gate makes sends block
+    private static final class RecordingEmitter extends SseEmitter {
+        final List<String> names = new CopyOnWriteArrayList<>();
+        final List<String> ids = new CopyOnWriteArrayList<>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch gate;
+        volatile Throwable failure;
+
+        RecordingEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            entered.countDown();
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            StringBuilder text = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) text.append(part.getData());
+            for (String line : text.toString().split("\n")) {
+                if (line.startsWith("event:")) names.add(line.substring(6));
+                if (line.startsWith("id:")) ids.add(line.substring(3));
+            }
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failure = ex;
+        }
+    }
+
+    private final EventChangeFeed feed = new EventChangeFeed();
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private volatile CountDownLatch nextGate;
+    private final EventStreamHub hub = new EventStreamHub(feed, new ObjectMapper()) {
+        @Override
+        SseEmitter newEmitter(long timeoutMs) {
+            RecordingEmitter emitter = new RecordingEmitter(nextGate);
+            nextGate = null;
+            emitters.add(emitter);
+            return emitter;
+        }
+    };
+
+    @AfterEach
+    void stop() {
+        hub.stop();
+    }
+
+    private RecordingEmitter connect(String lastEventId) {
+        assertNotNull(hub.connect(lastEventId));
+        return emitters.get(emitters.size() - 1);
+    }
+
+    private void publish(String id) {
+        feed.publish(new EventChange(EventChange.Type.REMOVED, id, null));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out waiting");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void changes_reachEveryClientInOrder() throws Exception {
+        hub.start();
+        RecordingEmitter first = connect(null), second = connect(null);
+        publish("e1");
+        publish("e2");
+
+        await(() -> first.names.size() == 3 && second.names.size() == 3);
+        assertEquals(List.of("ready", "change", "change"), first.names);
+        assertEquals(first.ids, second.ids);
+        assertEquals(2, hub.getClientCount());
+    }
+
+    @Test
+    void slowClient_getsResyncInsteadOfItsBacklog() throws Exception {
+        hub.start();
+        CountDownLatch gate = new CountDownLatch(1);
+        nextGate = gate;
+        RecordingEmitter slow = connect(null);
+        slow.entered.await(5, TimeUnit.SECONDS); // writer is stuck on "ready"
+
+        for (int i = 0; i < 300; i++) publish("e" + i);
+        gate.countDown();
+
+        await(() -> slow.names.size() == 2);
+        Thread.sleep(50);
+        assertEquals(List.of("ready", "resync"), slow.names);
+        assertEquals(1, hub.getClientCount());
+    }
+
+    @Test
+    void reconnect_replaysChangesAfterLastEventId() throws Exception {
+        hub.start();
+        RecordingEmitter live = connect(null);
+        publish("e1");
+        publish("e2");
+        publish("e3");
+        await(() -> live.ids.size() == 4);
+
+        // Saw e1 before disconnecting
+        RecordingEmitter resumed = connect(live.ids.get(1));
+        await(() -> resumed.names.size() == 3);
+        assertEquals(List.of("ready", "change", "change"), resumed.names);
+        assertEquals(live.ids.subList(2, 4), resumed.ids.subList(1, 3));
+    }
+
+    @Test
+    void reconnect_withUnknownOrExpiredIdResyncs() throws Exception {
+        hub.start();
+        RecordingEmitter foreign = connect("another-instance-5");
+        await(() -> foreign.names.size() == 2);
+        assertEquals(List.of("ready", "resync"), foreign.names);
+
+        // Resuming after the first change, which has left the replay buffer since
+        RecordingEmitter live = connect(null);
+        await(() -> live.ids.size() == 1);
+        for (int i = 0; i < 1100; i++) publish("e" + i);
+        RecordingEmitter expired = connect(live.ids.get(0).replaceAll("-\\d+$", "-1"));
+        await(() -> expired.names.size() == 2);
+        assertEquals(List.of("ready", "resync"), expired.names);
+    }
+
+    @Test
+    void stuckClient_isDroppedWhileOthersKeepReceiving() throws Exception {
+        ReflectionTestUtils.setField(hub, "writerThreads", 1);
+        ReflectionTestUtils.setField(hub, "writeTimeoutMs", 100L);
+        hub.start();
+        CountDownLatch gate = new CountDownLatch(1);
+        nextGate = gate;
+        RecordingEmitter stuck = connect(null);
+        stuck.entered.await(5, TimeUnit.SECONDS); // holds the only writer thread
+        RecordingEmitter healthy = connect(null);
+        publish("e1");
+
+        await(() -> hub.getClientCount() == 1);
+        await(() -> healthy.names.size() == 2);
+        assertEquals(List.of("ready", "change"), healthy.names);
+
+        // Once the blocked write returns, the dropped client's emitter is failed
+        gate.countDown();
+        await(() -> stuck.failure != null);
+        assertInstanceOf(IOException.class, stuck.failure);
+        publish("e2");
+        await(() -> healthy.names.size() == 3);
+        assertEquals(List.of("ready"), stuck.names);
+    }
+}
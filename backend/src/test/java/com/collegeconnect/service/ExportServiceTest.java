@@ -0,0 +1,64 @@
+package com.collegeconnect.service;
+
+import com.collegeconnect.repository.EventChangeFeed;
+import com.collegeconnect.repository.InMemoryEventRepository;
+import com.collegeconnect.repository.InMemoryUserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExportServiceTest {
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    @Test
+    public void exportEvents_ndjsonWalksEveryPage() throws Exception {
+        InMemoryEventRepository events = new InMemoryEventRepository(new EventChangeFeed());
+        for (int i = 0; i < 1234; i++) {
+            events.add(Map.of("name", "Event " + i, "dateTime", new Date(i * 1000L), "createdBy", "uid"));
+        }
+        ExportService export = new ExportService(events, new InMemoryUserRepository(), json);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(1234, export.exportEvents(ExportService.Format.NDJSON, out));
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1235, lines.length);
+        // Trailer last, so a client can tell the export was not cut short
+        assertEquals("{\"_export\":{\"complete\":true,\"count\":1234}}", lines[1234]);
+        Set<String> ids = new HashSet<>();
+        for (String line : Arrays.copyOf(lines, 1234)) {
+            JsonNode node = json.readTree(line);
+            ids.add(node.get("id").asText());
+            assertTrue(node.get("dateTime").asText().endsWith("Z"));
+        }
+        assertEquals(1234, ids.size()); // no page repeated or skipped
+    }
+
+    @Test
+    public void exportUsers_csvQuotesAndDefusesCells() throws Exception {
+        InMemoryUserRepository users = new InMemoryUserRepository();
+        users.set("u1", Map.of("displayName", "Doe, Jane \"JD\"", "email", "jane@example.edu", "role", "student"));
+        users.set("u2", Map.of("displayName", "=HYPERLINK(\"x\")", "createdAt", new Date(0)));
+        ExportService export = new ExportService(new InMemoryEventRepository(new EventChangeFeed()), users, json);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(2, export.exportUsers(ExportService.Format.CSV, out));
+
+        assertEquals("uid,email,displayName,role,createdAt\r\n"
+                + "u1,jane@example.edu,\"Doe, Jane \"\"JD\"\"\",student,\r\n"
+                + "u2,,\"'=HYPERLINK(\"\"x\"\")\",,1970-01-01T00:00:00Z\r\n"
+                + "# export complete: 2 rows\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+}
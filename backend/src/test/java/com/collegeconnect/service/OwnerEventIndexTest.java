@@ -0,0 +1,68 @@
+package com.collegeconnect.service;
+
+import com.collegeconnect.model.Event;
+import com.collegeconnect.repository.EventChange;
+import com.collegeconnect.repository.EventChangeFeed;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OwnerEventIndexTest {
+
+    private static EventChange change(EventChange.Type type, String id, String owner, long startMillis) {
+        Event event = new Event(id, "Event " + id, "desc", new Date(startMillis), null, "Hall", owner, null, new Date());
+        return new EventChange(type, id, event);
+    }
+
+    private static List<String> ids(List<Event> events) {
+        return events.stream().map(Event::getId).toList();
+    }
+
+    @Test
+    public void page_walksOwnersEventsInDateOrder() {
+        EventChangeFeed feed = new EventChangeFeed();
+        OwnerEventIndex index = new OwnerEventIndex(feed);
+        feed.publish(change(EventChange.Type.ADDED, "c", "alice", 3000));
+        feed.publish(change(EventChange.Type.ADDED, "a", "alice", 1000));
+        feed.publish(change(EventChange.Type.ADDED, "b2", "alice", 2000));
+        feed.publish(change(EventChange.Type.ADDED, "b1", "alice", 2000));
+        feed.publish(change(EventChange.Type.ADDED, "x", "bob", 1500));
+
+        // One extra event signals a next page
+        assertEquals(List.of("a", "b1", "b2"), ids(index.page("alice", null, 2)));
+        assertEquals(List.of("b2", "c"), ids(index.page("alice", new EventKey(2000, "b1"), 2)));
+        assertEquals(List.of("a", "b1", "b2", "c"), ids(index.page("alice", null, 0)));
+        assertEquals(List.of(), ids(index.page("carol", null, 10)));
+    }
+
+    @Test
+    public void apply_movesEventsBetweenOwnersAndTracksVersions() {
+        EventChangeFeed feed = new EventChangeFeed();
+        OwnerEventIndex index = new OwnerEventIndex(feed);
+        feed.publish(change(EventChange.Type.ADDED, "a", "alice", 1000));
+        feed.publish(change(EventChange.Type.ADDED, "x", "bob", 1000));
+        long bobVersion = index.getVersion("bob");
+
+        // Reassigned to carol: gone from alice, bob untouched
+        feed.publish(change(EventChange.Type.MODIFIED, "a", "carol", 2000));
+        assertEquals(List.of(), ids(index.page("alice", null, 0)));
+        assertEquals(List.of("a"), ids(index.page("carol", null, 0)));
+        assertEquals(bobVersion, index.getVersion("bob"));
+        assertTrue(index.getVersion("alice") > bobVersion);
+        assertEquals(2, index.getOwnerCount());
+
+        feed.publish(new EventChange(EventChange.Type.REMOVED, "a", null));
+        assertEquals(List.of(), ids(index.page("carol", null, 0)));
+        assertEquals(1, index.getOwnerCount());
+    }
+
+    @Test
+    public void cursor_roundTripsAndRejectsGarbage() {
+        EventKey key = new EventKey(1_700_000_000_000L, "abc:def");
+        assertEquals(key, EventKey.fromCursor(key.toCursor()));
+        assertThrows(IllegalArgumentException.class, () -> EventKey.fromCursor("not a cursor"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.collegeconnect.service;
+
+import com.collegeconnect.model.Event;
+import com.collegeconnect.repository.EventChange;
+import com.collegeconnect.repository.EventChangeFeed;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpcomingEventIndexTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    private static EventChange added(String id, long startMillis) {
+        Event event = new Event(id, "Event " + id, "desc", new Date(startMillis), null, "Hall", "uid", null, new Date());
+        return new EventChange(EventChange.Type.ADDED, id, event);
+    }
+
+    private static List<String> ids(List<Event> events) {
+        return events.stream().map(Event::getId).toList();
+    }
+
+    @Test
+    public void upcoming_returnsWindowInStartOrderAndTracksChanges() {
+        EventChangeFeed feed = new EventChangeFeed();
+        UpcomingEventIndex index = new UpcomingEventIndex(feed);
+        long now = System.currentTimeMillis();
+
+        feed.publish(added("late", now + 30 * HOUR));
+        feed.publish(added("soon", now + 2 * HOUR));
+        feed.publish(added("sooner", now + HOUR));
+        feed.publish(added("past", now - HOUR)); // already started: never indexed
+
+        assertEquals(List.of("sooner", "soon"), ids(index.upcoming(now, Duration.ofHours(24))));
+        assertEquals(List.of("sooner", "soon", "late"), ids(index.upcoming(now, null)));
+
+        // Rescheduling moves the event; removal drops it
+        feed.publish(new EventChange(EventChange.Type.MODIFIED, "late", added("late", now + 3 * HOUR).event()));
+        feed.publish(new EventChange(EventChange.Type.REMOVED, "soon", null));
+        assertEquals(List.of("sooner", "late"), ids(index.upcoming(now, Duration.ofHours(24))));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void expire_movesStartedEventsOut() {
+        EventChangeFeed feed = new EventChangeFeed();
+        UpcomingEventIndex index = new UpcomingEventIndex(feed);
+        long now = System.currentTimeMillis();
+        feed.publish(added("a", now + HOUR));
+        feed.publish(added("b", now + 2 * HOUR));
+
+        // Two hours later "a" has started: hidden from queries even before the sweep
+        long later = now + HOUR + HOUR / 2;
+        assertEquals(List.of("b"), ids(index.upcoming(later, null)));
+
+        assertEquals(1, index.expire(later));
+        assertEquals(1, index.size());
+        assertEquals(List.of("b"), ids(index.upcoming(later, null)));
+    }
+}
@@ -0,0 +1,105 @@
+package com.collegeconnect.service;
+
+import com.collegeconnect.dto.UserDto;
+import com.collegeconnect.repository.InMemoryUserRepository;
+import com.collegeconnect.repository.StoredDocument;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserServiceImplTest {
+
+    // Counts round trips to the store
+    static class CountingUserRepository extends InMemoryUserRepository {
+        int reads;
+
+        @Override
+        public StoredDocument findById(String uid) {
+            reads++;
+            return super.findById(uid);
+        }
+
+        @Override
+        public Map<String, StoredDocument> findAllById(Collection<String> uids) {
+            reads++;
+            return super.findAllById(uids);
+        }
+    }
+
+    private static UserDto user(String uid, String role) {
+        UserDto dto = new UserDto();
+        dto.uid = uid;
+        dto.displayName = "User " + uid;
+        dto.role = role;
+        return dto;
+    }
+
+    @Test
+    public void getUserByUid_cachesHitsAndMissesUntilAWrite() throws Exception {
+        CountingUserRepository repo = new CountingUserRepository();
+        UserServiceImpl service = new UserServiceImpl(repo, new UserCache(100, 300, 30));
+        service.saveUser(user("alice", "student"));
+
+        assertEquals("student", service.getUserByUid("alice").get("role"));
+        service.getUserByUid("alice").put("role", "mutated by caller");
+        assertEquals("student", service.getUserByUid("alice").get("role"));
+        assertNull(service.getUserByUid("ghost"));
+        assertNull(service.getUserByUid("ghost"));
+        assertEquals(2, repo.reads);
+
+        service.updateUserRole("alice", "president");
+        assertEquals("president", service.getUserByUid("alice").get("role"));
+        service.upsertUser("ghost", user("ghost", "student"));
+        assertEquals("ghost", service.getUserByUid("ghost").get("uid"));
+        assertEquals(4, repo.reads);
+    }
+
+    @Test
+    public void getUsersByUids_readsOnlyMissesInOneCall() throws Exception {
+        CountingUserRepository repo = new CountingUserRepository();
+        UserServiceImpl service = new UserServiceImpl(repo, new UserCache(100, 300, 30));
+        service.saveUser(user("a", "student"));
+        service.saveUser(user("b", "student"));
+        service.saveUser(user("c", "president"));
+        service.getUserByUid("a");
+
+        Map<String, Map<String, Object>> users = service.getUsersByUids(List.of("c", "a", "missing", "b", "c"));
+        assertEquals(List.of("c", "a", "b"), List.copyOf(users.keySet()));
+        assertEquals(2, repo.reads); // "a" was cached; the rest came back together
+
+        service.getUsersByUids(List.of("a", "b", "c", "missing"));
+        assertEquals(2, repo.reads);
+    }
+
+    @Test
+    public void getUserByUid_writeDuringALoadIsNotHiddenByIt() throws Exception {
+        UserServiceImpl[] service = new UserServiceImpl[1];
+        InMemoryUserRepository repo = new InMemoryUserRepository() {
+            boolean raced;
+
+            @Override
+            public StoredDocument findById(String uid) {
+                StoredDocument before = super.findById(uid);
+                if (!raced) {
+                    // Another request changes the role after this read but before its result is cached
+                    raced = true;
+                    try {
+                        service[0].updateUserRole(uid, "admin");
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                return before;
+            }
+        };
+        service[0] = new UserServiceImpl(repo, new UserCache(100, 300, 30));
+        service[0].saveUser(user("alice", "student"));
+
+        assertEquals("student", service[0].getUserByUid("alice").get("role"));
+        assertEquals("admin", service[0].getUserByUid("alice").get("role"));
+    }
+}
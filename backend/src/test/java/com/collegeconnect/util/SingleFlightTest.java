@@ -0,0 +1,66 @@
+package com.collegeconnect.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    @Test
+    void concurrentCallsForOneKeyRunTheWorkOnce() throws Exception {
+        SingleFlight<String, List<String>> flight = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> result = List.of("a", "b");
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<String>>> calls = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                calls.add(pool.submit(() -> flight.run("q", () -> {
+                    runs.incrementAndGet();
+                    release.await();
+                    return result;
+                })));
+            }
+            // Let every caller arrive while the first is still running
+            while (runs.get() == 0) Thread.onSpinWait();
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<List<String>> call : calls) {
+                assertSame(result, call.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, runs.get());
+        assertEquals(0, flight.getInFlightCount());
+    }
+
+    @Test
+    void sequentialCallsAreNotCached() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+        assertEquals(Integer.valueOf(1), flight.run("k", runs::incrementAndGet));
+        assertEquals(Integer.valueOf(2), flight.run("k", runs::incrementAndGet));
+    }
+
+    @Test
+    void failureIsRethrownAndNotRemembered() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        assertThrows(IllegalArgumentException.class, () -> flight.run("k", () -> {
+            throw new IllegalArgumentException("boom");
+        }));
+        assertEquals(0, flight.getInFlightCount());
+        assertEquals(Integer.valueOf(7), flight.run("k", () -> 7));
+    }
+}